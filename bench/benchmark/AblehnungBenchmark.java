@@ -0,0 +1,102 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraet;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.Mitglied;
+import fitnessstudio.Uebung;
+import fitnessstudio.Validierungsergebnis;
+import fitnessstudio.WiederholungsUebung;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vergleicht die Kosten abgelehnter Anlagen und Zuweisungen über die werfenden Methoden mit
+ * den Varianten, die ein wiederverwendetes {@link Validierungsergebnis} füllen. Gemessen wird
+ * jeweils nur der Ablehnungspfad: ein Plan mit fehlenden Geräten, eine bereits vergebene
+ * Mitgliedsnummer und ein Mitglied, das bereits die Höchstzahl aktiver Pläne hat.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class AblehnungBenchmark {
+    private static final int UEBUNGEN = 8;
+
+    public static void main(String[] args) {
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        fitnessstudio.getMetriken().setAktiv(false);
+        List<Uebung> uebungen = new ArrayList<>();
+
+        // Jede zweite Übung verwendet ein Gerät, das nicht im Studio angelegt ist
+        for (int i = 0; i < UEBUNGEN; i++) {
+            Geraet geraet = new Geraet("G" + i, "Gerät " + i, GeraeteKategorie.KRAFT);
+
+            if (i % 2 == 0) {
+                fitnessstudio.legeGeraetAn(geraet);
+            }
+
+            uebungen.add(new WiederholungsUebung("Übung " + i, "Ganzkörper", 3, geraet, 10));
+        }
+
+        Fitnessplan plan = fitnessstudio.erstelleFitnessplan("Gültig", List.of(uebungen.get(0)));
+        Mitglied mitglied = new Mitglied("M1", "Max Mustermann", "Hauptstraße 1");
+        fitnessstudio.legeMitgliedAn(mitglied);
+
+        for (int i = 0; i < Mitglied.MAX_AKTIVE_PLAENE; i++) {
+            fitnessstudio.weisePlanZu(mitglied, plan);
+        }
+
+        Mitglied doppelt = new Mitglied("M1", "Erika Musterfrau", "Schulstraße 2");
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+        Messung messung = new Messung(3, 5, 300);
+
+        System.out.println("=== Ablehnungs-Benchmark ===\n");
+        System.out.printf("%-44s %10s %10s %10s%n", "Fall", "ns/op", "±", "B/op");
+
+        gibAus(messung.miss("erstelleFitnessplan (Ausnahme)", 0, aufruf -> {
+            try {
+                return fitnessstudio.erstelleFitnessplan("Plan", uebungen).hashCode();
+            } catch (IllegalArgumentException e) {
+                return e.getMessage().length();
+            }
+        }));
+        gibAus(messung.miss("versucheFitnessplanZuErstellen", 0, aufruf ->
+                fitnessstudio.versucheFitnessplanZuErstellen("Plan", uebungen, ergebnis) == null ? 1 : 0));
+        gibAus(messung.miss("versucheFitnessplanZuErstellen + Meldung", 0, aufruf -> {
+            fitnessstudio.versucheFitnessplanZuErstellen("Plan", uebungen, ergebnis);
+            return ergebnis.getFehlermeldung().length();
+        }));
+
+        gibAus(messung.miss("legeMitgliedAn (Ausnahme)", 0, aufruf -> {
+            try {
+                fitnessstudio.legeMitgliedAn(doppelt);
+                return 0;
+            } catch (IllegalArgumentException e) {
+                return e.getMessage().length();
+            }
+        }));
+        gibAus(messung.miss("versucheMitgliedAnzulegen", 0, aufruf ->
+                fitnessstudio.versucheMitgliedAnzulegen(doppelt, ergebnis) ? 0 : 1));
+
+        gibAus(messung.miss("weisePlanZu (Ausnahme)", 0, aufruf -> {
+            try {
+                fitnessstudio.weisePlanZu(mitglied, plan);
+                return 0;
+            } catch (IllegalStateException e) {
+                return e.getMessage().length();
+            }
+        }));
+        gibAus(messung.miss("versuchePlanZuzuweisen", 0, aufruf ->
+                fitnessstudio.versuchePlanZuzuweisen(mitglied, plan, ergebnis) ? 0 : 1));
+    }
+
+    private static void gibAus(Messung.Ergebnis ergebnis) {
+        System.out.printf("%-44s %10.1f %10.1f %10.1f%n", ergebnis.name, ergebnis.nanosProOp, ergebnis.fehler, ergebnis.bytesProOp);
+    }
+}
@@ -0,0 +1,32 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Misst die im aktuellen Thread allokierten Bytes über die HotSpot-Erweiterung
+ * {@link com.sun.management.ThreadMXBean}. Dieselbe Datenquelle nutzt auch der
+ * GC-Profiler von JMH für seine Allokationsrate.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+final class Allokation {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Allokation() {
+    }
+
+    /**
+     * Gibt die bisher vom aktuellen Thread allokierten Bytes zurück.
+     *
+     * @return allokierte Bytes
+     */
+    static long allokierteBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,131 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraet;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.Mitglied;
+import fitnessstudio.Uebung;
+import fitnessstudio.WiederholungsUebung;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Ermittelt die von einem defekten Gerät betroffenen Mitglieder einmal durch einen Durchlauf
+ * über alle Pläne, Übungen und Mitglieder und einmal über die Rückwärtsindizes aus
+ * {@link Fitnessstudio#findeBetroffeneMitglieder(String)}.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class AuswirkungBenchmark {
+    private static final int GERAETE = 500;
+    private static final int PLAENE = 20_000;
+    private static final int MITGLIEDER = 200_000;
+    private static final int ABFRAGEN = 200;
+
+    public static void main(String[] args) {
+        System.out.println("=== Betroffene Mitglieder eines Geräts ===\n");
+
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        List<Geraet> geraete = new ArrayList<>();
+
+        for (int i = 0; i < GERAETE; i++) {
+            Geraet geraet = new Geraet(String.format("G%03d", i), "Gerät " + i, GeraeteKategorie.KRAFT);
+            fitnessstudio.legeGeraetAn(geraet);
+            geraete.add(geraet);
+        }
+
+        Random zufall = new Random(42);
+
+        for (int i = 0; i < PLAENE; i++) {
+            List<Uebung> uebungen = new ArrayList<>();
+
+            for (int u = 0; u < 3 + zufall.nextInt(3); u++) {
+                uebungen.add(new WiederholungsUebung("Übung " + u, "Beschreibung", 3,
+                        geraete.get(zufall.nextInt(GERAETE)), 10));
+            }
+
+            fitnessstudio.erstelleFitnessplan("Plan " + i, uebungen);
+        }
+
+        List<Fitnessplan> plaene = fitnessstudio.getPlaene();
+
+        for (int i = 0; i < MITGLIEDER; i++) {
+            Mitglied mitglied = new Mitglied("M" + i, "Mitglied " + i, "Adresse " + i);
+            fitnessstudio.legeMitgliedAn(mitglied);
+
+            for (int p = 0; p < 1 + zufall.nextInt(Mitglied.MAX_AKTIVE_PLAENE); p++) {
+                fitnessstudio.weisePlanZu(mitglied, plaene.get(zufall.nextInt(PLAENE)));
+            }
+        }
+
+        // Aufwärmen und Abgleich beider Verfahren
+        for (int i = 0; i < GERAETE; i += 50) {
+            String id = geraete.get(i).getGeraeteId();
+
+            if (!durchsuche(fitnessstudio, id).equals(fitnessstudio.findeBetroffeneMitglieder(id))) {
+                throw new IllegalStateException("Ergebnisse weichen ab für " + id);
+            }
+        }
+
+        long summe = 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ABFRAGEN / 20; i++) {
+            summe += durchsuche(fitnessstudio, geraete.get(i % GERAETE).getGeraeteId()).size();
+        }
+
+        long durchlauf = (System.nanoTime() - start) / (ABFRAGEN / 20);
+        start = System.nanoTime();
+
+        for (int i = 0; i < ABFRAGEN; i++) {
+            summe += fitnessstudio.findeBetroffeneMitglieder(geraete.get(i % GERAETE).getGeraeteId()).size();
+        }
+
+        long index = (System.nanoTime() - start) / ABFRAGEN;
+
+        System.out.printf("Betroffene Mitglieder von G004: %d%n%n", fitnessstudio.findeBetroffeneMitglieder("G004").size());
+        System.out.printf("%-30s %12s%n", "Verfahren", "ms/Abfrage");
+        System.out.printf("%-30s %12.3f%n", "Durchlauf über alle Daten", durchlauf / 1e6);
+        System.out.printf("%-30s %12.3f%n", "Rückwärtsindex", index / 1e6);
+
+        if (summe == 42) {
+            System.out.println();
+        }
+    }
+
+    private static Set<Mitglied> durchsuche(Fitnessstudio fitnessstudio, String geraeteId) {
+        Set<Fitnessplan> plaene = new HashSet<>();
+
+        for (Fitnessplan plan : fitnessstudio.getPlaene()) {
+            for (Uebung uebung : plan.getUebungen()) {
+                if (uebung.getGeraet().getGeraeteId().equalsIgnoreCase(geraeteId)) {
+                    plaene.add(plan);
+                    break;
+                }
+            }
+        }
+
+        Set<Mitglied> betroffen = new HashSet<>();
+
+        for (Mitglied mitglied : fitnessstudio.getMitglieder()) {
+            for (Fitnessplan plan : mitglied.getAktivePlaene()) {
+                if (plaene.contains(plan)) {
+                    betroffen.add(mitglied);
+                    break;
+                }
+            }
+        }
+
+        return betroffen;
+    }
+}
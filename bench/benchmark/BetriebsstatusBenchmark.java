@@ -0,0 +1,122 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraet;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.StudioBeobachter;
+import fitnessstudio.Uebung;
+import fitnessstudio.WiederholungsUebung;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Misst, wie lange es dauert, ein Gerät in einem Studio mit 100.000 Plänen außer Betrieb und
+ * wieder in Betrieb zu nehmen, einschließlich der Neubewertung und der Planstatus-Ereignisse.
+ * Zum Vergleich wird die Gültigkeit aller Pläne einmal vollständig neu berechnet.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class BetriebsstatusBenchmark {
+    private static final int GERAETE = 500;
+    private static final int PLAENE = 100_000;
+    private static final int WECHSEL = 20_000;
+
+    public static void main(String[] args) {
+        System.out.println("=== Geräte außer und in Betrieb nehmen ===\n");
+
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        List<Geraet> geraete = new ArrayList<>();
+
+        for (int i = 0; i < GERAETE; i++) {
+            Geraet geraet = new Geraet(String.format("G%03d", i), "Gerät " + i, GeraeteKategorie.KRAFT);
+            fitnessstudio.legeGeraetAn(geraet);
+            geraete.add(geraet);
+        }
+
+        Random zufall = new Random(42);
+
+        for (int i = 0; i < PLAENE; i++) {
+            List<Uebung> uebungen = new ArrayList<>();
+
+            for (int u = 0; u < 3 + zufall.nextInt(3); u++) {
+                uebungen.add(new WiederholungsUebung("Übung " + u, "Beschreibung", 3,
+                        geraete.get(zufall.nextInt(GERAETE)), 10));
+            }
+
+            fitnessstudio.erstelleFitnessplan("Plan " + i, uebungen);
+        }
+
+        AtomicLong ungueltig = new AtomicLong();
+        AtomicLong ereignisse = new AtomicLong();
+
+        fitnessstudio.fuegeBeobachterHinzu(new StudioBeobachter() {
+            @Override
+            public void planstatusGeaendert(Fitnessplan plan, boolean gueltig) {
+                ereignisse.incrementAndGet();
+                ungueltig.addAndGet(gueltig ? -1 : 1);
+            }
+        });
+
+        // Aufwärmen und Abgleich mit einer vollständigen Neuberechnung
+        for (int i = 0; i < 50; i++) {
+            fitnessstudio.nehmeAusserBetrieb(geraete.get(i).getGeraeteId());
+        }
+
+        long start = System.nanoTime();
+        int neuberechnet = zaehleGueltig(fitnessstudio);
+        long rescan = System.nanoTime() - start;
+
+        if (neuberechnet != PLAENE - ungueltig.get()) {
+            throw new IllegalStateException("Ereignisse weichen ab: " + neuberechnet + " / " + (PLAENE - ungueltig.get()));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            fitnessstudio.nehmeInBetrieb(geraete.get(i).getGeraeteId());
+        }
+
+        ereignisse.set(0);
+        start = System.nanoTime();
+
+        for (int i = 0; i < WECHSEL; i++) {
+            String id = geraete.get(i % GERAETE).getGeraeteId();
+            fitnessstudio.nehmeAusserBetrieb(id);
+            fitnessstudio.nehmeInBetrieb(id);
+        }
+
+        long wechsel = (System.nanoTime() - start) / (2 * WECHSEL);
+
+        System.out.printf("Ø Planstatus-Ereignisse je Wechsel: %d%n%n", ereignisse.get() / (2 * WECHSEL));
+        System.out.printf("%-40s %12s%n", "Vorgang", "µs");
+        System.out.printf("%-40s %12.1f%n", "Ein Gerät außer/in Betrieb nehmen", wechsel / 1e3);
+        System.out.printf("%-40s %12.1f%n", "Alle Pläne vollständig neu bewerten", rescan / 1e3);
+    }
+
+    private static int zaehleGueltig(Fitnessstudio fitnessstudio) {
+        List<Geraet> inBetrieb = new ArrayList<>();
+
+        for (Geraet geraet : fitnessstudio.getGeraete()) {
+            if (!fitnessstudio.istAusserBetrieb(geraet.getGeraeteId())) {
+                inBetrieb.add(geraet);
+            }
+        }
+
+        int gueltig = 0;
+
+        for (Fitnessplan plan : fitnessstudio.getPlaene()) {
+            if (plan.istGueltig(inBetrieb)) {
+                gueltig++;
+            }
+        }
+
+        return gueltig;
+    }
+}
@@ -0,0 +1,135 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraet;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.Uebung;
+import fitnessstudio.WiederholungsUebung;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Beantwortet die Frage "welche Pläne lassen sich mit diesen Geräten durchführen" auf drei Wegen:
+ * mit dem früheren Zeichenkettenvergleich per {@code equalsIgnoreCase} in einer verschachtelten
+ * Schleife, mit {@link Fitnessplan#istGueltig(java.util.Collection)} und mit den Bitmasken aus
+ * {@link Fitnessstudio#durchfuehrbarePlaene(java.util.Collection)}.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class BitmaskenBenchmark {
+    private static final int GERAETE = 500;
+    private static final int VERFUEGBAR = 450;
+    private static final int PLAENE = 100_000;
+    private static final int RUNDEN = 5;
+
+    public static void main(String[] args) {
+        System.out.println("=== Durchführbare Pläne bei " + VERFUEGBAR + " von " + GERAETE + " Geräten ===\n");
+
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        List<Geraet> geraete = new ArrayList<>();
+
+        for (int i = 0; i < GERAETE; i++) {
+            Geraet geraet = new Geraet(String.format("G%03d", i), "Gerät " + i, GeraeteKategorie.KRAFT);
+            fitnessstudio.legeGeraetAn(geraet);
+            geraete.add(geraet);
+        }
+
+        Random zufall = new Random(42);
+
+        for (int i = 0; i < PLAENE; i++) {
+            List<Uebung> uebungen = new ArrayList<>();
+
+            for (int u = 0; u < 3 + zufall.nextInt(3); u++) {
+                uebungen.add(new WiederholungsUebung("Übung " + u, "Beschreibung", 3,
+                        geraete.get(zufall.nextInt(GERAETE)), 10));
+            }
+
+            fitnessstudio.erstelleFitnessplan("Plan " + i, uebungen);
+        }
+
+        List<Geraet> verfuegbar = new ArrayList<>(geraete);
+        Collections.shuffle(verfuegbar, zufall);
+        verfuegbar = verfuegbar.subList(0, VERFUEGBAR);
+
+        System.out.printf("%-36s %12s %12s%n", "Verfahren", "ms/Abfrage", "Pläne");
+
+        for (int runde = 0; runde < RUNDEN; runde++) {
+            long start = System.nanoTime();
+            int vergleich = zaehleZeichenkettenvergleich(fitnessstudio.getPlaene(), verfuegbar);
+            long zeichenketten = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int menge = zaehleIstGueltig(fitnessstudio.getPlaene(), verfuegbar);
+            long hashmenge = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int masken = fitnessstudio.durchfuehrbarePlaene(verfuegbar).size();
+            long bitmasken = System.nanoTime() - start;
+
+            if (vergleich != menge || menge != masken) {
+                throw new IllegalStateException("Ergebnisse weichen ab: " + vergleich + " / " + menge + " / " + masken);
+            }
+
+            if (runde == RUNDEN - 1) {
+                System.out.printf("%-36s %12.1f %12d%n", "equalsIgnoreCase (bisher)", zeichenketten / 1e6, vergleich);
+                System.out.printf("%-36s %12.1f %12d%n", "istGueltig(Collection)", hashmenge / 1e6, menge);
+                System.out.printf("%-36s %12.1f %12d%n", "durchfuehrbarePlaene (Bitmasken)", bitmasken / 1e6, masken);
+            }
+        }
+    }
+
+    /**
+     * Entspricht der früheren Implementierung von {@code Fitnessplan.istGueltig}.
+     */
+    private static int zaehleZeichenkettenvergleich(List<Fitnessplan> plaene, Collection<Geraet> verfuegbar) {
+        int durchfuehrbar = 0;
+
+        for (Fitnessplan plan : plaene) {
+            boolean gueltig = true;
+
+            for (Uebung uebung : plan.getUebungen()) {
+                boolean gefunden = false;
+
+                for (Geraet geraet : verfuegbar) {
+                    if (geraet.getGeraeteId().equalsIgnoreCase(uebung.getGeraet().getGeraeteId())) {
+                        gefunden = true;
+                        break;
+                    }
+                }
+
+                if (!gefunden) {
+                    gueltig = false;
+                    break;
+                }
+            }
+
+            if (gueltig) {
+                durchfuehrbar++;
+            }
+        }
+
+        return durchfuehrbar;
+    }
+
+    private static int zaehleIstGueltig(List<Fitnessplan> plaene, Collection<Geraet> verfuegbar) {
+        int durchfuehrbar = 0;
+
+        for (Fitnessplan plan : plaene) {
+            if (plan.istGueltig(verfuegbar)) {
+                durchfuehrbar++;
+            }
+        }
+
+        return durchfuehrbar;
+    }
+}
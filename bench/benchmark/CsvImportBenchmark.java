@@ -0,0 +1,102 @@
+package benchmark;
+
+import fitnessstudio.CsvExporter;
+import fitnessstudio.CsvImporter;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.ImportBericht;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Erzeugt CSV-Dateien mit Geräten, Mitgliedern und Plänen, importiert sie über den
+ * {@link CsvImporter} und exportiert das Ergebnis wieder über den {@link CsvExporter}.
+ * Ausgegeben werden Durchsatz und die ersten abgelehnten Zeilen.
+ * Die Anzahl der Mitglieder kann als erstes Argument übergeben werden (Standard: 1.000.000).
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class CsvImportBenchmark {
+    private static final int GERAETE = 100;
+    private static final int PLAENE = 10_000;
+
+    public static void main(String[] args) throws IOException {
+        int mitglieder = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path verzeichnis = Files.createTempDirectory("fitnessstudio-csv");
+
+        System.out.println("=== CSV-Import/Export-Benchmark ===\n");
+
+        Path geraeteDatei = verzeichnis.resolve("geraete.csv");
+        Path mitgliederDatei = verzeichnis.resolve("mitglieder.csv");
+        Path plaeneDatei = verzeichnis.resolve("plaene.csv");
+
+        try (BufferedWriter w = Files.newBufferedWriter(geraeteDatei, StandardCharsets.UTF_8)) {
+            w.write("geraeteId;geraeteName;kategorie\n");
+
+            for (int i = 0; i < GERAETE; i++) {
+                w.write("G" + i + ";Gerät " + i + ";" + (i % 2 == 0 ? "KRAFT" : "AUSDAUER") + "\n");
+            }
+        }
+
+        try (BufferedWriter w = Files.newBufferedWriter(mitgliederDatei, StandardCharsets.UTF_8)) {
+            w.write("mitgliedsnummer;name;adresse;gesperrt\n");
+
+            for (int i = 0; i < mitglieder; i++) {
+                // Jede tausendste Zeile ist ein Duplikat und muss abgelehnt werden
+                int nummer = i % 1000 == 999 ? i - 1 : i;
+                w.write("M" + nummer + ";\"Müller; Max " + i + "\";Hauptstraße " + i + ";" + (i % 50 == 0) + "\n");
+            }
+        }
+
+        try (BufferedWriter w = Files.newBufferedWriter(plaeneDatei, StandardCharsets.UTF_8)) {
+            w.write("planNr;plan;typ;uebung;beschreibung;saetze;geraeteId;wert\n");
+
+            for (int i = 0; i < PLAENE; i++) {
+                w.write(i + ";Plan " + i + ";WIEDERHOLUNG;Bankdrücken;Brust;3;G" + (i % GERAETE) + ";10\n");
+                // Jeder hundertste Plan verweist auf ein unbekanntes Gerät
+                w.write(i + ";Plan " + i + ";DAUER;Laufen;Ausdauer;1;G" + (i % 100 == 0 ? "X" : i % GERAETE) + ";20\n");
+            }
+        }
+
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        CsvImporter importer = new CsvImporter(fitnessstudio);
+
+        gibAus(importer.importiereGeraete(geraeteDatei));
+        gibAus(importer.importiereMitglieder(mitgliederDatei));
+        gibAus(importer.importierePlaene(plaeneDatei));
+
+        CsvExporter exporter = new CsvExporter(fitnessstudio);
+        long start = System.nanoTime();
+        long zeilen = exporter.exportiereMitglieder(verzeichnis.resolve("export-mitglieder.csv"));
+        long dauer = System.nanoTime() - start;
+        System.out.printf("Export Mitglieder: %d Zeilen, %.1f ms (%.0f Zeilen/s)%n", zeilen, dauer / 1e6, zeilen / (dauer / 1e9));
+
+        // Rundreise: der Export muss sich verlustfrei wieder importieren lassen
+        Fitnessstudio kopie = new Fitnessstudio();
+        ImportBericht rundreise = new CsvImporter(kopie).importiereMitglieder(verzeichnis.resolve("export-mitglieder.csv"));
+        System.out.println("Rundreise: " + rundreise.getAngenommen() + " von " + zeilen + " Mitgliedern, "
+                + (rundreise.getAbgelehnt() == 0 ? "OK" : "FEHLER"));
+
+        try (var dateien = Files.list(verzeichnis)) {
+            for (Path datei : (Iterable<Path>) dateien::iterator) {
+                Files.delete(datei);
+            }
+        }
+
+        Files.delete(verzeichnis);
+    }
+
+    private static void gibAus(ImportBericht bericht) {
+        System.out.println(bericht);
+
+        bericht.getAbgelehnteZeilen().stream().limit(3).forEach(zeile -> System.out.println("  " + zeile));
+    }
+}
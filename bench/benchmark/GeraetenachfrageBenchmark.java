@@ -0,0 +1,150 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraetebedarf;
+import fitnessstudio.Geraetenachfrage;
+import fitnessstudio.Mitglied;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Misst die {@link Geraetenachfrage} auf einem Studio mit 200 Geräten, 20.000 Plänen und
+ * 100.000 Mitgliedern: zuerst den Abgleich aller Zähler mit dem Durchlauf über
+ * {@link Fitnessstudio#findePlaeneMitGeraet(String)} und
+ * {@link Fitnessstudio#findeBetroffeneMitglieder(String)}, dann das Lesen eines Zählers
+ * gegenüber diesem Durchlauf, die zehn meistgefragten Geräte und schließlich
+ * Planzuweisungen an neue Mitglieder mit 1, 4 und 8 Threads, jeweils ohne und mit
+ * anschließendem Abgleich.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class GeraetenachfrageBenchmark {
+    private static final int[] THREADS = {1, 4, 8};
+    private static final int ZUWEISUNGEN = 200_000;
+    private static final int ABFRAGEN = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Gerätenachfrage-Benchmark ===\n");
+
+        Fitnessstudio fitnessstudio = new StudioGenerator()
+                .geraeteProKategorie(100)
+                .plaene(20_000)
+                .mitglieder(100_000)
+                .erzeuge();
+        Geraetenachfrage nachfrage = fitnessstudio.getGeraetenachfrage();
+
+        System.out.println("Abgleich mit dem Graphdurchlauf: " + (stimmtUeberein(fitnessstudio) ? "OK" : "FEHLER"));
+        System.out.println();
+
+        List<String> ids = new ArrayList<>();
+
+        for (Geraetebedarf bedarf : nachfrage.getAlle()) {
+            ids.add(bedarf.getGeraeteId());
+        }
+
+        long summe = 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ABFRAGEN; i++) {
+            Geraetebedarf bedarf = nachfrage.getBedarf(ids.get(i % ids.size()));
+            summe += bedarf.getMitglieder() + bedarf.getPlaene();
+        }
+
+        long zaehler = System.nanoTime() - start;
+        start = System.nanoTime();
+
+        for (int i = 0; i < ABFRAGEN / 100; i++) {
+            String id = ids.get(i % ids.size());
+            summe -= fitnessstudio.findeBetroffeneMitglieder(id).size() + fitnessstudio.findePlaeneMitGeraet(id).size();
+        }
+
+        long durchlauf = (System.nanoTime() - start) * 100;
+
+        System.out.printf("%-30s %14s%n", "Abfrage", "ns/Gerät");
+        System.out.printf("%-30s %14.1f%n", "Zähler lesen", (double) zaehler / ABFRAGEN);
+        System.out.printf("%-30s %14.1f%n", "Graphdurchlauf", (double) durchlauf / ABFRAGEN);
+
+        start = System.nanoTime();
+        List<Geraetebedarf> meistgefragt = null;
+
+        for (int i = 0; i < 1_000; i++) {
+            meistgefragt = nachfrage.getMeistgefragt(10);
+        }
+
+        System.out.printf("%-30s %14.1f µs%n%n", "Top 10 von " + ids.size(), (System.nanoTime() - start) / 1e6);
+
+        for (Geraetebedarf bedarf : meistgefragt.subList(0, 3)) {
+            System.out.println("  " + bedarf);
+        }
+
+        System.out.println();
+        System.out.printf("%-10s %16s %10s%n", "Threads", "Zuweisungen/s", "Abgleich");
+
+        List<Fitnessplan> plaene = fitnessstudio.getPlaene();
+        int naechstesMitglied = 0;
+
+        for (int threads : THREADS) {
+            List<Mitglied> neue = new ArrayList<>(ZUWEISUNGEN);
+
+            for (int i = 0; i < ZUWEISUNGEN; i++) {
+                Mitglied mitglied = new Mitglied("N" + naechstesMitglied++, "Neu", "Teststraße 1");
+                fitnessstudio.legeMitgliedAn(mitglied);
+                neue.add(mitglied);
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<?>> laeufe = new ArrayList<>();
+            start = System.nanoTime();
+
+            for (int t = 0; t < threads; t++) {
+                int versatz = t;
+                laeufe.add(pool.submit(() -> {
+                    Random zufall = new Random(versatz);
+
+                    for (int i = versatz; i < ZUWEISUNGEN; i += threads) {
+                        fitnessstudio.weisePlanZu(neue.get(i), plaene.get(zufall.nextInt(plaene.size())));
+                    }
+                }));
+            }
+
+            for (Future<?> lauf : laeufe) {
+                lauf.get();
+            }
+
+            long dauer = System.nanoTime() - start;
+            pool.shutdown();
+
+            System.out.printf("%-10d %16.0f %10s%n", threads, ZUWEISUNGEN / (dauer / 1e9),
+                    stimmtUeberein(fitnessstudio) ? "OK" : "FEHLER");
+        }
+
+        if (summe == Long.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    private static boolean stimmtUeberein(Fitnessstudio fitnessstudio) {
+        for (Geraetebedarf bedarf : fitnessstudio.getGeraetenachfrage().getAlle()) {
+            String id = bedarf.getGeraeteId();
+
+            if (bedarf.getPlaene() != fitnessstudio.findePlaeneMitGeraet(id).size()
+                    || bedarf.getMitglieder() != fitnessstudio.findeBetroffeneMitglieder(id).size()) {
+                System.out.println("Abweichung bei " + bedarf);
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
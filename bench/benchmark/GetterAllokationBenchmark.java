@@ -0,0 +1,96 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraet;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.Mitglied;
+import fitnessstudio.Uebung;
+import fitnessstudio.WiederholungsUebung;
+
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Misst Laufzeit und allokierte Bytes pro Aufruf der Listen-Getter und der
+ * Stream-/forEach-Zugriffe auf einem Studio mit 100.000 Mitgliedern.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class GetterAllokationBenchmark {
+    private static final int MITGLIEDER = 100_000;
+    private static final int AUFRUFE = 200_000;
+    private static final int DURCHLAEUFE_ITERATION = 200;
+
+    private static long summe;
+
+    public static void main(String[] args) {
+        System.out.println("=== Allokation der Lesezugriffe ===\n");
+
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        Geraet geraet = new Geraet("G001", "Bankdrückmaschine", GeraeteKategorie.KRAFT);
+        fitnessstudio.legeGeraetAn(geraet);
+        List<Uebung> uebungen = List.of(new WiederholungsUebung("Bankdrücken", "Brust", 3, geraet, 10),
+                new WiederholungsUebung("Schrägbankdrücken", "Obere Brust", 3, geraet, 10));
+        Fitnessplan plan = fitnessstudio.erstelleFitnessplan("Brustplan", uebungen);
+
+        for (int i = 0; i < MITGLIEDER; i++) {
+            Mitglied mitglied = new Mitglied("M" + i, "Mitglied " + i, "Adresse " + i);
+            fitnessstudio.legeMitgliedAn(mitglied);
+            fitnessstudio.weisePlanZu(mitglied, plan);
+        }
+
+        Mitglied mitglied = fitnessstudio.getMitgliedByNummer("M0");
+
+        System.out.printf("%-28s %14s %14s%n", "Zugriff", "ns/Aufruf", "Bytes/Aufruf");
+        miss("getGeraete()", AUFRUFE, i -> fitnessstudio.getGeraete().size());
+        miss("getMitglieder()", AUFRUFE, i -> fitnessstudio.getMitglieder().size());
+        miss("getPlaene()", AUFRUFE, i -> fitnessstudio.getPlaene().size());
+        miss("Mitglied.getAktivePlaene()", AUFRUFE, i -> mitglied.getAktivePlaene().size());
+        miss("Fitnessplan.getUebungen()", AUFRUFE, i -> plan.getUebungen().size());
+        miss("getMitglieder() iterieren", DURCHLAEUFE_ITERATION, i -> {
+            long n = 0;
+
+            for (Mitglied m : fitnessstudio.getMitglieder()) {
+                n += m.getAktivePlaene().size();
+            }
+
+            return n;
+        });
+        miss("forEachMitglied()", DURCHLAEUFE_ITERATION, i -> {
+            long[] n = {0};
+            fitnessstudio.forEachMitglied(m -> n[0] += m.getAktivePlaene().size());
+            return n[0];
+        });
+        miss("streamMitglieder().count()", DURCHLAEUFE_ITERATION, i -> fitnessstudio.streamMitglieder()
+                .filter(m -> !m.isGesperrt()).count());
+
+        if (summe == 42) {
+            System.out.println();
+        }
+    }
+
+    private static void miss(String name, int aufrufe, IntToLongFunction zugriff) {
+        // Aufwärmen
+        for (int i = 0; i < aufrufe; i++) {
+            summe += zugriff.applyAsLong(i);
+        }
+
+        long bytes = Allokation.allokierteBytes();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < aufrufe; i++) {
+            summe += zugriff.applyAsLong(i);
+        }
+
+        long dauer = System.nanoTime() - start;
+        bytes = Allokation.allokierteBytes() - bytes;
+
+        System.out.printf("%-28s %14.1f %14.1f%n", name, (double) dauer / aufrufe, (double) bytes / aufrufe);
+    }
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraet;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.Uebung;
+import fitnessstudio.WiederholungsUebung;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Vergleicht die vollständige Neuberechnung der Plangültigkeit über
+ * {@link Fitnessplan#istGueltig(java.util.Collection)} mit der zwischengespeicherten
+ * Gültigkeit aus {@link Fitnessstudio#istGueltig(Fitnessplan)}, jeweils für alle Pläne
+ * nach einer Änderung am Geräteverzeichnis, die nur einen kleinen Teil der Pläne betrifft.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class GueltigkeitBenchmark {
+    private static final int GERAETE = 500;
+    private static final int PLAENE = 100_000;
+    private static final int BETROFFENE_PLAENE = 1_000;
+    private static final int RUNDEN = 5;
+
+    public static void main(String[] args) {
+        System.out.println("=== Gültigkeit von " + PLAENE + " Plänen ===\n");
+
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        List<Geraet> geraete = new ArrayList<>();
+
+        for (int i = 0; i < GERAETE; i++) {
+            Geraet geraet = new Geraet("G" + i, "Gerät " + i, i % 2 == 0 ? GeraeteKategorie.KRAFT : GeraeteKategorie.AUSDAUER);
+            fitnessstudio.legeGeraetAn(geraet);
+            geraete.add(geraet);
+        }
+
+        Random zufall = new Random(42);
+
+        for (int i = 0; i < PLAENE; i++) {
+            List<Uebung> uebungen = new ArrayList<>();
+
+            for (int u = 0; u < 3 + zufall.nextInt(3); u++) {
+                uebungen.add(new WiederholungsUebung("Übung " + u, "Beschreibung", 3,
+                        geraete.get(zufall.nextInt(GERAETE)), 10));
+            }
+
+            fitnessstudio.erstelleFitnessplan("Plan " + i, uebungen);
+        }
+
+        // Ein kleiner Teil der Pläne erhält eine Übung an einem noch fehlenden Gerät
+        Geraet neu = new Geraet("NEU", "Neues Gerät", GeraeteKategorie.KRAFT);
+        List<Fitnessplan> plaene = fitnessstudio.getPlaene();
+
+        for (int i = 0; i < BETROFFENE_PLAENE; i++) {
+            plaene.get(i * (PLAENE / BETROFFENE_PLAENE)).addUebung(new WiederholungsUebung("Neu", "Beschreibung", 3, neu, 10));
+        }
+
+        System.out.printf("Gültig vor Anlage von NEU:  %d%n", zaehleZwischengespeichert(fitnessstudio));
+        fitnessstudio.legeGeraetAn(neu);
+        System.out.printf("Gültig nach Anlage von NEU: %d%n%n", zaehleZwischengespeichert(fitnessstudio));
+
+        System.out.printf("%-34s %12s%n", "Verfahren", "ms/Durchlauf");
+
+        for (int runde = 0; runde < RUNDEN; runde++) {
+            long start = System.nanoTime();
+            int vollstaendig = zaehleNeuberechnet(fitnessstudio);
+            long neuberechnung = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Geraet weiteres = new Geraet("W" + runde, "Weiteres Gerät", GeraeteKategorie.AUSDAUER);
+            fitnessstudio.legeGeraetAn(weiteres);
+            int zwischengespeichert = zaehleZwischengespeichert(fitnessstudio);
+            long cache = System.nanoTime() - start;
+
+            if (vollstaendig != zwischengespeichert) {
+                throw new IllegalStateException("Ergebnisse weichen ab: " + vollstaendig + " / " + zwischengespeichert);
+            }
+
+            if (runde == RUNDEN - 1) {
+                System.out.printf("%-34s %12.1f%n", "istGueltig(getGeraete())", neuberechnung / 1e6);
+                System.out.printf("%-34s %12.1f%n", "Geräteanlage + istGueltig(plan)", cache / 1e6);
+            }
+        }
+    }
+
+    private static int zaehleNeuberechnet(Fitnessstudio fitnessstudio) {
+        List<Geraet> geraete = fitnessstudio.getGeraete();
+        int gueltig = 0;
+
+        for (Fitnessplan plan : fitnessstudio.getPlaene()) {
+            if (plan.istGueltig(geraete)) {
+                gueltig++;
+            }
+        }
+
+        return gueltig;
+    }
+
+    private static int zaehleZwischengespeichert(Fitnessstudio fitnessstudio) {
+        int gueltig = 0;
+
+        for (Fitnessplan plan : fitnessstudio.getPlaene()) {
+            if (fitnessstudio.istGueltig(plan)) {
+                gueltig++;
+            }
+        }
+
+        return gueltig;
+    }
+}
@@ -0,0 +1,278 @@
+package benchmark;
+
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Latenzhistogramm;
+import fitnessstudio.StudioServer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lasttest des {@link StudioServer}s über localhost: Ein Kindprozess stellt ein vom
+ * {@link StudioGenerator} erzeugtes Studio (100.000 Mitglieder, 2.000 Pläne) bereit, dieser
+ * Prozess hält 10.000 gleichzeitige Keep-Alive-Verbindungen offen, je eine pro virtuellem
+ * Thread, und sendet darüber ohne Pause Anfragen: 80 % {@code GET /mitglieder/{nummer}},
+ * 10 % {@code GET /plaene/{nummer}} und 10 % Planzuweisungen über
+ * {@code POST /mitglieder/{nummer}/plaene}, von denen die meisten an der Plangrenze mit 409
+ * abgelehnt werden. Gesendet wird erst, wenn alle Verbindungen aufgebaut sind; nach einer
+ * Aufwärmphase werden Anfragen pro Sekunde und Latenzperzentile ausgegeben.
+ * <p>
+ * Server und Client laufen in getrennten Prozessen, weil jede Verbindung auf beiden Seiten
+ * einen Dateideskriptor belegt. Der Server wird mit
+ * {@code -Dsun.net.httpserver.maxIdleConnections} gestartet, da der JDK-Server sonst alle
+ * Verbindungen über 200 schließt, sobald sie zwischen zwei Anfragen ruhen.
+ * <p>
+ * Optionen: {@code --verbindungen n} (Standard 10.000), {@code --aufwaermen s} (5),
+ * {@code --dauer s} (20); {@code --server} startet nur den Server (intern genutzt).
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class HttpLasttest {
+    private static final int MITGLIEDER = 100_000;
+    private static final int PLAENE = 2_000;
+    private static final int GLEICHZEITIGE_VERBINDUNGSAUFBAUTEN = 256;
+    private static final int MAX_AUFBAU_SEKUNDEN = 120;
+
+    private static volatile boolean messen;
+    private static volatile boolean laeuft = true;
+
+    public static void main(String[] args) throws Exception {
+        int verbindungen = 10_000;
+        int aufwaermen = 5;
+        int dauer = 20;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--server" -> {
+                    starteServer();
+                    return;
+                }
+                case "--verbindungen" -> verbindungen = Integer.parseInt(args[++i]);
+                case "--aufwaermen" -> aufwaermen = Integer.parseInt(args[++i]);
+                case "--dauer" -> dauer = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unbekannte Option: " + args[i]);
+            }
+        }
+
+        System.out.println("=== HTTP-Lasttest ===\n");
+
+        Process server = new ProcessBuilder(ProcessHandle.current().info().command().orElse("java"),
+                "-Xmx1g", "-Dsun.net.httpserver.maxIdleConnections=" + (2 * verbindungen), "-Dsun.net.httpserver.nodelay=true",
+                "-cp", System.getProperty("java.class.path"), HttpLasttest.class.getName(), "--server")
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        try {
+            BufferedReader ausgabe = new BufferedReader(new InputStreamReader(server.getInputStream(), StandardCharsets.UTF_8));
+            String zeile = ausgabe.readLine();
+
+            if (zeile == null || !zeile.startsWith("BEREIT ")) {
+                throw new IllegalStateException("Der Server ist nicht gestartet: " + zeile);
+            }
+
+            InetSocketAddress adresse = new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                    Integer.parseInt(zeile.substring(7)));
+            belaste(adresse, verbindungen, aufwaermen, dauer);
+        } finally {
+            server.getOutputStream().close();
+            server.waitFor();
+        }
+    }
+
+    /**
+     * Startet den Server im Kindprozess und beendet ihn, sobald die Standardeingabe endet.
+     */
+    private static void starteServer() throws IOException {
+        Fitnessstudio fitnessstudio = new StudioGenerator()
+                .mitglieder(MITGLIEDER)
+                .plaene(PLAENE)
+                .erzeuge();
+
+        try (StudioServer server = new StudioServer(fitnessstudio,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16_384)) {
+            server.starte();
+            System.out.println("BEREIT " + server.getPort());
+            System.out.flush();
+
+            while (System.in.read() >= 0) {
+                // Bis der Elternprozess die Eingabe schließt
+            }
+        }
+    }
+
+    private static void belaste(InetSocketAddress adresse, int verbindungen, int aufwaermen, int dauer)
+            throws InterruptedException {
+        Latenzhistogramm latenzen = new Latenzhistogramm();
+        AtomicLongArray statusklassen = new AtomicLongArray(6);
+        AtomicInteger verbunden = new AtomicInteger();
+        AtomicInteger abbrueche = new AtomicInteger();
+        Semaphore aufbau = new Semaphore(GLEICHZEITIGE_VERBINDUNGSAUFBAUTEN);
+        CountDownLatch aufgebaut = new CountDownLatch(verbindungen);
+        CountDownLatch los = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(verbindungen);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < verbindungen; i++) {
+            threads.add(Thread.ofVirtual().start(() ->
+                    verbindung(adresse, aufbau, aufgebaut, los, verbunden, abbrueche, latenzen, statusklassen)));
+        }
+
+        // Laufende Anfragen würden den Annahme-Thread des Servers verdrängen
+        aufgebaut.await(MAX_AUFBAU_SEKUNDEN, TimeUnit.SECONDS);
+        System.out.printf("Verbunden nach %.1f s: %d von %d%n", (System.nanoTime() - start) / 1e9, verbunden.get(), verbindungen);
+        los.countDown();
+        Thread.sleep(aufwaermen * 1000L);
+
+        latenzen.setzeZurueck();
+
+        for (int i = 0; i < statusklassen.length(); i++) {
+            statusklassen.set(i, 0);
+        }
+
+        messen = true;
+        long messbeginn = System.nanoTime();
+        Thread.sleep(dauer * 1000L);
+        messen = false;
+        double sekunden = (System.nanoTime() - messbeginn) / 1e9;
+        laeuft = false;
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long anfragen = latenzen.getAnzahl();
+        System.out.printf("Verbindungen:    %d (Abbrüche: %d)%n", verbindungen, abbrueche.get());
+        System.out.printf("Anfragen/s:      %.0f%n", anfragen / sekunden);
+        System.out.printf("Latenz p50:      %.2f ms%n", latenzen.perzentil(50) / 1e6);
+        System.out.printf("Latenz p99:      %.2f ms%n", latenzen.perzentil(99) / 1e6);
+        System.out.printf("Latenz p99.9:    %.2f ms%n", latenzen.perzentil(99.9) / 1e6);
+        System.out.printf("Latenz max:      %.2f ms%n", latenzen.getMaximum() / 1e6);
+        System.out.printf("Status:          2xx %d, 4xx %d, 5xx %d%n", statusklassen.get(2), statusklassen.get(4), statusklassen.get(5));
+    }
+
+    private static void verbindung(InetSocketAddress adresse, Semaphore aufbau, CountDownLatch aufgebaut,
+                                   CountDownLatch los, AtomicInteger verbunden, AtomicInteger abbrueche,
+                                   Latenzhistogramm latenzen, AtomicLongArray statusklassen) {
+        boolean gezaehlt = false;
+
+        while (laeuft) {
+            try (Socket socket = new Socket()) {
+                aufbau.acquireUninterruptibly();
+
+                try {
+                    socket.connect(adresse);
+                } finally {
+                    aufbau.release();
+                }
+
+                socket.setTcpNoDelay(true);
+
+                if (!gezaehlt) {
+                    verbunden.incrementAndGet();
+                    gezaehlt = true;
+                    aufgebaut.countDown();
+                    los.await();
+                }
+
+                OutputStream aus = socket.getOutputStream();
+                InputStream ein = new BufferedInputStream(socket.getInputStream());
+
+                while (laeuft) {
+                    byte[] anfrage = naechsteAnfrage();
+                    long beginn = System.nanoTime();
+                    aus.write(anfrage);
+                    aus.flush();
+                    int status = liesAntwort(ein);
+
+                    if (messen) {
+                        latenzen.erfasse(System.nanoTime() - beginn);
+                        statusklassen.incrementAndGet(Math.min(5, status / 100));
+                    }
+                }
+            } catch (IOException e) {
+                if (laeuft) {
+                    abbrueche.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static byte[] naechsteAnfrage() {
+        ThreadLocalRandom zufall = ThreadLocalRandom.current();
+        int art = zufall.nextInt(10);
+        String mitglied = StudioGenerator.mitgliedsnummer(zufall.nextInt(MITGLIEDER));
+        String anfrage;
+
+        if (art < 8) {
+            anfrage = "GET /mitglieder/" + mitglied + " HTTP/1.1\r\nHost: localhost\r\n\r\n";
+        } else if (art == 8) {
+            anfrage = "GET /plaene/" + zufall.nextInt(PLAENE) + " HTTP/1.1\r\nHost: localhost\r\n\r\n";
+        } else {
+            String koerper = "{\"plan\":" + zufall.nextInt(PLAENE) + "}";
+            anfrage = "POST /mitglieder/" + mitglied + "/plaene HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Content-Type: application/json\r\nContent-Length: " + koerper.length() + "\r\n\r\n" + koerper;
+        }
+
+        return anfrage.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Liest eine Antwort mit Content-Length vollständig und gibt ihren Statuscode zurück.
+     */
+    private static int liesAntwort(InputStream ein) throws IOException {
+        String statuszeile = liesZeile(ein);
+        int status = Integer.parseInt(statuszeile.substring(9, 12));
+        int laenge = 0;
+        String zeile;
+
+        while (!(zeile = liesZeile(ein)).isEmpty()) {
+            if (zeile.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                laenge = Integer.parseInt(zeile.substring(15).trim());
+            }
+        }
+
+        ein.skipNBytes(laenge);
+        return status;
+    }
+
+    private static String liesZeile(InputStream ein) throws IOException {
+        StringBuilder sb = new StringBuilder(64);
+        int c;
+
+        while ((c = ein.read()) != '\n') {
+            if (c < 0) {
+                throw new IOException("Verbindung vom Server geschlossen");
+            }
+
+            if (c != '\r') {
+                sb.append((char) c);
+            }
+        }
+
+        return sb.toString();
+    }
+}
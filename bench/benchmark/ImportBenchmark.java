@@ -0,0 +1,58 @@
+package benchmark;
+
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Mitglied;
+
+/**
+ * Misst die Importzeit von Mitgliedern über {@link Fitnessstudio#legeMitgliedAn(Mitglied)}
+ * für 10.000, 100.000 und 1.000.000 Mitglieder.
+ * Jede Größe wird mehrfach importiert; ausgegeben wird der beste Durchlauf.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class ImportBenchmark {
+    private static final int[] GROESSEN = {10_000, 100_000, 1_000_000};
+    private static final int DURCHLAEUFE = 5;
+
+    public static void main(String[] args) {
+        System.out.println("=== Import-Benchmark: legeMitgliedAn ===\n");
+        System.out.printf("%12s %14s %16s%n", "Mitglieder", "Zeit (ms)", "Mitglieder/s");
+
+        for (int groesse : GROESSEN) {
+            Mitglied[] mitglieder = erzeugeMitglieder(groesse);
+            long besteZeit = Long.MAX_VALUE;
+
+            for (int i = 0; i < DURCHLAEUFE; i++) {
+                Fitnessstudio fitnessstudio = new Fitnessstudio();
+                long start = System.nanoTime();
+
+                for (Mitglied mitglied : mitglieder) {
+                    fitnessstudio.legeMitgliedAn(mitglied);
+                }
+
+                besteZeit = Math.min(besteZeit, System.nanoTime() - start);
+
+                if (fitnessstudio.getMitgliedByNummer(mitglieder[groesse - 1].getMitgliedsnummer()) == null) {
+                    throw new IllegalStateException("Import unvollständig.");
+                }
+            }
+
+            System.out.printf("%12d %14.1f %16.0f%n", groesse, besteZeit / 1e6, groesse / (besteZeit / 1e9));
+        }
+    }
+
+    private static Mitglied[] erzeugeMitglieder(int anzahl) {
+        Mitglied[] mitglieder = new Mitglied[anzahl];
+
+        for (int i = 0; i < anzahl; i++) {
+            mitglieder[i] = new Mitglied(String.format("M%07d", i), "Mitglied " + i, "Musterstraße " + i);
+        }
+
+        return mitglieder;
+    }
+}
@@ -0,0 +1,114 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.FsyncStrategie;
+import fitnessstudio.Geraet;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.Journal;
+import fitnessstudio.Mitglied;
+import fitnessstudio.WiederholungsUebung;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vergleicht den Durchsatz schreibender Studio-Operationen ohne Persistenz mit einem
+ * {@link Journal} unter den verschiedenen {@link FsyncStrategie}n, jeweils mit 1 und 8 Threads.
+ * Jede Operation legt ein Mitglied an, weist ihm einen Plan zu und sperrt jedes zehnte Mitglied.
+ * Anschließend wird jedes Journal abgespielt und mit dem Original verglichen.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class JournalBenchmark {
+    private static final int[] THREADS = {1, 8};
+    private static final int OPERATIONEN_GEPUFFERT = 400_000;
+    private static final int OPERATIONEN_SYNCHRON = 4_000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Journal-Benchmark ===\n");
+
+        // Aufwärmen, damit der erste Messlauf nicht die JIT-Kompilierung bezahlt
+        miss(FsyncStrategie.NIE, 1, OPERATIONEN_GEPUFFERT, false);
+
+        System.out.printf("%-14s %8s %12s %16s %10s%n", "Strategie", "Threads", "Operationen", "Operationen/s", "Abspielen");
+
+        for (int threads : THREADS) {
+            miss(null, threads, OPERATIONEN_GEPUFFERT, true);
+
+            for (FsyncStrategie strategie : FsyncStrategie.values()) {
+                miss(strategie, threads, strategie == FsyncStrategie.JEDER_EINTRAG ? OPERATIONEN_SYNCHRON : OPERATIONEN_GEPUFFERT, true);
+            }
+        }
+    }
+
+    private static void miss(FsyncStrategie strategie, int threads, int operationen, boolean ausgeben) throws Exception {
+        Path datei = Files.createTempFile("fitnessstudio", ".journal");
+        Files.delete(datei);
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        Journal journal = strategie == null ? null : new Journal(datei, strategie);
+
+        if (journal != null) {
+            fitnessstudio.fuegeBeobachterHinzu(journal);
+        }
+
+        Geraet geraet = new Geraet("G001", "Bankdrückmaschine", GeraeteKategorie.KRAFT);
+        fitnessstudio.legeGeraetAn(geraet);
+        Fitnessplan plan = fitnessstudio.erstelleFitnessplan("Brustplan",
+                List.of(new WiederholungsUebung("Bankdrücken", "Brust", 3, geraet, 10)));
+
+        AtomicInteger naechste = new AtomicInteger();
+        Thread[] arbeiter = new Thread[threads];
+        long start = System.nanoTime();
+
+        for (int t = 0; t < threads; t++) {
+            arbeiter[t] = new Thread(() -> {
+                for (int i = naechste.getAndIncrement(); i < operationen; i = naechste.getAndIncrement()) {
+                    Mitglied mitglied = new Mitglied("M" + i, "Mitglied " + i, "Adresse " + i);
+                    fitnessstudio.legeMitgliedAn(mitglied);
+                    fitnessstudio.weisePlanZu(mitglied, plan);
+
+                    if (i % 10 == 0) {
+                        mitglied.setGesperrt(true);
+                    }
+                }
+            });
+            arbeiter[t].start();
+        }
+
+        for (Thread thread : arbeiter) {
+            thread.join();
+        }
+
+        long dauer = System.nanoTime() - start;
+        String abspielen = "-";
+
+        if (journal != null) {
+            fitnessstudio.entferneBeobachter(journal);
+            journal.close();
+
+            Fitnessstudio wiederhergestellt = new Fitnessstudio();
+            Journal.spieleAb(datei, wiederhergestellt);
+            Mitglied original = fitnessstudio.getMitgliedByNummer("M0");
+            Mitglied kopie = wiederhergestellt.getMitgliedByNummer("M0");
+            boolean ok = wiederhergestellt.getMitglieder().size() == operationen
+                    && kopie.isGesperrt() == original.isGesperrt()
+                    && kopie.getAktivePlaene().size() == original.getAktivePlaene().size();
+            abspielen = ok ? "OK" : "FEHLER";
+        }
+
+        if (ausgeben) {
+            System.out.printf("%-14s %8d %12d %16.0f %10s%n", strategie == null ? "ohne Journal" : strategie,
+                    threads, operationen, operationen / (dauer / 1e9), abspielen);
+        }
+
+        Files.deleteIfExists(datei);
+    }
+}
@@ -0,0 +1,347 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraet;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.Mitglied;
+import fitnessstudio.Uebung;
+import fitnessstudio.WiederholungsUebung;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Benchmark-Suite für die Kernoperationen des {@link Fitnessstudio}s, gemessen mit
+ * {@link Messung} für mehrere Datengrößen. Erfasst werden Zeit und Allokation je Operation
+ * sowie die Garbage Collections während der Messung.
+ * <p>
+ * Standardmäßig wird für 10, 1.000 und 100.000 Einträge gemessen. Größere Datenmengen
+ * benötigen entsprechend Heap (1 Mio. etwa 4 GB, 10 Mio. etwa 32 GB).
+ * <p>
+ * Aufruf (alle Optionen sind optional):
+ * <pre>
+ * java -Xmx32g -cp out-bench benchmark.KernBenchmark
+ *      --groessen 10,1000,100000,1000000,10000000
+ *      --faelle legeGeraetAn,getMitgliedByNummer
+ *      --iterationen 3,5 --dauer 500
+ *      --csv ergebnis.csv --vergleich basis.csv --schwelle 20
+ * </pre>
+ * Mit {@code --csv} werden die Ergebnisse gespeichert; {@code --vergleich} stellt sie einem
+ * früheren Lauf auf derselben Maschine gegenüber und markiert Fälle, die um mehr als
+ * {@code --schwelle} Prozent (Standard 20) und mehr als die doppelte Summe beider
+ * Standardabweichungen langsamer geworden sind. Das Programm endet dann mit Exit-Code 1.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class KernBenchmark {
+    private static final int UEBUNGSLISTEN = 1024;
+    private static final int PRUEFPLAENE = 1024;
+    private static final long MAX_PLAENE_PRO_ITERATION = 1_000_000;
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> optionen = leseOptionen(args);
+        int[] groessen = Arrays.stream(optionen.getOrDefault("groessen", "10,1000,100000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        String[] iterationen = optionen.getOrDefault("iterationen", "3,5").split(",");
+        Messung messung = new Messung(Integer.parseInt(iterationen[0]), Integer.parseInt(iterationen[1]),
+                Long.parseLong(optionen.getOrDefault("dauer", "300")));
+
+        Map<String, Function<Bestand, Messung.Fall>> faelle = faelle();
+
+        if (optionen.containsKey("faelle")) {
+            faelle.keySet().retainAll(Arrays.asList(optionen.get("faelle").split(",")));
+        }
+
+        Map<String, double[]> basis = optionen.containsKey("vergleich") ? leseCsv(Path.of(optionen.get("vergleich"))) : Map.of();
+        double schwelle = Double.parseDouble(optionen.getOrDefault("schwelle", "20"));
+        List<Messung.Ergebnis> ergebnisse = new ArrayList<>();
+        int regressionen = 0;
+
+        System.out.println("=== Kern-Benchmark ===\n");
+        System.out.printf("%-24s %10s %14s %10s %12s %8s %8s %10s%n",
+                "Fall", "N", "ns/op", "±", "B/op", "GCs", "GC-ms", "Δ Basis");
+
+        for (int groesse : groessen) {
+            Bestand bestand = new Bestand(groesse);
+
+            for (Map.Entry<String, Function<Bestand, Messung.Fall>> eintrag : faelle.entrySet()) {
+                Messung.Ergebnis ergebnis = messung.miss(eintrag.getKey(), groesse, eintrag.getValue().apply(bestand));
+                ergebnisse.add(ergebnis);
+
+                String vergleich = "";
+                double[] alt = basis.get(ergebnis.name + ";" + ergebnis.groesse);
+
+                if (alt != null) {
+                    double prozent = (ergebnis.nanosProOp - alt[0]) / alt[0] * 100;
+                    boolean regression = prozent > schwelle && ergebnis.nanosProOp - alt[0] > 2 * (ergebnis.fehler + alt[1]);
+                    vergleich = String.format("%+.1f%%%s", prozent, regression ? " !" : "");
+
+                    if (regression) {
+                        regressionen++;
+                    }
+                }
+
+                System.out.printf("%-24s %10d %14.1f %10.1f %12.1f %8d %8d %10s%n", ergebnis.name, ergebnis.groesse,
+                        ergebnis.nanosProOp, ergebnis.fehler, ergebnis.bytesProOp, ergebnis.gcAnzahl, ergebnis.gcMillis, vergleich);
+            }
+        }
+
+        if (optionen.containsKey("csv")) {
+            schreibeCsv(Path.of(optionen.get("csv")), ergebnisse);
+        }
+
+        if (regressionen > 0) {
+            System.out.println("\n" + regressionen + " Fall/Fälle langsamer als die Basis (mit ! markiert).");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Definiert alle Fälle. Die Reihenfolge bestimmt die Ausgabe.
+     */
+    private static Map<String, Function<Bestand, Messung.Fall>> faelle() {
+        Map<String, Function<Bestand, Messung.Fall>> faelle = new LinkedHashMap<>();
+
+        // Aufbau eines Studios mit N Einträgen, Zeit je angelegtem Eintrag
+        faelle.put("legeGeraetAn", b -> new Messung.Fall() {
+            @Override
+            public int operationenProAufruf() {
+                return b.groesse;
+            }
+
+            @Override
+            public long ausfuehren(int aufruf) {
+                Fitnessstudio fitnessstudio = new Fitnessstudio();
+
+                for (Geraet geraet : b.geraete) {
+                    fitnessstudio.legeGeraetAn(geraet);
+                }
+
+                return fitnessstudio.getGeraete().size();
+            }
+        });
+
+        faelle.put("legeMitgliedAn", b -> new Messung.Fall() {
+            private Mitglied[] mitglieder;
+
+            @Override
+            public void vorbereiten() {
+                mitglieder = neueMitglieder(b.groesse, "N");
+            }
+
+            @Override
+            public int operationenProAufruf() {
+                return b.groesse;
+            }
+
+            @Override
+            public long ausfuehren(int aufruf) {
+                Fitnessstudio fitnessstudio = new Fitnessstudio();
+
+                for (Mitglied mitglied : mitglieder) {
+                    fitnessstudio.legeMitgliedAn(mitglied);
+                }
+
+                return fitnessstudio.getMitglieder().size();
+            }
+        });
+
+        faelle.put("getMitgliedByNummer", b -> aufruf ->
+                b.fitnessstudio.getMitgliedByNummer(b.nummern[b.zufallsindex(aufruf)]).hashCode());
+
+        // Anlage weiterer Pläne in einem Studio mit N Geräten
+        faelle.put("erstelleFitnessplan", b -> new Messung.Fall() {
+            private Fitnessstudio fitnessstudio;
+
+            @Override
+            public void vorbereiten() {
+                fitnessstudio = new Fitnessstudio();
+
+                for (Geraet geraet : b.geraete) {
+                    fitnessstudio.legeGeraetAn(geraet);
+                }
+            }
+
+            @Override
+            public long maxAufrufe() {
+                return MAX_PLAENE_PRO_ITERATION;
+            }
+
+            @Override
+            public long ausfuehren(int aufruf) {
+                return fitnessstudio.erstelleFitnessplan("Plan", b.uebungslisten.get(aufruf % UEBUNGSLISTEN)).hashCode();
+            }
+        });
+
+        faelle.put("Fitnessplan.istGueltig", b -> aufruf ->
+                b.pruefplaene[aufruf % PRUEFPLAENE].istGueltig(b.fitnessstudio.getGeraete()) ? 1 : 0);
+
+        faelle.put("Fitnessstudio.istGueltig", b -> aufruf ->
+                b.fitnessstudio.istGueltig(b.pruefplaene[aufruf % PRUEFPLAENE]) ? 1 : 0);
+
+        // Zuweisung an N Mitglieder, bis jedes die Höchstzahl aktiver Pläne erreicht hat
+        faelle.put("weisePlanZu", b -> new Messung.Fall() {
+            private Fitnessstudio fitnessstudio;
+            private Mitglied[] mitglieder;
+            private Fitnessplan plan;
+
+            @Override
+            public void vorbereiten() {
+                List<Uebung> uebungen = b.uebungslisten.get(0);
+                fitnessstudio = new Fitnessstudio();
+                mitglieder = neueMitglieder(b.groesse, "M");
+
+                for (Uebung uebung : uebungen) {
+                    if (fitnessstudio.getGeraetById(uebung.getGeraet().getGeraeteId()) == null) {
+                        fitnessstudio.legeGeraetAn(uebung.getGeraet());
+                    }
+                }
+
+                for (Mitglied mitglied : mitglieder) {
+                    fitnessstudio.legeMitgliedAn(mitglied);
+                }
+
+                plan = fitnessstudio.erstelleFitnessplan("Plan", uebungen);
+            }
+
+            @Override
+            public long maxAufrufe() {
+                return (long) b.groesse * Mitglied.MAX_AKTIVE_PLAENE;
+            }
+
+            @Override
+            public long ausfuehren(int aufruf) {
+                Mitglied mitglied = mitglieder[aufruf % mitglieder.length];
+                fitnessstudio.weisePlanZu(mitglied, plan);
+                return mitglied.getAktivePlaene().size();
+            }
+        });
+
+        faelle.put("getGeraete", b -> aufruf -> b.fitnessstudio.getGeraete().size());
+        faelle.put("getMitglieder", b -> aufruf -> b.fitnessstudio.getMitglieder().size());
+        faelle.put("getPlaene", b -> aufruf -> b.fitnessstudio.getPlaene().size());
+
+        return faelle;
+    }
+
+    private static Mitglied[] neueMitglieder(int anzahl, String praefix) {
+        Mitglied[] mitglieder = new Mitglied[anzahl];
+
+        for (int i = 0; i < anzahl; i++) {
+            mitglieder[i] = new Mitglied(praefix + i, "Mitglied " + i, "Adresse " + i);
+        }
+
+        return mitglieder;
+    }
+
+    private static Map<String, String> leseOptionen(String[] args) {
+        Map<String, String> optionen = new HashMap<>();
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unbekannte Option: " + args[i]);
+            }
+
+            optionen.put(args[i].substring(2), args[i + 1]);
+        }
+
+        return optionen;
+    }
+
+    private static void schreibeCsv(Path datei, List<Messung.Ergebnis> ergebnisse) throws IOException {
+        try (PrintWriter aus = new PrintWriter(Files.newBufferedWriter(datei, StandardCharsets.UTF_8))) {
+            aus.println("fall;n;ns_pro_op;fehler;bytes_pro_op;gc_anzahl;gc_ms");
+
+            for (Messung.Ergebnis e : ergebnisse) {
+                aus.println(String.format(Locale.ROOT, "%s;%d;%.3f;%.3f;%.3f;%d;%d",
+                        e.name, e.groesse, e.nanosProOp, e.fehler, e.bytesProOp, e.gcAnzahl, e.gcMillis));
+            }
+        }
+    }
+
+    private static Map<String, double[]> leseCsv(Path datei) throws IOException {
+        Map<String, double[]> werte = new HashMap<>();
+        List<String> zeilen = Files.readAllLines(datei, StandardCharsets.UTF_8);
+
+        for (String zeile : zeilen.subList(1, zeilen.size())) {
+            String[] felder = zeile.split(";");
+            werte.put(felder[0] + ";" + felder[1], new double[] {Double.parseDouble(felder[2]), Double.parseDouble(felder[3])});
+        }
+
+        return werte;
+    }
+
+    /**
+     * Für eine Datengröße einmal aufgebaute Daten: N Geräte, ein Studio mit diesen Geräten und
+     * N Mitgliedern sowie vorbereitete Übungslisten und Pläne.
+     */
+    private static final class Bestand {
+        private final int groesse;
+        private final Geraet[] geraete;
+        private final String[] nummern;
+        private final Fitnessstudio fitnessstudio;
+        private final List<List<Uebung>> uebungslisten;
+        private final Fitnessplan[] pruefplaene;
+
+        Bestand(int groesse) {
+            this.groesse = groesse;
+            this.geraete = new Geraet[groesse];
+            this.nummern = new String[groesse];
+            this.fitnessstudio = new Fitnessstudio();
+
+            for (int i = 0; i < groesse; i++) {
+                geraete[i] = new Geraet("G" + i, "Gerät " + i, i % 2 == 0 ? GeraeteKategorie.KRAFT : GeraeteKategorie.AUSDAUER);
+                fitnessstudio.legeGeraetAn(geraete[i]);
+            }
+
+            for (int i = 0; i < groesse; i++) {
+                nummern[i] = "M" + i;
+                fitnessstudio.legeMitgliedAn(new Mitglied(nummern[i], "Mitglied " + i, "Adresse " + i));
+            }
+
+            this.uebungslisten = new ArrayList<>();
+
+            for (int i = 0; i < UEBUNGSLISTEN; i++) {
+                uebungslisten.add(List.of(
+                        new WiederholungsUebung("Übung A", "Beschreibung", 3, geraete[zufallsindex(3 * i)], 10),
+                        new WiederholungsUebung("Übung B", "Beschreibung", 3, geraete[zufallsindex(3 * i + 1)], 10),
+                        new WiederholungsUebung("Übung C", "Beschreibung", 3, geraete[zufallsindex(3 * i + 2)], 10)));
+            }
+
+            this.pruefplaene = new Fitnessplan[PRUEFPLAENE];
+
+            for (int i = 0; i < PRUEFPLAENE; i++) {
+                pruefplaene[i] = fitnessstudio.erstelleFitnessplan("Plan " + i, uebungslisten.get(i % UEBUNGSLISTEN));
+            }
+
+            // getPlaene soll ebenfalls N Einträge umfassen
+            for (int i = PRUEFPLAENE; i < groesse; i++) {
+                fitnessstudio.erstelleFitnessplan("Plan " + i, uebungslisten.get(i % UEBUNGSLISTEN));
+            }
+        }
+
+        /**
+         * Bildet eine laufende Nummer gleichmäßig gestreut auf einen Index kleiner N ab.
+         */
+        int zufallsindex(int laufendeNummer) {
+            return (int) ((laufendeNummer * 2654435761L) % groesse);
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraet;
+import fitnessstudio.Latenzhistogramm;
+import fitnessstudio.Mitglied;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lasttreiber für ein mit dem {@link StudioGenerator} erzeugtes Studio. Mehrere Threads führen
+ * eine Mischung lesender und schreibender Operationen aus; gemeldet werden Durchsatz und
+ * Latenzperzentile, gesamt und je Operation.
+ * <p>
+ * Im geschlossenen Modus startet jeder Thread die nächste Operation, sobald die vorige fertig
+ * ist; gemessen wird die reine Bearbeitungszeit. Im offenen Modus treffen Operationen mit einer
+ * festen Rate ein, unabhängig davon, ob das System hinterherkommt. Die Latenz zählt dort ab dem
+ * geplanten Startzeitpunkt, sodass Wartezeiten in einem Rückstau mitgemessen werden, statt wie
+ * im geschlossenen Modus zu verschwinden.
+ * <p>
+ * Ohne {@code --modus} läuft der Standard-Kapazitätstest, der vor jedem Release ausgeführt
+ * wird: Für 0, 10 und 50 % Schreibanteil wird der geschlossene Durchsatz mit 1 und 4 Threads
+ * bestimmt und das Studio anschließend offen mit 50 und 80 % des höchsten Durchsatzes belastet.
+ * Jeder Lauf erhält ein frisch erzeugtes Studio.
+ * <p>
+ * Aufruf (alle Optionen sind optional):
+ * <pre>
+ * java -cp out-bench benchmark.Lasttreiber
+ *      --modus geschlossen|offen --threads 4 --rate 100000 --schreibanteil 10
+ *      --geraete 20 --mitglieder 100000 --plaene 2000 --zipf 1.0
+ *      --aufwaermen 2 --dauer 5
+ * </pre>
+ * {@code --geraete} gilt je Kategorie, {@code --rate} in Operationen pro Sekunde,
+ * {@code --schreibanteil} in Prozent und {@code --aufwaermen}/{@code --dauer} in Sekunden.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class Lasttreiber {
+    private static final int[] KAPAZITAET_SCHREIBANTEILE = {0, 10, 50};
+    private static final int[] KAPAZITAET_THREADS = {1, 4};
+    private static final double[] KAPAZITAET_AUSLASTUNGEN = {0.5, 0.8};
+
+    /** Abstand zum geplanten Start, ab dem ein Thread schläft statt aktiv zu warten. */
+    private static final long SCHLAFSCHWELLE_NANOS = 50_000;
+
+    /**
+     * Operationen der Last mit ihrem Gewicht in Promille innerhalb der lesenden bzw. schreibenden
+     * Operationen. Die teuren Verwaltungsabfragen sind bewusst selten.
+     */
+    private enum Operation {
+        MITGLIED_SUCHEN(false, 600),
+        PLAN_PRUEFEN(false, 399),
+        BETROFFENE_FINDEN(false, 1),
+        MITGLIED_ANLEGEN(true, 490),
+        PLAN_ZUWEISEN(true, 505),
+        BETRIEBSSTATUS(true, 5);
+
+        private final boolean schreibend;
+        private final int gewicht;
+
+        Operation(boolean schreibend, int gewicht) {
+            this.schreibend = schreibend;
+            this.gewicht = gewicht;
+        }
+
+        static Operation waehle(Random zufall, int schreibanteil) {
+            boolean schreibend = zufall.nextInt(100) < schreibanteil;
+            int wurf = zufall.nextInt(1000);
+
+            for (Operation operation : values()) {
+                if (operation.schreibend == schreibend) {
+                    wurf -= operation.gewicht;
+
+                    if (wurf < 0) {
+                        return operation;
+                    }
+                }
+            }
+
+            throw new IllegalStateException("Die Gewichte ergeben nicht 1000.");
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> optionen = leseOptionen(args);
+        StudioGenerator generator = new StudioGenerator()
+                .geraeteProKategorie(Integer.parseInt(optionen.getOrDefault("geraete", "20")))
+                .mitglieder(Integer.parseInt(optionen.getOrDefault("mitglieder", "100000")))
+                .plaene(Integer.parseInt(optionen.getOrDefault("plaene", "2000")))
+                .zipfExponent(Double.parseDouble(optionen.getOrDefault("zipf", "1.0")));
+        long aufwaermen = (long) (Double.parseDouble(optionen.getOrDefault("aufwaermen", "2")) * 1e9);
+        long dauer = (long) (Double.parseDouble(optionen.getOrDefault("dauer", "5")) * 1e9);
+        String modus = optionen.get("modus");
+
+        System.out.println("=== Lasttreiber ===\n");
+        System.out.printf(Locale.ROOT, "Studio: %s Mitglieder, %s Pläne, Zipf-Exponent %.2f%n%n",
+                optionen.getOrDefault("mitglieder", "100000"), optionen.getOrDefault("plaene", "2000"),
+                generator.getZipfExponent());
+
+        if (modus == null) {
+            kapazitaetstest(generator, aufwaermen, dauer);
+            return;
+        }
+
+        int threads = Integer.parseInt(optionen.getOrDefault("threads", "4"));
+        int schreibanteil = Integer.parseInt(optionen.getOrDefault("schreibanteil", "10"));
+        double rate;
+
+        if (modus.equals("geschlossen")) {
+            rate = 0;
+        } else if (modus.equals("offen")) {
+            rate = Double.parseDouble(optionen.getOrDefault("rate", "100000"));
+        } else {
+            throw new IllegalArgumentException("Unbekannter Modus: " + modus);
+        }
+
+        Lauf lauf = new Lauf(generator, threads, schreibanteil, rate);
+        lauf.fuehreAus(aufwaermen, dauer);
+        gibKopfAus();
+        lauf.gibAus();
+        System.out.println();
+        lauf.gibDetailsAus();
+    }
+
+    private static void kapazitaetstest(StudioGenerator generator, long aufwaermen, long dauer) throws InterruptedException {
+        gibKopfAus();
+
+        for (int schreibanteil : KAPAZITAET_SCHREIBANTEILE) {
+            double hoechsterDurchsatz = 0;
+
+            for (int threads : KAPAZITAET_THREADS) {
+                Lauf lauf = new Lauf(generator, threads, schreibanteil, 0);
+                lauf.fuehreAus(aufwaermen, dauer);
+                lauf.gibAus();
+                hoechsterDurchsatz = Math.max(hoechsterDurchsatz, lauf.durchsatz());
+            }
+
+            for (double auslastung : KAPAZITAET_AUSLASTUNGEN) {
+                int threads = KAPAZITAET_THREADS[KAPAZITAET_THREADS.length - 1];
+                Lauf lauf = new Lauf(generator, threads, schreibanteil, hoechsterDurchsatz * auslastung);
+                lauf.fuehreAus(aufwaermen, dauer);
+                lauf.gibAus();
+            }
+        }
+    }
+
+    private static void gibKopfAus() {
+        System.out.printf("%-11s %7s %9s %12s %12s %9s %9s %9s %9s %9s %10s%n", "Modus", "Threads", "Schreiben",
+                "Ziel op/s", "Ist op/s", "p50 µs", "p90 µs", "p99 µs", "p99.9 µs", "max µs", "abgelehnt");
+    }
+
+    private static Map<String, String> leseOptionen(String[] args) {
+        Map<String, String> optionen = new HashMap<>();
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unbekannte Option: " + args[i]);
+            }
+
+            optionen.put(args[i].substring(2), args[i + 1]);
+        }
+
+        return optionen;
+    }
+
+    /**
+     * Ein Lauf mit fester Threadzahl, festem Schreibanteil und optional fester Ankunftsrate
+     * auf einem eigenen Studio.
+     */
+    private static final class Lauf {
+        private final int threads;
+        private final int schreibanteil;
+        private final double rate;
+        private final Fitnessstudio fitnessstudio;
+        private final String[] nummern;
+        private final Fitnessplan[] plaene;
+        private final Geraet[] geraete;
+        private final ZipfVerteilung beliebtheit;
+        private final AtomicLong neueMitglieder = new AtomicLong();
+        private final AtomicLong abgelehnt = new AtomicLong();
+        private final Latenzhistogramm[] latenzen = neueHistogramme();
+        private final Latenzhistogramm gesamt = new Latenzhistogramm();
+        private long messdauer;
+
+        Lauf(StudioGenerator generator, int threads, int schreibanteil, double rate) {
+            if (threads < 1 || schreibanteil < 0 || schreibanteil > 100 || rate < 0) {
+                throw new IllegalArgumentException("Ungültige Laufparameter.");
+            }
+
+            this.threads = threads;
+            this.schreibanteil = schreibanteil;
+            this.rate = rate;
+            this.fitnessstudio = generator.erzeuge();
+            this.nummern = new String[generator.getMitglieder()];
+
+            for (int i = 0; i < nummern.length; i++) {
+                nummern[i] = StudioGenerator.mitgliedsnummer(i);
+            }
+
+            List<Fitnessplan> alle = fitnessstudio.getPlaene();
+            this.plaene = alle.toArray(new Fitnessplan[0]);
+            this.geraete = fitnessstudio.getGeraete().toArray(new Geraet[0]);
+            this.beliebtheit = new ZipfVerteilung(plaene.length, generator.getZipfExponent());
+        }
+
+        void fuehreAus(long aufwaermen, long dauer) throws InterruptedException {
+            Thread[] arbeiter = new Thread[threads];
+            long beginn = System.nanoTime() + 10_000_000;
+            long messbeginn = beginn + aufwaermen;
+            long ende = messbeginn + dauer;
+            // Jeder Thread übernimmt jede threads-te Ankunft, versetzt um seine Nummer
+            long abstand = rate == 0 ? 0 : (long) (threads * 1e9 / rate);
+
+            for (int t = 0; t < threads; t++) {
+                long erster = beginn + (abstand / threads) * t;
+                arbeiter[t] = new Thread(() -> arbeite(erster, abstand, messbeginn, ende));
+                arbeiter[t].start();
+            }
+
+            for (Thread thread : arbeiter) {
+                thread.join();
+            }
+
+            messdauer = Math.max(dauer, System.nanoTime() - messbeginn);
+        }
+
+        private static Latenzhistogramm[] neueHistogramme() {
+            Latenzhistogramm[] histogramme = new Latenzhistogramm[Operation.values().length];
+
+            for (int o = 0; o < histogramme.length; o++) {
+                histogramme[o] = new Latenzhistogramm();
+            }
+
+            return histogramme;
+        }
+
+        private void arbeite(long geplant, long abstand, long messbeginn, long ende) {
+            Random zufall = ThreadLocalRandom.current();
+
+            while (true) {
+                long jetzt = System.nanoTime();
+
+                if (abstand > 0) {
+                    // Offener Modus: auf den geplanten Start warten, bei Rückstand sofort weiter
+                    if (geplant >= ende) {
+                        return;
+                    }
+
+                    while (geplant - jetzt > 0) {
+                        if (geplant - jetzt > SCHLAFSCHWELLE_NANOS) {
+                            LockSupport.parkNanos(geplant - jetzt - SCHLAFSCHWELLE_NANOS);
+                        } else {
+                            Thread.yield();
+                        }
+
+                        jetzt = System.nanoTime();
+                    }
+                } else {
+                    if (jetzt >= ende) {
+                        return;
+                    }
+
+                    geplant = jetzt;
+                }
+
+                Operation operation = Operation.waehle(zufall, schreibanteil);
+                fuehreAus(operation, zufall);
+                long fertig = System.nanoTime();
+
+                if (geplant >= messbeginn) {
+                    latenzen[operation.ordinal()].erfasse(fertig - geplant);
+                    gesamt.erfasse(fertig - geplant);
+                }
+
+                geplant += abstand;
+            }
+        }
+
+        private void fuehreAus(Operation operation, Random zufall) {
+            switch (operation) {
+                case MITGLIED_SUCHEN -> fitnessstudio.getMitgliedByNummer(nummern[zufall.nextInt(nummern.length)]);
+                case PLAN_PRUEFEN -> fitnessstudio.istGueltig(plaene[beliebtheit.ziehe(zufall)]);
+                case BETROFFENE_FINDEN -> fitnessstudio.findeBetroffeneMitglieder(
+                        geraete[zufall.nextInt(geraete.length)].getGeraeteId()).size();
+                case MITGLIED_ANLEGEN -> {
+                    long nummer = neueMitglieder.getAndIncrement();
+                    fitnessstudio.legeMitgliedAn(new Mitglied("L" + nummer, "Neues Mitglied", "Lastweg " + nummer));
+                }
+                case PLAN_ZUWEISEN -> {
+                    Mitglied mitglied = fitnessstudio.getMitgliedByNummer(nummern[zufall.nextInt(nummern.length)]);
+
+                    try {
+                        fitnessstudio.weisePlanZu(mitglied, plaene[beliebtheit.ziehe(zufall)]);
+                    } catch (IllegalStateException e) {
+                        // Gesperrte oder volle Mitglieder sind ein reguläres Ergebnis der Last
+                        abgelehnt.incrementAndGet();
+                    }
+                }
+                case BETRIEBSSTATUS -> {
+                    String id = geraete[zufall.nextInt(geraete.length)].getGeraeteId();
+
+                    if (fitnessstudio.istAusserBetrieb(id)) {
+                        fitnessstudio.nehmeInBetrieb(id);
+                    } else {
+                        fitnessstudio.nehmeAusserBetrieb(id);
+                    }
+                }
+            }
+        }
+
+        double durchsatz() {
+            return gesamt.getAnzahl() / (messdauer / 1e9);
+        }
+
+        void gibAus() {
+            System.out.printf(Locale.ROOT, "%-11s %7d %8d%% %12s %12.0f %9.1f %9.1f %9.1f %9.1f %9.1f %10d%n",
+                    rate == 0 ? "geschlossen" : "offen", threads, schreibanteil,
+                    rate == 0 ? "-" : String.format(Locale.ROOT, "%.0f", rate), durchsatz(),
+                    gesamt.perzentil(50) / 1e3, gesamt.perzentil(90) / 1e3, gesamt.perzentil(99) / 1e3,
+                    gesamt.perzentil(99.9) / 1e3, gesamt.getMaximum() / 1e3, abgelehnt.get());
+        }
+
+        void gibDetailsAus() {
+            System.out.printf("%-18s %12s %9s %9s %9s %9s%n", "Operation", "Anzahl", "Mittel µs", "p50 µs", "p99 µs", "max µs");
+
+            for (Operation operation : Operation.values()) {
+                Latenzhistogramm histogramm = latenzen[operation.ordinal()];
+                System.out.printf(Locale.ROOT, "%-18s %12d %9.1f %9.1f %9.1f %9.1f%n", operation,
+                        histogramm.getAnzahl(), histogramm.getMittelwert() / 1e3, histogramm.perzentil(50) / 1e3,
+                        histogramm.perzentil(99) / 1e3, histogramm.getMaximum() / 1e3);
+            }
+        }
+    }
+}
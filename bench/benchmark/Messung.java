@@ -0,0 +1,202 @@
+package benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Kleines Mess-Rahmenwerk nach dem Vorbild von JMH: Jeder {@link Fall} wird in mehreren
+ * Aufwärm- und Messiterationen fester Dauer ausgeführt. Pro Messung werden die mittlere Zeit
+ * je Operation samt Standardabweichung, die allokierten Bytes je Operation (vgl. JMH
+ * {@code -prof gc}) sowie Anzahl und Dauer der Garbage Collections ermittelt.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+final class Messung {
+    private static final int MAX_SCHRITT = 1024;
+
+    /** Senke für Rückgabewerte, damit der JIT die gemessenen Aufrufe nicht entfernt. */
+    private static volatile long senke;
+
+    private final int aufwaermIterationen;
+    private final int messIterationen;
+    private final long iterationsdauerNanos;
+
+    /**
+     * Erzeugt eine Messung.
+     *
+     * @param aufwaermIterationen Anzahl der nicht gewerteten Iterationen
+     * @param messIterationen     Anzahl der gewerteten Iterationen
+     * @param iterationsdauerMillis Mindestdauer einer Iteration in Millisekunden
+     */
+    Messung(int aufwaermIterationen, int messIterationen, long iterationsdauerMillis) {
+        this.aufwaermIterationen = aufwaermIterationen;
+        this.messIterationen = messIterationen;
+        this.iterationsdauerNanos = iterationsdauerMillis * 1_000_000;
+    }
+
+    /**
+     * Ein zu messender Vorgang.
+     */
+    interface Fall {
+        /**
+         * Bereitet eine Iteration vor. Wird vor jeder Iteration außerhalb der Zeitmessung aufgerufen.
+         */
+        default void vorbereiten() {
+        }
+
+        /**
+         * Gibt an, wie viele Operationen ein Aufruf von {@link #ausfuehren(int)} umfasst
+         * (vgl. JMH {@code @OperationsPerInvocation}).
+         *
+         * @return Operationen je Aufruf
+         */
+        default int operationenProAufruf() {
+            return 1;
+        }
+
+        /**
+         * Gibt an, wie oft {@link #ausfuehren(int)} nach einer Vorbereitung höchstens aufgerufen werden darf.
+         *
+         * @return Höchstzahl der Aufrufe je Iteration
+         */
+        default long maxAufrufe() {
+            return Long.MAX_VALUE;
+        }
+
+        /**
+         * Führt den Vorgang aus.
+         *
+         * @param aufruf Laufende Nummer des Aufrufs innerhalb der Iteration
+         * @return ein beliebiger Wert, der in die Senke fließt
+         */
+        long ausfuehren(int aufruf);
+    }
+
+    /**
+     * Misst einen Fall.
+     *
+     * @param name    Name des Falls
+     * @param groesse Datengröße, für die gemessen wird
+     * @param fall    Der Fall
+     * @return Das Ergebnis
+     */
+    Ergebnis miss(String name, int groesse, Fall fall) {
+        for (int i = 0; i < aufwaermIterationen; i++) {
+            iteration(fall);
+        }
+
+        double[] nanosProOp = new double[messIterationen];
+        long operationen = 0;
+        long bytes = 0;
+        long gcAnzahl = 0;
+        long gcMillis = 0;
+
+        for (int i = 0; i < messIterationen; i++) {
+            long gcAnzahlVorher = gcAnzahl();
+            long gcMillisVorher = gcMillis();
+            long bytesVorher = Allokation.allokierteBytes();
+            long[] iteration = iteration(fall);
+
+            bytes += Allokation.allokierteBytes() - bytesVorher;
+            gcAnzahl += gcAnzahl() - gcAnzahlVorher;
+            gcMillis += gcMillis() - gcMillisVorher;
+            operationen += iteration[1];
+            nanosProOp[i] = (double) iteration[0] / iteration[1];
+        }
+
+        double mittel = 0;
+
+        for (double wert : nanosProOp) {
+            mittel += wert;
+        }
+
+        mittel /= nanosProOp.length;
+        double varianz = 0;
+
+        for (double wert : nanosProOp) {
+            varianz += (wert - mittel) * (wert - mittel);
+        }
+
+        double fehler = nanosProOp.length > 1 ? Math.sqrt(varianz / (nanosProOp.length - 1)) : 0;
+        return new Ergebnis(name, groesse, mittel, fehler, (double) bytes / operationen, gcAnzahl, gcMillis);
+    }
+
+    /**
+     * Führt eine Iteration aus und gibt die gemessene Dauer und die Anzahl Operationen zurück.
+     * Der Zeitpunkt wird nur alle {@code schritt} Aufrufe abgefragt; der Schritt wächst, solange
+     * die Aufrufe kurz sind.
+     */
+    private long[] iteration(Fall fall) {
+        fall.vorbereiten();
+
+        long maxAufrufe = fall.maxAufrufe();
+        long aufrufe = 0;
+        int schritt = 1;
+        long summe = 0;
+        long start = System.nanoTime();
+        long dauer;
+
+        do {
+            for (int k = 0; k < schritt && aufrufe < maxAufrufe; k++) {
+                summe += fall.ausfuehren((int) aufrufe++);
+            }
+
+            dauer = System.nanoTime() - start;
+
+            if (schritt < MAX_SCHRITT && dauer < iterationsdauerNanos / 100) {
+                schritt *= 2;
+            }
+        } while (dauer < iterationsdauerNanos && aufrufe < maxAufrufe);
+
+        senke += summe;
+        return new long[] {dauer, aufrufe * fall.operationenProAufruf()};
+    }
+
+    private static long gcAnzahl() {
+        long anzahl = 0;
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            anzahl += Math.max(0, collector.getCollectionCount());
+        }
+
+        return anzahl;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+
+        return millis;
+    }
+
+    /**
+     * Ergebnis einer Messung.
+     */
+    static final class Ergebnis {
+        final String name;
+        final int groesse;
+        final double nanosProOp;
+        final double fehler;
+        final double bytesProOp;
+        final long gcAnzahl;
+        final long gcMillis;
+
+        Ergebnis(String name, int groesse, double nanosProOp, double fehler, double bytesProOp, long gcAnzahl, long gcMillis) {
+            this.name = name;
+            this.groesse = groesse;
+            this.nanosProOp = nanosProOp;
+            this.fehler = fehler;
+            this.bytesProOp = bytesProOp;
+            this.gcAnzahl = gcAnzahl;
+            this.gcMillis = gcMillis;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraet;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.Latenzhistogramm;
+import fitnessstudio.Mitglied;
+import fitnessstudio.StudioOperation;
+import fitnessstudio.WiederholungsUebung;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.ObjectName;
+
+/**
+ * Misst die Kosten der Betriebsmetriken: eine einzelne Erfassung im {@link Latenzhistogramm},
+ * den Zeitstempel selbst und den Aufpreis auf schnelle Studio-Operationen mit und ohne
+ * eingeschaltete Erfassung. Anschließend wird die Erfassung aus mehreren Threads auf dasselbe
+ * Histogramm gemessen und ein Wert über den Plattform-MBean-Server abgefragt.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class MetrikBenchmark {
+    private static final int MITGLIEDER = 100_000;
+    private static final int[] THREADS = {1, 2, 4, 8};
+    private static final int ERFASSUNGEN_PRO_THREAD = 10_000_000;
+
+    public static void main(String[] args) throws Exception {
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        Geraet geraet = new Geraet("G001", "Bankdrückmaschine", GeraeteKategorie.KRAFT);
+        fitnessstudio.legeGeraetAn(geraet);
+        Fitnessplan plan = fitnessstudio.erstelleFitnessplan("Brustplan",
+                List.of(new WiederholungsUebung("Bankdrücken", "Brust", 3, geraet, 10)));
+        String[] nummern = new String[MITGLIEDER];
+
+        for (int i = 0; i < MITGLIEDER; i++) {
+            nummern[i] = "M" + i;
+            fitnessstudio.legeMitgliedAn(new Mitglied(nummern[i], "Mitglied " + i, "Adresse " + i));
+        }
+
+        Latenzhistogramm histogramm = new Latenzhistogramm();
+        Messung messung = new Messung(3, 5, 300);
+
+        System.out.println("=== Metrik-Benchmark ===\n");
+        System.out.printf("%-36s %10s %10s %8s%n", "Fall", "ns/op", "±", "B/op");
+
+        gibAus(messung.miss("System.nanoTime", 0, aufruf -> System.nanoTime()));
+        gibAus(messung.miss("Latenzhistogramm.erfasse", 0, aufruf -> {
+            histogramm.erfasse(aufruf & 0xFFFF);
+            return aufruf;
+        }));
+
+        for (boolean aktiv : new boolean[] {false, true}) {
+            fitnessstudio.getMetriken().setAktiv(aktiv);
+            String zusatz = aktiv ? " (Metriken an)" : " (Metriken aus)";
+
+            gibAus(messung.miss("getMitgliedByNummer" + zusatz, 0, aufruf ->
+                    fitnessstudio.getMitgliedByNummer(nummern[aufruf % MITGLIEDER]).hashCode()));
+            gibAus(messung.miss("istGueltig" + zusatz, 0, aufruf -> fitnessstudio.istGueltig(plan) ? 1 : 0));
+        }
+
+        System.out.printf("%n%-36s %10s%n", "Gleichzeitige Erfassung", "ns/op");
+
+        for (int threads : THREADS) {
+            System.out.printf("%-36s %10.1f%n", threads + " Thread(s), ein Histogramm", erfasseGleichzeitig(threads));
+        }
+
+        fitnessstudio.getMetriken().registriere("benchmark");
+        ObjectName name = new ObjectName("fitnessstudio:type=Operation,studio=\"benchmark\",name="
+                + StudioOperation.MITGLIED_SUCHEN);
+        Object aufrufe = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Aufrufe");
+        Object p99 = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "P99Mikros");
+        System.out.printf("%nJMX %s: Aufrufe=%s, P99Mikros=%s%n", name, aufrufe, p99);
+        fitnessstudio.getMetriken().abmelden();
+    }
+
+    private static double erfasseGleichzeitig(int threads) throws InterruptedException {
+        Latenzhistogramm histogramm = new Latenzhistogramm();
+        Thread[] arbeiter = new Thread[threads];
+        long start = System.nanoTime();
+
+        for (int t = 0; t < threads; t++) {
+            arbeiter[t] = new Thread(() -> {
+                for (int i = 0; i < ERFASSUNGEN_PRO_THREAD; i++) {
+                    histogramm.erfasse(i & 0xFFFF);
+                }
+            });
+            arbeiter[t].start();
+        }
+
+        for (Thread thread : arbeiter) {
+            thread.join();
+        }
+
+        // Zeit je Erfassung aus Sicht eines Threads
+        return (double) (System.nanoTime() - start) * Math.min(threads, Runtime.getRuntime().availableProcessors())
+                / ((long) threads * ERFASSUNGEN_PRO_THREAD);
+    }
+
+    private static void gibAus(Messung.Ergebnis ergebnis) {
+        System.out.printf("%-36s %10.1f %10.1f %8.1f%n", ergebnis.name, ergebnis.nanosProOp, ergebnis.fehler, ergebnis.bytesProOp);
+    }
+}
@@ -0,0 +1,210 @@
+package benchmark;
+
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Latenzhistogramm;
+import fitnessstudio.Mitglied;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Misst {@link Fitnessstudio#sucheMitglieder(String, int)} auf einem Studio mit 1.000.000
+ * Mitgliedern. Nachnamen werden aus Silben gebildet (über 5.000 verschiedene, darunter viele
+ * mit Umlauten) und nach einer {@link ZipfVerteilung} vergeben, Adressen bestehen aus Straße,
+ * Hausnummer, Postleitzahl und einer von zehn Städten. Gemessen werden Anlage, Indexaufbau und Heap, die
+ * Latenz der zehn besten Treffer für verschiedene Arten von Anfragen, zum Vergleich ein
+ * vollständiger Durchlauf über {@link Fitnessstudio#getMitglieder()} und schließlich
+ * Umbenennungen, die den Index fortschreiben.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class MitgliedersucheBenchmark {
+    private static final int MITGLIEDER = 1_000_000;
+    private static final int ANFRAGEN = 20_000;
+    private static final int DURCHLAEUFE = 20;
+    private static final int UMBENENNUNGEN = 200_000;
+    private static final int TREFFER = 10;
+
+    private static final String[] VORNAMEN = {"Anna", "Ben", "Clara", "David", "Emma", "Felix", "Greta", "Hannah",
+            "Jonas", "Lena", "Lukas", "Mia", "Noah", "Paul", "Sophie", "Tim", "Jürgen", "Björn", "Käthe", "Sören",
+            "Özlem", "René", "Chloé", "Jörg", "Uwe", "Ute", "Karl", "Marie", "Leon", "Elif"};
+    private static final String[] ANFAENGE = {"Mül", "Schmi", "Schnei", "Fi", "We", "Mey", "Wag", "Be", "Schu",
+            "Hoff", "Ko", "Richt", "Kl", "Wolf", "Schrö", "Neu", "Schwa", "Zimm", "Brau", "Krü", "Hof", "Hart",
+            "Lang", "Wer", "Lehm", "Kö", "Kai", "Fuc", "Stei", "Grü"};
+    private static final String[] MITTEN = {"", "", "", "", "ten", "ers", "an", "ke", "el", "del", "bus", "ring"};
+    private static final String[] ENDUNGEN = {"ler", "dt", "der", "scher", "ber", "er", "ner", "cker", "lz", "mann",
+            "ch", "ter", "le", "f", "mer", "haus", "mann", "ger", "sch", "ke"};
+    private static final String[] STRASSEN = {"Haupt", "Schul", "Garten", "Bahnhof", "Linden", "Berg", "Kirch",
+            "Wald", "Dorf", "Mühlen", "Buchen", "Eichen", "Rosen", "Tannen", "Birken", "Wiesen", "Feld", "Ahorn",
+            "Friedhof", "Sonnen", "Goethe", "Schiller", "Mozart", "Lessing", "Kant"};
+    private static final String[] ARTEN = {"straße", "weg", "allee", "platz", "ring", "gasse"};
+    private static final String[] STAEDTE = {"Berlin", "Hamburg", "München", "Köln", "Frankfurt", "Stuttgart",
+            "Düsseldorf", "Leipzig", "Dortmund", "Essen"};
+
+    public static void main(String[] args) {
+        System.out.println("=== Mitgliedersuche-Benchmark ===\n");
+
+        List<String> nachnamen = new ArrayList<>();
+
+        for (String anfang : ANFAENGE) {
+            for (String mitte : MITTEN) {
+                for (String endung : ENDUNGEN) {
+                    String nachname = anfang + mitte + endung;
+
+                    if (!nachnamen.contains(nachname)) {
+                        nachnamen.add(nachname);
+                    }
+                }
+            }
+        }
+
+        Random zufall = new Random(42);
+        ZipfVerteilung haeufigkeit = new ZipfVerteilung(nachnamen.size(), 1.0);
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        long heapVorher = belegterHeap();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < MITGLIEDER; i++) {
+            String name = VORNAMEN[zufall.nextInt(VORNAMEN.length)] + " " + nachnamen.get(haeufigkeit.ziehe(zufall));
+            String adresse = STRASSEN[zufall.nextInt(STRASSEN.length)] + ARTEN[zufall.nextInt(ARTEN.length)] + " "
+                    + (1 + zufall.nextInt(150)) + ", " + (10_000 + zufall.nextInt(90_000)) + " "
+                    + STAEDTE[zufall.nextInt(STAEDTE.length)];
+            fitnessstudio.legeMitgliedAn(new Mitglied("M" + i, name, adresse));
+        }
+
+        long anlage = System.nanoTime() - start;
+
+        // Die erste Suche baut den Index über alle Mitglieder auf
+        start = System.nanoTime();
+        fitnessstudio.sucheMitglieder(nachnamen.get(0), TREFFER);
+        long aufbau = System.nanoTime() - start;
+        long heap = belegterHeap() - heapVorher;
+
+        System.out.printf("%d Mitglieder mit %d Nachnamen angelegt: %.2f µs/Mitglied, Heap %.0f Bytes/Mitglied%n",
+                MITGLIEDER, nachnamen.size(), anlage / 1e3 / MITGLIEDER, (double) heap / MITGLIEDER);
+        System.out.printf("Indexaufbau bei der ersten Suche: %.1f ms%n%n", aufbau / 1e6);
+
+        System.out.printf("%-34s %10s %10s %10s %10s %10s%n", "Anfrage", "p50 µs", "p99 µs", "max µs", "Mittel µs",
+                "Treffer");
+        messe(fitnessstudio, "Präfix, 1 Zeichen", n -> n.substring(0, 1), nachnamen, haeufigkeit);
+        messe(fitnessstudio, "Präfix, 3 Zeichen", n -> n.substring(0, Math.min(3, n.length())), nachnamen, haeufigkeit);
+        messe(fitnessstudio, "ganzer Nachname", n -> n, nachnamen, haeufigkeit);
+        messe(fitnessstudio, "ohne Umlaute (ü -> u)", MitgliedersucheBenchmark::ohneUmlaute, nachnamen, haeufigkeit);
+        messe(fitnessstudio, "ohne Umlaute (ü -> ue)", MitgliedersucheBenchmark::umschrieben, nachnamen, haeufigkeit);
+        messe(fitnessstudio, "ein Tippfehler", n -> vertippt(n, new Random(n.hashCode())), nachnamen, haeufigkeit);
+        messe(fitnessstudio, "Nachname + Straßenpräfix", n -> n + " " + STRASSEN[Math.floorMod(n.hashCode(),
+                STRASSEN.length)].substring(0, 4), nachnamen, haeufigkeit);
+        messe(fitnessstudio, "Vorname + Stadt (häufig)", n -> VORNAMEN[Math.floorMod(n.hashCode(),
+                VORNAMEN.length)] + " " + STAEDTE[n.length() % STAEDTE.length], nachnamen, haeufigkeit);
+        messe(fitnessstudio, "ohne Treffer", n -> n + "xq", nachnamen, haeufigkeit);
+
+        // Zum Vergleich: Durchlauf über alle Mitglieder, wie ihn eine Suche ohne Index braucht
+        Latenzhistogramm durchlauf = new Latenzhistogramm();
+        int gefunden = 0;
+
+        for (int i = 0; i < DURCHLAEUFE; i++) {
+            String gesucht = ohneUmlaute(nachnamen.get(haeufigkeit.ziehe(zufall))).substring(0, 3).toLowerCase(Locale.ROOT);
+            long beginn = System.nanoTime();
+            List<Mitglied> treffer = new ArrayList<>();
+
+            for (Mitglied mitglied : fitnessstudio.getMitglieder()) {
+                if (ohneUmlaute(mitglied.getName()).toLowerCase(Locale.ROOT).contains(gesucht) && treffer.size() < TREFFER) {
+                    treffer.add(mitglied);
+                }
+            }
+
+            durchlauf.erfasse(System.nanoTime() - beginn);
+            gefunden += treffer.size();
+        }
+
+        ausgabe("Durchlauf ohne Index", durchlauf, (double) gefunden / DURCHLAEUFE);
+
+        List<Mitglied> mitglieder = fitnessstudio.getMitglieder();
+        start = System.nanoTime();
+
+        for (int i = 0; i < UMBENENNUNGEN; i++) {
+            Mitglied mitglied = mitglieder.get(zufall.nextInt(mitglieder.size()));
+            mitglied.setName(VORNAMEN[zufall.nextInt(VORNAMEN.length)] + " " + nachnamen.get(haeufigkeit.ziehe(zufall)));
+        }
+
+        System.out.printf("%nUmbenennung mit Fortschreiben des Index: %.2f µs%n",
+                (System.nanoTime() - start) / 1e3 / UMBENENNUNGEN);
+    }
+
+    private static void messe(Fitnessstudio fitnessstudio, String art, Function<String, String> anfrage,
+                              List<String> nachnamen, ZipfVerteilung haeufigkeit) {
+        Random zufall = new Random(7);
+        Latenzhistogramm latenz = new Latenzhistogramm();
+        long treffer = 0;
+
+        // Aufwärmen
+        for (int i = 0; i < ANFRAGEN / 4; i++) {
+            treffer += fitnessstudio.sucheMitglieder(anfrage.apply(nachnamen.get(haeufigkeit.ziehe(zufall))), TREFFER).size();
+        }
+
+        treffer = 0;
+
+        for (int i = 0; i < ANFRAGEN; i++) {
+            String text = anfrage.apply(nachnamen.get(haeufigkeit.ziehe(zufall)));
+            long start = System.nanoTime();
+            treffer += fitnessstudio.sucheMitglieder(text, TREFFER).size();
+            latenz.erfasse(System.nanoTime() - start);
+        }
+
+        ausgabe(art, latenz, (double) treffer / ANFRAGEN);
+    }
+
+    private static void ausgabe(String art, Latenzhistogramm latenz, double treffer) {
+        System.out.printf("%-34s %10.1f %10.1f %10.1f %10.1f %10.1f%n", art, latenz.perzentil(50) / 1e3,
+                latenz.perzentil(99) / 1e3, latenz.getMaximum() / 1e3, latenz.getMittelwert() / 1e3, treffer);
+    }
+
+    private static String ohneUmlaute(String text) {
+        return text.replace('ä', 'a').replace('ö', 'o').replace('ü', 'u');
+    }
+
+    private static String umschrieben(String text) {
+        return text.replace("ä", "ae").replace("ö", "oe").replace("ü", "ue");
+    }
+
+    /**
+     * Baut einen Tippfehler ein: zwei Nachbarn vertauscht, ein Zeichen fehlt, ist falsch oder
+     * zu viel.
+     */
+    private static String vertippt(String text, Random zufall) {
+        StringBuilder sb = new StringBuilder(text);
+        int stelle = 1 + zufall.nextInt(sb.length() - 1);
+        char zeichen = (char) ('a' + zufall.nextInt(26));
+
+        switch (zufall.nextInt(4)) {
+            case 0 -> {
+                char vorher = sb.charAt(stelle - 1);
+                sb.setCharAt(stelle - 1, sb.charAt(stelle));
+                sb.setCharAt(stelle, vorher);
+            }
+            case 1 -> sb.deleteCharAt(stelle);
+            case 2 -> sb.setCharAt(stelle, zeichen);
+            default -> sb.insert(stelle, zeichen);
+        }
+
+        return sb.toString();
+    }
+
+    private static long belegterHeap() {
+        Runtime laufzeit = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return laufzeit.totalMemory() - laufzeit.freeMemory();
+    }
+}
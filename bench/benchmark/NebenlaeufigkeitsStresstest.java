@@ -0,0 +1,119 @@
+package benchmark;
+
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraet;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.Mitglied;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stresstest für den nebenläufigen Betrieb eines {@link Fitnessstudio}s.
+ * Mehrere Threads versuchen gleichzeitig, dieselben Geräte-IDs und Mitgliedsnummern
+ * anzulegen, während weitere Threads parallel lesen. Am Ende muss jede ID genau
+ * einmal erfolgreich angelegt worden sein, sonst endet das Programm mit Exit-Code 1.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class NebenlaeufigkeitsStresstest {
+    private static final int SCHREIBER = 8;
+    private static final int LESER = 4;
+    private static final int IDS = 50_000;
+    private static final int RUNDEN = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== Stresstest: nebenläufiges Anlegen ===\n");
+
+        boolean fehlerfrei = true;
+
+        for (int runde = 1; runde <= RUNDEN; runde++) {
+            Fitnessstudio fitnessstudio = new Fitnessstudio();
+            AtomicInteger angelegteGeraete = new AtomicInteger();
+            AtomicInteger angelegteMitglieder = new AtomicInteger();
+            AtomicInteger abgelehnt = new AtomicInteger();
+            AtomicInteger treffer = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] threads = new Thread[SCHREIBER + LESER];
+
+            for (int t = 0; t < SCHREIBER; t++) {
+                int versatz = t;
+                threads[t] = new Thread(() -> {
+                    warte(start);
+
+                    // Jeder Schreiber läuft mit eigenem Versatz über alle IDs, damit sich die Threads ständig überholen
+                    for (int i = 0; i < IDS; i++) {
+                        int id = (i + versatz * (IDS / SCHREIBER)) % IDS;
+
+                        try {
+                            fitnessstudio.legeGeraetAn(new Geraet("G" + id, "Gerät " + id, GeraeteKategorie.KRAFT));
+                            angelegteGeraete.incrementAndGet();
+                        } catch (IllegalArgumentException e) {
+                            abgelehnt.incrementAndGet();
+                        }
+
+                        try {
+                            fitnessstudio.legeMitgliedAn(new Mitglied("M" + id, "Mitglied " + id, "Adresse " + id));
+                            angelegteMitglieder.incrementAndGet();
+                        } catch (IllegalArgumentException e) {
+                            abgelehnt.incrementAndGet();
+                        }
+                    }
+                });
+            }
+
+            for (int t = SCHREIBER; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    warte(start);
+
+                    for (int i = 0; i < IDS; i++) {
+                        if (fitnessstudio.getMitgliedByNummer("M" + i) != null) {
+                            treffer.incrementAndGet();
+                        }
+                    }
+                });
+            }
+
+            for (Thread thread : threads) {
+                thread.start();
+            }
+
+            long startzeit = System.nanoTime();
+            start.countDown();
+
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            long dauer = System.nanoTime() - startzeit;
+            int geraete = fitnessstudio.getGeraete().size();
+            int mitglieder = fitnessstudio.getMitglieder().size();
+            boolean ok = angelegteGeraete.get() == IDS && angelegteMitglieder.get() == IDS
+                    && geraete == IDS && mitglieder == IDS
+                    && abgelehnt.get() == 2 * IDS * (SCHREIBER - 1);
+
+            System.out.printf("Runde %d: %d Geräte, %d Mitglieder, %d Ablehnungen, %d Lesetreffer, %.1f ms -> %s%n",
+                    runde, geraete, mitglieder, abgelehnt.get(), treffer.get(), dauer / 1e6, ok ? "OK" : "FEHLER");
+            fehlerfrei &= ok;
+        }
+
+        System.out.println(fehlerfrei ? "\nKeine Duplikate gefunden." : "\nFEHLER: Duplikate oder verlorene Einträge!");
+
+        if (!fehlerfrei) {
+            System.exit(1);
+        }
+    }
+
+    private static void warte(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
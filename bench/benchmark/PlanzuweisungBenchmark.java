@@ -0,0 +1,122 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraet;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.Mitglied;
+import fitnessstudio.Uebung;
+import fitnessstudio.WiederholungsUebung;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Misst den Durchsatz von {@link Fitnessstudio#weisePlanZu(Mitglied, Fitnessplan)}
+ * mit 1 bis 64 Threads, die gleichzeitig auf wenige "heiße" Mitglieder zuweisen.
+ * Nach jedem Lauf wird geprüft, dass kein Mitglied mehr als
+ * {@value Mitglied#MAX_AKTIVE_PLAENE} Pläne besitzt und gesperrte Mitglieder leer bleiben.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class PlanzuweisungBenchmark {
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int HEISSE_MITGLIEDER = 16;
+    private static final int RUNDEN = 2_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== Benchmark: weisePlanZu auf heiße Mitglieder ===\n");
+        System.out.printf("%8s %16s %14s %10s%n", "Threads", "Zuweisungen/s", "Erfolgreich", "Status");
+
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        Geraet geraet = new Geraet("G001", "Bankdrückmaschine", GeraeteKategorie.KRAFT);
+        fitnessstudio.legeGeraetAn(geraet);
+
+        List<Uebung> uebungen = List.of(new WiederholungsUebung("Bankdrücken", "Brust", 3, geraet, 10));
+        Fitnessplan plan = fitnessstudio.erstelleFitnessplan("Brustplan", uebungen);
+
+        int naechsteNummer = 0;
+
+        for (int threads : THREADS) {
+            // Jede Runde bekommt frische Mitglieder; jedes vierte ist gesperrt
+            Mitglied[][] runden = new Mitglied[RUNDEN][HEISSE_MITGLIEDER];
+
+            for (Mitglied[] runde : runden) {
+                for (int i = 0; i < runde.length; i++) {
+                    runde[i] = new Mitglied("M" + naechsteNummer++, "Mitglied", "Adresse");
+                    runde[i].setGesperrt(i % 4 == 0);
+                    fitnessstudio.legeMitgliedAn(runde[i]);
+                }
+            }
+
+            AtomicLong versuche = new AtomicLong();
+            AtomicLong erfolge = new AtomicLong();
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] arbeiter = new Thread[threads];
+
+            for (int t = 0; t < threads; t++) {
+                arbeiter[t] = new Thread(() -> {
+                    long eigeneVersuche = 0;
+                    long eigeneErfolge = 0;
+
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+
+                    for (Mitglied[] runde : runden) {
+                        // Jeder Thread versucht jedem Mitglied der Runde einen Plan mehr zuzuweisen als erlaubt
+                        for (int versuch = 0; versuch <= Mitglied.MAX_AKTIVE_PLAENE; versuch++) {
+                            for (Mitglied mitglied : runde) {
+                                eigeneVersuche++;
+
+                                try {
+                                    fitnessstudio.weisePlanZu(mitglied, plan);
+                                    eigeneErfolge++;
+                                } catch (IllegalStateException e) {
+                                    // Erwartet: gesperrt oder alle Plätze belegt
+                                }
+                            }
+                        }
+                    }
+
+                    versuche.addAndGet(eigeneVersuche);
+                    erfolge.addAndGet(eigeneErfolge);
+                });
+                arbeiter[t].start();
+            }
+
+            long startzeit = System.nanoTime();
+            start.countDown();
+
+            for (Thread thread : arbeiter) {
+                thread.join();
+            }
+
+            long dauer = System.nanoTime() - startzeit;
+            boolean ok = erfolge.get() == (long) RUNDEN * (HEISSE_MITGLIEDER - HEISSE_MITGLIEDER / 4) * Mitglied.MAX_AKTIVE_PLAENE;
+
+            for (Mitglied[] runde : runden) {
+                for (Mitglied mitglied : runde) {
+                    int anzahl = mitglied.getAktivePlaene().size();
+                    ok &= mitglied.isGesperrt() ? anzahl == 0 : anzahl == Mitglied.MAX_AKTIVE_PLAENE;
+                }
+            }
+
+            System.out.printf("%8d %16.0f %14d %10s%n", threads, versuche.get() / (dauer / 1e9), erfolge.get(),
+                    ok ? "OK" : "FEHLER");
+
+            if (!ok) {
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Latenzhistogramm;
+import fitnessstudio.Mitglied;
+import fitnessstudio.Reservierung;
+import fitnessstudio.Reservierungen;
+import fitnessstudio.Uebung;
+import fitnessstudio.Validierungsergebnis;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Misst {@link Reservierungen} auf einem Studio mit 200 Geräten und 100.000 Mitgliedern:
+ * Latenz von Buchung und Stornierung bei 0, 100.000, 1.000.000 und 2.000.000 bestehenden
+ * Reservierungen (die Endzahl kann als erstes Argument übergeben werden), verteilt über ein
+ * Jahr, und anschließend den Buchungsdurchsatz mit 1, 8 und 64 gleichzeitigen Terminals.
+ * Gebucht wird jeweils ein zufälliges Gerät aus dem ersten aktiven Plan eines zufälligen
+ * Mitglieds zu einem zufälligen Zeitpunkt; belegte Zeitfenster werden über das
+ * {@link Validierungsergebnis} abgelehnt. Benötigt etwa 3 GB Heap ({@code -Xmx3g}).
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class ReservierungsBenchmark {
+    private static final LocalDateTime ANFANG = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final int ZEITFENSTER = 365 * 24 * 60 / Reservierungen.ZEITRASTER_MIN;
+    private static final int MESSUNGEN = 50_000;
+    private static final int[] TERMINALS = {1, 8, 64};
+    private static final int BUCHUNGEN_PRO_LAUF = 200_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int endzahl = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        System.out.println("=== Reservierungs-Benchmark ===\n");
+
+        Fitnessstudio fitnessstudio = new StudioGenerator()
+                .geraeteProKategorie(100)
+                .mitglieder(100_000)
+                .erzeuge();
+        List<Mitglied> mitglieder = new ArrayList<>();
+
+        for (Mitglied mitglied : fitnessstudio.getMitglieder()) {
+            if (!mitglied.isGesperrt() && !mitglied.getAktivePlaene().isEmpty()) {
+                mitglieder.add(mitglied);
+            }
+        }
+
+        Reservierungen reservierungen = fitnessstudio.getReservierungen();
+        Random zufall = new Random(42);
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+
+        System.out.printf("%14s %12s %12s %12s %12s %12s%n", "Bestand", "Buchen p50", "Buchen p99",
+                "Storno p50", "Storno p99", "abgelehnt");
+
+        for (int stufe : new int[]{0, 100_000, 1_000_000, endzahl}) {
+            while (reservierungen.getAnzahl() < stufe) {
+                buche(reservierungen, mitglieder, zufall, ergebnis);
+            }
+
+            miss(reservierungen, mitglieder, zufall, ergebnis);
+        }
+
+        System.out.printf("%n%10s %16s %12s%n", "Terminals", "Buchungen/s", "abgelehnt");
+
+        for (int terminals : TERMINALS) {
+            durchsatz(reservierungen, mitglieder, terminals);
+        }
+    }
+
+    private static void miss(Reservierungen reservierungen, List<Mitglied> mitglieder, Random zufall,
+                             Validierungsergebnis ergebnis) {
+        Latenzhistogramm buchen = new Latenzhistogramm();
+        Latenzhistogramm stornieren = new Latenzhistogramm();
+        List<Reservierung> gebucht = new ArrayList<>(MESSUNGEN);
+        int abgelehnt = 0;
+        int bestand = reservierungen.getAnzahl();
+
+        for (int i = 0; i < MESSUNGEN; i++) {
+            long start = System.nanoTime();
+            Reservierung reservierung = buche(reservierungen, mitglieder, zufall, ergebnis);
+            buchen.erfasse(System.nanoTime() - start);
+
+            if (reservierung == null) {
+                abgelehnt++;
+            } else {
+                gebucht.add(reservierung);
+            }
+        }
+
+        for (Reservierung reservierung : gebucht) {
+            long start = System.nanoTime();
+            reservierungen.storniere(reservierung.getNummer());
+            stornieren.erfasse(System.nanoTime() - start);
+        }
+
+        System.out.printf("%14d %9.1f µs %9.1f µs %9.1f µs %9.1f µs %11.1f%%%n", bestand,
+                buchen.perzentil(50) / 1e3, buchen.perzentil(99) / 1e3,
+                stornieren.perzentil(50) / 1e3, stornieren.perzentil(99) / 1e3, 100.0 * abgelehnt / MESSUNGEN);
+    }
+
+    private static void durchsatz(Reservierungen reservierungen, List<Mitglied> mitglieder, int terminals)
+            throws InterruptedException {
+        CountDownLatch los = new CountDownLatch(1);
+        AtomicLong abgelehnt = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < terminals; t++) {
+            int nummer = t;
+            Thread thread = new Thread(() -> {
+                Random zufall = new Random(nummer);
+                Validierungsergebnis ergebnis = new Validierungsergebnis();
+
+                try {
+                    los.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                for (int i = nummer; i < BUCHUNGEN_PRO_LAUF; i += terminals) {
+                    if (buche(reservierungen, mitglieder, zufall, ergebnis) == null) {
+                        abgelehnt.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long start = System.nanoTime();
+        los.countDown();
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long dauer = System.nanoTime() - start;
+        System.out.printf("%10d %16.0f %11.1f%%%n", terminals, BUCHUNGEN_PRO_LAUF / (dauer / 1e9),
+                100.0 * abgelehnt.get() / BUCHUNGEN_PRO_LAUF);
+    }
+
+    private static Reservierung buche(Reservierungen reservierungen, List<Mitglied> mitglieder, Random zufall,
+                                      Validierungsergebnis ergebnis) {
+        Mitglied mitglied = mitglieder.get(zufall.nextInt(mitglieder.size()));
+        Fitnessplan plan = mitglied.getAktivePlaene().get(0);
+        List<Uebung> uebungen = plan.getUebungen();
+        String geraeteId = uebungen.get(zufall.nextInt(uebungen.size())).getGeraet().getGeraeteId();
+        LocalDateTime beginn = ANFANG.plusMinutes((long) zufall.nextInt(ZEITFENSTER) * Reservierungen.ZEITRASTER_MIN);
+        return reservierungen.versucheZuReservieren(mitglied, plan, geraeteId, beginn, ergebnis);
+    }
+}
@@ -0,0 +1,124 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Mitglied;
+import fitnessstudio.Seite;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Misst das seitenweise Blättern auf einem Studio mit 1.000.000 Mitgliedern (2 % gesperrt)
+ * und 100.000 Plänen: Laufzeit und allokierte Bytes je Seite mit 50 Einträgen am Anfang, ab
+ * einem zufälligen Cursor und mit Filter, zum Vergleich das Sortieren einer Kopie aller
+ * Mitglieder nach Nummer, wie es eine Seite ohne sortierten Index braucht, sowie einen
+ * vollständigen Durchlauf über alle Seiten.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class SeitenBenchmark {
+    private static final int MITGLIEDER = 1_000_000;
+    private static final int PLAENE = 100_000;
+    private static final int SEITE = 50;
+    private static final int AUFRUFE = 100_000;
+    private static final int KOPIEN = 20;
+
+    private static long summe;
+
+    public static void main(String[] args) {
+        System.out.println("=== Seiten-Benchmark ===\n");
+
+        Fitnessstudio fitnessstudio = new StudioGenerator()
+                .mitglieder(MITGLIEDER)
+                .plaene(PLAENE)
+                .erzeuge();
+        List<Mitglied> mitglieder = fitnessstudio.getMitglieder();
+        Random zufall = new Random(42);
+        String[] cursor = new String[1024];
+
+        for (int i = 0; i < cursor.length; i++) {
+            cursor[i] = mitglieder.get(zufall.nextInt(mitglieder.size())).getMitgliedsnummer();
+        }
+
+        System.out.printf("%-36s %14s %14s%n", "Zugriff", "ns/Aufruf", "Bytes/Aufruf");
+        miss("erste Seite", AUFRUFE, i -> fitnessstudio.getMitgliederSeite(null, SEITE, null).getEintraege().size());
+        miss("Seite ab zufälligem Cursor", AUFRUFE, i -> fitnessstudio.getMitgliederSeite(cursor[i & 1023], SEITE,
+                null).getEintraege().size());
+        miss("Seite gesperrter Mitglieder", AUFRUFE / 100, i -> fitnessstudio.getMitgliederSeite(cursor[i & 1023],
+                SEITE, Mitglied::isGesperrt).getEintraege().size());
+        miss("Planseite ab zufälligem Cursor", AUFRUFE, i -> fitnessstudio.getPlaeneSeite(
+                String.valueOf((i * 7919) % PLAENE), SEITE, null).getEintraege().size());
+        miss("ohne Index: Kopie sortieren", KOPIEN, i -> {
+            List<Mitglied> kopie = new ArrayList<>(fitnessstudio.getMitglieder());
+            kopie.sort(Comparator.comparing(Mitglied::getMitgliedsnummer));
+            return kopie.subList(0, SEITE).size();
+        });
+
+        long start = System.nanoTime();
+        long bytes = Allokation.allokierteBytes();
+        int seiten = 0;
+        int gelesen = 0;
+        Seite<Mitglied> seite = fitnessstudio.getMitgliederSeite(null, SEITE, null);
+
+        while (true) {
+            seiten++;
+            gelesen += seite.getEintraege().size();
+
+            if (!seite.hatWeitere()) {
+                break;
+            }
+
+            seite = fitnessstudio.getMitgliederSeite(seite.getCursor(), SEITE, null);
+        }
+
+        System.out.printf("%nAlle %d Seiten (%d Mitglieder): %.1f ms, %.0f Bytes/Seite%n", seiten, gelesen,
+                (System.nanoTime() - start) / 1e6, (double) (Allokation.allokierteBytes() - bytes) / seiten);
+
+        int gueltig = 0;
+        Seite<Fitnessplan> planseite = fitnessstudio.getPlaeneSeite(null, SEITE, fitnessstudio::istGueltig);
+
+        while (true) {
+            gueltig += planseite.getEintraege().size();
+
+            if (!planseite.hatWeitere()) {
+                break;
+            }
+
+            planseite = fitnessstudio.getPlaeneSeite(planseite.getCursor(), SEITE, fitnessstudio::istGueltig);
+        }
+
+        System.out.printf("Gültige Pläne über alle Seiten: %d von %d%n", gueltig, fitnessstudio.getPlaene().size());
+
+        if (summe == 42) {
+            System.out.println();
+        }
+    }
+
+    private static void miss(String name, int aufrufe, IntToLongFunction zugriff) {
+        // Aufwärmen
+        for (int i = 0; i < aufrufe; i++) {
+            summe += zugriff.applyAsLong(i);
+        }
+
+        long bytes = Allokation.allokierteBytes();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < aufrufe; i++) {
+            summe += zugriff.applyAsLong(i);
+        }
+
+        long dauer = System.nanoTime() - start;
+        bytes = Allokation.allokierteBytes() - bytes;
+
+        System.out.printf("%-36s %14.1f %14.1f%n", name, (double) dauer / aufrufe, (double) bytes / aufrufe);
+    }
+}
@@ -0,0 +1,101 @@
+package benchmark;
+
+import fitnessstudio.DauerUebung;
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraet;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.Mitglied;
+import fitnessstudio.SnapshotDatei;
+import fitnessstudio.Uebung;
+import fitnessstudio.WiederholungsUebung;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Misst Schreib- und Ladezeit eines {@link SnapshotDatei}-Abbilds für ein Studio mit
+ * 1.000.000 Mitgliedern (oder der als erstes Argument übergebenen Anzahl).
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class SnapshotBenchmark {
+    private static final int GERAETE = 200;
+    private static final int PLAENE = 10_000;
+    private static final int DURCHLAEUFE = 5;
+
+    public static void main(String[] args) throws IOException {
+        int anzahlMitglieder = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.println("=== Snapshot-Benchmark ===\n");
+
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        Geraet[] geraete = new Geraet[GERAETE];
+
+        for (int i = 0; i < GERAETE; i++) {
+            geraete[i] = new Geraet("G" + i, "Gerät " + i, i % 2 == 0 ? GeraeteKategorie.KRAFT : GeraeteKategorie.AUSDAUER);
+            fitnessstudio.legeGeraetAn(geraete[i]);
+        }
+
+        Fitnessplan[] plaene = new Fitnessplan[PLAENE];
+
+        for (int i = 0; i < PLAENE; i++) {
+            List<Uebung> uebungen = List.of(
+                    new WiederholungsUebung("Bankdrücken", "Brust", 3, geraete[i % GERAETE], 10),
+                    new DauerUebung("Laufen", "Ausdauer", 1, geraete[(i * 7) % GERAETE], 20));
+            plaene[i] = fitnessstudio.erstelleFitnessplan("Plan " + i, uebungen);
+        }
+
+        for (int i = 0; i < anzahlMitglieder; i++) {
+            Mitglied mitglied = new Mitglied("M" + i, "Mitglied " + i, "Hauptstraße " + i + ", 12345 Musterstadt");
+            fitnessstudio.legeMitgliedAn(mitglied);
+
+            for (int j = 0; j < i % (Mitglied.MAX_AKTIVE_PLAENE + 1); j++) {
+                fitnessstudio.weisePlanZu(mitglied, plaene[(i + j * 31) % PLAENE]);
+            }
+
+            mitglied.setGesperrt(i % 100 == 0);
+        }
+
+        Path datei = Files.createTempFile("fitnessstudio", ".snapshot");
+        long besteSchreibzeit = Long.MAX_VALUE;
+        long besteLadezeit = Long.MAX_VALUE;
+        Fitnessstudio geladen = null;
+
+        for (int i = 0; i < DURCHLAEUFE; i++) {
+            long start = System.nanoTime();
+            SnapshotDatei.schreibe(fitnessstudio, datei);
+            besteSchreibzeit = Math.min(besteSchreibzeit, System.nanoTime() - start);
+
+            // Vorheriges Ergebnis freigeben, damit die Ladezeit nicht von dessen Speicherbereinigung abhängt
+            geladen = null;
+            System.gc();
+
+            start = System.nanoTime();
+            geladen = SnapshotDatei.lade(datei);
+            besteLadezeit = Math.min(besteLadezeit, System.nanoTime() - start);
+        }
+
+        System.out.printf("Mitglieder: %d, Pläne: %d, Geräte: %d%n", anzahlMitglieder, PLAENE, GERAETE);
+        System.out.printf("Dateigröße: %.1f MB%n", Files.size(datei) / 1e6);
+        System.out.printf("Schreiben:  %.1f ms%n", besteSchreibzeit / 1e6);
+        System.out.printf("Laden:      %.1f ms%n", besteLadezeit / 1e6);
+
+        Mitglied original = fitnessstudio.getMitgliedByNummer("M" + (anzahlMitglieder - 1));
+        Mitglied kopie = geladen.getMitgliedByNummer("M" + (anzahlMitglieder - 1));
+        boolean ok = geladen.getMitglieder().size() == anzahlMitglieder
+                && geladen.getPlaene().size() == PLAENE
+                && kopie.getAktivePlaene().size() == original.getAktivePlaene().size()
+                && kopie.isGesperrt() == original.isGesperrt();
+        System.out.println("Prüfung:    " + (ok ? "OK" : "FEHLER"));
+
+        Files.delete(datei);
+    }
+}
@@ -0,0 +1,98 @@
+package benchmark;
+
+import fitnessstudio.DauerUebung;
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Uebung;
+import fitnessstudio.UebungsSpalten;
+import fitnessstudio.WiederholungsUebung;
+
+import java.util.List;
+
+/**
+ * Vergleicht für 1.000.000 Pläne (oder die als erstes Argument übergebene Anzahl) die
+ * Ablage der Übungen als einzelne Objekte, als über den Übungskatalog geteilte Objekte und
+ * spaltenweise nach {@link Fitnessstudio#verdichtePlaene()}: belegter Heap nach vollständiger
+ * Speicherbereinigung sowie die Dauer eines Durchlaufs, der das Trainingsvolumen (Sätze ×
+ * Wiederholungen bzw. Minuten) über alle Übungen summiert. Benötigt etwa 3 GB Heap ({@code -Xmx3g}).
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class SpaltenBenchmark {
+    private static final int DURCHLAEUFE = 5;
+
+    public static void main(String[] args) {
+        int plaene = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.println("=== Spalten-Benchmark ===\n");
+        System.out.printf("%-22s %12s %14s %12s %16s%n", "Ablage", "Pläne", "Heap (MB)", "Bytes/Plan", "Durchlauf (ms)");
+
+        miss("Objekte", plaene, false, false);
+        miss("Objekte mit Katalog", plaene, true, false);
+        miss("Spalten", plaene, false, true);
+    }
+
+    private static void miss(String ablage, int plaene, boolean katalog, boolean spalten) {
+        long vorher = belegterHeap();
+        Fitnessstudio fitnessstudio = new StudioGenerator()
+                .plaene(plaene)
+                .mitglieder(1)
+                .uebungsKatalog(katalog)
+                .erzeuge();
+        UebungsSpalten block = spalten ? fitnessstudio.verdichtePlaene() : null;
+        long heap = belegterHeap() - vorher;
+
+        long beste = Long.MAX_VALUE;
+        long volumen = 0;
+
+        for (int i = 0; i < DURCHLAEUFE; i++) {
+            long start = System.nanoTime();
+            volumen = block != null ? volumen(block) : volumen(fitnessstudio.getPlaene());
+            beste = Math.min(beste, System.nanoTime() - start);
+        }
+
+        System.out.printf("%-22s %12d %14.1f %12.0f %16.1f   (Volumen %d)%n", ablage, fitnessstudio.getPlaene().size(),
+                heap / 1e6, (double) heap / plaene, beste / 1e6, volumen);
+    }
+
+    private static long volumen(List<Fitnessplan> plaene) {
+        long summe = 0;
+
+        for (Fitnessplan plan : plaene) {
+            for (Uebung uebung : plan.getUebungen()) {
+                int wert = uebung instanceof DauerUebung
+                        ? ((DauerUebung) uebung).getTrainingsdauerMin()
+                        : ((WiederholungsUebung) uebung).getWiederholungen();
+                summe += (long) uebung.getSaetze() * wert;
+            }
+        }
+
+        return summe;
+    }
+
+    private static long volumen(UebungsSpalten spalten) {
+        long summe = 0;
+
+        for (int zeile = 0; zeile < spalten.getAnzahlUebungen(); zeile++) {
+            summe += (long) spalten.getSaetze(zeile)
+                    * (spalten.getWiederholungen(zeile) + spalten.getTrainingsdauerMin(zeile));
+        }
+
+        return summe;
+    }
+
+    private static long belegterHeap() {
+        Runtime laufzeit = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return laufzeit.totalMemory() - laufzeit.freeMemory();
+    }
+}
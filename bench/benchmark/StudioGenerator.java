@@ -0,0 +1,249 @@
+package benchmark;
+
+import fitnessstudio.DauerUebung;
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Geraet;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.Mitglied;
+import fitnessstudio.PlanAnlageErgebnis;
+import fitnessstudio.PlanEntwurf;
+import fitnessstudio.Uebung;
+import fitnessstudio.UebungsKatalog;
+import fitnessstudio.WiederholungsUebung;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Erzeugt reproduzierbar ein synthetisches {@link Fitnessstudio} beliebiger Größe:
+ * eine feste Anzahl Geräte je {@link GeraeteKategorie}, Pläne aus einer Mischung von
+ * {@link WiederholungsUebung}en (an Kraftgeräten) und {@link DauerUebung}en (an
+ * Ausdauergeräten) sowie Mitglieder, denen Pläne nach einer {@link ZipfVerteilung}
+ * zugewiesen werden. Der erste Plan ist dadurch der beliebteste, wenige Pläne vereinen
+ * den Großteil aller Zuweisungen auf sich.
+ * <p>
+ * Alle Parameter haben Standardwerte und werden über verkettete Setter geändert. Mitglied
+ * {@code i} erhält die Nummer {@link #mitgliedsnummer(int)}; Pläne liegen in
+ * {@link Fitnessstudio#getPlaene()} nach absteigender Beliebtheit. Auf Wunsch werden die
+ * Übungen über den {@link UebungsKatalog} des Studios angelegt und zwischen Plänen geteilt.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+final class StudioGenerator {
+    private static final int PLAENE_PRO_STAPEL = 10_000;
+    private static final String[] VORNAMEN = {"Anna", "Ben", "Clara", "David", "Emma", "Felix", "Greta",
+            "Hannah", "Jonas", "Lena", "Lukas", "Mia", "Noah", "Paul", "Sophie", "Tim"};
+    private static final String[] NACHNAMEN = {"Müller", "Schmidt", "Schneider", "Fischer", "Weber",
+            "Meyer", "Wagner", "Becker", "Schulz", "Hoffmann", "Koch", "Richter"};
+    private static final String[] STRASSEN = {"Hauptstraße", "Schulstraße", "Gartenweg", "Bahnhofstraße",
+            "Lindenallee", "Bergstraße", "Kirchplatz", "Am Markt"};
+
+    private int geraeteProKategorie = 20;
+    private int mitglieder = 100_000;
+    private int plaene = 2_000;
+    private int minUebungen = 3;
+    private int maxUebungen = 8;
+    private double anteilDauerUebungen = 0.3;
+    private double plaeneProMitglied = 1.5;
+    private double anteilGesperrt = 0.02;
+    private double zipfExponent = 1.0;
+    private long startwert = 42;
+    private boolean uebungsKatalog;
+
+    StudioGenerator geraeteProKategorie(int geraeteProKategorie) {
+        if (geraeteProKategorie < 1) {
+            throw new IllegalArgumentException("Es wird mindestens ein Gerät je Kategorie benötigt.");
+        }
+
+        this.geraeteProKategorie = geraeteProKategorie;
+        return this;
+    }
+
+    StudioGenerator mitglieder(int mitglieder) {
+        if (mitglieder < 1) {
+            throw new IllegalArgumentException("Es wird mindestens ein Mitglied benötigt.");
+        }
+
+        this.mitglieder = mitglieder;
+        return this;
+    }
+
+    StudioGenerator plaene(int plaene) {
+        if (plaene < 1) {
+            throw new IllegalArgumentException("Es wird mindestens ein Plan benötigt.");
+        }
+
+        this.plaene = plaene;
+        return this;
+    }
+
+    StudioGenerator uebungenProPlan(int min, int max) {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Ungültige Anzahl Übungen pro Plan: " + min + " bis " + max);
+        }
+
+        this.minUebungen = min;
+        this.maxUebungen = max;
+        return this;
+    }
+
+    StudioGenerator anteilDauerUebungen(double anteil) {
+        this.anteilDauerUebungen = pruefeAnteil(anteil);
+        return this;
+    }
+
+    StudioGenerator plaeneProMitglied(double durchschnitt) {
+        if (durchschnitt < 0 || durchschnitt > Mitglied.MAX_AKTIVE_PLAENE) {
+            throw new IllegalArgumentException("Die Anzahl Pläne pro Mitglied muss zwischen 0 und "
+                    + Mitglied.MAX_AKTIVE_PLAENE + " liegen.");
+        }
+
+        this.plaeneProMitglied = durchschnitt;
+        return this;
+    }
+
+    StudioGenerator anteilGesperrt(double anteil) {
+        this.anteilGesperrt = pruefeAnteil(anteil);
+        return this;
+    }
+
+    StudioGenerator zipfExponent(double exponent) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Der Zipf-Exponent darf nicht negativ sein.");
+        }
+
+        this.zipfExponent = exponent;
+        return this;
+    }
+
+    StudioGenerator startwert(long startwert) {
+        this.startwert = startwert;
+        return this;
+    }
+
+    StudioGenerator uebungsKatalog(boolean verwenden) {
+        this.uebungsKatalog = verwenden;
+        return this;
+    }
+
+    int getMitglieder() {
+        return mitglieder;
+    }
+
+    double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    /**
+     * Gibt die Nummer zurück, die das {@code i}-te erzeugte Mitglied erhält.
+     *
+     * @param i Laufende Nummer ab 0
+     * @return Die Mitgliedsnummer
+     */
+    static String mitgliedsnummer(int i) {
+        return "M" + i;
+    }
+
+    /**
+     * Erzeugt ein neues Studio mit den eingestellten Parametern. Gleiche Parameter und
+     * gleicher Startwert ergeben ein gleiches Studio.
+     *
+     * @return Das befüllte Studio
+     */
+    Fitnessstudio erzeuge() {
+        Random zufall = new Random(startwert);
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        List<Geraet> kraft = new ArrayList<>();
+        List<Geraet> ausdauer = new ArrayList<>();
+
+        for (GeraeteKategorie kategorie : GeraeteKategorie.values()) {
+            for (int i = 0; i < geraeteProKategorie; i++) {
+                String praefix = kategorie == GeraeteKategorie.KRAFT ? "K" : "A";
+                Geraet geraet = new Geraet(praefix + i, kategorie + " " + (i + 1), kategorie);
+                fitnessstudio.legeGeraetAn(geraet);
+                (kategorie == GeraeteKategorie.KRAFT ? kraft : ausdauer).add(geraet);
+            }
+        }
+
+        for (int start = 0; start < plaene; start += PLAENE_PRO_STAPEL) {
+            List<PlanEntwurf> entwuerfe = new ArrayList<>();
+
+            for (int p = start; p < Math.min(plaene, start + PLAENE_PRO_STAPEL); p++) {
+                entwuerfe.add(new PlanEntwurf("Plan " + p, erzeugeUebungen(zufall, kraft, ausdauer,
+                        uebungsKatalog ? fitnessstudio.getUebungsKatalog() : null)));
+            }
+
+            for (PlanAnlageErgebnis ergebnis : fitnessstudio.erstelleFitnessplaene(entwuerfe)) {
+                if (!ergebnis.istErfolgreich()) {
+                    throw new IllegalStateException(ergebnis.getFehlermeldung());
+                }
+            }
+        }
+
+        List<Fitnessplan> alle = fitnessstudio.getPlaene();
+        ZipfVerteilung beliebtheit = new ZipfVerteilung(alle.size(), zipfExponent);
+        double wahrscheinlichkeit = plaeneProMitglied / Mitglied.MAX_AKTIVE_PLAENE;
+
+        for (int i = 0; i < mitglieder; i++) {
+            String name = VORNAMEN[zufall.nextInt(VORNAMEN.length)] + " " + NACHNAMEN[zufall.nextInt(NACHNAMEN.length)];
+            String adresse = STRASSEN[zufall.nextInt(STRASSEN.length)] + " " + (1 + zufall.nextInt(120));
+            Mitglied mitglied = new Mitglied(mitgliedsnummer(i), name, adresse);
+            fitnessstudio.legeMitgliedAn(mitglied);
+
+            for (int platz = 0; platz < Mitglied.MAX_AKTIVE_PLAENE; platz++) {
+                if (zufall.nextDouble() < wahrscheinlichkeit) {
+                    Fitnessplan plan = alle.get(beliebtheit.ziehe(zufall));
+
+                    if (!mitglied.getAktivePlaene().contains(plan)) {
+                        fitnessstudio.weisePlanZu(mitglied, plan);
+                    }
+                }
+            }
+
+            if (zufall.nextDouble() < anteilGesperrt) {
+                mitglied.setGesperrt(true);
+            }
+        }
+
+        return fitnessstudio;
+    }
+
+    private List<Uebung> erzeugeUebungen(Random zufall, List<Geraet> kraft, List<Geraet> ausdauer, UebungsKatalog katalog) {
+        int anzahl = minUebungen + zufall.nextInt(maxUebungen - minUebungen + 1);
+        List<Uebung> uebungen = new ArrayList<>(anzahl);
+
+        for (int u = 0; u < anzahl; u++) {
+            if (zufall.nextDouble() < anteilDauerUebungen) {
+                Geraet geraet = ausdauer.get(zufall.nextInt(ausdauer.size()));
+                int dauer = 10 + 5 * zufall.nextInt(11);
+                uebungen.add(katalog == null
+                        ? new DauerUebung("Ausdauer " + u, "Gleichmäßiges Tempo", 1, geraet, dauer)
+                        : katalog.dauerUebung("Ausdauer " + u, "Gleichmäßiges Tempo", 1, geraet, dauer));
+            } else {
+                Geraet geraet = kraft.get(zufall.nextInt(kraft.size()));
+                int saetze = 2 + zufall.nextInt(3);
+                int wiederholungen = 8 + zufall.nextInt(8);
+                uebungen.add(katalog == null
+                        ? new WiederholungsUebung("Kraft " + u, "Saubere Ausführung", saetze, geraet, wiederholungen)
+                        : katalog.wiederholungsUebung("Kraft " + u, "Saubere Ausführung", saetze, geraet, wiederholungen));
+            }
+        }
+
+        return uebungen;
+    }
+
+    private static double pruefeAnteil(double anteil) {
+        if (anteil < 0 || anteil > 1) {
+            throw new IllegalArgumentException("Ein Anteil muss zwischen 0 und 1 liegen.");
+        }
+
+        return anteil;
+    }
+}
@@ -0,0 +1,222 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Latenzhistogramm;
+import fitnessstudio.Mitglied;
+import fitnessstudio.Mitgliedsstand;
+import fitnessstudio.StudioStand;
+import fitnessstudio.Validierungsergebnis;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Misst Auswertungen über einen {@link StudioStand} auf einem Studio mit 100.000 Mitgliedern
+ * und 2.000 Plänen. Ein Bericht zählt gesperrte Mitglieder, aktive Pläne und deren Übungen
+ * und bildet eine Prüfsumme über die Adressen; jeder Durchlauf erstellt ihn zweimal
+ * hintereinander. Gemessen werden Durchläufe über einen festgehaltenen Stand und zum Vergleich
+ * über die aktuellen Getter, jeweils ohne und mit zwei schreibenden Threads (Adressänderungen,
+ * Sperren und Entsperren, gelegentlich neue Mitglieder mit Planzuweisung). Ausgegeben werden
+ * Wand- und CPU-Zeit des lesenden Threads je berichtetem Mitglied, wie viele Durchläufe zwei
+ * verschiedene Berichte lieferten, die Schreibrate und die Latenz von
+ * {@link Fitnessstudio#snapshot()}.
+ * <p>
+ * Da Lesende und Schreibende sich einen Rechner teilen, zeigt die CPU-Zeit des lesenden
+ * Threads, ob das Lesen selbst teurer wird.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class StudioStandBenchmark {
+    private static final int MITGLIEDER = 100_000;
+    private static final int SCHREIBENDE = 2;
+    private static final long PHASE_MS = 5_000;
+    private static final int FESTHALTUNGEN = 20_000;
+    private static final int NEUE_MITGLIEDER_JEDE = 64;
+
+    private static volatile boolean schreiben;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== StudioStand-Benchmark ===\n");
+
+        Fitnessstudio fitnessstudio = new StudioGenerator()
+                .mitglieder(MITGLIEDER)
+                .plaene(2_000)
+                .erzeuge();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        // Aufwärmen
+        lauf(fitnessstudio, threads, true, 2_000);
+
+        System.out.printf("%-28s %10s %12s %12s %12s %14s%n", "Fall", "Durchläufe", "Wand ns/M.", "CPU ns/M.",
+                "abweichend", "Änderungen/s");
+        ausgabe("Stand, ohne Schreibende", lauf(fitnessstudio, threads, true, PHASE_MS), 0);
+        ausgabe("Getter, ohne Schreibende", lauf(fitnessstudio, threads, false, PHASE_MS), 0);
+
+        AtomicLong aenderungen = new AtomicLong();
+        List<Thread> schreibende = starteSchreibende(fitnessstudio, aenderungen);
+        long beginn = System.nanoTime();
+        aenderungen.set(0);
+        long[] mitStand = lauf(fitnessstudio, threads, true, PHASE_MS);
+        double rateMitStand = aenderungen.get() / ((System.nanoTime() - beginn) / 1e9);
+        beginn = System.nanoTime();
+        aenderungen.set(0);
+        long[] live = lauf(fitnessstudio, threads, false, PHASE_MS);
+        double rateLive = aenderungen.get() / ((System.nanoTime() - beginn) / 1e9);
+
+        ausgabe("Stand, " + SCHREIBENDE + " Schreibende", mitStand, rateMitStand);
+        ausgabe("Getter, " + SCHREIBENDE + " Schreibende", live, rateLive);
+
+        Latenzhistogramm festhalten = new Latenzhistogramm();
+
+        for (int i = 0; i < FESTHALTUNGEN; i++) {
+            long start = System.nanoTime();
+            StudioStand stand = fitnessstudio.snapshot();
+            festhalten.erfasse(System.nanoTime() - start);
+            stand.close();
+        }
+
+        schreiben = false;
+
+        for (Thread thread : schreibende) {
+            thread.join();
+        }
+
+        System.out.printf("%nsnapshot() bei %d Schreibenden: p50 %.1f µs, p99 %.1f µs, max %.1f µs%n", SCHREIBENDE,
+                festhalten.perzentil(50) / 1e3, festhalten.perzentil(99) / 1e3, festhalten.getMaximum() / 1e3);
+    }
+
+    /**
+     * Erstellt eine Phase lang Berichte und gibt Durchläufe, Wand- und CPU-Zeit in Nanosekunden,
+     * die Anzahl abweichender Durchläufe und die Summe der berichteten Mitglieder zurück.
+     */
+    private static long[] lauf(Fitnessstudio fitnessstudio, ThreadMXBean threads, boolean mitStand, long dauerMs) {
+        long durchlaeufe = 0;
+        long abweichend = 0;
+        long berichtet = 0;
+        long cpuBeginn = threads.getCurrentThreadCpuTime();
+        long beginn = System.nanoTime();
+        long ende = beginn + dauerMs * 1_000_000;
+
+        while (System.nanoTime() < ende) {
+            long erster;
+            long zweiter;
+
+            if (mitStand) {
+                try (StudioStand stand = fitnessstudio.snapshot()) {
+                    erster = bericht(stand);
+                    zweiter = bericht(stand);
+                    berichtet += 2L * stand.getMitglieder().size();
+                }
+            } else {
+                erster = bericht(fitnessstudio);
+                zweiter = bericht(fitnessstudio);
+                berichtet += 2L * fitnessstudio.getMitglieder().size();
+            }
+
+            if (erster != zweiter) {
+                abweichend++;
+            }
+
+            durchlaeufe++;
+        }
+
+        return new long[] {durchlaeufe, System.nanoTime() - beginn, threads.getCurrentThreadCpuTime() - cpuBeginn,
+                abweichend, berichtet};
+    }
+
+    private static long bericht(StudioStand stand) {
+        long gesperrt = 0;
+        long plaene = 0;
+        long uebungen = 0;
+        long adressen = 0;
+
+        for (Mitgliedsstand mitglied : stand.getMitglieder()) {
+            if (mitglied.isGesperrt()) {
+                gesperrt++;
+            }
+
+            for (Fitnessplan plan : mitglied.getAktivePlaene()) {
+                plaene++;
+                uebungen += stand.getPlanstand(plan).getUebungen().size();
+            }
+
+            adressen = adressen * 31 + mitglied.getAdresse().hashCode();
+        }
+
+        return ((gesperrt * 1_000_003 + plaene) * 1_000_003 + uebungen) * 31 + adressen;
+    }
+
+    private static long bericht(Fitnessstudio fitnessstudio) {
+        long gesperrt = 0;
+        long plaene = 0;
+        long uebungen = 0;
+        long adressen = 0;
+
+        for (Mitglied mitglied : fitnessstudio.getMitglieder()) {
+            if (mitglied.isGesperrt()) {
+                gesperrt++;
+            }
+
+            for (Fitnessplan plan : mitglied.getAktivePlaene()) {
+                plaene++;
+                uebungen += plan.getUebungen().size();
+            }
+
+            adressen = adressen * 31 + mitglied.getAdresse().hashCode();
+        }
+
+        return ((gesperrt * 1_000_003 + plaene) * 1_000_003 + uebungen) * 31 + adressen;
+    }
+
+    private static List<Thread> starteSchreibende(Fitnessstudio fitnessstudio, AtomicLong aenderungen) {
+        List<Mitglied> mitglieder = fitnessstudio.getMitglieder();
+        List<Fitnessplan> plaene = fitnessstudio.getPlaene();
+        List<Thread> schreibende = new ArrayList<>();
+        schreiben = true;
+
+        for (int t = 0; t < SCHREIBENDE; t++) {
+            int nummer = t;
+            Thread thread = new Thread(() -> {
+                Random zufall = new Random(nummer);
+                Validierungsergebnis ergebnis = new Validierungsergebnis();
+                long i = 0;
+
+                while (schreiben) {
+                    Mitglied mitglied = mitglieder.get(zufall.nextInt(mitglieder.size()));
+
+                    if (++i % NEUE_MITGLIEDER_JEDE == 0) {
+                        Mitglied neu = new Mitglied("S" + nummer + "-" + i, "Neues Mitglied", "Adresse");
+                        fitnessstudio.legeMitgliedAn(neu);
+                        fitnessstudio.versuchePlanZuzuweisen(neu, plaene.get(zufall.nextInt(plaene.size())), ergebnis);
+                    } else if (i % 2 == 0) {
+                        mitglied.setAdresse("Neue Straße " + i);
+                    } else {
+                        mitglied.setGesperrt(!mitglied.isGesperrt());
+                    }
+
+                    aenderungen.incrementAndGet();
+                }
+            });
+            thread.start();
+            schreibende.add(thread);
+        }
+
+        return schreibende;
+    }
+
+    private static void ausgabe(String fall, long[] ergebnis, double aenderungenProSekunde) {
+        double berichtet = ergebnis[4];
+        System.out.printf("%-28s %10d %12.1f %12.1f %12d %14.0f%n", fall, ergebnis[0],
+                ergebnis[1] / berichtet, ergebnis[2] / berichtet, ergebnis[3], aenderungenProSekunde);
+    }
+}
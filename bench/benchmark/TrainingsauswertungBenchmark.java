@@ -0,0 +1,121 @@
+package benchmark;
+
+import fitnessstudio.DauerUebung;
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.GeraeteKategorie;
+import fitnessstudio.Mitglied;
+import fitnessstudio.Trainingsauswertung;
+import fitnessstudio.Uebung;
+import fitnessstudio.WiederholungsUebung;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Misst die {@link Trainingsauswertung} auf einem Studio mit rund 10 Millionen Übungszeilen
+ * (1.820.000 Pläne, 1.000.000 Mitglieder; die Anzahl der Pläne kann als erstes Argument
+ * übergeben werden) mit 1, 2, 4 und 8 Threads, jeweils für Übungsobjekte und nach
+ * {@link Fitnessstudio#verdichtePlaene()}. Zum Vergleich dient eine naive Schleife über
+ * Mitglieder, aktive Pläne und Übungen mit Typprüfung, die für jede Zuweisung alle Übungen
+ * erneut durchläuft. Benötigt etwa 4 GB Heap ({@code -Xmx4g}).
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class TrainingsauswertungBenchmark {
+    private static final int[] THREADS = {1, 2, 4, 8};
+    private static final int DURCHLAEUFE = 5;
+
+    public static void main(String[] args) {
+        int plaene = args.length > 0 ? Integer.parseInt(args[0]) : 1_820_000;
+
+        System.out.println("=== Trainingsauswertung-Benchmark ===\n");
+        System.out.println("Verfügbare Prozessoren: " + Runtime.getRuntime().availableProcessors());
+
+        Fitnessstudio fitnessstudio = new StudioGenerator()
+                .plaene(plaene)
+                .mitglieder(1_000_000)
+                .uebungsKatalog(true)
+                .erzeuge();
+        long zeilen = 0;
+
+        for (Fitnessplan plan : fitnessstudio.getPlaene()) {
+            zeilen += plan.getUebungen().size();
+        }
+
+        System.out.printf("Pläne: %d, Übungszeilen: %d, Mitglieder: %d%n%n", plaene, zeilen, fitnessstudio.getMitglieder().size());
+        System.out.printf("%-26s %8s %12s %12s%n", "Variante", "Threads", "Zeit (ms)", "Zeilen/µs");
+
+        long[] naiv = new long[1];
+        long dauer = beste(() -> naiv[0] = naiveSumme(fitnessstudio));
+        System.out.printf("%-26s %8d %12.1f %12s%n", "naive Schleife", 1, dauer / 1e6, "-");
+
+        miss("Auswertung (Objekte)", fitnessstudio, zeilen, naiv[0]);
+        fitnessstudio.verdichtePlaene();
+        miss("Auswertung (Spalten)", fitnessstudio, zeilen, naiv[0]);
+    }
+
+    private static void miss(String variante, Fitnessstudio fitnessstudio, long zeilen, long erwartet) {
+        for (int threads : THREADS) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            Trainingsauswertung[] ergebnis = new Trainingsauswertung[1];
+            long dauer = beste(() -> ergebnis[0] = Trainingsauswertung.berechne(fitnessstudio, pool));
+            pool.shutdown();
+
+            long summe = ergebnis[0].getGesamt().getWiederholungen() + ergebnis[0].getGesamt().getMinuten();
+            System.out.printf("%-26s %8d %12.1f %12.1f%s%n", variante, threads, dauer / 1e6, zeilen / (dauer / 1e3),
+                    summe == erwartet ? "" : "   FEHLER: Summe weicht ab");
+        }
+    }
+
+    private static long beste(Runnable lauf) {
+        long beste = Long.MAX_VALUE;
+
+        for (int i = 0; i < DURCHLAEUFE; i++) {
+            long start = System.nanoTime();
+            lauf.run();
+            beste = Math.min(beste, System.nanoTime() - start);
+        }
+
+        return beste;
+    }
+
+    /**
+     * Berechnet dieselben Summen je Mitglied und Kategorie wie die Auswertung, aber ohne
+     * Zwischenergebnisse je Plan und mit Typprüfung je Übung.
+     */
+    private static long naiveSumme(Fitnessstudio fitnessstudio) {
+        long[] jeKategorie = new long[GeraeteKategorie.values().length * 3];
+        long gesamt = 0;
+
+        for (Mitglied mitglied : fitnessstudio.getMitglieder()) {
+            long wiederholungen = 0;
+            long minuten = 0;
+
+            for (Fitnessplan plan : mitglied.getAktivePlaene()) {
+                for (Uebung uebung : plan.getUebungen()) {
+                    int k = uebung.getGeraet().getKategorie().ordinal() * 3;
+                    jeKategorie[k] += uebung.getSaetze();
+
+                    if (uebung instanceof WiederholungsUebung) {
+                        long w = (long) uebung.getSaetze() * ((WiederholungsUebung) uebung).getWiederholungen();
+                        wiederholungen += w;
+                        jeKategorie[k + 1] += w;
+                    } else if (uebung instanceof DauerUebung) {
+                        long m = (long) uebung.getSaetze() * ((DauerUebung) uebung).getTrainingsdauerMin();
+                        minuten += m;
+                        jeKategorie[k + 2] += m;
+                    }
+                }
+            }
+
+            gesamt += wiederholungen + minuten;
+        }
+
+        return gesamt;
+    }
+}
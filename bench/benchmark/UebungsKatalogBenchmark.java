@@ -0,0 +1,82 @@
+package benchmark;
+
+import fitnessstudio.Fitnessplan;
+import fitnessstudio.Fitnessstudio;
+import fitnessstudio.Uebung;
+import fitnessstudio.UebungsKatalog;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Misst den Heapbedarf eines Studios mit 1.000.000 Plänen (oder der als erstes Argument
+ * übergebenen Anzahl), deren Übungen einmal einzeln angelegt und einmal über den
+ * {@link UebungsKatalog} geteilt werden. Gemessen wird der belegte Heap nach vollständiger
+ * Speicherbereinigung; die Pläne stammen in beiden Fällen aus demselben {@link StudioGenerator}.
+ * Benötigt etwa 3 GB Heap ({@code -Xmx3g}).
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class UebungsKatalogBenchmark {
+    public static void main(String[] args) {
+        int plaene = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        System.out.println("=== Übungskatalog-Benchmark ===\n");
+        System.out.printf("%-16s %12s %14s %12s %14s %10s%n",
+                "Variante", "Pläne", "Übungen", "Instanzen", "Heap (MB)", "Anlage (s)");
+
+        long[] ohne = miss(plaene, false);
+        long[] mit = miss(plaene, true);
+        long ersparnis = ohne[0] - mit[0];
+
+        System.out.printf("%nErsparnis: %.1f MB (%.1f %%), %.1f Bytes je Übung im Plan%n",
+                ersparnis / 1e6, 100.0 * ersparnis / ohne[0], (double) ersparnis / mit[1]);
+    }
+
+    private static long[] miss(int plaene, boolean katalog) {
+        long vorher = belegterHeap();
+        long start = System.nanoTime();
+        Fitnessstudio fitnessstudio = new StudioGenerator()
+                .plaene(plaene)
+                .mitglieder(1)
+                .uebungsKatalog(katalog)
+                .erzeuge();
+        long dauer = System.nanoTime() - start;
+        long heap = belegterHeap() - vorher;
+
+        long uebungen = 0;
+        Map<Uebung, Boolean> verschiedene = new IdentityHashMap<>();
+
+        for (Fitnessplan plan : fitnessstudio.getPlaene()) {
+            for (Uebung uebung : plan.getUebungen()) {
+                uebungen++;
+
+                if (katalog) {
+                    verschiedene.put(uebung, Boolean.TRUE);
+                }
+            }
+        }
+
+        long instanzen = katalog ? verschiedene.size() : uebungen;
+
+        System.out.printf("%-16s %12d %14d %12d %14.1f %10.2f%n", katalog ? "mit Katalog" : "ohne Katalog",
+                fitnessstudio.getPlaene().size(), uebungen, instanzen, heap / 1e6, dauer / 1e9);
+
+        return new long[] {heap, uebungen};
+    }
+
+    private static long belegterHeap() {
+        Runtime laufzeit = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return laufzeit.totalMemory() - laufzeit.freeMemory();
+    }
+}
@@ -0,0 +1,65 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf-Verteilung über die Ränge {@code 0 .. n-1}: Rang {@code k} wird mit einer Wahrscheinlichkeit
+ * proportional zu {@code 1 / (k + 1)^s} gezogen. Die Verteilungsfunktion wird einmal berechnet,
+ * eine Ziehung kostet dann eine binäre Suche.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+final class ZipfVerteilung {
+    private final double[] verteilung;
+
+    /**
+     * Erzeugt die Verteilung.
+     *
+     * @param n        Anzahl der Ränge (mindestens 1)
+     * @param exponent Exponent {@code s}; 0 ergibt eine Gleichverteilung
+     */
+    ZipfVerteilung(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Die Anzahl der Ränge muss mindestens 1 sein.");
+        }
+
+        verteilung = new double[n];
+        double summe = 0;
+
+        for (int k = 0; k < n; k++) {
+            summe += 1 / Math.pow(k + 1, exponent);
+            verteilung[k] = summe;
+        }
+
+        for (int k = 0; k < n; k++) {
+            verteilung[k] /= summe;
+        }
+    }
+
+    /**
+     * Zieht einen Rang.
+     *
+     * @param zufall Zufallsquelle
+     * @return Rang zwischen 0 und n-1
+     */
+    int ziehe(Random zufall) {
+        int index = Arrays.binarySearch(verteilung, zufall.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, verteilung.length - 1);
+    }
+
+    /**
+     * Gibt die Wahrscheinlichkeit der ersten {@code k} Ränge zusammen zurück.
+     *
+     * @param k Anzahl der Ränge
+     * @return Anteil zwischen 0 und 1
+     */
+    double anteilDerErsten(int k) {
+        return k <= 0 ? 0 : verteilung[Math.min(k, verteilung.length) - 1];
+    }
+}
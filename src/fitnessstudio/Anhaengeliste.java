@@ -0,0 +1,146 @@
+package fitnessstudio;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Liste, an die fast nur angehängt wird und deren Momentaufnahmen ohne Kopie herausgegeben werden.
+ * Jede Momentaufnahme ist eine unveränderliche Sicht auf die ersten {@code n} Elemente eines
+ * gemeinsam genutzten Arrays. Da angehängte Elemente nur hinter diese Grenze geschrieben werden
+ * und ein Vergrößern ein neues Array anlegt, bleibt jede herausgegebene Sicht dauerhaft stabil.
+ * Das seltene Entfernen legt ebenfalls ein neues Array an und kostet daher lineare Zeit.
+ * <p>
+ * Schreibende Zugriffe werden synchronisiert, lesende laufen ohne Sperre über einen
+ * volatile veröffentlichten Stand.
+ *
+ * @param <T> Typ der Elemente
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+final class Anhaengeliste<T> {
+    private static final int ANFANGSKAPAZITAET = 8;
+
+    private Object[] daten;
+    private volatile Ansicht<T> stand;
+
+    /**
+     * Erzeugt eine leere Liste.
+     */
+    Anhaengeliste() {
+        this.daten = new Object[ANFANGSKAPAZITAET];
+        this.stand = new Ansicht<>(daten, 0);
+    }
+
+    /**
+     * Hängt ein Element an.
+     *
+     * @param element Das Element (darf nicht null sein)
+     * @return Die Position des Elements
+     */
+    synchronized int add(T element) {
+        Objects.requireNonNull(element);
+        int groesse = stand.groesse;
+
+        if (groesse == daten.length) {
+            daten = Arrays.copyOf(daten, groesse * 2);
+        }
+
+        daten[groesse] = element;
+        stand = new Ansicht<>(daten, groesse + 1);
+        return groesse;
+    }
+
+    /**
+     * Entfernt das erste Element, das gleich dem übergebenen ist. Bereits herausgegebene
+     * Momentaufnahmen bleiben unverändert.
+     *
+     * @param element Das zu entfernende Element
+     * @return true, wenn ein Element entfernt wurde
+     */
+    synchronized boolean entferne(T element) {
+        int groesse = stand.groesse;
+
+        for (int i = 0; i < groesse; i++) {
+            if (daten[i].equals(element)) {
+                Object[] neu = new Object[Math.max(ANFANGSKAPAZITAET, daten.length)];
+                System.arraycopy(daten, 0, neu, 0, i);
+                System.arraycopy(daten, i + 1, neu, i, groesse - i - 1);
+                daten = neu;
+                stand = new Ansicht<>(daten, groesse - 1);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gibt die aktuelle Momentaufnahme zurück, ohne zu kopieren.
+     *
+     * @return unveränderliche Sicht auf alle bisher angehängten Elemente
+     */
+    List<T> ansicht() {
+        return stand;
+    }
+
+    /**
+     * Gibt die Anzahl der Elemente zurück.
+     *
+     * @return Anzahl der Elemente
+     */
+    int size() {
+        return stand.groesse;
+    }
+
+    /**
+     * Unveränderliche Sicht auf einen Präfix des gemeinsamen Arrays.
+     */
+    private static final class Ansicht<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] daten;
+        private final int groesse;
+
+        Ansicht(Object[] daten, int groesse) {
+            this.daten = daten;
+            this.groesse = groesse;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            Objects.checkIndex(index, groesse);
+            return (T) daten[index];
+        }
+
+        @Override
+        public int size() {
+            return groesse;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(Consumer<? super T> aktion) {
+            Objects.requireNonNull(aktion);
+
+            for (int i = 0; i < groesse; i++) {
+                aktion.accept((T) daten[i]);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Spliterator<T> spliterator() {
+            return (Spliterator<T>) Spliterators.spliterator(daten, 0, groesse,
+                    Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+        }
+    }
+}
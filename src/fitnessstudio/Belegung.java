@@ -0,0 +1,133 @@
+package fitnessstudio;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Überschneidungsfreie Reservierungen eines Geräts oder eines Mitglieds, sortiert nach Beginn
+ * (siehe {@link Reservierungen}). Prüfen, Eintragen und Austragen kosten O(log n) in der Anzahl
+ * der Reservierungen dieser Belegung, unabhängig von allen anderen.
+ * <p>
+ * Alle Methoden außer {@link #sperre()} und {@link #entsperre()} setzen voraus, dass der
+ * Aufrufer die Sperre hält. Mehrere Belegungen werden stets aufsteigend nach ihrem Rang
+ * gesperrt, damit sich gleichzeitige Buchungen nicht gegenseitig blockieren.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+final class Belegung {
+    private final long rang;
+    private final ReentrantLock sperre;
+    private final TreeMap<Long, Reservierung> nachBeginn;
+    private boolean geschlossen;
+
+    Belegung(long rang) {
+        this.rang = rang;
+        this.sperre = new ReentrantLock();
+        this.nachBeginn = new TreeMap<>();
+    }
+
+    long getRang() {
+        return rang;
+    }
+
+    void sperre() {
+        sperre.lock();
+    }
+
+    void entsperre() {
+        sperre.unlock();
+    }
+
+    /**
+     * Gibt zurück, ob die Belegung zu einem ausgemusterten Gerät gehört und keine
+     * Reservierungen mehr annimmt.
+     */
+    boolean istGeschlossen() {
+        return geschlossen;
+    }
+
+    /**
+     * Schließt die Belegung und gibt alle bisherigen Reservierungen zurück.
+     */
+    List<Reservierung> schliesse() {
+        geschlossen = true;
+        List<Reservierung> alle = new ArrayList<>(nachBeginn.values());
+        nachBeginn.clear();
+        return alle;
+    }
+
+    /**
+     * Gibt die Reservierung zurück, die das Zeitfenster überschneidet. Da sich die eingetragenen
+     * Reservierungen nicht überschneiden, endet von allen, die vor dem Ende des Fensters beginnen,
+     * die zuletzt beginnende auch zuletzt; nur sie muss geprüft werden.
+     *
+     * @param beginn Beginn in Minuten (einschließlich)
+     * @param ende   Ende in Minuten (ausschließlich)
+     * @return Die überschneidende Reservierung oder null
+     */
+    Reservierung konflikt(long beginn, long ende) {
+        Map.Entry<Long, Reservierung> davor = nachBeginn.lowerEntry(ende);
+        return davor != null && davor.getValue().getEndeMin() > beginn ? davor.getValue() : null;
+    }
+
+    /**
+     * Gibt den frühesten Beginn ab {@code ab} zurück, ab dem die Belegung für die Dauer frei ist.
+     *
+     * @param ab    Frühester Beginn in Minuten
+     * @param dauer Dauer in Minuten
+     * @return Der Beginn in Minuten
+     */
+    long naechsteLuecke(long ab, long dauer) {
+        long beginn = ab;
+        Reservierung konflikt = konflikt(beginn, beginn + dauer);
+
+        while (konflikt != null) {
+            beginn = konflikt.getEndeMin();
+            konflikt = konflikt(beginn, beginn + dauer);
+        }
+
+        return beginn;
+    }
+
+    void trageEin(Reservierung reservierung) {
+        nachBeginn.put(reservierung.getBeginnMin(), reservierung);
+    }
+
+    boolean trageAus(Reservierung reservierung) {
+        return nachBeginn.remove(reservierung.getBeginnMin(), reservierung);
+    }
+
+    /**
+     * Gibt alle Reservierungen zurück, die das Zeitfenster überschneiden.
+     *
+     * @param von Beginn in Minuten (einschließlich)
+     * @param bis Ende in Minuten (ausschließlich)
+     * @return unveränderliche Liste, sortiert nach Beginn
+     */
+    List<Reservierung> zwischen(long von, long bis) {
+        if (von >= bis) {
+            return List.of();
+        }
+
+        Long erster = nachBeginn.floorKey(von);
+
+        if (erster == null || nachBeginn.get(erster).getEndeMin() <= von) {
+            erster = von;
+        }
+
+        return Collections.unmodifiableList(new ArrayList<>(nachBeginn.subMap(erster, true, bis, false).values()));
+    }
+
+    List<Reservierung> alle() {
+        return Collections.unmodifiableList(new ArrayList<>(nachBeginn.values()));
+    }
+}
@@ -0,0 +1,112 @@
+package fitnessstudio;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Gemeinsame Kodierung der Binärformate von {@link SnapshotDatei} und {@link Journal}.
+ * Ganzzahlen werden als variabel lange Zahlen (7 Bit pro Byte) abgelegt, Texte als
+ * UTF-8 mit vorangestellter Länge.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+final class BinaerFormat {
+    /** Maximale Länge einer kodierten Ganzzahl in Bytes. */
+    static final int MAX_ZAHL_BYTES = 5;
+
+    private BinaerFormat() {
+    }
+
+    /**
+     * Schreibt eine nicht negative Ganzzahl.
+     *
+     * @param aus  Zielpuffer mit mindestens {@value #MAX_ZAHL_BYTES} freien Bytes
+     * @param wert Die Zahl
+     */
+    static void schreibeZahl(ByteBuffer aus, int wert) {
+        while ((wert & ~0x7F) != 0) {
+            aus.put((byte) ((wert & 0x7F) | 0x80));
+            wert >>>= 7;
+        }
+
+        aus.put((byte) wert);
+    }
+
+    /**
+     * Liest eine mit {@link #schreibeZahl(ByteBuffer, int)} geschriebene Ganzzahl.
+     *
+     * @param ein Quellpuffer
+     * @return Die Zahl
+     */
+    static int leseZahl(ByteBuffer ein) {
+        int wert = 0;
+        int verschiebung = 0;
+        byte b;
+
+        do {
+            b = ein.get();
+            wert |= (b & 0x7F) << verschiebung;
+            verschiebung += 7;
+        } while (b < 0);
+
+        return wert;
+    }
+
+    /**
+     * Gibt die Anzahl Bytes zurück, die ein Text kodiert belegt.
+     *
+     * @param utf8 Der Text als UTF-8
+     * @return Anzahl Bytes inklusive Längenangabe
+     */
+    static int textlaenge(byte[] utf8) {
+        return MAX_ZAHL_BYTES + utf8.length;
+    }
+
+    /**
+     * Schreibt einen Text.
+     *
+     * @param aus  Zielpuffer mit mindestens {@link #textlaenge(byte[])} freien Bytes
+     * @param utf8 Der Text als UTF-8
+     */
+    static void schreibeText(ByteBuffer aus, byte[] utf8) {
+        schreibeZahl(aus, utf8.length);
+        aus.put(utf8);
+    }
+
+    /**
+     * Liest einen mit {@link #schreibeText(ByteBuffer, byte[])} geschriebenen Text.
+     *
+     * @param ein    Quellpuffer
+     * @param puffer wiederverwendbarer Zwischenpuffer; längere Texte erhalten einen eigenen
+     * @return Der Text
+     * @throws BufferUnderflowException falls die Länge negativ ist oder über das Pufferende
+     *                                  hinausreicht; es wird dann kein Speicher dafür angelegt
+     */
+    static String leseText(ByteBuffer ein, byte[] puffer) {
+        int laenge = leseZahl(ein);
+
+        if (laenge < 0 || laenge > ein.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] ziel = laenge <= puffer.length ? puffer : new byte[laenge];
+
+        ein.get(ziel, 0, laenge);
+        return new String(ziel, 0, laenge, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Wandelt einen Text in UTF-8 um.
+     *
+     * @param text Der Text
+     * @return Die UTF-8-Bytes
+     */
+    static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,95 @@
+package fitnessstudio;
+
+import java.util.Arrays;
+
+/**
+ * Hilfsmethoden für Bitmasken über dem dichten Geräteindex des {@link Fitnessstudio}.
+ * Eine Maske ist ein {@code long[]}, in dem Bit {@code i} für das Gerät mit Index {@code i}
+ * steht. Fehlende Wörter am Ende gelten als 0, Masken unterschiedlicher Länge lassen
+ * sich daher direkt vergleichen.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+final class Bitmaske {
+    /** Maske ohne gesetzte Bits. */
+    static final long[] LEER = new long[0];
+
+    private Bitmaske() {
+    }
+
+    /**
+     * Gibt eine Kopie der Maske zurück, in der das Bit gesetzt bzw. gelöscht ist.
+     * Die übergebene Maske bleibt unverändert.
+     *
+     * @param maske Die Ausgangsmaske
+     * @param index Der Geräteindex
+     * @param wert  true zum Setzen, false zum Löschen
+     * @return Die geänderte Kopie
+     */
+    static long[] mit(long[] maske, int index, boolean wert) {
+        int wort = index >>> 6;
+        long[] kopie = Arrays.copyOf(maske, Math.max(maske.length, wort + 1));
+
+        if (wert) {
+            kopie[wort] |= 1L << index;
+        } else {
+            kopie[wort] &= ~(1L << index);
+        }
+
+        return kopie;
+    }
+
+    /**
+     * Setzt ein Bit in einer noch nicht veröffentlichten Maske und vergrößert sie bei Bedarf.
+     *
+     * @param maske Die Maske
+     * @param index Der Geräteindex
+     * @return Die Maske mit gesetztem Bit (ggf. ein neues Array)
+     */
+    static long[] setze(long[] maske, int index) {
+        int wort = index >>> 6;
+
+        if (wort >= maske.length) {
+            maske = Arrays.copyOf(maske, wort + 1);
+        }
+
+        maske[wort] |= 1L << index;
+        return maske;
+    }
+
+    /**
+     * Prüft, ob das Bit gesetzt ist.
+     *
+     * @param maske Die Maske
+     * @param index Der Geräteindex
+     * @return true, wenn das Bit gesetzt ist
+     */
+    static boolean istGesetzt(long[] maske, int index) {
+        int wort = index >>> 6;
+        return wort < maske.length && (maske[wort] & (1L << index)) != 0;
+    }
+
+    /**
+     * Prüft, ob alle Bits von {@code teilmenge} auch in {@code obermenge} gesetzt sind.
+     *
+     * @param obermenge Die umfassende Maske
+     * @param teilmenge Die zu prüfende Maske
+     * @return true, wenn {@code teilmenge} in {@code obermenge} enthalten ist
+     */
+    static boolean enthaeltAlle(long[] obermenge, long[] teilmenge) {
+        for (int i = 0; i < teilmenge.length; i++) {
+            long vorhanden = i < obermenge.length ? obermenge[i] : 0;
+
+            if ((teilmenge[i] & ~vorhanden) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,112 @@
+package fitnessstudio;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Streamender CSV-Export von Geräten, Mitgliedern und Fitnessplänen eines {@link Fitnessstudio}s.
+ * Die Formate entsprechen denen des {@link CsvImporter}s, exportierte Dateien können also
+ * direkt wieder importiert werden.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class CsvExporter {
+    private final Fitnessstudio fitnessstudio;
+
+    /**
+     * Konstruktor für einen Exporter.
+     *
+     * @param fitnessstudio Quelle des Exports (darf nicht null sein)
+     * @throws IllegalArgumentException falls fitnessstudio null ist
+     */
+    public CsvExporter(Fitnessstudio fitnessstudio) {
+        if (fitnessstudio == null) {
+            throw new IllegalArgumentException("Das Fitnessstudio darf nicht null sein.");
+        }
+
+        this.fitnessstudio = fitnessstudio;
+    }
+
+    /**
+     * Exportiert alle Geräte.
+     *
+     * @param datei Zieldatei (wird überschrieben)
+     * @return Anzahl der geschriebenen Datenzeilen
+     * @throws IOException bei Schreibfehlern
+     */
+    public long exportiereGeraete(Path datei) throws IOException {
+        try (CsvSchreiber schreiber = new CsvSchreiber(datei)) {
+            schreiber.schreibeZeile(CsvImporter.KOPF_GERAETE);
+
+            for (Geraet geraet : fitnessstudio.getGeraete()) {
+                schreiber.schreibeZeile(geraet.getGeraeteId(), geraet.getGeraeteName(), geraet.getKategorie().name());
+            }
+
+            return schreiber.getZeilen() - 1;
+        }
+    }
+
+    /**
+     * Exportiert alle Mitglieder.
+     *
+     * @param datei Zieldatei (wird überschrieben)
+     * @return Anzahl der geschriebenen Datenzeilen
+     * @throws IOException bei Schreibfehlern
+     */
+    public long exportiereMitglieder(Path datei) throws IOException {
+        try (CsvSchreiber schreiber = new CsvSchreiber(datei)) {
+            schreiber.schreibeZeile(CsvImporter.KOPF_MITGLIEDER);
+
+            for (Mitglied mitglied : fitnessstudio.getMitglieder()) {
+                schreiber.schreibeZeile(mitglied.getMitgliedsnummer(), mitglied.getName(), mitglied.getAdresse(),
+                        String.valueOf(mitglied.isGesperrt()));
+            }
+
+            return schreiber.getZeilen() - 1;
+        }
+    }
+
+    /**
+     * Exportiert alle Fitnesspläne mit einer Zeile pro Übung. Die Plannummer dient als
+     * Planschlüssel, damit aufeinanderfolgende Pläne gleichen Namens beim Import getrennt bleiben.
+     *
+     * @param datei Zieldatei (wird überschrieben)
+     * @return Anzahl der geschriebenen Datenzeilen
+     * @throws IOException bei Schreibfehlern
+     * @throws IllegalArgumentException falls eine Übung weder {@link DauerUebung} noch
+     *                                  {@link WiederholungsUebung} ist
+     */
+    public long exportierePlaene(Path datei) throws IOException {
+        try (CsvSchreiber schreiber = new CsvSchreiber(datei)) {
+            schreiber.schreibeZeile(CsvImporter.KOPF_PLAENE);
+
+            for (Fitnessplan plan : fitnessstudio.getPlaene()) {
+                for (Uebung uebung : plan.getUebungen()) {
+                    String typ;
+                    int wert;
+
+                    if (uebung instanceof DauerUebung) {
+                        typ = CsvImporter.TYP_DAUER;
+                        wert = ((DauerUebung) uebung).getTrainingsdauerMin();
+                    } else if (uebung instanceof WiederholungsUebung) {
+                        typ = CsvImporter.TYP_WIEDERHOLUNG;
+                        wert = ((WiederholungsUebung) uebung).getWiederholungen();
+                    } else {
+                        throw new IllegalArgumentException("Der Übungstyp " + uebung.getClass().getName()
+                                + " kann nicht exportiert werden.");
+                    }
+
+                    schreiber.schreibeZeile(String.valueOf(plan.getNummer()), plan.getName(), typ, uebung.getName(), uebung.getBeschreibung(),
+                            String.valueOf(uebung.getSaetze()), uebung.getGeraet().getGeraeteId(), String.valueOf(wert));
+                }
+            }
+
+            return schreiber.getZeilen() - 1;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package fitnessstudio;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streamender CSV-Import von Geräten, Mitgliedern und Fitnessplänen in ein {@link Fitnessstudio}.
+ * Die Dateien werden zeilenweise gelesen und in Stapeln von {@link #getStapelgroesse()}
+ * Datensätzen angelegt, der Speicherbedarf ist daher unabhängig von der Dateigröße.
+ * Ungültige Zeilen werden übersprungen und im {@link ImportBericht} mit Grund aufgeführt.
+ * <p>
+ * Formate (Trennzeichen {@code ;}, UTF-8, erste Zeile ist die Kopfzeile):
+ * <ul>
+ *   <li>Geräte: {@code geraeteId;geraeteName;kategorie}</li>
+ *   <li>Mitglieder: {@code mitgliedsnummer;name;adresse;gesperrt}</li>
+ *   <li>Pläne: {@code planNr;plan;typ;uebung;beschreibung;saetze;geraeteId;wert} – eine Zeile pro
+ *       Übung, aufeinanderfolgende Zeilen mit gleichem Planschlüssel {@code planNr} bilden einen
+ *       Plan. Der Schlüssel ist beliebiger Text (der Export schreibt die Plannummer), sodass auch
+ *       aufeinanderfolgende Pläne gleichen Namens getrennt bleiben; alle Zeilen eines Plans müssen
+ *       denselben Namen tragen. {@code typ} ist {@code WIEDERHOLUNG} (wert = Wiederholungen) oder
+ *       {@code DAUER} (wert = Minuten).</li>
+ * </ul>
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class CsvImporter {
+    /** Standardgröße eines Stapels. */
+    public static final int STANDARD_STAPELGROESSE = 10_000;
+
+    static final String[] KOPF_GERAETE = {"geraeteId", "geraeteName", "kategorie"};
+    static final String[] KOPF_MITGLIEDER = {"mitgliedsnummer", "name", "adresse", "gesperrt"};
+    static final String[] KOPF_PLAENE = {"planNr", "plan", "typ", "uebung", "beschreibung", "saetze", "geraeteId", "wert"};
+
+    static final String TYP_WIEDERHOLUNG = "WIEDERHOLUNG";
+    static final String TYP_DAUER = "DAUER";
+
+    private final Fitnessstudio fitnessstudio;
+    private final int stapelgroesse;
+
+    /**
+     * Konstruktor für einen Importer mit der Standard-Stapelgröße.
+     *
+     * @param fitnessstudio Ziel des Imports (darf nicht null sein)
+     * @throws IllegalArgumentException falls fitnessstudio null ist
+     */
+    public CsvImporter(Fitnessstudio fitnessstudio) {
+        this(fitnessstudio, STANDARD_STAPELGROESSE);
+    }
+
+    /**
+     * Konstruktor für einen Importer.
+     *
+     * @param fitnessstudio Ziel des Imports (darf nicht null sein)
+     * @param stapelgroesse Anzahl Datensätze pro Stapel (mindestens 1)
+     * @throws IllegalArgumentException falls ein Parameter ungültig ist
+     */
+    public CsvImporter(Fitnessstudio fitnessstudio, int stapelgroesse) {
+        if (fitnessstudio == null) {
+            throw new IllegalArgumentException("Das Fitnessstudio darf nicht null sein.");
+        }
+
+        if (stapelgroesse < 1) {
+            throw new IllegalArgumentException("Die Stapelgröße muss mindestens 1 sein.");
+        }
+
+        this.fitnessstudio = fitnessstudio;
+        this.stapelgroesse = stapelgroesse;
+    }
+
+    /**
+     * Gibt die Stapelgröße zurück.
+     *
+     * @return Anzahl Datensätze pro Stapel
+     */
+    public int getStapelgroesse() {
+        return stapelgroesse;
+    }
+
+    /**
+     * Importiert Geräte aus einer CSV-Datei.
+     *
+     * @param datei Pfad der CSV-Datei
+     * @return Bericht über den Import
+     * @throws IOException bei Lesefehlern
+     */
+    public ImportBericht importiereGeraete(Path datei) throws IOException {
+        ImportBericht bericht = new ImportBericht(datei.toString());
+        long start = System.nanoTime();
+        List<Geraet> stapel = new ArrayList<>(stapelgroesse);
+        List<Long> zeilennummern = new ArrayList<>(stapelgroesse);
+
+        try (CsvLeser leser = new CsvLeser(datei)) {
+            List<String> felder = ueberspringeKopf(leser, KOPF_GERAETE);
+
+            for (; felder != null; felder = leser.naechsteZeile()) {
+                bericht.zeileGelesen();
+
+                try {
+                    pruefeFeldanzahl(felder, KOPF_GERAETE);
+                    stapel.add(new Geraet(felder.get(0), felder.get(1), parseKategorie(felder.get(2))));
+                    zeilennummern.add(leser.getZeilennummer());
+                } catch (IllegalArgumentException e) {
+                    bericht.abgelehnt(leser.getZeilennummer(), e.getMessage());
+                }
+
+                if (stapel.size() >= stapelgroesse) {
+                    legeGeraeteAn(stapel, zeilennummern, bericht);
+                }
+            }
+
+            legeGeraeteAn(stapel, zeilennummern, bericht);
+        }
+
+        bericht.setDauerNanos(System.nanoTime() - start);
+        return bericht;
+    }
+
+    /**
+     * Importiert Mitglieder aus einer CSV-Datei.
+     *
+     * @param datei Pfad der CSV-Datei
+     * @return Bericht über den Import
+     * @throws IOException bei Lesefehlern
+     */
+    public ImportBericht importiereMitglieder(Path datei) throws IOException {
+        ImportBericht bericht = new ImportBericht(datei.toString());
+        long start = System.nanoTime();
+        List<Mitglied> stapel = new ArrayList<>(stapelgroesse);
+        List<Long> zeilennummern = new ArrayList<>(stapelgroesse);
+
+        try (CsvLeser leser = new CsvLeser(datei)) {
+            List<String> felder = ueberspringeKopf(leser, KOPF_MITGLIEDER);
+
+            for (; felder != null; felder = leser.naechsteZeile()) {
+                bericht.zeileGelesen();
+
+                try {
+                    pruefeFeldanzahl(felder, KOPF_MITGLIEDER);
+                    Mitglied mitglied = new Mitglied(felder.get(0), felder.get(1), felder.get(2));
+                    mitglied.setGesperrt(parseWahrheitswert(felder.get(3)));
+                    stapel.add(mitglied);
+                    zeilennummern.add(leser.getZeilennummer());
+                } catch (IllegalArgumentException e) {
+                    bericht.abgelehnt(leser.getZeilennummer(), e.getMessage());
+                }
+
+                if (stapel.size() >= stapelgroesse) {
+                    legeMitgliederAn(stapel, zeilennummern, bericht);
+                }
+            }
+
+            legeMitgliederAn(stapel, zeilennummern, bericht);
+        }
+
+        bericht.setDauerNanos(System.nanoTime() - start);
+        return bericht;
+    }
+
+    /**
+     * Importiert Fitnesspläne aus einer CSV-Datei. Die referenzierten Geräte müssen bereits
+     * im Fitnessstudio angelegt sein. Ist eine Zeile eines Plans ungültig, wird der gesamte
+     * Plan abgelehnt; als Zeilennummer wird die erste Zeile des Plans gemeldet.
+     *
+     * @param datei Pfad der CSV-Datei
+     * @return Bericht über den Import (gezählt werden angelegte bzw. abgelehnte Pläne)
+     * @throws IOException bei Lesefehlern
+     */
+    public ImportBericht importierePlaene(Path datei) throws IOException {
+        ImportBericht bericht = new ImportBericht(datei.toString());
+        long start = System.nanoTime();
+        List<PlanEntwurf> stapel = new ArrayList<>(stapelgroesse);
+        List<Long> zeilennummern = new ArrayList<>(stapelgroesse);
+
+        try (CsvLeser leser = new CsvLeser(datei)) {
+            List<String> felder = ueberspringeKopf(leser, KOPF_PLAENE);
+            String planschluessel = null;
+            String planname = null;
+            long planzeile = 0;
+            List<Uebung> uebungen = new ArrayList<>();
+            String fehler = null;
+
+            for (; felder != null; felder = leser.naechsteZeile()) {
+                bericht.zeileGelesen();
+                String schluessel = felder.get(0).trim();
+
+                if (!schluessel.equals(planschluessel)) {
+                    if (planschluessel != null) {
+                        beendePlan(planname, planzeile, uebungen, fehler, stapel, zeilennummern, bericht);
+                    }
+
+                    planschluessel = schluessel;
+                    planname = felder.size() > 1 ? felder.get(1).trim() : "";
+                    planzeile = leser.getZeilennummer();
+                    uebungen = new ArrayList<>();
+                    fehler = null;
+                }
+
+                if (fehler == null) {
+                    try {
+                        uebungen.add(parseUebung(felder));
+
+                        if (!felder.get(1).trim().equals(planname)) {
+                            throw new IllegalArgumentException("Der Planname \"" + felder.get(1).trim()
+                                    + "\" weicht vom Namen des Plans " + schluessel + " ab.");
+                        }
+                    } catch (IllegalArgumentException e) {
+                        fehler = "Zeile " + leser.getZeilennummer() + ": " + e.getMessage();
+                    }
+                }
+
+                if (stapel.size() >= stapelgroesse) {
+                    legePlaeneAn(stapel, zeilennummern, bericht);
+                }
+            }
+
+            if (planschluessel != null) {
+                beendePlan(planname, planzeile, uebungen, fehler, stapel, zeilennummern, bericht);
+            }
+
+            legePlaeneAn(stapel, zeilennummern, bericht);
+        }
+
+        bericht.setDauerNanos(System.nanoTime() - start);
+        return bericht;
+    }
+
+    private void legeGeraeteAn(List<Geraet> stapel, List<Long> zeilennummern, ImportBericht bericht) {
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+
+        for (int i = 0; i < stapel.size(); i++) {
+            if (fitnessstudio.versucheGeraetAnzulegen(stapel.get(i), ergebnis)) {
+                bericht.angenommen(1);
+            } else {
+                bericht.abgelehnt(zeilennummern.get(i), ergebnis);
+            }
+        }
+
+        stapel.clear();
+        zeilennummern.clear();
+    }
+
+    private void legeMitgliederAn(List<Mitglied> stapel, List<Long> zeilennummern, ImportBericht bericht) {
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+
+        for (int i = 0; i < stapel.size(); i++) {
+            if (fitnessstudio.versucheMitgliedAnzulegen(stapel.get(i), ergebnis)) {
+                bericht.angenommen(1);
+            } else {
+                bericht.abgelehnt(zeilennummern.get(i), ergebnis);
+            }
+        }
+
+        stapel.clear();
+        zeilennummern.clear();
+    }
+
+    private void legePlaeneAn(List<PlanEntwurf> stapel, List<Long> zeilennummern, ImportBericht bericht) {
+        List<PlanAnlageErgebnis> ergebnisse = fitnessstudio.erstelleFitnessplaene(stapel);
+
+        for (int i = 0; i < ergebnisse.size(); i++) {
+            if (ergebnisse.get(i).istErfolgreich()) {
+                bericht.angenommen(1);
+            } else {
+                bericht.abgelehnt(zeilennummern.get(i), ergebnisse.get(i).getFehlermeldung());
+            }
+        }
+
+        stapel.clear();
+        zeilennummern.clear();
+    }
+
+    private static void beendePlan(String planname, long planzeile, List<Uebung> uebungen, String fehler,
+                                   List<PlanEntwurf> stapel, List<Long> zeilennummern, ImportBericht bericht) {
+        if (fehler != null) {
+            bericht.abgelehnt(planzeile, "Plan \"" + planname + "\" abgelehnt, " + fehler);
+            return;
+        }
+
+        stapel.add(new PlanEntwurf(planname, uebungen));
+        zeilennummern.add(planzeile);
+    }
+
+    private Uebung parseUebung(List<String> felder) {
+        pruefeFeldanzahl(felder, KOPF_PLAENE);
+        String geraeteId = felder.get(6).trim();
+        Geraet geraet = fitnessstudio.getGeraetById(geraeteId);
+
+        if (geraet == null) {
+            throw new IllegalArgumentException("Das Gerät mit der ID " + geraeteId + " ist nicht im System vorhanden.");
+        }
+
+        int saetze = parseZahl(felder.get(5), "saetze");
+        int wert = parseZahl(felder.get(7), "wert");
+        String typ = felder.get(2).trim();
+
+        if (TYP_WIEDERHOLUNG.equalsIgnoreCase(typ)) {
+            return fitnessstudio.getUebungsKatalog().wiederholungsUebung(felder.get(3), felder.get(4), saetze, geraet, wert);
+        }
+
+        if (TYP_DAUER.equalsIgnoreCase(typ)) {
+            return fitnessstudio.getUebungsKatalog().dauerUebung(felder.get(3), felder.get(4), saetze, geraet, wert);
+        }
+
+        throw new IllegalArgumentException("Unbekannter Übungstyp: " + typ);
+    }
+
+    private static List<String> ueberspringeKopf(CsvLeser leser, String[] kopf) throws IOException {
+        List<String> felder = leser.naechsteZeile();
+
+        if (felder != null && !felder.isEmpty() && felder.get(0).trim().equalsIgnoreCase(kopf[0])) {
+            return leser.naechsteZeile();
+        }
+
+        return felder;
+    }
+
+    private static void pruefeFeldanzahl(List<String> felder, String[] kopf) {
+        if (felder.size() != kopf.length) {
+            throw new IllegalArgumentException("Erwartet werden " + kopf.length + " Felder, gefunden: " + felder.size());
+        }
+    }
+
+    private static GeraeteKategorie parseKategorie(String wert) {
+        try {
+            return GeraeteKategorie.valueOf(wert.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unbekannte Gerätekategorie: " + wert);
+        }
+    }
+
+    private static boolean parseWahrheitswert(String wert) {
+        String w = wert.trim();
+
+        if (w.equalsIgnoreCase("true") || w.equalsIgnoreCase("ja") || w.equals("1")) {
+            return true;
+        }
+
+        if (w.isEmpty() || w.equalsIgnoreCase("false") || w.equalsIgnoreCase("nein") || w.equals("0")) {
+            return false;
+        }
+
+        throw new IllegalArgumentException("Ungültiger Sperrstatus: " + wert);
+    }
+
+    private static int parseZahl(String wert, String feld) {
+        try {
+            return Integer.parseInt(wert.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ungültige Zahl im Feld " + feld + ": " + wert);
+        }
+    }
+}
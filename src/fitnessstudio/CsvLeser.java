@@ -0,0 +1,162 @@
+package fitnessstudio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Liest CSV-Dateien (Trennzeichen {@value #TRENNZEICHEN}, UTF-8) zeilenweise über einen
+ * {@link FileChannel}. Es wird immer nur ein Puffer fester Größe gehalten, sodass auch
+ * Dateien mit Millionen Zeilen mit konstantem Speicher gelesen werden.
+ * Felder dürfen in doppelte Anführungszeichen gesetzt werden und dann Trennzeichen,
+ * Zeilenumbrüche und verdoppelte Anführungszeichen enthalten. Leere Zeilen werden übersprungen.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+class CsvLeser implements Closeable {
+    /** Feldtrennzeichen. */
+    static final char TRENNZEICHEN = ';';
+
+    private static final int PUFFERGROESSE = 64 * 1024;
+
+    private final FileChannel kanal;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes;
+    private final CharBuffer zeichen;
+    private final StringBuilder feld;
+    private boolean dateiende;
+    private long zeilennummer;
+
+    /**
+     * Öffnet die Datei zum Lesen.
+     *
+     * @param datei Pfad der CSV-Datei
+     * @throws IOException falls die Datei nicht geöffnet werden kann
+     */
+    CsvLeser(Path datei) throws IOException {
+        this.kanal = FileChannel.open(datei, StandardOpenOption.READ);
+        this.decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes = ByteBuffer.allocateDirect(PUFFERGROESSE);
+        this.zeichen = CharBuffer.allocate(PUFFERGROESSE);
+        this.zeichen.flip();
+        this.feld = new StringBuilder();
+    }
+
+    /**
+     * Liest den nächsten Datensatz.
+     *
+     * @return Die Felder des Datensatzes oder null am Dateiende
+     * @throws IOException bei Lesefehlern
+     */
+    List<String> naechsteZeile() throws IOException {
+        List<String> felder = new ArrayList<>();
+        boolean inAnfuehrung = false;
+        boolean maskiert = false;
+        feld.setLength(0);
+
+        while (true) {
+            if (!zeichen.hasRemaining() && !fuellePuffer()) {
+                if (felder.isEmpty() && feld.length() == 0 && !maskiert) {
+                    return null;
+                }
+
+                felder.add(feld.toString());
+                zeilennummer++;
+                return felder;
+            }
+
+            char c = zeichen.get();
+
+            if (inAnfuehrung) {
+                if (c == '"') {
+                    if (!zeichen.hasRemaining()) {
+                        fuellePuffer();
+                    }
+
+                    if (zeichen.hasRemaining() && zeichen.get(zeichen.position()) == '"') {
+                        zeichen.get();
+                        feld.append('"');
+                    } else {
+                        inAnfuehrung = false;
+                    }
+                } else {
+                    feld.append(c);
+                }
+            } else if (c == '"') {
+                inAnfuehrung = true;
+                maskiert = true;
+            } else if (c == TRENNZEICHEN) {
+                felder.add(feld.toString());
+                feld.setLength(0);
+            } else if (c == '\n') {
+                if (felder.isEmpty() && feld.length() == 0 && !maskiert) {
+                    // Leere Zeile
+                    zeilennummer++;
+                    continue;
+                }
+
+                felder.add(feld.toString());
+                zeilennummer++;
+                return felder;
+            } else if (c != '\r') {
+                feld.append(c);
+            }
+        }
+    }
+
+    /**
+     * Gibt die Nummer des zuletzt gelesenen Datensatzes zurück (beginnend bei 1,
+     * die Kopfzeile mitgezählt).
+     *
+     * @return Die Zeilennummer
+     */
+    long getZeilennummer() {
+        return zeilennummer;
+    }
+
+    private boolean fuellePuffer() throws IOException {
+        zeichen.compact();
+
+        while (zeichen.position() == 0 && !dateiende) {
+            boolean letzterBlock = kanal.read(bytes) < 0;
+
+            bytes.flip();
+            decoder.decode(bytes, zeichen, letzterBlock);
+            bytes.compact();
+
+            if (letzterBlock) {
+                decoder.flush(zeichen);
+                dateiende = true;
+            }
+        }
+
+        zeichen.flip();
+        return zeichen.hasRemaining();
+    }
+
+    /**
+     * Schließt die zugrunde liegende Datei.
+     *
+     * @throws IOException bei Fehlern beim Schließen
+     */
+    @Override
+    public void close() throws IOException {
+        kanal.close();
+    }
+}
@@ -0,0 +1,162 @@
+package fitnessstudio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Schreibt CSV-Dateien (Trennzeichen {@value CsvLeser#TRENNZEICHEN}, UTF-8) gepuffert über
+ * einen {@link FileChannel}. Felder mit Trennzeichen, Anführungszeichen oder
+ * Zeilenumbrüchen werden in Anführungszeichen gesetzt.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+class CsvSchreiber implements Closeable {
+    private static final int PUFFERGROESSE = 64 * 1024;
+
+    private final FileChannel kanal;
+    private final CharsetEncoder encoder;
+    private final CharBuffer zeichen;
+    private final ByteBuffer bytes;
+    private long zeilen;
+
+    /**
+     * Legt die Datei an bzw. überschreibt sie.
+     *
+     * @param datei Pfad der CSV-Datei
+     * @throws IOException falls die Datei nicht geöffnet werden kann
+     */
+    CsvSchreiber(Path datei) throws IOException {
+        this.kanal = FileChannel.open(datei, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.zeichen = CharBuffer.allocate(PUFFERGROESSE);
+        this.bytes = ByteBuffer.allocateDirect(PUFFERGROESSE * 4);
+    }
+
+    /**
+     * Schreibt einen Datensatz.
+     *
+     * @param felder Die Felder des Datensatzes
+     * @throws IOException bei Schreibfehlern
+     */
+    void schreibeZeile(String... felder) throws IOException {
+        for (int i = 0; i < felder.length; i++) {
+            if (i > 0) {
+                schreibe(CsvLeser.TRENNZEICHEN);
+            }
+
+            schreibeFeld(felder[i] == null ? "" : felder[i]);
+        }
+
+        schreibe('\n');
+        zeilen++;
+    }
+
+    /**
+     * Gibt die Anzahl der geschriebenen Datensätze zurück.
+     *
+     * @return Anzahl der Datensätze
+     */
+    long getZeilen() {
+        return zeilen;
+    }
+
+    private void schreibeFeld(String feld) throws IOException {
+        boolean maskieren = false;
+
+        for (int i = 0; i < feld.length() && !maskieren; i++) {
+            char c = feld.charAt(i);
+            maskieren = c == CsvLeser.TRENNZEICHEN || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!maskieren) {
+            for (int i = 0; i < feld.length(); i++) {
+                schreibe(feld.charAt(i));
+            }
+
+            return;
+        }
+
+        schreibe('"');
+
+        for (int i = 0; i < feld.length(); i++) {
+            char c = feld.charAt(i);
+
+            if (c == '"') {
+                schreibe('"');
+            }
+
+            schreibe(c);
+        }
+
+        schreibe('"');
+    }
+
+    private void schreibe(char c) throws IOException {
+        if (!zeichen.hasRemaining()) {
+            kodiere(false);
+        }
+
+        zeichen.put(c);
+    }
+
+    private void kodiere(boolean ende) throws IOException {
+        zeichen.flip();
+        CoderResult ergebnis;
+
+        do {
+            ergebnis = encoder.encode(zeichen, bytes, ende);
+            leereBytes();
+        } while (ergebnis.isOverflow());
+
+        if (ende) {
+            while (encoder.flush(bytes).isOverflow()) {
+                leereBytes();
+            }
+
+            leereBytes();
+        }
+
+        zeichen.compact();
+    }
+
+    private void leereBytes() throws IOException {
+        bytes.flip();
+
+        while (bytes.hasRemaining()) {
+            kanal.write(bytes);
+        }
+
+        bytes.clear();
+    }
+
+    /**
+     * Schreibt alle gepufferten Daten und schließt die Datei.
+     *
+     * @throws IOException bei Schreibfehlern
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            kodiere(true);
+        } finally {
+            kanal.close();
+        }
+    }
+}
@@ -45,11 +45,23 @@ public class DauerUebung extends Uebung {
      * Setzt die Trainingsdauer in Minuten.
      * 
      * @param trainingsdauerMin Die neue Trainingsdauer in Minuten
+     * @throws IllegalStateException falls die Übung eingefroren ist
      */
     public void setTrainingsdauerMin(int trainingsdauerMin) {
+        pruefeVeraenderbar();
         this.trainingsdauerMin = trainingsdauerMin;
     }
 
+    /**
+     * Gibt die Trainingsminuten über alle Sätze zurück.
+     *
+     * @return Sätze × Trainingsdauer in Minuten
+     */
+    @Override
+    public long getGesamtMinuten() {
+        return (long) getSaetze() * trainingsdauerMin;
+    }
+
     /**
      * Gibt die spezifischen Details der Dauerübung zurück.
      * 
@@ -0,0 +1,91 @@
+package fitnessstudio;
+
+/**
+ * Grund, aus dem eine Anlage oder Zuweisung abgelehnt wurde (siehe {@link Validierungsergebnis}).
+ * Jeder Code entspricht einer Ausnahme der werfenden Methoden: Zustandsfehler einer
+ * {@link IllegalStateException}, alle anderen einer {@link IllegalArgumentException}.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public enum Fehlercode {
+    /** Das Gerät ist null. */
+    GERAET_NULL(false),
+
+    /** Ein Gerät mit dieser ID existiert bereits. */
+    GERAETE_ID_VERGEBEN(false),
+
+    /** Das Mitglied ist null. */
+    MITGLIED_NULL(false),
+
+    /** Ein Mitglied mit dieser Nummer existiert bereits. */
+    MITGLIEDSNUMMER_VERGEBEN(false),
+
+    /** Das Mitglied ist nicht in diesem Studio registriert. */
+    MITGLIED_NICHT_REGISTRIERT(false),
+
+    /** Das Mitglied ist gesperrt. */
+    MITGLIED_GESPERRT(true),
+
+    /** Das Mitglied hat bereits {@value Mitglied#MAX_AKTIVE_PLAENE} aktive Pläne. */
+    PLANGRENZE_ERREICHT(true),
+
+    /** Der Plan ist null. */
+    PLAN_NULL(false),
+
+    /** Der Planentwurf ist null. */
+    PLANENTWURF_NULL(false),
+
+    /** Der Plan gehört nicht zu diesem Studio. */
+    PLAN_NICHT_REGISTRIERT(false),
+
+    /** Der Planname ist null oder leer. */
+    PLANNAME_LEER(false),
+
+    /** Der Plan enthält keine Übung. */
+    KEINE_UEBUNGEN(false),
+
+    /** Nicht alle Geräte des Plans sind vorhanden und in Betrieb. */
+    GERAETE_FEHLEN(false),
+
+    /** Ein Gerät mit dieser ID existiert nicht. */
+    GERAET_UNBEKANNT(false),
+
+    /** Das Gerät ist außer Betrieb. */
+    GERAET_AUSSER_BETRIEB(true),
+
+    /** Der Plan gehört nicht zu den aktiven Plänen des Mitglieds. */
+    PLAN_NICHT_AKTIV(true),
+
+    /** Der Plan enthält keine Übung an dem Gerät. */
+    KEINE_UEBUNG_AM_GERAET(false),
+
+    /** Der Beginn fehlt oder liegt nicht auf dem Zeitraster der {@link Reservierungen}. */
+    BEGINN_UNGUELTIG(false),
+
+    /** Das Gerät ist im gewünschten Zeitfenster bereits reserviert. */
+    GERAET_BELEGT(true),
+
+    /** Das Mitglied hat im gewünschten Zeitfenster bereits eine Reservierung. */
+    MITGLIED_BELEGT(true);
+
+    private final boolean zustandsfehler;
+
+    Fehlercode(boolean zustandsfehler) {
+        this.zustandsfehler = zustandsfehler;
+    }
+
+    /**
+     * Gibt zurück, ob der Fehler vom Zustand eines Objekts abhängt und daher einer
+     * {@link IllegalStateException} entspricht.
+     *
+     * @return true für Zustandsfehler, false für ungültige Argumente
+     */
+    public boolean istZustandsfehler() {
+        return zustandsfehler;
+    }
+}
@@ -1,13 +1,30 @@
 package fitnessstudio;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Function;
 
 /**
  * Klasse zur Repräsentation eines Fitnessplans.
  * Ein Fitnessplan besteht aus mehreren Übungen und kann nur gespeichert werden,
  * wenn alle verwendeten Geräte im System vorhanden sind.
+ * <p>
+ * Die Menge der benötigten Geräte-IDs wird einmal berechnet und erst beim Hinzufügen
+ * einer Übung verworfen. Gehört der Plan zu einem {@link Fitnessstudio}, merkt er sich
+ * außerdem das Ergebnis von {@link Fitnessstudio#istGueltig(Fitnessplan)}; das Studio
+ * verwirft es nur, wenn sich eines der benötigten Geräte ändert. Änderungen an bereits
+ * enthaltenen Übungen (z. B. {@link Uebung#setGeraet(Geraet)}) werden dabei nicht erkannt;
+ * Übungen aus dem {@link UebungsKatalog} lassen sich gar nicht verändern.
+ * <p>
+ * Die Übungen liegen entweder als Objekte in einer {@link Anhaengeliste} oder, nach
+ * {@link Fitnessstudio#verdichtePlaene()}, als Zeilen eines {@link UebungsSpalten}-Blocks.
+ * Das Hinzufügen einer Übung wandelt einen verdichteten Plan wieder in eine Liste um.
+ * <p>
+ * Name und Übungen werden als unveränderlicher {@link Planstand} veröffentlicht; ältere
+ * Stände bleiben für gehaltene {@link StudioStand}s erreichbar.
  *
  * @author Evelyn Bukaev
  * @author Marvin Röhrig
@@ -17,8 +34,28 @@ import java.util.List;
  * @version 1.0
  */
 public class Fitnessplan {
-    private String name;
-    private final List<Uebung> uebungen;
+    /** Zustand im Gültigkeitswort: Ergebnis unbekannt. */
+    private static final long UNBEKANNT = 0;
+
+    /** Zustand im Gültigkeitswort: Plan ist gültig. */
+    private static final long GUELTIG = 1;
+
+    /** Zustand im Gültigkeitswort: Plan ist ungültig. */
+    private static final long UNGUELTIG = 2;
+
+    /** Maske für den Zustand; die übrigen Bits zählen, wie oft das Ergebnis verworfen wurde. */
+    private static final long ZUSTAND = 3;
+
+    private static final AtomicLongFieldUpdater<Fitnessplan> GUELTIGKEIT =
+            AtomicLongFieldUpdater.newUpdater(Fitnessplan.class, "gueltigkeit");
+
+    private Anhaengeliste<Uebung> uebungen;
+    private volatile List<Uebung> verdichtet;
+    private volatile Planstand stand;
+    private int nummer;
+    private volatile Bedarf bedarf;
+    private volatile long gueltigkeit;
+    private volatile Fitnessstudio fitnessstudio;
 
     /**
      * Konstruktor für einen Fitnessplan.
@@ -31,8 +68,9 @@ public class Fitnessplan {
             throw new IllegalArgumentException("Der Planname darf nicht null oder leer sein.");
         }
         
-        this.name = name.trim();
-        this.uebungen = new ArrayList<>();
+        this.uebungen = new Anhaengeliste<>();
+        this.stand = new Planstand(name.trim(), uebungen.ansicht(), 0, null);
+        this.nummer = -1;
     }
 
     /**
@@ -41,7 +79,7 @@ public class Fitnessplan {
      * @return Der Name des Plans
      */
     public String getName() {
-        return name;
+        return stand.getName();
     }
 
     /**
@@ -50,16 +88,225 @@ public class Fitnessplan {
      * @param name Der neue Name
      */
     public void setName(String name) {
-        this.name = name;
+        Fitnessstudio studio;
+
+        synchronized (this) {
+            studio = fitnessstudio;
+
+            if (studio != null) {
+                studio.planWirdUmbenannt(this, name);
+            }
+
+            veroeffentliche(name, stand.getUebungen());
+        }
+
+        if (studio != null) {
+            studio.aenderungAbgeschlossen();
+        }
+    }
+
+    /**
+     * Gibt die vom Fitnessstudio vergebene Plannummer zurück.
+     *
+     * @return Die Plannummer oder -1, falls der Plan keinem Studio gehört
+     */
+    int getNummer() {
+        return nummer;
+    }
+
+    void setNummer(int nummer) {
+        this.nummer = nummer;
+    }
+
+    /**
+     * Gibt das Studio zurück, in dem der Plan registriert ist.
+     *
+     * @return Das Studio oder null
+     */
+    Fitnessstudio getFitnessstudio() {
+        return fitnessstudio;
+    }
+
+    void setFitnessstudio(Fitnessstudio fitnessstudio) {
+        this.fitnessstudio = fitnessstudio;
+    }
+
+    /**
+     * Gibt die normalisierten IDs aller benötigten Geräte zurück (siehe
+     * {@link Fitnessstudio#normalisiereId(String)}). Die Menge wird nur nach dem Hinzufügen
+     * einer Übung neu berechnet.
+     *
+     * @return unveränderliche Menge der Geräte-IDs; leer, falls der Plan keine Übungen
+     *         enthält oder eine Übung kein Gerät hat und er daher nie gültig sein kann
+     */
+    Set<String> getBenoetigteGeraeteIds() {
+        return getBedarf().geraeteIds;
+    }
+
+    /**
+     * Gibt die benötigten Geräte als Bitmaske über dem Geräteindex des Studios zurück
+     * (siehe {@link Bitmaske}). Die Maske wird einmal pro Stand der Übungen übersetzt.
+     *
+     * @param uebersetzer Übersetzt die normalisierten Geräte-IDs in eine Maske
+     * @return Die Maske; ohne Aussagekraft, wenn {@link #getBenoetigteGeraeteIds()} leer ist
+     */
+    long[] getGeraeteMaske(Function<Set<String>, long[]> uebersetzer) {
+        Bedarf aktuell = getBedarf();
+        long[] maske = aktuell.geraeteMaske;
+
+        if (maske == null) {
+            maske = uebersetzer.apply(aktuell.geraeteIds);
+            aktuell.geraeteMaske = maske;
+        }
+
+        return maske;
+    }
+
+    private Bedarf getBedarf() {
+        List<Uebung> aktuell = getUebungen();
+        Bedarf gemerkt = bedarf;
+
+        // Übungen werden nur angehängt, die Anzahl zeigt daher zuverlässig, ob die Menge veraltet ist
+        if (gemerkt != null && gemerkt.anzahlUebungen == aktuell.size()) {
+            return gemerkt;
+        }
+
+        Set<String> berechnet = new HashSet<>();
+
+        for (Uebung uebung : aktuell) {
+            if (uebung.getGeraet() == null) {
+                berechnet.clear();
+                break;
+            }
+
+            berechnet.add(Fitnessstudio.normalisiereId(uebung.getGeraet().getGeraeteId()));
+        }
+
+        gemerkt = new Bedarf(aktuell.size(), Set.copyOf(berechnet));
+        bedarf = gemerkt;
+        return gemerkt;
+    }
+
+    /**
+     * Gibt das zwischengespeicherte Gültigkeitswort zurück. Es wird an
+     * {@link #merkeGueltigkeit(long, boolean)} zurückgegeben, um ein neu berechnetes
+     * Ergebnis abzulegen.
+     *
+     * @return Das Gültigkeitswort
+     */
+    long getGueltigkeit() {
+        return gueltigkeit;
+    }
+
+    /**
+     * Prüft, ob das Gültigkeitswort ein Ergebnis enthält.
+     *
+     * @param wort Das Gültigkeitswort
+     * @return true, wenn ein Ergebnis vorliegt
+     */
+    static boolean istBekannt(long wort) {
+        return (wort & ZUSTAND) != UNBEKANNT;
+    }
+
+    /**
+     * Gibt das Ergebnis aus einem Gültigkeitswort zurück.
+     *
+     * @param wort Ein Gültigkeitswort mit bekanntem Ergebnis
+     * @return true, wenn der Plan gültig ist
+     */
+    static boolean istGueltig(long wort) {
+        return (wort & ZUSTAND) == GUELTIG;
+    }
+
+    /**
+     * Legt ein berechnetes Ergebnis ab, sofern es seit dem Lesen von {@code gelesen}
+     * nicht verworfen wurde. Andernfalls bleibt das Ergebnis unbekannt.
+     *
+     * @param gelesen Das vor der Berechnung gelesene Gültigkeitswort
+     * @param gueltig Das berechnete Ergebnis
+     */
+    void merkeGueltigkeit(long gelesen, boolean gueltig) {
+        GUELTIGKEIT.compareAndSet(this, gelesen, (gelesen & ~ZUSTAND) | (gueltig ? GUELTIG : UNGUELTIG));
+    }
+
+    /**
+     * Verwirft das zwischengespeicherte Ergebnis. Der Zähler im Gültigkeitswort wird dabei
+     * erhöht, damit eine gleichzeitig laufende Berechnung ihr veraltetes Ergebnis nicht ablegt.
+     */
+    void verwerfeGueltigkeit() {
+        GUELTIGKEIT.getAndUpdate(this, wort -> (wort | ZUSTAND) + 1);
     }
 
     /**
      * Gibt eine unveränderliche Liste der Übungen zurück.
+     * Die Liste ist eine Momentaufnahme und wird ohne Kopie herausgegeben.
      *
      * @return unveränderliche Liste der Übungen
      */
     public List<Uebung> getUebungen() {
-        return Collections.unmodifiableList(new ArrayList<>(uebungen));
+        return stand.getUebungen();
+    }
+
+    /**
+     * Gibt den aktuellen Stand zurück.
+     *
+     * @return Der jüngste veröffentlichte Stand
+     */
+    Planstand getStand() {
+        return stand;
+    }
+
+    /**
+     * Veröffentlicht einen neuen Stand. Nur unter der Sperre des Plans aufzurufen; gehört der
+     * Plan zu einem Studio, geschieht das unter dessen {@link Versionsverwaltung}, und nicht
+     * mehr gehaltene Stände werden gelöst.
+     */
+    private void veroeffentliche(String name, List<Uebung> aktuelleUebungen) {
+        Fitnessstudio studio = fitnessstudio;
+
+        if (studio == null) {
+            stand = new Planstand(name, aktuelleUebungen, 0, null);
+            return;
+        }
+
+        Versionsverwaltung versionen = studio.getVersionen();
+        long stempel = versionen.beginneAenderung();
+
+        try {
+            Planstand neu = new Planstand(name, aktuelleUebungen, versionen.getSchreibversion(), stand);
+            stand = neu;
+            neu.kuerze(versionen.getGehaltene());
+        } finally {
+            versionen.beendeAenderung(stempel);
+        }
+    }
+
+    /**
+     * Legt die Übungen künftig spaltenweise ab, sofern sie seit dem Lesen von {@code gelesen}
+     * nicht verändert wurden.
+     *
+     * @param gelesen Die beim Aufbau des Blocks gelesene Übungsliste
+     * @param ansicht Die Sicht auf die Zeilen dieses Plans im Block
+     * @return true, wenn der Plan nun verdichtet ist
+     */
+    synchronized boolean verdichte(List<Uebung> gelesen, List<Uebung> ansicht) {
+        if (getUebungen() != gelesen) {
+            return false;
+        }
+
+        verdichtet = ansicht;
+        uebungen = null;
+        veroeffentliche(stand.getName(), ansicht);
+        return true;
+    }
+
+    /**
+     * Prüft, ob die Übungen spaltenweise abgelegt sind.
+     *
+     * @return true nach {@link Fitnessstudio#verdichtePlaene()}, bis eine Übung hinzukommt
+     */
+    public boolean istVerdichtet() {
+        return verdichtet != null;
     }
 
     /**
@@ -69,33 +316,57 @@ public class Fitnessplan {
      */
     public void addUebung(Uebung uebung) {
         if (uebung != null) {
-            this.uebungen.add(uebung);
+            Fitnessstudio studio;
+
+            synchronized (this) {
+                studio = fitnessstudio;
+
+                // Vor dem Anhängen, damit ein ablehnender Beobachter den Plan unverändert lässt
+                if (studio != null) {
+                    studio.uebungWirdHinzugefuegt(this, uebung);
+                }
+
+                Anhaengeliste<Uebung> liste = uebungen;
+
+                if (liste == null) {
+                    liste = new Anhaengeliste<>();
+                    verdichtet.forEach(liste::add);
+                    uebungen = liste;
+                    verdichtet = null;
+                }
+
+                liste.add(uebung);
+                veroeffentliche(stand.getName(), liste.ansicht());
+            }
+
+            if (studio != null) {
+                studio.uebungHinzugefuegt(this);
+                studio.aenderungAbgeschlossen();
+            }
         }
     }
 
     /**
      * Prüft, ob alle in diesem Plan verwendeten Geräte in der übergebenen
-     * Liste vorhanden sind. Ein Fitnessplan kann nur gespeichert werden,
+     * Sammlung vorhanden sind. Ein Fitnessplan kann nur gespeichert werden,
      * wenn alle verwendeten Geräte im System existieren.
      * 
-     * @param verfuegbareGeraete Liste der verfügbaren Geräte im System
+     * @param verfuegbareGeraete Sammlung der verfügbaren Geräte im System
      * @return true, wenn alle Geräte vorhanden sind, sonst false
      */
-    public boolean istGueltig(List<Geraet> verfuegbareGeraete) {
-        if (verfuegbareGeraete == null || uebungen.isEmpty()) {
+    public boolean istGueltig(Collection<Geraet> verfuegbareGeraete) {
+        Set<String> benoetigt = getBenoetigteGeraeteIds();
+
+        if (verfuegbareGeraete == null || benoetigt.isEmpty()) {
             return false;
         }
 
-        // Prüfe für jede Übung, ob das benötigte Gerät vorhanden ist
-        for (Uebung uebung : uebungen) {
-            if (uebung.getGeraet() == null) {
-                return false;
-            }
-
+        // Prüfe für jedes benötigte Gerät, ob es in der Sammlung vorhanden ist
+        for (String id : benoetigt) {
             boolean geraetGefunden = false;
 
             for (Geraet geraet : verfuegbareGeraete) {
-                if (geraet.getGeraeteId().equalsIgnoreCase(uebung.getGeraet().getGeraeteId())) {
+                if (geraet.getGeraeteId().equalsIgnoreCase(id)) {
                     geraetGefunden = true;
                     break;
                 }
@@ -109,6 +380,28 @@ public class Fitnessplan {
         return true;
     }
 
+    /**
+     * Addiert Sätze, Wiederholungen und Minuten aller Übungen in einen Plan-Werteblock
+     * der {@link Trainingsauswertung}.
+     *
+     * @param ziel    Das Zielarray
+     * @param versatz Beginn des Werteblocks
+     */
+    void summiereVolumen(long[] ziel, int versatz) {
+        List<Uebung> spalten = verdichtet;
+
+        if (spalten != null) {
+            UebungsSpalten.summiereVolumen(spalten, ziel, versatz);
+            return;
+        }
+
+        for (Uebung uebung : getUebungen()) {
+            Geraet geraet = uebung.getGeraet();
+            Trainingsauswertung.addiere(ziel, versatz, geraet == null ? null : geraet.getKategorie(),
+                    uebung.getSaetze(), uebung.getGesamtWiederholungen(), uebung.getGesamtMinuten());
+        }
+    }
+
     /**
      * Gibt eine String-Repräsentation des Fitnessplans zurück.
      * 
@@ -118,13 +411,30 @@ public class Fitnessplan {
     public String toString() {
         StringBuilder sb = new StringBuilder();
 
-        sb.append("Fitnessplan: ").append(name).append("\n");
+        sb.append("Fitnessplan: ").append(getName()).append("\n");
         sb.append("Übungen:\n");
 
+        List<Uebung> uebungen = getUebungen();
+
         for (int i = 0; i < uebungen.size(); i++) {
             sb.append("  ").append(i + 1).append(". ").append(uebungen.get(i)).append("\n");
         }
 
         return sb.toString();
     }
+
+    /**
+     * Menge der benötigten Geräte-IDs zusammen mit der Anzahl Übungen, aus der sie berechnet
+     * wurde, und der daraus übersetzten Bitmaske.
+     */
+    private static final class Bedarf {
+        private final int anzahlUebungen;
+        private final Set<String> geraeteIds;
+        private volatile long[] geraeteMaske;
+
+        Bedarf(int anzahlUebungen, Set<String> geraeteIds) {
+            this.anzahlUebungen = anzahlUebungen;
+            this.geraeteIds = geraeteIds;
+        }
+    }
 }
@@ -1,13 +1,77 @@
 package fitnessstudio;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Hauptverwaltungsklasse für das Fitnessstudio-System.
  * Verwaltet Geräte, Mitglieder und Fitnesspläne. Nur hier registrierte
  * Mitglieder und Pläne können in Zuweisungen verwendet werden.
+ * Geräte und Mitglieder werden über Hash-Indizes nach ID bzw. Mitgliedsnummer
+ * verwaltet, sodass Suche und Anlage in konstanter Zeit erfolgen.
+ * <p>
+ * Die Klasse ist threadsicher: Die Eindeutigkeitsprüfung beim Anlegen erfolgt
+ * atomar über {@link ConcurrentHashMap#putIfAbsent(Object, Object)} ohne globale
+ * Sperre, Lesezugriffe laufen vollständig ohne Sperren. Die Getter liefern die
+ * Einträge in Anlagereihenfolge als unveränderliche Momentaufnahme, ohne dafür
+ * zu kopieren (siehe {@link Anhaengeliste}). Für Oberflächen, die nur wenige Einträge
+ * zugleich anzeigen, blättern {@link #getMitgliederSeite(String, int, Predicate)} und
+ * {@link #getPlaeneSeite(String, int, Predicate)} seitenweise mit einem Cursor; Mitglieder
+ * liegen dafür zusätzlich nach Mitgliedsnummer sortiert in einer
+ * {@link ConcurrentSkipListMap}.
+ * <p>
+ * Für Auswertungen über viele Einträge hält {@link #snapshot()} einen konsistenten
+ * {@link StudioStand} fest, ohne etwas zu kopieren: Mitglieder und Pläne veröffentlichen jede
+ * Änderung als neuen, unveränderlichen Stand mit einer Version der
+ * {@link Versionsverwaltung} und behalten ältere Stände nur, solange ein {@link StudioStand}
+ * sie benötigt.
+ * <p>
+ * Ein Plan ist gültig, wenn alle seine Geräte vorhanden und in Betrieb sind. Geräte können
+ * {@link #nehmeAusserBetrieb(String) außer Betrieb genommen} und
+ * {@link #musterGeraetAus(String) ausgemustert} werden.
+ * Die Gültigkeit registrierter Pläne ({@link #istGueltig(Fitnessplan)}) wird im Plan
+ * zwischengespeichert. Ein Rückwärtsindex von Geräte-ID auf Pläne sorgt dafür, dass eine
+ * Änderung der verfügbaren Geräte nur die Pläne neu bewertet, die das Gerät verwenden;
+ * geänderte Gültigkeiten werden über {@link StudioBeobachter#planstatusGeaendert(Fitnessplan, boolean)}
+ * gemeldet. Jede solche Änderung erhöht außerdem die {@link #getGeraeteVersion() Geräteversion}.
+ * <p>
+ * Jede (normalisierte) Geräte-ID erhält einen dichten ganzzahligen Index. Die vorhandenen
+ * Geräte und der Gerätebedarf jedes Plans werden als {@link Bitmaske} über diesem Index
+ * geführt, sodass eine Gültigkeitsprüfung aus wenigen wortweisen UND-Verknüpfungen besteht.
+ * <p>
+ * Mitglieder lassen sich über {@link #sucheMitglieder(String, int)} nach Teilen von Name und
+ * Adresse finden, auch ohne Umlaute und mit einem Tippfehler. Der zugehörige Suchindex
+ * ({@link Mitgliedersuche}) entsteht bei der ersten Suche und wird danach bei der Registrierung
+ * und bei jeder Namens- oder Adressänderung fortgeschrieben.
+ * <p>
+ * Ein zweiter Rückwärtsindex von Plan auf Mitglieder wird bei jeder Planzuweisung
+ * fortgeschrieben. Zusammen beantworten beide Indizes, welche Pläne und Mitglieder von
+ * einem Gerät betroffen sind, in einer Zeit proportional zur Größe der Antwort.
+ * <p>
+ * Über {@link #fuegeBeobachterHinzu(StudioBeobachter)} können Beobachter (z. B. ein
+ * {@link Journal}) über alle Änderungen informiert werden. Sie werden aufgerufen, bevor
+ * ein neuer Eintrag für andere Threads sichtbar wird, und sehen daher alle Änderungen in
+ * einer Reihenfolge, in der sie sich wieder abspielen lassen.
+ * <p>
+ * Aufrufe der öffentlichen Operationen werden in {@link #getMetriken() Betriebsmetriken}
+ * erfasst, die sich per JMX veröffentlichen lassen.
  *
  * @author Evelyn Bukaev
  * @author Marvin Röhrig
@@ -17,113 +81,1082 @@ import java.util.List;
  * @version 1.0
  */
 public class Fitnessstudio {
-    private final List<Geraet> geraete;
-    private final List<Mitglied> mitglieder;
-    private final List<Fitnessplan> plaene;
+    /** Ab dieser Anzahl an Entwürfen validiert {@link #erstelleFitnessplaene(List)} parallel. */
+    static final int PARALLEL_AB = 1024;
+
+    private final ConcurrentHashMap<String, Geraet> geraete;
+    private final ConcurrentHashMap<String, Mitglied> mitglieder;
+    private final ConcurrentSkipListMap<String, Mitglied> mitgliederNachNummer;
+    private final Set<Fitnessplan> plaene;
+    private final Anhaengeliste<Geraet> geraeteReihenfolge;
+    private final Anhaengeliste<Mitglied> mitgliederReihenfolge;
+    private final Anhaengeliste<Fitnessplan> plaeneReihenfolge;
+    private final List<StudioBeobachter> beobachter;
+    private final Set<String> geraeteAusserBetrieb;
+    private final ConcurrentHashMap<String, Integer> geraeteIndex;
+    private final Map<String, Integer> geraeteAnzahl;
+    private volatile long[] vorhandeneGeraete;
+    private final ConcurrentHashMap<String, Set<Fitnessplan>> plaeneNachGeraet;
+    private final ConcurrentHashMap<Fitnessplan, Set<Mitglied>> mitgliederNachPlan;
+    private final AtomicLong geraeteVersion;
+    private final Studiometriken metriken;
+    private final UebungsKatalog uebungsKatalog;
+    private final Geraetenachfrage geraetenachfrage;
+    private final Reservierungen reservierungen;
+    private final Versionsverwaltung versionen;
+    private final Mitgliedersuche mitgliedersuche;
+    private int naechstePlannummer;
+
+    /**
+     * Konstruktor für das Fitnessstudio.
+     * Initialisiert alle Verzeichnisse.
+     */
+    public Fitnessstudio() {
+        this.geraete = new ConcurrentHashMap<>();
+        this.mitglieder = new ConcurrentHashMap<>();
+        this.mitgliederNachNummer = new ConcurrentSkipListMap<>();
+        this.plaene = ConcurrentHashMap.newKeySet();
+        this.geraeteReihenfolge = new Anhaengeliste<>();
+        this.mitgliederReihenfolge = new Anhaengeliste<>();
+        this.plaeneReihenfolge = new Anhaengeliste<>();
+        this.beobachter = new CopyOnWriteArrayList<>();
+        this.geraeteAusserBetrieb = ConcurrentHashMap.newKeySet();
+        this.geraeteIndex = new ConcurrentHashMap<>();
+        this.geraeteAnzahl = new HashMap<>();
+        this.vorhandeneGeraete = Bitmaske.LEER;
+        this.plaeneNachGeraet = new ConcurrentHashMap<>();
+        this.mitgliederNachPlan = new ConcurrentHashMap<>();
+        this.geraeteVersion = new AtomicLong();
+        this.metriken = new Studiometriken();
+        this.uebungsKatalog = new UebungsKatalog();
+        this.geraetenachfrage = new Geraetenachfrage(geraeteIndex);
+        this.reservierungen = new Reservierungen(geraete, mitglieder, geraeteAusserBetrieb, metriken);
+        this.versionen = new Versionsverwaltung();
+        this.mitgliedersuche = new Mitgliedersuche(mitgliederReihenfolge);
+    }
+
+    /**
+     * Gibt die Betriebsmetriken des Studios zurück (Aufrufe, Fehler und Latenzen je Operation).
+     *
+     * @return Die Metriken
+     */
+    public Studiometriken getMetriken() {
+        return metriken;
+    }
+
+    /**
+     * Gibt die Nachfrage nach den Geräten zurück: je Gerät die Anzahl der Pläne und Mitglieder,
+     * die es benötigen, fortgeschrieben bei jeder Planerstellung und Zuweisung.
+     *
+     * @return Die Gerätenachfrage
+     */
+    public Geraetenachfrage getGeraetenachfrage() {
+        return geraetenachfrage;
+    }
+
+    /**
+     * Gibt die Gerätereservierungen des Studios zurück.
+     *
+     * @return Die Reservierungen
+     */
+    public Reservierungen getReservierungen() {
+        return reservierungen;
+    }
+
+    /**
+     * Gibt den Übungskatalog des Studios zurück. Über ihn angelegte Übungen werden von allen
+     * Plänen geteilt, die dieselbe Übung enthalten; die Ladewege ({@link CsvImporter},
+     * {@link SnapshotDatei}, {@link Journal}) verwenden ihn automatisch.
+     *
+     * @return Der Übungskatalog
+     */
+    public UebungsKatalog getUebungsKatalog() {
+        return uebungsKatalog;
+    }
+
+    /**
+     * Registriert einen Beobachter, der über alle Änderungen am Studio informiert wird.
+     *
+     * @param studioBeobachter Der Beobachter (darf nicht null sein)
+     * @throws IllegalArgumentException falls studioBeobachter null ist
+     */
+    public void fuegeBeobachterHinzu(StudioBeobachter studioBeobachter) {
+        if (studioBeobachter == null) {
+            throw new IllegalArgumentException("Der Beobachter darf nicht null sein.");
+        }
+
+        beobachter.add(studioBeobachter);
+    }
+
+    /**
+     * Entfernt einen zuvor registrierten Beobachter.
+     *
+     * @param studioBeobachter Der zu entfernende Beobachter
+     */
+    public void entferneBeobachter(StudioBeobachter studioBeobachter) {
+        beobachter.remove(studioBeobachter);
+    }
+
+    /**
+     * Meldet den Beobachtern das Ende einer bereits veröffentlichten Änderung (siehe
+     * {@link StudioBeobachter#aenderungAbgeschlossen()}). Die Änderung ist angewendet und gilt
+     * als erfolgreich, auch wenn ein Beobachter wirft, etwa weil das {@link Journal} nicht
+     * schreiben konnte; sie ist dann nur nicht dauerhaft gesichert. Darf nur aufgerufen werden,
+     * während der Thread keine Sperre des Studios, eines Geräts, Plans oder Mitglieds hält.
+     */
+    void aenderungAbgeschlossen() {
+        for (StudioBeobachter b : beobachter) {
+            try {
+                b.aenderungAbgeschlossen();
+            } catch (RuntimeException e) {
+                // Nicht an den Aufrufer weitergeben: Die Änderung ist sichtbar und wird nicht
+                // zurückgenommen; der Beobachter meldet den Fehler selbst (siehe Journal)
+            }
+        }
+    }
+
+    /**
+     * Meldet den Beobachtern das Ende einer Änderung, die erst danach veröffentlicht wird.
+     * Anders als {@link #aenderungAbgeschlossen()} werden Ausnahmen weitergegeben, damit der
+     * Aufrufer die Änderung verwerfen kann.
+     */
+    private void sichereAenderung() {
+        for (StudioBeobachter b : beobachter) {
+            b.aenderungAbgeschlossen();
+        }
+    }
+
+    /**
+     * Fügt ein Gerät zum System hinzu.
+     *
+     * @param geraet Das hinzuzufügende Gerät (darf nicht null sein)
+     * @throws IllegalArgumentException falls geraet null ist oder eine Geräte-ID bereits existiert
+     */
+    public void legeGeraetAn(Geraet geraet) {
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+
+        if (!versucheGeraetAnzulegen(geraet, ergebnis)) {
+            throw ergebnis.alsAusnahme();
+        }
+    }
+
+    /**
+     * Legt ein Gerät wie {@link #legeGeraetAn(Geraet)} an, meldet eine Ablehnung aber über
+     * das Ergebnis statt über eine Ausnahme.
+     *
+     * @param geraet   Das hinzuzufügende Gerät
+     * @param ergebnis Nimmt bei einer Ablehnung Fehlercode und Geräte-ID auf (darf nicht null sein)
+     * @return true, wenn das Gerät angelegt wurde
+     * @throws IllegalArgumentException falls ergebnis null ist
+     */
+    public boolean versucheGeraetAnzulegen(Geraet geraet, Validierungsergebnis ergebnis) {
+        pruefeErgebnis(ergebnis);
+        long start = metriken.beginne();
+
+        try {
+            boolean angelegt = registriereGeraet(geraet, ergebnis);
+
+            if (!angelegt) {
+                metriken.fehlgeschlagen(StudioOperation.GERAET_ANLEGEN, start, ergebnis.getFehlercode());
+            }
+
+            return angelegt;
+        } catch (RuntimeException e) {
+            metriken.fehlgeschlagen(StudioOperation.GERAET_ANLEGEN, start, e);
+            throw e;
+        } finally {
+            metriken.beende(StudioOperation.GERAET_ANLEGEN, start);
+        }
+    }
+
+    private boolean registriereGeraet(Geraet geraet, Validierungsergebnis ergebnis) {
+        if (geraet == null) {
+            return ergebnis.fehler(Fehlercode.GERAET_NULL, null, null);
+        }
+        
+        boolean[] angelegt = {false};
+
+        // Beobachter innerhalb von computeIfAbsent benachrichtigen, bevor das Gerät sichtbar wird
+        geraete.computeIfAbsent(geraet.getGeraeteId(), id -> {
+            for (StudioBeobachter b : beobachter) {
+                b.geraetAngelegt(geraet);
+            }
+
+            geraeteReihenfolge.add(geraet);
+            aendereVerfuegbarkeit(normalisiereId(id), 1);
+            geraetenachfrage.geraetAngelegt(indexVon(normalisiereId(id)), geraet);
+            angelegt[0] = true;
+            return geraet;
+        });
+
+        if (!angelegt[0]) {
+            return ergebnis.fehler(Fehlercode.GERAETE_ID_VERGEBEN, geraet.getGeraeteId(), geraet.getGeraeteName());
+        }
+
+        aenderungAbgeschlossen();
+        return true;
+    }
+
+    /**
+     * Nimmt ein Gerät außer Betrieb (z. B. bei einem Defekt). Das Gerät bleibt im System,
+     * gilt für die Gültigkeit von Plänen aber als nicht vorhanden. Ist es bereits außer
+     * Betrieb, geschieht nichts.
+     *
+     * @param geraeteId Die Geräte-ID
+     * @throws IllegalArgumentException falls geraeteId null ist oder kein solches Gerät existiert
+     */
+    public void nehmeAusserBetrieb(String geraeteId) {
+        aendereBetriebsstatus(geraeteId, true);
+    }
+
+    /**
+     * Nimmt ein außer Betrieb genommenes Gerät wieder in Betrieb. Ist es bereits in
+     * Betrieb, geschieht nichts.
+     *
+     * @param geraeteId Die Geräte-ID
+     * @throws IllegalArgumentException falls geraeteId null ist oder kein solches Gerät existiert
+     */
+    public void nehmeInBetrieb(String geraeteId) {
+        aendereBetriebsstatus(geraeteId, false);
+    }
+
+    private void aendereBetriebsstatus(String geraeteId, boolean ausserBetrieb) {
+        long start = metriken.beginne();
+
+        try {
+            setzeBetriebsstatus(geraeteId, ausserBetrieb);
+        } catch (RuntimeException e) {
+            metriken.fehlgeschlagen(StudioOperation.BETRIEBSSTATUS_AENDERN, start, e);
+            throw e;
+        } finally {
+            metriken.beende(StudioOperation.BETRIEBSSTATUS_AENDERN, start);
+        }
+    }
+
+    private void setzeBetriebsstatus(String geraeteId, boolean ausserBetrieb) {
+        if (geraeteId == null) {
+            throw new IllegalArgumentException("Die Geräte-ID darf nicht null sein.");
+        }
+
+        // Die Sperre des Eintrags ordnet Statuswechsel desselben Geräts
+        Geraet geraet = geraete.computeIfPresent(geraeteId, (id, g) -> {
+            boolean geaendert = ausserBetrieb ? geraeteAusserBetrieb.add(id) : geraeteAusserBetrieb.remove(id);
+
+            if (geaendert) {
+                for (StudioBeobachter b : beobachter) {
+                    b.betriebsstatusGeaendert(g, ausserBetrieb);
+                }
+
+                aendereVerfuegbarkeit(normalisiereId(id), ausserBetrieb ? -1 : 1);
+            }
+
+            return g;
+        });
+
+        if (geraet == null) {
+            throw new IllegalArgumentException("Ein Gerät mit der ID " + geraeteId + " existiert nicht.");
+        }
+
+        aenderungAbgeschlossen();
+    }
+
+    /**
+     * Prüft, ob ein Gerät außer Betrieb ist.
+     *
+     * @param geraeteId Die Geräte-ID
+     * @return true, wenn das Gerät existiert und außer Betrieb ist
+     */
+    public boolean istAusserBetrieb(String geraeteId) {
+        return geraeteId != null && geraeteAusserBetrieb.contains(geraeteId);
+    }
+
+    /**
+     * Mustert ein Gerät aus und entfernt es aus dem System. Pläne, die das Gerät verwenden,
+     * bleiben erhalten, werden aber ungültig, bis wieder ein Gerät mit dieser ID angelegt wird.
+     *
+     * @param geraeteId Die Geräte-ID
+     * @return Das ausgemusterte Gerät
+     * @throws IllegalArgumentException falls geraeteId null ist oder kein solches Gerät existiert
+     */
+    public Geraet musterGeraetAus(String geraeteId) {
+        long start = metriken.beginne();
+
+        try {
+            return entferneGeraet(geraeteId);
+        } catch (RuntimeException e) {
+            metriken.fehlgeschlagen(StudioOperation.GERAET_AUSMUSTERN, start, e);
+            throw e;
+        } finally {
+            metriken.beende(StudioOperation.GERAET_AUSMUSTERN, start);
+        }
+    }
+
+    private Geraet entferneGeraet(String geraeteId) {
+        if (geraeteId == null) {
+            throw new IllegalArgumentException("Die Geräte-ID darf nicht null sein.");
+        }
+
+        Geraet[] ausgemustert = {null};
+
+        geraete.computeIfPresent(geraeteId, (id, g) -> {
+            for (StudioBeobachter b : beobachter) {
+                b.geraetAusgemustert(g);
+            }
+
+            // Ein Gerät außer Betrieb ist bereits nicht mehr verfügbar
+            if (!geraeteAusserBetrieb.remove(id)) {
+                aendereVerfuegbarkeit(normalisiereId(id), -1);
+            }
+
+            geraeteReihenfolge.entferne(g);
+            ausgemustert[0] = g;
+            return null;
+        });
+
+        if (ausgemustert[0] == null) {
+            throw new IllegalArgumentException("Ein Gerät mit der ID " + geraeteId + " existiert nicht.");
+        }
+
+        uebungsKatalog.vergiss(ausgemustert[0]);
+        reservierungen.geraetAusgemustert(ausgemustert[0]);
+        aenderungAbgeschlossen();
+        return ausgemustert[0];
+    }
+
+    /**
+     * Passt die Anzahl verfügbarer Geräte mit dieser normalisierten ID an. Verlässt oder
+     * erreicht die Anzahl 0, wird das Bit in der Maske der vorhandenen Geräte gesetzt bzw.
+     * gelöscht und alle Pläne, die das Gerät verwenden, werden neu bewertet. Mehrere Geräte
+     * können sich eine normalisierte ID teilen, da die Geräte-IDs selbst Groß-/Kleinschreibung
+     * unterscheiden.
+     *
+     * @param normalisierteId Die normalisierte Geräte-ID
+     * @param aenderung       +1, wenn ein Gerät verfügbar wird, -1, wenn eines wegfällt
+     */
+    private void aendereVerfuegbarkeit(String normalisierteId, int aenderung) {
+        synchronized (geraeteAnzahl) {
+            int anzahl = geraeteAnzahl.getOrDefault(normalisierteId, 0) + aenderung;
+
+            if (anzahl == 0) {
+                geraeteAnzahl.remove(normalisierteId);
+            } else {
+                geraeteAnzahl.put(normalisierteId, anzahl);
+            }
+
+            long[] vorher = vorhandeneGeraete;
+            long[] nachher = vorher;
+
+            if (anzahl == 0 || anzahl == aenderung) {
+                nachher = Bitmaske.mit(vorher, indexVon(normalisierteId), anzahl > 0);
+                vorhandeneGeraete = nachher;
+            }
+
+            // Erst nach dem Veröffentlichen der Maske, siehe Fitnessplan#merkeGueltigkeit
+            geraeteVersion.incrementAndGet();
+
+            if (nachher != vorher) {
+                bewerteNeu(normalisierteId, vorher, nachher);
+            }
+        }
+    }
+
+    /**
+     * Bewertet die Pläne, die das Gerät verwenden, gegen die neue Maske, legt das Ergebnis
+     * im Plan ab und meldet geänderte Gültigkeiten den Beobachtern.
+     */
+    private void bewerteNeu(String normalisierteId, long[] vorher, long[] nachher) {
+        Set<Fitnessplan> betroffen = plaeneNachGeraet.get(normalisierteId);
+
+        if (betroffen == null) {
+            return;
+        }
+
+        for (Fitnessplan plan : betroffen) {
+            boolean warGueltig = erfuellt(plan, vorher);
+            boolean gueltig = erfuellt(plan, nachher);
+
+            plan.verwerfeGueltigkeit();
+            plan.merkeGueltigkeit(plan.getGueltigkeit(), gueltig);
+
+            if (warGueltig != gueltig) {
+                for (StudioBeobachter b : beobachter) {
+                    b.planstatusGeaendert(plan, gueltig);
+                }
+            }
+        }
+    }
+
+    private boolean erfuellt(Fitnessplan plan, long[] vorhanden) {
+        return !plan.getBenoetigteGeraeteIds().isEmpty()
+                && Bitmaske.enthaeltAlle(vorhanden, plan.getGeraeteMaske(this::uebersetze));
+    }
+
+    /**
+     * Gibt den dichten Index einer normalisierten Geräte-ID zurück und vergibt ihn bei Bedarf.
+     */
+    private int indexVon(String normalisierteId) {
+        return geraeteIndex.computeIfAbsent(normalisierteId, geraetenachfrage::legeAn);
+    }
+
+    /**
+     * Übersetzt normalisierte Geräte-IDs in eine Bitmaske über dem Geräteindex.
+     */
+    private long[] uebersetze(Set<String> geraeteIds) {
+        long[] maske = Bitmaske.LEER;
+
+        for (String id : geraeteIds) {
+            maske = Bitmaske.setze(maske, indexVon(id));
+        }
+
+        return maske;
+    }
+
+    /**
+     * Prüft, ob ein Gerät mit der normalisierten ID vorhanden ist, ohne einen Index zu vergeben.
+     */
+    private boolean istVorhanden(String normalisierteId, long[] vorhanden) {
+        Integer index = geraeteIndex.get(normalisierteId);
+        return index != null && Bitmaske.istGesetzt(vorhanden, index);
+    }
+
+    /**
+     * Gibt die Version des Geräteverzeichnisses zurück. Sie wird bei jeder Änderung am
+     * Verzeichnis erhöht; solange sie gleich bleibt, sind daraus abgeleitete Ergebnisse aktuell.
+     *
+     * @return Die Geräteversion
+     */
+    public long getGeraeteVersion() {
+        return geraeteVersion.get();
+    }
+
+    /**
+     * Prüft, ob alle Geräte des Plans im System vorhanden und in Betrieb sind.
+     * Für in diesem Studio registrierte Pläne wird das Ergebnis zwischengespeichert und nur
+     * neu berechnet, nachdem sich eines der vom Plan verwendeten Geräte geändert hat.
+     *
+     * @param plan Der zu prüfende Plan
+     * @return true, wenn alle Geräte vorhanden sind, sonst false (auch für null)
+     */
+    public boolean istGueltig(Fitnessplan plan) {
+        long start = metriken.beginne();
+
+        try {
+            return pruefeGueltigkeit(plan);
+        } finally {
+            metriken.beende(StudioOperation.PLAN_PRUEFEN, start);
+        }
+    }
+
+    private boolean pruefeGueltigkeit(Fitnessplan plan) {
+        if (plan == null) {
+            return false;
+        }
+
+        if (plan.getFitnessstudio() != this) {
+            return sindVorhanden(plan.getBenoetigteGeraeteIds());
+        }
+
+        long wort = plan.getGueltigkeit();
+
+        if (Fitnessplan.istBekannt(wort)) {
+            return Fitnessplan.istGueltig(wort);
+        }
+
+        boolean gueltig = erfuellt(plan, vorhandeneGeraete);
+        plan.merkeGueltigkeit(wort, gueltig);
+        return gueltig;
+    }
+
+    private boolean sindVorhanden(Set<String> geraeteIds) {
+        if (geraeteIds.isEmpty()) {
+            return false;
+        }
+
+        long[] vorhanden = vorhandeneGeraete;
+
+        for (String id : geraeteIds) {
+            if (!istVorhanden(id, vorhanden)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gibt alle registrierten Pläne zurück, die sich allein mit den übergebenen Geräten
+     * durchführen lassen, unabhängig davon, welche Geräte im Studio vorhanden sind.
+     *
+     * @param verfuegbareGeraete Die verfügbaren Geräte (darf nicht null sein)
+     * @return unveränderliche Liste der durchführbaren Pläne in Anlagereihenfolge
+     * @throws IllegalArgumentException falls verfuegbareGeraete null ist oder null bzw. ein Gerät ohne ID enthält
+     */
+    public List<Fitnessplan> durchfuehrbarePlaene(Collection<Geraet> verfuegbareGeraete) {
+        if (verfuegbareGeraete == null) {
+            throw new IllegalArgumentException("Die Sammlung der verfügbaren Geräte darf nicht null sein.");
+        }
+
+        long[] verfuegbar = Bitmaske.LEER;
+
+        for (Geraet geraet : verfuegbareGeraete) {
+            if (geraet == null || geraet.getGeraeteId() == null) {
+                throw new IllegalArgumentException("Die Sammlung der verfügbaren Geräte darf kein null und kein Gerät ohne ID enthalten.");
+            }
+
+            // Geräte ohne Index werden von keinem Plan benötigt
+            Integer index = geraeteIndex.get(normalisiereId(geraet.getGeraeteId()));
+
+            if (index != null) {
+                verfuegbar = Bitmaske.setze(verfuegbar, index);
+            }
+        }
+
+        List<Fitnessplan> durchfuehrbar = new ArrayList<>();
+
+        for (Fitnessplan plan : plaeneReihenfolge.ansicht()) {
+            if (erfuellt(plan, verfuegbar)) {
+                durchfuehrbar.add(plan);
+            }
+        }
+
+        return Collections.unmodifiableList(durchfuehrbar);
+    }
+
+    /**
+     * Fügt ein Mitglied zum System hinzu.
+     *
+     * @param mitglied Das hinzuzufügende Mitglied (darf nicht null sein)
+     * @throws IllegalArgumentException falls mitglied null ist oder die Mitgliedsnummer bereits existiert
+     */
+    public void legeMitgliedAn(Mitglied mitglied) {
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+
+        if (!versucheMitgliedAnzulegen(mitglied, ergebnis)) {
+            throw ergebnis.alsAusnahme();
+        }
+    }
+
+    /**
+     * Legt ein Mitglied wie {@link #legeMitgliedAn(Mitglied)} an, meldet eine Ablehnung aber
+     * über das Ergebnis statt über eine Ausnahme.
+     *
+     * @param mitglied Das hinzuzufügende Mitglied
+     * @param ergebnis Nimmt bei einer Ablehnung Fehlercode und Mitgliedsnummer auf (darf nicht null sein)
+     * @return true, wenn das Mitglied angelegt wurde
+     * @throws IllegalArgumentException falls ergebnis null ist
+     */
+    public boolean versucheMitgliedAnzulegen(Mitglied mitglied, Validierungsergebnis ergebnis) {
+        pruefeErgebnis(ergebnis);
+        return legeMitgliedAn(mitglied, ergebnis, true);
+    }
+
+    /**
+     * Registriert die Mitglieder eines geladenen Abbilds (siehe {@link SnapshotDatei}) samt
+     * ihrer bereits zugewiesenen Pläne. Anders als bei {@link #legeMitgliedAn(Mitglied)} werden
+     * die Zuweisungen nicht einzeln in den Rückwärtsindex von Plan auf Mitglieder eingetragen:
+     * Der Index entsteht danach in einem Durchlauf je Plan, mit Mengen passender Größe. Nur für
+     * ein Studio, das noch kein anderer Thread sieht.
+     *
+     * @param geladen Die Mitglieder in Anlagereihenfolge
+     * @throws IllegalArgumentException falls ein Mitglied null ist oder eine Mitgliedsnummer doppelt vorkommt
+     */
+    void legeGeladeneMitgliederAn(List<Mitglied> geladen) {
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+        Map<Fitnessplan, List<Mitglied>> mitgliederJePlan = new IdentityHashMap<>();
+
+        for (Mitglied mitglied : geladen) {
+            if (!legeMitgliedAn(mitglied, ergebnis, false)) {
+                throw ergebnis.alsAusnahme();
+            }
+
+            for (Fitnessplan plan : mitglied.getAktivePlaene()) {
+                mitgliederJePlan.computeIfAbsent(plan, p -> new ArrayList<>()).add(mitglied);
+            }
+        }
+
+        for (Map.Entry<Fitnessplan, List<Mitglied>> eintrag : mitgliederJePlan.entrySet()) {
+            List<Mitglied> mitgliederMitPlan = eintrag.getValue();
+            mitgliederNachPlan.computeIfAbsent(eintrag.getKey(), p -> ConcurrentHashMap.newKeySet(mitgliederMitPlan.size()))
+                    .addAll(mitgliederMitPlan);
+        }
+    }
+
+    private boolean legeMitgliedAn(Mitglied mitglied, Validierungsergebnis ergebnis, boolean zuweisungenEintragen) {
+        long start = metriken.beginne();
+
+        try {
+            boolean angelegt = registriereMitglied(mitglied, ergebnis, zuweisungenEintragen);
+
+            if (!angelegt) {
+                metriken.fehlgeschlagen(StudioOperation.MITGLIED_ANLEGEN, start, ergebnis.getFehlercode());
+            }
+
+            return angelegt;
+        } catch (RuntimeException e) {
+            metriken.fehlgeschlagen(StudioOperation.MITGLIED_ANLEGEN, start, e);
+            throw e;
+        } finally {
+            metriken.beende(StudioOperation.MITGLIED_ANLEGEN, start);
+        }
+    }
+
+    /**
+     * Registriert ein Mitglied und trägt es in die Anlagereihenfolge und die Indizes ein.
+     *
+     * @param zuweisungenEintragen ob vorab zugewiesene Pläne einzeln in den Rückwärtsindex
+     *                             eingetragen werden; sonst baut ihn der Aufrufer auf
+     */
+    private boolean registriereMitglied(Mitglied mitglied, Validierungsergebnis ergebnis, boolean zuweisungenEintragen) {
+        if (mitglied == null) {
+            return ergebnis.fehler(Fehlercode.MITGLIED_NULL, null, null);
+        }
+        
+        boolean[] angelegt = {false};
+
+        // Beobachter innerhalb von computeIfAbsent benachrichtigen, bevor das Mitglied sichtbar wird
+        mitglieder.computeIfAbsent(mitglied.getMitgliedsnummer(), nummer -> {
+            for (StudioBeobachter b : beobachter) {
+                b.mitgliedAngelegt(mitglied);
+            }
+
+            mitglied.setFitnessstudio(this);
+
+            // Vor der Registrierung zugewiesene Pläne (z. B. beim Laden eines Abbilds) nachtragen
+            if (zuweisungenEintragen) {
+                for (Fitnessplan plan : mitglied.getAktivePlaene()) {
+                    planAngehaengt(mitglied, plan);
+                }
+            } else if (!mitglied.getAktivePlaene().isEmpty()) {
+                geraetenachfrage.aktualisiere(mitglied, this::uebersetze);
+            }
+
+            angelegt[0] = true;
+            return mitglied;
+        });
+
+        if (!angelegt[0]) {
+            return ergebnis.fehler(Fehlercode.MITGLIEDSNUMMER_VERGEBEN, mitglied.getMitgliedsnummer(), mitglied.getName());
+        }
+
+        // Version und Reihenfolge gemeinsam, damit ein StudioStand das Mitglied auch über seine Nummer findet
+        long stempel = versionen.beginneAenderung();
+        int platz;
+
+        try {
+            mitglied.setRegistriertIn(versionen.getSchreibversion());
+            platz = mitgliederReihenfolge.add(mitglied);
+        } finally {
+            versionen.beendeAenderung(stempel);
+        }
+
+        mitgliederNachNummer.put(mitglied.getMitgliedsnummer(), mitglied);
+        mitgliedersuche.indiziere(mitglied, platz);
+        aenderungAbgeschlossen();
+        return true;
+    }
+
+    /**
+     * Erstellt einen neuen Fitnessplan und validiert, ob alle verwendeten
+     * Geräte im System vorhanden sind.
+     *
+     * @param name     Name des Fitnessplans (nicht null/leer)
+     * @param uebungen Liste der Übungen für den Plan (nicht null/leer)
+     * @return der erstellte Fitnessplan
+     * @throws IllegalArgumentException wenn Name/Übungen ungültig sind oder nicht alle Geräte vorhanden sind
+     */
+    public Fitnessplan erstelleFitnessplan(String name, List<Uebung> uebungen) throws IllegalArgumentException {
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+        Fitnessplan fitnessplan = versucheFitnessplanZuErstellen(name, uebungen, ergebnis);
+
+        if (fitnessplan == null) {
+            throw ergebnis.alsAusnahme();
+        }
+
+        return fitnessplan;
+    }
+
+    /**
+     * Erstellt einen Fitnessplan wie {@link #erstelleFitnessplan(String, List)}, meldet eine
+     * Ablehnung aber über das Ergebnis statt über eine Ausnahme. Der Plan wird erst angelegt,
+     * nachdem alle Übungen in einem Durchlauf geprüft wurden; bei fehlenden Geräten enthält
+     * das Ergebnis alle fehlenden Geräte.
+     *
+     * @param name     Name des Fitnessplans
+     * @param uebungen Liste der Übungen für den Plan
+     * @param ergebnis Nimmt bei einer Ablehnung Fehlercode und fehlende Geräte auf (darf nicht null sein)
+     * @return der erstellte Fitnessplan oder null, wenn er abgelehnt wurde
+     * @throws IllegalArgumentException falls ergebnis null ist
+     */
+    public Fitnessplan versucheFitnessplanZuErstellen(String name, List<Uebung> uebungen, Validierungsergebnis ergebnis) {
+        pruefeErgebnis(ergebnis);
+        long start = metriken.beginne();
+
+        try {
+            Fitnessplan fitnessplan = baueFitnessplan(name, uebungen, ergebnis);
+
+            if (fitnessplan == null) {
+                metriken.fehlgeschlagen(StudioOperation.PLAN_ERSTELLEN, start, ergebnis.getFehlercode());
+            }
+
+            return fitnessplan;
+        } catch (RuntimeException e) {
+            metriken.fehlgeschlagen(StudioOperation.PLAN_ERSTELLEN, start, e);
+            throw e;
+        } finally {
+            metriken.beende(StudioOperation.PLAN_ERSTELLEN, start);
+        }
+    }
+
+    private Fitnessplan baueFitnessplan(String name, List<Uebung> uebungen, Validierungsergebnis ergebnis) {
+        if (!validierePlan(name, uebungen, vorhandeneGeraete, ergebnis)) {
+            return null;
+        }
+
+        Fitnessplan fitnessplan = neuerPlan(name, uebungen);
+        registrierePlan(fitnessplan);
+        aenderungAbgeschlossen();
+
+        return fitnessplan;
+    }
+
+    /**
+     * Prüft Name und Übungen eines neuen Plans gegen die übergebene Maske vorhandener Geräte.
+     * Einzelne Pläne und Stapel aus {@link #erstelleFitnessplaene(List)} werden hier gleich
+     * geprüft und erhalten dieselben Fehlercodes und Meldungen.
+     *
+     * @return true, wenn der Plan angelegt werden darf
+     */
+    private boolean validierePlan(String name, List<Uebung> uebungen, long[] vorhanden, Validierungsergebnis ergebnis) {
+        if (name == null || name.trim().isEmpty()) {
+            return ergebnis.fehler(Fehlercode.PLANNAME_LEER, null, null);
+        }
+
+        if (uebungen == null || uebungen.isEmpty()) {
+            return ergebnis.fehler(Fehlercode.KEINE_UEBUNGEN, null, null);
+        }
+
+        // Ein Durchlauf prüft alle Übungen gegen einen Schnappschuss der vorhandenen Geräte und
+        // sammelt dabei die fehlenden; ohne Übungen oder mit einer Übung ohne Gerät ist der Plan nie gültig
+        boolean gueltig = false;
+        boolean ohneGeraet = false;
+
+        for (Uebung uebung : uebungen) {
+            if (uebung == null) {
+                continue;
+            }
+
+            Geraet geraet = uebung.getGeraet();
+
+            if (geraet == null) {
+                ohneGeraet = true;
+            } else if (istVorhanden(normalisiereId(geraet.getGeraeteId()), vorhanden)) {
+                gueltig = true;
+            } else {
+                ergebnis.fehlendesGeraet(geraet, istAusserBetrieb(geraet.getGeraeteId()));
+            }
+        }
+
+        if (!gueltig || ohneGeraet || !ergebnis.getFehlendeGeraete().isEmpty()) {
+            return ergebnis.fehler(Fehlercode.GERAETE_FEHLEN, null, null);
+        }
+
+        return true;
+    }
+
+    private static Fitnessplan neuerPlan(String name, List<Uebung> uebungen) {
+        Fitnessplan fitnessplan = new Fitnessplan(name);
+
+        for (Uebung uebung : uebungen) {
+            fitnessplan.addUebung(uebung);
+        }
+
+        return fitnessplan;
+    }
+
+    /**
+     * Setzt ein übergebenes Ergebnisobjekt für einen neuen Aufruf zurück.
+     */
+    static void pruefeErgebnis(Validierungsergebnis ergebnis) {
+        if (ergebnis == null) {
+            throw new IllegalArgumentException("Das Ergebnisobjekt darf nicht null sein.");
+        }
+
+        ergebnis.zuruecksetzen();
+    }
 
     /**
-     * Konstruktor für das Fitnessstudio.
-     * Initialisiert alle Listen.
+     * Erstellt mehrere Fitnesspläne in einem Durchlauf.
+     * Alle Entwürfe werden gegen einen einzigen Schnappschuss des Geräteverzeichnisses
+     * validiert (bei großen Mengen parallel). Ungültige Entwürfe werden nicht angelegt,
+     * brechen die Verarbeitung aber nicht ab.
+     *
+     * @param entwuerfe Liste der Planentwürfe (darf nicht null sein)
+     * @return Ergebnisse in der Reihenfolge der Entwürfe
+     * @throws IllegalArgumentException falls entwuerfe null ist
      */
-    public Fitnessstudio() {
-        this.geraete = new ArrayList<>();
-        this.mitglieder = new ArrayList<>();
-        this.plaene = new ArrayList<>();
+    public List<PlanAnlageErgebnis> erstelleFitnessplaene(List<PlanEntwurf> entwuerfe) {
+        long start = metriken.beginne();
+
+        try {
+            return baueFitnessplaene(entwuerfe);
+        } catch (RuntimeException e) {
+            metriken.fehlgeschlagen(StudioOperation.PLAENE_ERSTELLEN, start, e);
+            throw e;
+        } finally {
+            metriken.beende(StudioOperation.PLAENE_ERSTELLEN, start);
+        }
+    }
+
+    private List<PlanAnlageErgebnis> baueFitnessplaene(List<PlanEntwurf> entwuerfe) {
+        if (entwuerfe == null) {
+            throw new IllegalArgumentException("Die Liste der Planentwürfe darf nicht null sein.");
+        }
+
+        // Die veröffentlichte Maske wird nie verändert und dient als Schnappschuss
+        long[] vorhanden = vorhandeneGeraete;
+        PlanAnlageErgebnis[] ergebnisse = new PlanAnlageErgebnis[entwuerfe.size()];
+        IntStream indizes = IntStream.range(0, ergebnisse.length);
+
+        if (ergebnisse.length >= PARALLEL_AB) {
+            indizes = indizes.parallel();
+        }
+
+        indizes.forEach(i -> ergebnisse[i] = validiereEntwurf(entwuerfe.get(i), vorhanden));
+
+        // Gültige Pläne in Eingabereihenfolge übernehmen
+        for (PlanAnlageErgebnis ergebnis : ergebnisse) {
+            if (ergebnis.istErfolgreich()) {
+                registrierePlan(ergebnis.getPlan());
+            }
+        }
+
+        // Einmal für den ganzen Stapel, damit sich alle Pläne z. B. ein fsync teilen
+        aenderungAbgeschlossen();
+        return List.of(ergebnisse);
     }
 
     /**
-     * Fügt ein Gerät zum System hinzu.
+     * Nimmt einen bereits validierten Fitnessplan in das Studio auf. Der Aufrufer meldet
+     * danach {@link #aenderungAbgeschlossen()}.
      *
-     * @param geraet Das hinzuzufügende Gerät (darf nicht null sein)
-     * @throws IllegalArgumentException falls geraet null ist oder eine Geräte-ID bereits existiert
+     * @param fitnessplan Der aufzunehmende Plan
      */
-    public void legeGeraetAn(Geraet geraet) {
-        if (geraet == null) {
-            throw new IllegalArgumentException("Das Gerät darf nicht null sein.");
+    void registrierePlan(Fitnessplan fitnessplan) {
+        // Nummernvergabe und Benachrichtigung unter derselben Sperre, damit Beobachter
+        // die Pläne in Nummernreihenfolge sehen
+        synchronized (plaeneReihenfolge) {
+            fitnessplan.setNummer(naechstePlannummer++);
+
+            // Unter der Sperre des Plans: Eine gleichzeitig hinzugefügte Übung steckt entweder
+            // schon im Index und in planErstellt oder sieht den Studiobezug und meldet sich selbst
+            synchronized (fitnessplan) {
+                // Erst indizieren, dann den Studiobezug setzen: Wer ihn sieht, wird bei Geräteänderungen erreicht
+                indiziereGeraete(fitnessplan);
+                fitnessplan.setFitnessstudio(this);
+
+                for (StudioBeobachter b : beobachter) {
+                    b.planErstellt(fitnessplan);
+                }
+            }
+
+            plaene.add(fitnessplan);
+            plaeneReihenfolge.add(fitnessplan);
         }
-        
-        if (getGeraetById(geraet.getGeraeteId()) != null) {
-            throw new IllegalArgumentException("Ein Gerät mit der ID " + geraet.getGeraeteId() + " existiert bereits.");
+    }
+
+    /**
+     * Aktualisiert den Rückwärtsindex, nachdem einem registrierten Plan eine Übung
+     * hinzugefügt wurde. Wird von {@link Fitnessplan#addUebung(Uebung)} aufgerufen.
+     *
+     * @param fitnessplan Der geänderte Plan
+     */
+    void uebungHinzugefuegt(Fitnessplan fitnessplan) {
+        indiziereGeraete(fitnessplan);
+        fitnessplan.verwerfeGueltigkeit();
+
+        // Erst nach dem Eintrag in den Rückwärtsindex lesen: Wer danach angehängt wird, zählt selbst
+        Set<Mitglied> mitgliederMitPlan = mitgliederNachPlan.get(fitnessplan);
+
+        if (mitgliederMitPlan != null) {
+            for (Mitglied mitglied : mitgliederMitPlan) {
+                geraetenachfrage.aktualisiere(mitglied, this::uebersetze);
+            }
+        }
+    }
+
+    private void indiziereGeraete(Fitnessplan fitnessplan) {
+        for (String id : fitnessplan.getBenoetigteGeraeteIds()) {
+            if (plaeneNachGeraet.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(fitnessplan)) {
+                geraetenachfrage.planBenoetigt(indexVon(id));
+            }
         }
-        
-        geraete.add(geraet);
     }
 
     /**
-     * Fügt ein Mitglied zum System hinzu.
+     * Nimmt eine Planzuweisung in den Rückwärtsindex auf.
+     * Wird von {@link Mitglied} aufgerufen, nachdem der Plan angehängt wurde.
      *
-     * @param mitglied Das hinzuzufügende Mitglied (darf nicht null sein)
-     * @throws IllegalArgumentException falls mitglied null ist oder die Mitgliedsnummer bereits existiert
+     * @param mitglied Das Mitglied
+     * @param plan     Der zugewiesene Plan
      */
-    public void legeMitgliedAn(Mitglied mitglied) {
-        if (mitglied == null) {
-            throw new IllegalArgumentException("Das Mitglied darf nicht null sein.");
+    void planAngehaengt(Mitglied mitglied, Fitnessplan plan) {
+        mitgliederNachPlan.computeIfAbsent(plan, p -> ConcurrentHashMap.newKeySet()).add(mitglied);
+        geraetenachfrage.aktualisiere(mitglied, this::uebersetze);
+    }
+
+    /**
+     * Gibt alle registrierten Pläne zurück, die das Gerät verwenden.
+     * Die Geräte-ID wird ohne Beachtung der Groß-/Kleinschreibung verglichen; das Gerät
+     * muss nicht (mehr) im System vorhanden sein.
+     *
+     * @param geraeteId Die Geräte-ID
+     * @return unveränderliche Sicht auf die betroffenen Pläne, die später registrierte Pläne
+     *         mit einschließt (leer für null oder unbekannte IDs)
+     */
+    public Set<Fitnessplan> findePlaeneMitGeraet(String geraeteId) {
+        if (geraeteId == null) {
+            return Set.of();
         }
-        
-        if (getMitgliedByNummer(mitglied.getMitgliedsnummer()) != null) {
-            throw new IllegalArgumentException("Ein Mitglied mit der Nr. " + mitglied.getMitgliedsnummer() + " existiert bereits.");
+
+        Set<Fitnessplan> plaeneMitGeraet = plaeneNachGeraet.get(normalisiereId(geraeteId));
+        return plaeneMitGeraet == null ? Set.of() : Collections.unmodifiableSet(plaeneMitGeraet);
+    }
+
+    /**
+     * Gibt alle Mitglieder zurück, die einen Plan aktiv haben, der das Gerät verwendet
+     * (z. B. um sie bei einem Defekt zu benachrichtigen).
+     *
+     * @param geraeteId Die Geräte-ID (ohne Beachtung der Groß-/Kleinschreibung)
+     * @return unveränderliche Menge der betroffenen Mitglieder (leer für null oder unbekannte IDs)
+     */
+    public Set<Mitglied> findeBetroffeneMitglieder(String geraeteId) {
+        long start = metriken.beginne();
+
+        try {
+            return sammleBetroffeneMitglieder(geraeteId);
+        } finally {
+            metriken.beende(StudioOperation.BETROFFENE_FINDEN, start);
         }
-        
-        mitglieder.add(mitglied);
+    }
+
+    private Set<Mitglied> sammleBetroffeneMitglieder(String geraeteId) {
+        Set<Mitglied> betroffen = new HashSet<>();
+
+        for (Fitnessplan plan : findePlaeneMitGeraet(geraeteId)) {
+            Set<Mitglied> mitgliederMitPlan = mitgliederNachPlan.get(plan);
+
+            if (mitgliederMitPlan != null) {
+                betroffen.addAll(mitgliederMitPlan);
+            }
+        }
+
+        return Collections.unmodifiableSet(betroffen);
     }
 
     /**
-     * Erstellt einen neuen Fitnessplan und validiert, ob alle verwendeten
-     * Geräte im System vorhanden sind.
+     * Benachrichtigt die Beobachter über einen geänderten Sperrstatus.
+     * Wird von {@link Mitglied#setGesperrt(boolean)} unter der Sperre des Mitglieds aufgerufen,
+     * das danach {@link #aenderungAbgeschlossen()} meldet.
      *
-     * @param name     Name des Fitnessplans (nicht null/leer)
-     * @param uebungen Liste der Übungen für den Plan (nicht null/leer)
-     * @return der erstellte Fitnessplan
-     * @throws IllegalArgumentException wenn Name/Übungen ungültig sind oder nicht alle Geräte vorhanden sind
+     * @param mitglied Das betroffene Mitglied
+     * @param gesperrt Der neue Sperrstatus
      */
-    public Fitnessplan erstelleFitnessplan(String name, List<Uebung> uebungen) throws IllegalArgumentException {
-        if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Fehler: Der Planname darf nicht leer sein.");
+    void sperrstatusGeaendert(Mitglied mitglied, boolean gesperrt) {
+        for (StudioBeobachter b : beobachter) {
+            b.sperrstatusGeaendert(mitglied, gesperrt);
         }
+    }
 
-        if (uebungen == null || uebungen.isEmpty()) {
-            throw new IllegalArgumentException("Fehler: Ein Fitnessplan muss mindestens eine Übung enthalten.");
+    /**
+     * Benachrichtigt die Beobachter vor einer Namensänderung.
+     * Wird von {@link Mitglied#setName(String)} unter der Sperre des Mitglieds aufgerufen,
+     * das danach {@link #aenderungAbgeschlossen()} meldet.
+     *
+     * @param mitglied Das betroffene Mitglied
+     * @param name     Der neue Name
+     */
+    void nameWirdGeaendert(Mitglied mitglied, String name) {
+        for (StudioBeobachter b : beobachter) {
+            b.nameWirdGeaendert(mitglied, name);
         }
+    }
 
-        // Erstelle neuen Plan
-        Fitnessplan fitnessplan = new Fitnessplan(name);
+    /**
+     * Benachrichtigt die Beobachter vor einer Adressänderung.
+     * Wird von {@link Mitglied#setAdresse(String)} unter der Sperre des Mitglieds aufgerufen,
+     * das danach {@link #aenderungAbgeschlossen()} meldet.
+     *
+     * @param mitglied Das betroffene Mitglied
+     * @param adresse  Die neue Adresse
+     */
+    void adresseWirdGeaendert(Mitglied mitglied, String adresse) {
+        for (StudioBeobachter b : beobachter) {
+            b.adresseWirdGeaendert(mitglied, adresse);
+        }
+    }
 
-        for (Uebung uebung : uebungen) {
-            fitnessplan.addUebung(uebung);
+    /**
+     * Benachrichtigt die Beobachter vor dem Umbenennen eines registrierten Plans.
+     * Wird von {@link Fitnessplan#setName(String)} unter der Sperre des Plans aufgerufen.
+     *
+     * @param fitnessplan Der Plan
+     * @param name        Der neue Name
+     */
+    void planWirdUmbenannt(Fitnessplan fitnessplan, String name) {
+        for (StudioBeobachter b : beobachter) {
+            b.planWirdUmbenannt(fitnessplan, name);
         }
+    }
 
-        // Validiere, ob alle Geräte vorhanden sind
-        if (!fitnessplan.istGueltig(geraete)) {
+    /**
+     * Benachrichtigt die Beobachter, bevor einem registrierten Plan eine Übung hinzugefügt wird.
+     * Wird von {@link Fitnessplan#addUebung(Uebung)} unter der Sperre des Plans aufgerufen.
+     *
+     * @param fitnessplan Der Plan
+     * @param uebung      Die neue Übung
+     */
+    void uebungWirdHinzugefuegt(Fitnessplan fitnessplan, Uebung uebung) {
+        for (StudioBeobachter b : beobachter) {
+            b.uebungWirdHinzugefuegt(fitnessplan, uebung);
+        }
+    }
 
-            // Finde fehlende Geräte für Fehlermeldung
-            List<String> fehlendeGeraete = new ArrayList<>();
+    /**
+     * Trägt geänderte Stammdaten in den Suchindex ein.
+     * Wird von {@link Mitglied#setName(String)} und {@link Mitglied#setAdresse(String)} aufgerufen.
+     *
+     * @param mitglied Das betroffene Mitglied
+     */
+    void stammdatenGeaendert(Mitglied mitglied) {
+        mitgliedersuche.aktualisiere(mitglied);
+    }
 
-            for (Uebung uebung : uebungen) {
-                if (uebung.getGeraet() != null) {
-                    boolean gefunden = false;
-
-                    for (Geraet geraet : geraete) {
-                        if (geraet.getGeraeteId().equals(uebung.getGeraet().getGeraeteId())) {
-                            gefunden = true;
-                            break;
-                        }
-                    }
+    /**
+     * Validiert einen Entwurf wie {@link #versucheFitnessplanZuErstellen(String, List, Validierungsergebnis)}
+     * gegen die übergebene Maske vorhandener Geräte und baut bei Erfolg den Fitnessplan.
+     * Jeder Entwurf erhält ein eigenes Ergebnisobjekt, da die Entwürfe parallel geprüft werden.
+     */
+    private PlanAnlageErgebnis validiereEntwurf(PlanEntwurf entwurf, long[] vorhanden) {
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
 
-                    if (!gefunden) {
-                        fehlendeGeraete.add(uebung.getGeraet().getGeraeteName() + " (ID: " + 
-                                uebung.getGeraet().getGeraeteId() + ")");
-                    }
-                }
-            }
+        if (entwurf == null) {
+            ergebnis.fehler(Fehlercode.PLANENTWURF_NULL, null, null);
+            return PlanAnlageErgebnis.fehler(null, ergebnis);
+        }
 
-            throw new IllegalArgumentException("Fehler: Der Fitnessplan kann nicht angelegt werden, " +
-                    "da folgende Geräte nicht im System vorhanden sind: " + String.join(", ", fehlendeGeraete));
+        if (!validierePlan(entwurf.getName(), entwurf.getUebungen(), vorhanden, ergebnis)) {
+            return PlanAnlageErgebnis.fehler(entwurf, ergebnis);
         }
 
-        // Plan ist gültig, füge zur Liste hinzu
-        plaene.add(fitnessplan);
+        return PlanAnlageErgebnis.erfolg(entwurf, neuerPlan(entwurf.getName(), entwurf.getUebungen()));
+    }
 
-        return fitnessplan;
+    /**
+     * Normalisiert eine Geräte-ID für den Vergleich ohne Beachtung der Groß-/Kleinschreibung,
+     * wie ihn {@link Fitnessplan#istGueltig(java.util.Collection)} vornimmt.
+     */
+    static String normalisiereId(String id) {
+        return id.toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -137,24 +1170,102 @@ public class Fitnessstudio {
      * @throws IllegalStateException   falls das Mitglied gesperrt ist oder bereits die max. Anzahl aktiver Pläne hat
      */
     public void weisePlanZu(Mitglied mitglied, Fitnessplan plan) {
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+
+        if (!versuchePlanZuzuweisen(mitglied, plan, ergebnis)) {
+            throw ergebnis.alsAusnahme();
+        }
+    }
+
+    /**
+     * Weist einem Mitglied einen Plan wie {@link #weisePlanZu(Mitglied, Fitnessplan)} zu, meldet
+     * eine Ablehnung aber über das Ergebnis statt über eine Ausnahme.
+     *
+     * @param mitglied Das Mitglied
+     * @param plan     Der zuzuweisende Fitnessplan
+     * @param ergebnis Nimmt bei einer Ablehnung Fehlercode und Mitgliedsnummer bzw. Plannamen auf
+     *                 (darf nicht null sein)
+     * @return true, wenn der Plan zugewiesen wurde
+     * @throws IllegalArgumentException falls ergebnis null ist
+     */
+    public boolean versuchePlanZuzuweisen(Mitglied mitglied, Fitnessplan plan, Validierungsergebnis ergebnis) {
+        pruefeErgebnis(ergebnis);
+        long start = metriken.beginne();
+
+        try {
+            boolean zugewiesen = pruefeUndWeisePlanZu(mitglied, plan, ergebnis);
+
+            if (!zugewiesen) {
+                metriken.fehlgeschlagen(StudioOperation.PLAN_ZUWEISEN, start, ergebnis.getFehlercode());
+            }
+
+            return zugewiesen;
+        } catch (RuntimeException e) {
+            metriken.fehlgeschlagen(StudioOperation.PLAN_ZUWEISEN, start, e);
+            throw e;
+        } finally {
+            metriken.beende(StudioOperation.PLAN_ZUWEISEN, start);
+        }
+    }
+
+    /**
+     * Prüft und protokolliert eine Zuweisung und veröffentlicht sie erst danach. Wird auch von
+     * {@link Mitglied#addFitnessplan(Fitnessplan)} für registrierte Mitglieder verwendet.
+     */
+    boolean pruefeUndWeisePlanZu(Mitglied mitglied, Fitnessplan plan, Validierungsergebnis ergebnis) {
         if (mitglied == null) {
-            throw new IllegalArgumentException("Das Mitglied darf nicht null sein.");
+            return ergebnis.fehler(Fehlercode.MITGLIED_NULL, null, null);
         }
-        
+
         if (plan == null) {
-            throw new IllegalArgumentException("Der Fitnessplan darf nicht null sein.");
+            return ergebnis.fehler(Fehlercode.PLAN_NULL, null, null);
         }
-        
-        if (!mitglieder.contains(mitglied)) {
-            throw new IllegalArgumentException("Das Mitglied " + mitglied.getName() + " (Nr. " + mitglied.getMitgliedsnummer() +
-                    ") ist nicht in diesem Fitnessstudio registriert.");
+
+        if (!mitglied.equals(mitglieder.get(mitglied.getMitgliedsnummer()))) {
+            return ergebnis.fehler(Fehlercode.MITGLIED_NICHT_REGISTRIERT, mitglied.getMitgliedsnummer(), mitglied.getName());
         }
-        
+
         if (!plaene.contains(plan)) {
-            throw new IllegalArgumentException("Der Fitnessplan \"" + plan.getName() + "\" gehört nicht zu diesem Fitnessstudio.");
+            return ergebnis.fehler(Fehlercode.PLAN_NICHT_REGISTRIERT, plan.getName(), plan.getName());
+        }
+
+        if (!mitglied.reservierePlanplatz(ergebnis)) {
+            return false;
+        }
+
+        // Erst protokollieren, dann veröffentlichen: Schlägt ein Beobachter fehl, etwa weil das
+        // Journal nicht schreiben kann, wird der Platz freigegeben und niemand sieht die Zuweisung
+        try {
+            for (StudioBeobachter b : beobachter) {
+                b.planZugewiesen(mitglied, plan);
+            }
+
+            sichereAenderung();
+        } catch (RuntimeException e) {
+            mitglied.gibPlanplatzFrei();
+            throw e;
+        }
+
+        mitglied.haengePlanAn(plan);
+
+        return true;
+    }
+
+    /**
+     * Stellt eine protokollierte Planzuweisung wieder her, ohne den Sperrstatus zu prüfen
+     * (siehe {@link Mitglied#stellePlanWiederHer(Fitnessplan)}).
+     *
+     * @param mitglied Das registrierte Mitglied
+     * @param plan     Der registrierte Plan
+     */
+    void stellePlanzuweisungWiederHer(Mitglied mitglied, Fitnessplan plan) {
+        mitglied.stellePlanWiederHer(plan);
+
+        for (StudioBeobachter b : beobachter) {
+            b.planZugewiesen(mitglied, plan);
         }
 
-        mitglied.addFitnessplan(plan);
+        aenderungAbgeschlossen();
     }
 
     /**
@@ -164,17 +1275,13 @@ public class Fitnessstudio {
      * @return Das gefundene Gerät oder null
      */
     public Geraet getGeraetById(String id) {
-        if (id == null) {
-            return null;
-        }
+        long start = metriken.beginne();
 
-        for (Geraet geraet : geraete) {
-            if (geraet.getGeraeteId().equals(id)) {
-                return geraet;
-            }
+        try {
+            return id == null ? null : geraete.get(id);
+        } finally {
+            metriken.beende(StudioOperation.GERAET_SUCHEN, start);
         }
-
-        return null;
     }
 
     /**
@@ -184,43 +1291,303 @@ public class Fitnessstudio {
      * @return Das gefundene Mitglied oder null
      */
     public Mitglied getMitgliedByNummer(String nummer) {
-        if (nummer == null) {
-            return null;
-        }
+        long start = metriken.beginne();
 
-        for (Mitglied mitglied : mitglieder) {
-            if (mitglied.getMitgliedsnummer().equals(nummer)) {
-                return mitglied;
-            }
+        try {
+            return nummer == null ? null : mitglieder.get(nummer);
+        } finally {
+            metriken.beende(StudioOperation.MITGLIED_SUCHEN, start);
         }
+    }
+
+    /**
+     * Sucht Mitglieder nach Teilen ihres Namens oder ihrer Adresse, z. B. "Müll" oder
+     * "Haupt". Jedes Wort der Anfrage muss einen Begriff des Namens oder der Adresse
+     * einleiten; Groß- und Kleinschreibung sowie Umlaute ("Muller" findet "Müller") spielen
+     * keine Rolle, und Wörter ab vier Zeichen dürfen einen Tippfehler enthalten. Für ein
+     * einzelnes Wort hängen die Kosten von seiner Länge und der Anzahl der Treffer ab, nicht
+     * von der Anzahl der Mitglieder; weitere Wörter werden an den Kandidaten des seltensten
+     * Worts geprüft (siehe {@link Mitgliedersuche}). Die erste Suche baut den Index über alle
+     * Mitglieder auf und dauert entsprechend länger.
+     *
+     * @param anfrage Die Anfrage (darf nicht null sein)
+     * @param anzahl  Die höchste Anzahl an Treffern (mindestens 0)
+     * @return unveränderliche Liste der Treffer, die beste zuerst: ganze Begriffe vor Präfixen,
+     *         Namen vor Adressen, Tippfehler zuletzt
+     * @throws IllegalArgumentException falls anfrage null oder anzahl negativ ist
+     */
+    public List<Mitglied> sucheMitglieder(String anfrage, int anzahl) {
+        long start = metriken.beginne();
 
-        return null;
+        try {
+            return mitgliedersuche.suche(anfrage, anzahl);
+        } catch (RuntimeException e) {
+            metriken.fehlgeschlagen(StudioOperation.MITGLIEDER_DURCHSUCHEN, start, e);
+            throw e;
+        } finally {
+            metriken.beende(StudioOperation.MITGLIEDER_DURCHSUCHEN, start);
+        }
     }
 
     /**
      * Gibt eine unveränderliche Liste aller Geräte zurück.
+     * Die Liste ist eine Momentaufnahme: Später angelegte Geräte sind darin nicht enthalten.
      *
      * @return unveränderliche Liste aller Geräte
      */
     public List<Geraet> getGeraete() {
-        return Collections.unmodifiableList(new ArrayList<>(geraete));
+        return geraeteReihenfolge.ansicht();
     }
 
     /**
      * Gibt eine unveränderliche Liste aller Mitglieder zurück.
+     * Die Liste ist eine Momentaufnahme: Später angelegte Mitglieder sind darin nicht enthalten.
      *
      * @return unveränderliche Liste aller Mitglieder
      */
     public List<Mitglied> getMitglieder() {
-        return Collections.unmodifiableList(new ArrayList<>(mitglieder));
+        return mitgliederReihenfolge.ansicht();
     }
 
     /**
      * Gibt eine unveränderliche Liste aller Fitnesspläne zurück.
+     * Die Liste ist eine Momentaufnahme: Später erstellte Pläne sind darin nicht enthalten.
      *
      * @return unveränderliche Liste aller Pläne
      */
     public List<Fitnessplan> getPlaene() {
-        return Collections.unmodifiableList(new ArrayList<>(plaene));
+        return plaeneReihenfolge.ansicht();
+    }
+
+    /**
+     * Gibt eine Seite von Mitgliedern in aufsteigender Reihenfolge ihrer Mitgliedsnummer
+     * (natürliche Ordnung der Zeichenketten) zurück. Die Seite beginnt hinter der Nummer
+     * {@code nach}, die das Mitglied nicht selbst kennen muss; den Cursor für die nächste Seite
+     * liefert {@link Seite#getCursor()}. Das Aufsuchen des Anfangs kostet O(log n). Danach
+     * werden nur so viele Mitglieder angesehen, bis die Seite voll ist und ein weiteres
+     * passendes Mitglied feststeht. Der Speicherbedarf hängt daher nur von der Seitengröße ab,
+     * nicht von der Anzahl der Mitglieder.
+     * <p>
+     * Ein Filter wie {@code Mitglied::isGesperrt} wird beim Blättern angewendet. Passen nur
+     * wenige Mitglieder, liest eine Seite entsprechend mehr Mitglieder, behält aber nur die
+     * passenden.
+     *
+     * @param nach   Die Mitgliedsnummer, hinter der die Seite beginnt (null für den Anfang)
+     * @param anzahl Die höchste Anzahl an Mitgliedern der Seite (mindestens 1)
+     * @param filter Bedingung für die Mitglieder der Seite (null für alle)
+     * @return Die Seite
+     * @throws IllegalArgumentException falls anzahl kleiner als 1 ist
+     */
+    public Seite<Mitglied> getMitgliederSeite(String nach, int anzahl, Predicate<? super Mitglied> filter) {
+        pruefeSeitengroesse(anzahl);
+        long start = metriken.beginne();
+
+        try {
+            NavigableMap<String, Mitglied> ab = nach == null ? mitgliederNachNummer
+                    : mitgliederNachNummer.tailMap(nach, false);
+            List<Mitglied> eintraege = new ArrayList<>(Math.min(anzahl, 64));
+
+            for (Mitglied mitglied : ab.values()) {
+                if (filter == null || filter.test(mitglied)) {
+                    if (eintraege.size() == anzahl) {
+                        return new Seite<>(eintraege, eintraege.get(anzahl - 1).getMitgliedsnummer());
+                    }
+
+                    eintraege.add(mitglied);
+                }
+            }
+
+            return new Seite<>(eintraege, null);
+        } catch (RuntimeException e) {
+            metriken.fehlgeschlagen(StudioOperation.MITGLIEDER_BLAETTERN, start, e);
+            throw e;
+        } finally {
+            metriken.beende(StudioOperation.MITGLIEDER_BLAETTERN, start);
+        }
+    }
+
+    /**
+     * Gibt eine Seite von Fitnessplänen in aufsteigender Reihenfolge ihrer Plannummer zurück,
+     * sonst wie {@link #getMitgliederSeite(String, int, Predicate)}. Da die Plannummer der
+     * Position in {@link #getPlaene()} entspricht, beginnt die Seite ohne Suche.
+     *
+     * @param nach   Die Plannummer als Dezimalzahl, hinter der die Seite beginnt (null für den Anfang)
+     * @param anzahl Die höchste Anzahl an Plänen der Seite (mindestens 1)
+     * @param filter Bedingung für die Pläne der Seite (null für alle)
+     * @return Die Seite
+     * @throws IllegalArgumentException falls nach keine ganze Zahl oder anzahl kleiner als 1 ist
+     */
+    public Seite<Fitnessplan> getPlaeneSeite(String nach, int anzahl, Predicate<? super Fitnessplan> filter) {
+        pruefeSeitengroesse(anzahl);
+        long start = metriken.beginne();
+
+        try {
+            List<Fitnessplan> alle = plaeneReihenfolge.ansicht();
+            List<Fitnessplan> eintraege = new ArrayList<>(Math.min(anzahl, 64));
+
+            for (int i = nach == null ? 0 : planHinter(nach); i < alle.size(); i++) {
+                Fitnessplan plan = alle.get(i);
+
+                if (filter == null || filter.test(plan)) {
+                    if (eintraege.size() == anzahl) {
+                        return new Seite<>(eintraege, String.valueOf(eintraege.get(anzahl - 1).getNummer()));
+                    }
+
+                    eintraege.add(plan);
+                }
+            }
+
+            return new Seite<>(eintraege, null);
+        } catch (RuntimeException e) {
+            metriken.fehlgeschlagen(StudioOperation.PLAENE_BLAETTERN, start, e);
+            throw e;
+        } finally {
+            metriken.beende(StudioOperation.PLAENE_BLAETTERN, start);
+        }
+    }
+
+    private static void pruefeSeitengroesse(int anzahl) {
+        if (anzahl < 1) {
+            throw new IllegalArgumentException("Die Seitengröße muss mindestens 1 sein.");
+        }
+    }
+
+    /**
+     * Gibt die erste Plannummer hinter dem Cursor zurück.
+     */
+    private static int planHinter(String cursor) {
+        try {
+            long nummer = Integer.parseInt(cursor);
+            return (int) Math.max(0, Math.min(nummer + 1, Integer.MAX_VALUE));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Der Cursor " + cursor + " ist keine Plannummer.");
+        }
+    }
+
+    /**
+     * Hält den aktuellen Stand des Studios als unveränderliche Sicht fest: Geräte, Mitglieder
+     * mit Stammdaten, Sperrstatus und aktiven Plänen sowie Pläne mit ihren Übungen, wie sie
+     * zu einem Zeitpunkt gemeinsam bestanden. Das Festhalten kostet konstante Zeit; Änderungen
+     * laufen währenddessen weiter und werden im Stand nicht sichtbar.
+     * <p>
+     * Der Stand sollte nach der Auswertung geschlossen werden (z. B. mit try-with-resources),
+     * damit die Stände, die nur er noch benötigt, freigegeben werden.
+     *
+     * @return Der festgehaltene Stand
+     */
+    public StudioStand snapshot() {
+        return versionen.halte(version -> new StudioStand(versionen, version, geraeteReihenfolge.ansicht(),
+                mitgliederReihenfolge.ansicht(), plaeneReihenfolge.ansicht(), Set.copyOf(geraeteAusserBetrieb),
+                mitglieder));
+    }
+
+    /**
+     * Gibt die Versionsverwaltung zurück, unter der Mitglieder und Pläne neue Stände
+     * veröffentlichen.
+     *
+     * @return Die Versionsverwaltung
+     */
+    Versionsverwaltung getVersionen() {
+        return versionen;
+    }
+
+    /**
+     * Legt die Übungen aller registrierten Pläne spaltenweise in einem {@link UebungsSpalten}-Block
+     * ab und gibt diesen für Auswertungen zurück. Die Pläne lesen ihre Übungen danach weiterhin
+     * über {@link Fitnessplan#getUebungen()}, erhalten dabei aber geteilte, eingefrorene Übungen
+     * aus dem {@link #getUebungsKatalog() Übungskatalog}. Spätere Änderungen an den ursprünglichen
+     * Übungsobjekten wirken sich daher nicht mehr auf die Pläne aus.
+     * <p>
+     * Pläne mit Übungen anderer Unterklassen werden nicht verdichtet. Pläne, denen währenddessen
+     * eine Übung hinzugefügt wird, behalten ihre Objektliste; ihre Zeilen im Block zeigen den
+     * vorherigen Stand. Ein erneuter Aufruf verdichtet alle Pläne in einen neuen Block.
+     *
+     * @return Der Block mit den Übungen aller verdichteten Pläne
+     */
+    public UebungsSpalten verdichtePlaene() {
+        List<Fitnessplan> verdichtbar = new ArrayList<>();
+        List<List<Uebung>> gelesen = new ArrayList<>();
+
+        for (Fitnessplan plan : plaeneReihenfolge.ansicht()) {
+            List<Uebung> uebungen = plan.getUebungen();
+            boolean ablegbar = true;
+
+            for (Uebung uebung : uebungen) {
+                if (!UebungsSpalten.istAblegbar(uebung)) {
+                    ablegbar = false;
+                    break;
+                }
+            }
+
+            if (ablegbar) {
+                verdichtbar.add(plan);
+                gelesen.add(uebungen);
+            }
+        }
+
+        UebungsSpalten spalten = new UebungsSpalten(verdichtbar, gelesen, uebungsKatalog);
+
+        for (int i = 0; i < verdichtbar.size(); i++) {
+            verdichtbar.get(i).verdichte(gelesen.get(i), spalten.ansicht(i));
+        }
+
+        return spalten;
+    }
+
+    /**
+     * Gibt einen Stream über alle Geräte in Anlagereihenfolge zurück.
+     *
+     * @return Stream über eine Momentaufnahme aller Geräte
+     */
+    public Stream<Geraet> streamGeraete() {
+        return geraeteReihenfolge.ansicht().stream();
+    }
+
+    /**
+     * Gibt einen Stream über alle Mitglieder in Anlagereihenfolge zurück. Der Stream liest die
+     * Momentaufnahme zum Zeitpunkt des Aufrufs ohne Kopie und erst bei seiner Auswertung;
+     * parallel ausgewertet teilt er sie in gleich große Bereiche, deren Größe jeweils bekannt ist.
+     *
+     * @return Stream über eine Momentaufnahme aller Mitglieder
+     */
+    public Stream<Mitglied> streamMitglieder() {
+        return mitgliederReihenfolge.ansicht().stream();
+    }
+
+    /**
+     * Gibt einen Stream über alle Fitnesspläne in Anlagereihenfolge zurück, ohne zu kopieren
+     * (siehe {@link #streamMitglieder()}).
+     *
+     * @return Stream über eine Momentaufnahme aller Pläne
+     */
+    public Stream<Fitnessplan> streamPlaene() {
+        return plaeneReihenfolge.ansicht().stream();
+    }
+
+    /**
+     * Führt eine Aktion für jedes Gerät in Anlagereihenfolge aus.
+     *
+     * @param aktion Die auszuführende Aktion
+     */
+    public void forEachGeraet(Consumer<? super Geraet> aktion) {
+        geraeteReihenfolge.ansicht().forEach(aktion);
+    }
+
+    /**
+     * Führt eine Aktion für jedes Mitglied in Anlagereihenfolge aus.
+     *
+     * @param aktion Die auszuführende Aktion
+     */
+    public void forEachMitglied(Consumer<? super Mitglied> aktion) {
+        mitgliederReihenfolge.ansicht().forEach(aktion);
+    }
+
+    /**
+     * Führt eine Aktion für jeden Fitnessplan in Anlagereihenfolge aus.
+     *
+     * @param aktion Die auszuführende Aktion
+     */
+    public void forEachPlan(Consumer<? super Fitnessplan> aktion) {
+        plaeneReihenfolge.ansicht().forEach(aktion);
     }
 }
@@ -0,0 +1,22 @@
+package fitnessstudio;
+
+/**
+ * Legt fest, wann ein {@link Journal} seine Einträge auf den Datenträger erzwingt.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public enum FsyncStrategie {
+    /** Einträge werden periodisch geschrieben, aber nie erzwungen; das Betriebssystem entscheidet. */
+    NIE,
+
+    /** Einträge werden periodisch geschrieben und erzwungen; bei einem Absturz geht höchstens ein Intervall verloren. */
+    INTERVALL,
+
+    /** Jede Änderung kehrt erst zurück, wenn sie erzwungen wurde; gleichzeitige Änderungen teilen sich ein fsync. */
+    JEDER_EINTRAG
+}
@@ -55,6 +55,8 @@ public class Geraet {
 
     /**
      * Setzt die Geräte-ID.
+     * Hinweis: Das Fitnessstudio indiziert Geräte über ihre ID; die ID eines
+     * bereits angelegten Geräts sollte daher nicht mehr geändert werden.
      * 
      * @param geraeteId Die neue Geräte-ID
      */
@@ -118,6 +120,16 @@ public class Geraet {
         return Objects.equals(geraeteId, other.geraeteId);
     }
 
+    /**
+     * Berechnet den Hashcode passend zu {@link #equals(Object)} anhand der Geräte-ID.
+     *
+     * @return Hashcode der Geräte-ID
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(geraeteId);
+    }
+
     /**
      * Gibt eine String-Repräsentation des Geräts zurück.
      *
@@ -0,0 +1,92 @@
+package fitnessstudio;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Nachfrage nach einem Gerät (siehe {@link Geraetenachfrage}): wie viele registrierte Pläne
+ * das Gerät benötigen und wie viele Mitglieder mindestens einen solchen Plan aktiv haben.
+ * Beide Zähler werden vom {@link Fitnessstudio} fortgeschrieben und in konstanter Zeit gelesen.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class Geraetebedarf {
+    private volatile String geraeteId;
+    private volatile GeraeteKategorie kategorie;
+    private final LongAdder plaene;
+    private final LongAdder mitglieder;
+
+    Geraetebedarf(String geraeteId) {
+        this.geraeteId = geraeteId;
+        this.plaene = new LongAdder();
+        this.mitglieder = new LongAdder();
+    }
+
+    /**
+     * Gibt die Geräte-ID zurück, wie sie beim ersten Anlegen des Geräts angegeben wurde.
+     *
+     * @return Die Geräte-ID (normalisiert, solange das Gerät nie angelegt wurde)
+     */
+    public String getGeraeteId() {
+        return geraeteId;
+    }
+
+    /**
+     * Gibt die Kategorie zurück, mit der das Gerät zuerst angelegt wurde.
+     *
+     * @return Die Kategorie oder null, solange das Gerät nie angelegt wurde
+     */
+    public GeraeteKategorie getKategorie() {
+        return kategorie;
+    }
+
+    /**
+     * Gibt die Anzahl der registrierten Pläne zurück, die das Gerät benötigen.
+     *
+     * @return Anzahl der Pläne
+     */
+    public long getPlaene() {
+        return plaene.sum();
+    }
+
+    /**
+     * Gibt die Anzahl der Mitglieder zurück, die mindestens einen Plan mit diesem Gerät aktiv haben.
+     *
+     * @return Anzahl der Mitglieder
+     */
+    public long getMitglieder() {
+        return mitglieder.sum();
+    }
+
+    /**
+     * Übernimmt ID und Kategorie beim ersten Anlegen des Geräts.
+     */
+    synchronized void legeFest(Geraet geraet) {
+        if (kategorie == null) {
+            geraeteId = geraet.getGeraeteId();
+            kategorie = geraet.getKategorie();
+        }
+    }
+
+    void zaehlePlan() {
+        plaene.increment();
+    }
+
+    void zaehleMitglied() {
+        mitglieder.increment();
+    }
+
+    /**
+     * Gibt eine String-Repräsentation der Nachfrage zurück.
+     *
+     * @return String mit Geräte-ID, Kategorie und beiden Zählern
+     */
+    @Override
+    public String toString() {
+        return geraeteId + " (" + kategorie + "): " + getPlaene() + " Pläne, " + getMitglieder() + " Mitglieder";
+    }
+}
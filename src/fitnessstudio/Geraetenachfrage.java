@@ -0,0 +1,229 @@
+package fitnessstudio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Nachfrage nach den Geräten eines {@link Fitnessstudio}s: je Gerät ein {@link Geraetebedarf}
+ * mit der Anzahl der Pläne, die es benötigen, und der Mitglieder, die mindestens einen solchen
+ * Plan aktiv haben.
+ * <p>
+ * Die Zähler werden bei der Registrierung von Plänen, beim Hinzufügen von Übungen und bei jeder
+ * Planzuweisung fortgeschrieben, statt den Graph aus Mitgliedern, Plänen und Übungen zu
+ * durchlaufen. Sie sind {@link java.util.concurrent.atomic.LongAdder}, damit gleichzeitige
+ * Zuweisungen nicht um dieselbe Speicherstelle konkurrieren. Welche Geräte ein Mitglied bereits
+ * zählt, merkt es sich als {@link Bitmaske} über dem Geräteindex des Studios; eine Zuweisung
+ * zählt nur die Geräte, die dadurch neu hinzukommen. Da Pläne weder Übungen noch Mitglieder
+ * Pläne verlieren, steigen die Zähler nur.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class Geraetenachfrage {
+    private final Map<String, Integer> geraeteIndex;
+    private volatile Geraetebedarf[] nachIndex;
+
+    /**
+     * Erzeugt die Nachfrage über dem Geräteindex eines Studios.
+     *
+     * @param geraeteIndex Dichter Index je normalisierter Geräte-ID
+     */
+    Geraetenachfrage(Map<String, Integer> geraeteIndex) {
+        this.geraeteIndex = geraeteIndex;
+        this.nachIndex = new Geraetebedarf[0];
+    }
+
+    /**
+     * Vergibt den nächsten Geräteindex und legt seinen Zähler an. Da Index und Zähler unter
+     * derselben Sperre entstehen, ist jeder bereits vergebene Index belegt, bevor er für andere
+     * Threads sichtbar wird.
+     *
+     * @param normalisierteId Die normalisierte Geräte-ID
+     * @return Der neue Geräteindex
+     */
+    synchronized int legeAn(String normalisierteId) {
+        Geraetebedarf[] alt = nachIndex;
+        Geraetebedarf[] neu = Arrays.copyOf(alt, alt.length + 1);
+        neu[alt.length] = new Geraetebedarf(normalisierteId);
+        nachIndex = neu;
+        return alt.length;
+    }
+
+    /**
+     * Übernimmt ID und Kategorie eines angelegten Geräts.
+     *
+     * @param index  Der Geräteindex
+     * @param geraet Das Gerät
+     */
+    void geraetAngelegt(int index, Geraet geraet) {
+        nachIndex[index].legeFest(geraet);
+    }
+
+    /**
+     * Zählt einen Plan, der das Gerät neu benötigt.
+     *
+     * @param index Der Geräteindex
+     */
+    void planBenoetigt(int index) {
+        nachIndex[index].zaehlePlan();
+    }
+
+    /**
+     * Zählt für ein Mitglied alle Geräte seiner aktiven Pläne, die es noch nicht zählt.
+     * Läuft unter der Sperre des Mitglieds, damit gleichzeitige Zuweisungen an dasselbe
+     * Mitglied ein Gerät weder doppelt noch gar nicht zählen.
+     *
+     * @param mitglied    Das Mitglied
+     * @param uebersetzer Übersetzt Geräte-IDs in eine Maske über dem Geräteindex
+     */
+    void aktualisiere(Mitglied mitglied, Function<Set<String>, long[]> uebersetzer) {
+        synchronized (mitglied) {
+            long[] gezaehlt = mitglied.getGezaehlteGeraete();
+
+            for (Fitnessplan plan : mitglied.getAktivePlaene()) {
+                if (plan.getBenoetigteGeraeteIds().isEmpty()) {
+                    continue;
+                }
+
+                long[] maske = plan.getGeraeteMaske(uebersetzer);
+
+                for (int wort = 0; wort < maske.length; wort++) {
+                    long neu = maske[wort] & ~(wort < gezaehlt.length ? gezaehlt[wort] : 0);
+
+                    while (neu != 0) {
+                        int index = (wort << 6) + Long.numberOfTrailingZeros(neu);
+                        neu &= neu - 1;
+                        nachIndex[index].zaehleMitglied();
+                        gezaehlt = Bitmaske.setze(gezaehlt, index);
+                    }
+                }
+            }
+
+            mitglied.setGezaehlteGeraete(gezaehlt);
+        }
+    }
+
+    /**
+     * Gibt die Nachfrage nach einem Gerät zurück.
+     *
+     * @param geraeteId Die Geräte-ID (ohne Beachtung der Groß-/Kleinschreibung; das Gerät muss
+     *                  nicht (mehr) im System vorhanden sein)
+     * @return Die Nachfrage oder null, falls die ID nie angelegt oder in einem Plan verwendet wurde
+     */
+    public Geraetebedarf getBedarf(String geraeteId) {
+        if (geraeteId == null) {
+            return null;
+        }
+
+        Integer index = geraeteIndex.get(Fitnessstudio.normalisiereId(geraeteId));
+        return index == null ? null : nachIndex[index];
+    }
+
+    /**
+     * Gibt die Nachfrage nach allen Geräten in der Reihenfolge ihres Geräteindex zurück.
+     *
+     * @return unveränderliche Liste aller Zähler
+     */
+    public List<Geraetebedarf> getAlle() {
+        return Collections.unmodifiableList(Arrays.asList(nachIndex));
+    }
+
+    /**
+     * Gibt die Summe der Planzähler aller Geräte einer Kategorie zurück. Ein Plan mit zwei
+     * Geräten der Kategorie zählt dabei zweimal.
+     *
+     * @param kategorie Die Kategorie
+     * @return Summe der Planzähler
+     */
+    public long getPlaene(GeraeteKategorie kategorie) {
+        long summe = 0;
+
+        for (Geraetebedarf bedarf : nachIndex) {
+            if (bedarf.getKategorie() == kategorie) {
+                summe += bedarf.getPlaene();
+            }
+        }
+
+        return summe;
+    }
+
+    /**
+     * Gibt die Summe der Mitgliederzähler aller Geräte einer Kategorie zurück. Ein Mitglied, das
+     * zwei Geräte der Kategorie benötigt, zählt dabei zweimal.
+     *
+     * @param kategorie Die Kategorie
+     * @return Summe der Mitgliederzähler
+     */
+    public long getMitglieder(GeraeteKategorie kategorie) {
+        long summe = 0;
+
+        for (Geraetebedarf bedarf : nachIndex) {
+            if (bedarf.getKategorie() == kategorie) {
+                summe += bedarf.getMitglieder();
+            }
+        }
+
+        return summe;
+    }
+
+    /**
+     * Gibt die am stärksten nachgefragten Geräte zurück: absteigend nach Mitgliedern, bei
+     * Gleichstand nach Plänen. Die Rangfolge beruht auf einer Momentaufnahme der Zähler.
+     *
+     * @param anzahl Die gewünschte Anzahl (mindestens 0)
+     * @return unveränderliche Liste mit höchstens {@code anzahl} Einträgen
+     * @throws IllegalArgumentException falls anzahl negativ ist
+     */
+    public List<Geraetebedarf> getMeistgefragt(int anzahl) {
+        if (anzahl < 0) {
+            throw new IllegalArgumentException("Die Anzahl darf nicht negativ sein.");
+        }
+
+        Geraetebedarf[] alle = nachIndex;
+        long[] mitglieder = new long[alle.length];
+        long[] plaene = new long[alle.length];
+
+        for (int i = 0; i < alle.length; i++) {
+            mitglieder[i] = alle[i].getMitglieder();
+            plaene[i] = alle[i].getPlaene();
+        }
+
+        // Kleinster der bisher Besten oben, damit er in O(log k) verdrängt werden kann
+        PriorityQueue<Integer> beste = new PriorityQueue<>(Math.max(1, anzahl), (a, b) -> {
+            int vergleich = Long.compare(mitglieder[a], mitglieder[b]);
+
+            if (vergleich == 0) {
+                vergleich = Long.compare(plaene[a], plaene[b]);
+            }
+
+            return vergleich != 0 ? vergleich : Integer.compare(b, a);
+        });
+
+        for (int i = 0; i < alle.length && anzahl > 0; i++) {
+            beste.add(i);
+
+            if (beste.size() > anzahl) {
+                beste.poll();
+            }
+        }
+
+        List<Geraetebedarf> rangfolge = new ArrayList<>(beste.size());
+
+        while (!beste.isEmpty()) {
+            rangfolge.add(alle[beste.poll()]);
+        }
+
+        Collections.reverse(rangfolge);
+        return Collections.unmodifiableList(rangfolge);
+    }
+}
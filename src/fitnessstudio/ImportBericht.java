@@ -0,0 +1,186 @@
+package fitnessstudio;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bericht über einen CSV-Import mit Zählern, Durchsatz und abgelehnten Zeilen.
+ * Damit der Speicherbedarf auch bei sehr vielen Fehlern konstant bleibt, werden höchstens
+ * {@value #MAX_ABGELEHNTE_ZEILEN} abgelehnte Zeilen im Detail aufbewahrt; gezählt werden alle.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class ImportBericht {
+    /** Maximale Anzahl im Detail aufbewahrter abgelehnter Zeilen. */
+    public static final int MAX_ABGELEHNTE_ZEILEN = 10_000;
+
+    private final String bezeichnung;
+    private long zeilen;
+    private long angenommen;
+    private long abgelehnt;
+    private long dauerNanos;
+    private final List<AbgelehnteZeile> abgelehnteZeilen;
+
+    /**
+     * Konstruktor für einen leeren Bericht.
+     *
+     * @param bezeichnung Bezeichnung des Imports, z. B. der Dateiname
+     */
+    ImportBericht(String bezeichnung) {
+        this.bezeichnung = bezeichnung;
+        this.abgelehnteZeilen = new ArrayList<>();
+    }
+
+    void zeileGelesen() {
+        zeilen++;
+    }
+
+    void angenommen(long anzahl) {
+        angenommen += anzahl;
+    }
+
+    void abgelehnt(long zeilennummer, String grund) {
+        abgelehnt++;
+
+        if (abgelehnteZeilen.size() < MAX_ABGELEHNTE_ZEILEN) {
+            abgelehnteZeilen.add(new AbgelehnteZeile(zeilennummer, grund));
+        }
+    }
+
+    /**
+     * Zählt eine abgelehnte Zeile; die Fehlermeldung wird nur zusammengesetzt, solange
+     * Zeilen im Detail aufbewahrt werden.
+     */
+    void abgelehnt(long zeilennummer, Validierungsergebnis ergebnis) {
+        abgelehnt++;
+
+        if (abgelehnteZeilen.size() < MAX_ABGELEHNTE_ZEILEN) {
+            abgelehnteZeilen.add(new AbgelehnteZeile(zeilennummer, ergebnis.getFehlermeldung()));
+        }
+    }
+
+    void setDauerNanos(long dauerNanos) {
+        this.dauerNanos = dauerNanos;
+    }
+
+    /**
+     * Gibt die Bezeichnung des Imports zurück.
+     *
+     * @return Die Bezeichnung
+     */
+    public String getBezeichnung() {
+        return bezeichnung;
+    }
+
+    /**
+     * Gibt die Anzahl der gelesenen Datenzeilen (ohne Kopfzeile) zurück.
+     *
+     * @return Anzahl gelesener Zeilen
+     */
+    public long getZeilen() {
+        return zeilen;
+    }
+
+    /**
+     * Gibt die Anzahl der übernommenen Datensätze zurück.
+     *
+     * @return Anzahl übernommener Datensätze
+     */
+    public long getAngenommen() {
+        return angenommen;
+    }
+
+    /**
+     * Gibt die Anzahl der abgelehnten Datensätze zurück.
+     *
+     * @return Anzahl abgelehnter Datensätze
+     */
+    public long getAbgelehnt() {
+        return abgelehnt;
+    }
+
+    /**
+     * Gibt die Dauer des Imports in Millisekunden zurück.
+     *
+     * @return Die Dauer in Millisekunden
+     */
+    public double getDauerMillis() {
+        return dauerNanos / 1e6;
+    }
+
+    /**
+     * Gibt den Durchsatz in gelesenen Zeilen pro Sekunde zurück.
+     *
+     * @return Zeilen pro Sekunde
+     */
+    public double getZeilenProSekunde() {
+        return dauerNanos == 0 ? 0 : zeilen / (dauerNanos / 1e9);
+    }
+
+    /**
+     * Gibt die im Detail aufbewahrten abgelehnten Zeilen zurück.
+     *
+     * @return unveränderliche Liste der abgelehnten Zeilen
+     */
+    public List<AbgelehnteZeile> getAbgelehnteZeilen() {
+        return Collections.unmodifiableList(abgelehnteZeilen);
+    }
+
+    /**
+     * Gibt eine String-Repräsentation des Berichts zurück.
+     *
+     * @return String mit Berichtsinformationen
+     */
+    @Override
+    public String toString() {
+        return String.format("Import %s: %d Zeilen, %d übernommen, %d abgelehnt, %.1f ms (%.0f Zeilen/s)",
+                bezeichnung, zeilen, angenommen, abgelehnt, getDauerMillis(), getZeilenProSekunde());
+    }
+
+    /**
+     * Eine abgelehnte Zeile mit Zeilennummer und Grund.
+     */
+    public static class AbgelehnteZeile {
+        private final long zeilennummer;
+        private final String grund;
+
+        AbgelehnteZeile(long zeilennummer, String grund) {
+            this.zeilennummer = zeilennummer;
+            this.grund = grund;
+        }
+
+        /**
+         * Gibt die Zeilennummer in der Datei zurück (Kopfzeile = 1).
+         *
+         * @return Die Zeilennummer
+         */
+        public long getZeilennummer() {
+            return zeilennummer;
+        }
+
+        /**
+         * Gibt den Ablehnungsgrund zurück.
+         *
+         * @return Der Grund
+         */
+        public String getGrund() {
+            return grund;
+        }
+
+        /**
+         * Gibt eine String-Repräsentation der abgelehnten Zeile zurück.
+         *
+         * @return String mit Zeilennummer und Grund
+         */
+        @Override
+        public String toString() {
+            return "Zeile " + zeilennummer + ": " + grund;
+        }
+    }
+}
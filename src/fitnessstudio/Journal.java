@@ -0,0 +1,995 @@
+package fitnessstudio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Anhängendes Protokoll (Write-Ahead-Journal) aller Änderungen an einem {@link Fitnessstudio}.
+ * Das Journal wird als {@link StudioBeobachter} registriert und protokolliert angelegte,
+ * außer Betrieb genommene und ausgemusterte Geräte, angelegte Mitglieder und Änderungen ihrer
+ * Stammdaten, erstellte, umbenannte und um Übungen ergänzte Pläne, Planzuweisungen und
+ * Änderungen des Sperrstatus. Mit
+ * {@link #spieleAb(Path, Fitnessstudio)} lässt sich der Zustand nach einem Neustart wiederherstellen,
+ * typischerweise auf Basis einer zuvor geladenen {@link SnapshotDatei}.
+ * <p>
+ * Jeder Eintrag besteht aus Länge, Nutzdaten und einer CRC32C-Prüfsumme; ein beim Absturz
+ * abgeschnittener letzter Eintrag wird beim Öffnen und Abspielen erkannt und verworfen. Ein
+ * beschädigter Eintrag, hinter dem noch Daten folgen, führt dagegen zu einer {@link IOException},
+ * statt die folgenden Einträge stillschweigend zu verwerfen.
+ * Einträge werden zunächst in einen Puffer geschrieben, solange das Studio noch seine Sperren
+ * hält. Wann sie in die Datei geschrieben und erzwungen werden, legt die {@link FsyncStrategie}
+ * fest; gewartet wird erst in {@link #aenderungAbgeschlossen()}, nachdem das Studio die Sperren
+ * freigegeben hat. Bei {@link FsyncStrategie#JEDER_EINTRAG} übernimmt ein wartender Thread das
+ * Schreiben für alle bis dahin angehängten Einträge (Group Commit), sodass sich gleichzeitige
+ * Änderungen ein fsync teilen.
+ * <p>
+ * Da das Studio eine Änderung vor {@link #aenderungAbgeschlossen()} bereits veröffentlicht hat,
+ * bleibt sie bei einem Schreibfehler angewendet, ist aber nicht dauerhaft gesichert. Das Journal
+ * merkt sich den ersten Schreibfehler, lehnt danach jede weitere Änderung mit einer
+ * {@link IllegalStateException} ab und meldet ihn bei {@link #synchronisiere()} und {@link #close()}.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class Journal implements StudioBeobachter, Closeable {
+    /** Standardintervall in Millisekunden für {@link FsyncStrategie#NIE} und {@link FsyncStrategie#INTERVALL}. */
+    public static final long STANDARD_INTERVALL_MILLIS = 10;
+
+    private static final int MAGIC = 0x464A524E; // "FJRN"
+    private static final int VERSION = 1;
+    private static final int KOPFLAENGE = 2 * Integer.BYTES;
+    private static final int PUFFERGROESSE = 1 << 16;
+    private static final int SCHREIBSCHWELLE = 1 << 20;
+
+    private static final byte GERAET = 1;
+    private static final byte MITGLIED = 2;
+    private static final byte PLAN = 3;
+    private static final byte ZUWEISUNG = 4;
+    private static final byte SPERRE = 5;
+    private static final byte BETRIEBSSTATUS = 6;
+    private static final byte AUSMUSTERUNG = 7;
+    private static final byte MITGLIEDSNAME = 8;
+    private static final byte PLANNAME = 9;
+    private static final byte UEBUNG = 10;
+    private static final byte ADRESSE = 11;
+
+    private static final byte TYP_WIEDERHOLUNG = 1;
+    private static final byte TYP_DAUER = 2;
+
+    private static final ThreadLocal<Kodierer> KODIERER = ThreadLocal.withInitial(Kodierer::new);
+
+    // Sequenz des letzten Eintrags, den der Thread seit dem letzten aenderungAbgeschlossen angehängt hat
+    private final ThreadLocal<long[]> ausstehend = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final FileChannel kanal;
+    private final FsyncStrategie strategie;
+    private final ReentrantLock sperre;
+    private final Condition geschriebenBedingung;
+    private final Condition schliessenBedingung;
+    private final Thread hintergrund;
+    private ByteBuffer puffer;
+    private ByteBuffer reserve;
+    private long angehaengt;
+    private long geschrieben;
+    private boolean schreibtGerade;
+    private boolean geschlossen;
+    private IOException schreibfehler;
+
+    /**
+     * Öffnet ein Journal mit dem Standardintervall.
+     *
+     * @param datei      Journaldatei (wird angelegt oder fortgeschrieben)
+     * @param strategie  Die Fsync-Strategie (darf nicht null sein)
+     * @throws IOException falls die Datei nicht geöffnet werden kann oder kein Journal ist
+     */
+    public Journal(Path datei, FsyncStrategie strategie) throws IOException {
+        this(datei, strategie, STANDARD_INTERVALL_MILLIS);
+    }
+
+    /**
+     * Öffnet ein Journal. Eine vorhandene Datei wird fortgeschrieben, ein abgeschnittener
+     * letzter Eintrag wird dabei entfernt. Ist ein Eintrag vor dem Dateiende beschädigt,
+     * bleibt die Datei unverändert.
+     *
+     * @param datei           Journaldatei (wird angelegt oder fortgeschrieben)
+     * @param strategie       Die Fsync-Strategie (darf nicht null sein)
+     * @param intervallMillis Schreibintervall für {@link FsyncStrategie#NIE} und {@link FsyncStrategie#INTERVALL} (mindestens 1)
+     * @throws IOException falls die Datei nicht geöffnet werden kann, kein Journal ist oder vor
+     *                     dem Dateiende beschädigt ist
+     * @throws IllegalArgumentException falls ein Parameter ungültig ist
+     */
+    public Journal(Path datei, FsyncStrategie strategie, long intervallMillis) throws IOException {
+        if (strategie == null) {
+            throw new IllegalArgumentException("Die Fsync-Strategie darf nicht null sein.");
+        }
+
+        if (intervallMillis < 1) {
+            throw new IllegalArgumentException("Das Intervall muss mindestens 1 ms betragen.");
+        }
+
+        this.kanal = FileChannel.open(datei, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.strategie = strategie;
+        this.sperre = new ReentrantLock();
+        this.geschriebenBedingung = sperre.newCondition();
+        this.schliessenBedingung = sperre.newCondition();
+        this.puffer = ByteBuffer.allocateDirect(PUFFERGROESSE);
+        this.reserve = ByteBuffer.allocateDirect(PUFFERGROESSE);
+
+        try {
+            if (kanal.size() == 0) {
+                ByteBuffer kopf = ByteBuffer.allocate(KOPFLAENGE).putInt(MAGIC).putInt(VERSION).flip();
+
+                while (kopf.hasRemaining()) {
+                    kanal.write(kopf);
+                }
+
+                kanal.force(true);
+            } else {
+                Leser leser = new Leser(kanal);
+
+                while (leser.naechsterEintrag() != null) {
+                    // Bis zum Ende des letzten vollständigen Eintrags lesen
+                }
+
+                kanal.truncate(leser.getGueltigesEnde());
+            }
+
+            kanal.position(kanal.size());
+        } catch (IOException e) {
+            kanal.close();
+            throw e;
+        }
+
+        if (strategie == FsyncStrategie.JEDER_EINTRAG) {
+            this.hintergrund = null;
+        } else {
+            this.hintergrund = new Thread(() -> schreibeZyklisch(intervallMillis), "journal-" + datei.getFileName());
+            this.hintergrund.setDaemon(true);
+            this.hintergrund.start();
+        }
+    }
+
+    /**
+     * Gibt die Fsync-Strategie zurück.
+     *
+     * @return Die Fsync-Strategie
+     */
+    public FsyncStrategie getStrategie() {
+        return strategie;
+    }
+
+    /**
+     * Gibt die Anzahl der seit dem Öffnen angehängten Einträge zurück.
+     *
+     * @return Anzahl der Einträge
+     */
+    public long getAngehaengteEintraege() {
+        sperre.lock();
+
+        try {
+            return angehaengt;
+        } finally {
+            sperre.unlock();
+        }
+    }
+
+    @Override
+    public void geraetAngelegt(Geraet geraet) {
+        Kodierer k = KODIERER.get().beginne(GERAET);
+        schreibeGeraet(k, geraet);
+        haengeAn(k);
+    }
+
+    @Override
+    public void betriebsstatusGeaendert(Geraet geraet, boolean ausserBetrieb) {
+        Kodierer k = KODIERER.get().beginne(BETRIEBSSTATUS);
+        k.text(geraet.getGeraeteId());
+        k.zahl(ausserBetrieb ? 1 : 0);
+        haengeAn(k);
+    }
+
+    @Override
+    public void geraetAusgemustert(Geraet geraet) {
+        Kodierer k = KODIERER.get().beginne(AUSMUSTERUNG);
+        k.text(geraet.getGeraeteId());
+        haengeAn(k);
+    }
+
+    @Override
+    public void mitgliedAngelegt(Mitglied mitglied) {
+        Kodierer k = KODIERER.get().beginne(MITGLIED);
+        k.text(mitglied.getMitgliedsnummer());
+        k.text(mitglied.getName());
+        k.text(mitglied.getAdresse());
+        k.zahl(mitglied.isGesperrt() ? 1 : 0);
+        haengeAn(k);
+    }
+
+    @Override
+    public void nameWirdGeaendert(Mitglied mitglied, String name) {
+        Kodierer k = KODIERER.get().beginne(MITGLIEDSNAME);
+        k.text(mitglied.getMitgliedsnummer());
+        k.optionalerText(name);
+        haengeAn(k);
+    }
+
+    @Override
+    public void adresseWirdGeaendert(Mitglied mitglied, String adresse) {
+        Kodierer k = KODIERER.get().beginne(ADRESSE);
+        k.text(mitglied.getMitgliedsnummer());
+        k.optionalerText(adresse);
+        haengeAn(k);
+    }
+
+    /**
+     * Hängt einen Plan mit allen Übungen an.
+     *
+     * @throws IllegalArgumentException falls eine Übung weder {@link DauerUebung} noch
+     *                                  {@link WiederholungsUebung} ist; es wird dann nichts angehängt
+     */
+    @Override
+    public void planErstellt(Fitnessplan plan) {
+        List<Uebung> uebungen = plan.getUebungen();
+        Kodierer k = KODIERER.get().beginne(PLAN);
+        k.zahl(plan.getNummer());
+        k.text(plan.getName());
+        k.zahl(uebungen.size());
+
+        for (Uebung uebung : uebungen) {
+            schreibeUebung(k, uebung);
+        }
+
+        haengeAn(k);
+    }
+
+    @Override
+    public void planWirdUmbenannt(Fitnessplan plan, String name) {
+        Kodierer k = KODIERER.get().beginne(PLANNAME);
+        k.zahl(plan.getNummer());
+        k.optionalerText(name);
+        haengeAn(k);
+    }
+
+    /**
+     * Hängt eine einem registrierten Plan hinzugefügte Übung an.
+     *
+     * @throws IllegalArgumentException falls die Übung weder {@link DauerUebung} noch
+     *                                  {@link WiederholungsUebung} ist; sie wird dann nicht hinzugefügt
+     */
+    @Override
+    public void uebungWirdHinzugefuegt(Fitnessplan plan, Uebung uebung) {
+        Kodierer k = KODIERER.get().beginne(UEBUNG);
+        k.zahl(plan.getNummer());
+        schreibeUebung(k, uebung);
+        haengeAn(k);
+    }
+
+    @Override
+    public void planZugewiesen(Mitglied mitglied, Fitnessplan plan) {
+        Kodierer k = KODIERER.get().beginne(ZUWEISUNG);
+        k.text(mitglied.getMitgliedsnummer());
+        k.zahl(plan.getNummer());
+        haengeAn(k);
+    }
+
+    @Override
+    public void sperrstatusGeaendert(Mitglied mitglied, boolean gesperrt) {
+        Kodierer k = KODIERER.get().beginne(SPERRE);
+        k.text(mitglied.getMitgliedsnummer());
+        k.zahl(gesperrt ? 1 : 0);
+        haengeAn(k);
+    }
+
+    /**
+     * Schreibt die Einträge der abgeschlossenen Änderung je nach Strategie: bei
+     * {@link FsyncStrategie#JEDER_EINTRAG} kehrt der Aufruf erst zurück, wenn sie erzwungen
+     * sind, sonst nur, falls der Puffer die Schreibschwelle erreicht hat.
+     *
+     * @throws UncheckedIOException bei Schreibfehlern; das Studio gibt sie nicht an den Aufrufer
+     *                              der Änderung weiter, das Journal ist danach unbrauchbar
+     */
+    @Override
+    public void aenderungAbgeschlossen() {
+        long[] sequenz = ausstehend.get();
+        long bis = sequenz[0];
+
+        if (bis == 0) {
+            return;
+        }
+
+        sequenz[0] = 0;
+
+        if (strategie == FsyncStrategie.JEDER_EINTRAG) {
+            schreibeBis(bis, true);
+            return;
+        }
+
+        boolean schreiben;
+
+        sperre.lock();
+
+        try {
+            schreiben = puffer.position() >= SCHREIBSCHWELLE;
+        } finally {
+            sperre.unlock();
+        }
+
+        if (schreiben) {
+            schreibeBis(bis, false);
+        }
+    }
+
+    /**
+     * Schreibt alle angehängten Einträge in die Datei und erzwingt sie auf den Datenträger.
+     *
+     * @throws UncheckedIOException bei Schreibfehlern, auch bei einem früheren, den eine
+     *                              Änderung nicht melden konnte
+     */
+    public void synchronisiere() {
+        long bis;
+
+        sperre.lock();
+
+        try {
+            if (schreibfehler != null) {
+                throw new UncheckedIOException("Das Journal konnte nicht geschrieben werden.", schreibfehler);
+            }
+
+            bis = angehaengt;
+        } finally {
+            sperre.unlock();
+        }
+
+        schreibeBis(bis, false);
+        erzwinge();
+    }
+
+    /**
+     * Schreibt alle ausstehenden Einträge, erzwingt sie und schließt das Journal.
+     * Weitere Änderungen am Studio führen danach zu einer {@link IllegalStateException};
+     * das Journal sollte daher vorher mit {@link Fitnessstudio#entferneBeobachter(StudioBeobachter)} abgemeldet werden.
+     *
+     * @throws IOException bei Schreibfehlern
+     */
+    @Override
+    public void close() throws IOException {
+        sperre.lock();
+
+        try {
+            if (geschlossen) {
+                return;
+            }
+
+            geschlossen = true;
+            schliessenBedingung.signalAll();
+        } finally {
+            sperre.unlock();
+        }
+
+        boolean unterbrochen = false;
+
+        // Nicht unterbrechen: Ein Interrupt während write/force schlösse den Kanal
+        if (hintergrund != null) {
+            while (true) {
+                try {
+                    hintergrund.join();
+                    break;
+                } catch (InterruptedException e) {
+                    unterbrochen = true;
+                }
+            }
+        }
+
+        try {
+            synchronisiere();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            kanal.close();
+
+            if (unterbrochen) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Spielt ein Journal auf ein Fitnessstudio ab. Das Studio muss dem Zustand entsprechen,
+     * in dem das Journal begonnen wurde (leer oder aus der passenden {@link SnapshotDatei} geladen).
+     * Während des Abspielens darf kein Journal als Beobachter am Studio registriert sein.
+     *
+     * @param datei         Die Journaldatei
+     * @param fitnessstudio Das wiederherzustellende Fitnessstudio (darf nicht null sein)
+     * @return Anzahl der abgespielten Einträge
+     * @throws IOException bei Lesefehlern, einem beschädigten Eintrag vor dem Dateiende oder falls
+     *                     das Journal nicht zum Studio passt
+     * @throws IllegalArgumentException falls fitnessstudio null ist
+     */
+    public static long spieleAb(Path datei, Fitnessstudio fitnessstudio) throws IOException {
+        if (fitnessstudio == null) {
+            throw new IllegalArgumentException("Das Fitnessstudio darf nicht null sein.");
+        }
+
+        List<Fitnessplan> plaene = new ArrayList<>(fitnessstudio.getPlaene());
+        byte[] textpuffer = new byte[256];
+        long anzahl = 0;
+
+        try (FileChannel kanal = FileChannel.open(datei, StandardOpenOption.READ)) {
+            Leser leser = new Leser(kanal);
+            ByteBuffer eintrag;
+
+            while ((eintrag = leser.naechsterEintrag()) != null) {
+                try {
+                    wendeAn(eintrag, fitnessstudio, plaene, textpuffer);
+                } catch (RuntimeException e) {
+                    throw new IOException("Journaleintrag " + (anzahl + 1) + " lässt sich nicht anwenden: " + e.getMessage(), e);
+                }
+
+                anzahl++;
+            }
+        }
+
+        fitnessstudio.aenderungAbgeschlossen();
+        return anzahl;
+    }
+
+    private static void wendeAn(ByteBuffer ein, Fitnessstudio fitnessstudio, List<Fitnessplan> plaene, byte[] textpuffer)
+            throws IOException {
+        byte typ = ein.get();
+
+        switch (typ) {
+            case GERAET:
+                fitnessstudio.legeGeraetAn(leseGeraet(ein, textpuffer));
+                break;
+            case MITGLIED: {
+                Mitglied mitglied = new Mitglied(BinaerFormat.leseText(ein, textpuffer),
+                        BinaerFormat.leseText(ein, textpuffer), BinaerFormat.leseText(ein, textpuffer));
+                mitglied.setGesperrt(BinaerFormat.leseZahl(ein) != 0);
+                fitnessstudio.legeMitgliedAn(mitglied);
+                break;
+            }
+            case PLAN: {
+                int nummer = BinaerFormat.leseZahl(ein);
+
+                if (nummer != plaene.size()) {
+                    throw new IOException("Plannummer " + nummer + " erwartet " + plaene.size()
+                            + "; das Journal passt nicht zum Ausgangszustand.");
+                }
+
+                Fitnessplan plan = new Fitnessplan(BinaerFormat.leseText(ein, textpuffer));
+                int uebungen = BinaerFormat.leseZahl(ein);
+
+                for (int i = 0; i < uebungen; i++) {
+                    plan.addUebung(leseUebung(ein, fitnessstudio, textpuffer));
+                }
+
+                fitnessstudio.registrierePlan(plan);
+                plaene.add(plan);
+                break;
+            }
+            case ZUWEISUNG: {
+                Mitglied mitglied = fitnessstudio.getMitgliedByNummer(BinaerFormat.leseText(ein, textpuffer));
+                int nummer = BinaerFormat.leseZahl(ein);
+
+                if (mitglied == null || nummer >= plaene.size()) {
+                    throw new IOException("Zuweisung verweist auf ein unbekanntes Mitglied oder einen unbekannten Plan.");
+                }
+
+                fitnessstudio.stellePlanzuweisungWiederHer(mitglied, plaene.get(nummer));
+                break;
+            }
+            case SPERRE: {
+                Mitglied mitglied = fitnessstudio.getMitgliedByNummer(BinaerFormat.leseText(ein, textpuffer));
+
+                if (mitglied == null) {
+                    throw new IOException("Sperränderung verweist auf ein unbekanntes Mitglied.");
+                }
+
+                mitglied.setGesperrt(BinaerFormat.leseZahl(ein) != 0);
+                break;
+            }
+            case MITGLIEDSNAME:
+                leseRegistriertesMitglied(ein, fitnessstudio, textpuffer).setName(leseOptionalenText(ein, textpuffer));
+                break;
+            case ADRESSE:
+                leseRegistriertesMitglied(ein, fitnessstudio, textpuffer).setAdresse(leseOptionalenText(ein, textpuffer));
+                break;
+            case PLANNAME:
+                leseRegistriertenPlan(ein, plaene).setName(leseOptionalenText(ein, textpuffer));
+                break;
+            case UEBUNG: {
+                Fitnessplan plan = leseRegistriertenPlan(ein, plaene);
+                plan.addUebung(leseUebung(ein, fitnessstudio, textpuffer));
+                break;
+            }
+            case BETRIEBSSTATUS: {
+                String id = BinaerFormat.leseText(ein, textpuffer);
+
+                if (BinaerFormat.leseZahl(ein) != 0) {
+                    fitnessstudio.nehmeAusserBetrieb(id);
+                } else {
+                    fitnessstudio.nehmeInBetrieb(id);
+                }
+
+                break;
+            }
+            case AUSMUSTERUNG:
+                fitnessstudio.musterGeraetAus(BinaerFormat.leseText(ein, textpuffer));
+                break;
+            default:
+                throw new IOException("Unbekannter Eintragstyp: " + typ);
+        }
+    }
+
+    private static Mitglied leseRegistriertesMitglied(ByteBuffer ein, Fitnessstudio fitnessstudio, byte[] textpuffer)
+            throws IOException {
+        Mitglied mitglied = fitnessstudio.getMitgliedByNummer(BinaerFormat.leseText(ein, textpuffer));
+
+        if (mitglied == null) {
+            throw new IOException("Stammdatenänderung verweist auf ein unbekanntes Mitglied.");
+        }
+
+        return mitglied;
+    }
+
+    private static Fitnessplan leseRegistriertenPlan(ByteBuffer ein, List<Fitnessplan> plaene) throws IOException {
+        int nummer = BinaerFormat.leseZahl(ein);
+
+        if (nummer >= plaene.size()) {
+            throw new IOException("Planänderung verweist auf einen unbekannten Plan.");
+        }
+
+        return plaene.get(nummer);
+    }
+
+    private static void schreibeUebung(Kodierer k, Uebung uebung) {
+        if (uebung instanceof DauerUebung) {
+            k.zahl(TYP_DAUER);
+            k.zahl(((DauerUebung) uebung).getTrainingsdauerMin());
+        } else if (uebung instanceof WiederholungsUebung) {
+            k.zahl(TYP_WIEDERHOLUNG);
+            k.zahl(((WiederholungsUebung) uebung).getWiederholungen());
+        } else {
+            throw new IllegalArgumentException("Der Übungstyp " + uebung.getClass().getName()
+                    + " kann nicht im Journal gespeichert werden.");
+        }
+
+        k.text(uebung.getName());
+        k.text(uebung.getBeschreibung());
+        k.zahl(uebung.getSaetze());
+        schreibeGeraet(k, uebung.getGeraet());
+    }
+
+    private static Uebung leseUebung(ByteBuffer ein, Fitnessstudio fitnessstudio, byte[] textpuffer) throws IOException {
+        int typ = BinaerFormat.leseZahl(ein);
+        int wert = BinaerFormat.leseZahl(ein);
+        String name = BinaerFormat.leseText(ein, textpuffer);
+        String beschreibung = BinaerFormat.leseText(ein, textpuffer);
+        int saetze = BinaerFormat.leseZahl(ein);
+        Geraet geraet = leseGeraet(ein, textpuffer);
+        Geraet registriert = fitnessstudio.getGeraetById(geraet.getGeraeteId());
+
+        if (registriert != null) {
+            geraet = registriert;
+        }
+
+        if (typ == TYP_DAUER) {
+            return fitnessstudio.getUebungsKatalog().dauerUebung(name, beschreibung, saetze, geraet, wert);
+        }
+
+        if (typ == TYP_WIEDERHOLUNG) {
+            return fitnessstudio.getUebungsKatalog().wiederholungsUebung(name, beschreibung, saetze, geraet, wert);
+        }
+
+        throw new IOException("Unbekannter Übungstyp im Journal: " + typ);
+    }
+
+    private static void schreibeGeraet(Kodierer k, Geraet geraet) {
+        k.text(geraet.getGeraeteId());
+        k.text(geraet.getGeraeteName());
+        k.zahl(geraet.getKategorie().ordinal());
+    }
+
+    private static String leseOptionalenText(ByteBuffer ein, byte[] textpuffer) {
+        return ein.get() == 0 ? null : BinaerFormat.leseText(ein, textpuffer);
+    }
+
+    private static Geraet leseGeraet(ByteBuffer ein, byte[] textpuffer) {
+        String id = BinaerFormat.leseText(ein, textpuffer);
+        String name = BinaerFormat.leseText(ein, textpuffer);
+        return new Geraet(id, name, GeraeteKategorie.values()[BinaerFormat.leseZahl(ein)]);
+    }
+
+    /**
+     * Hängt einen kodierten Eintrag an den Puffer an. Geschrieben wird erst in
+     * {@link #aenderungAbgeschlossen()}, da der Aufrufer hier noch Sperren des Studios hält.
+     */
+    private void haengeAn(Kodierer k) {
+        ByteBuffer nutzdaten = k.beende();
+        CRC32C pruefsumme = k.pruefsumme;
+        pruefsumme.reset();
+        pruefsumme.update(nutzdaten.duplicate());
+
+        int laenge = nutzdaten.remaining();
+
+        sperre.lock();
+
+        try {
+            if (geschlossen) {
+                throw new IllegalStateException("Das Journal ist geschlossen.");
+            }
+
+            if (schreibfehler != null) {
+                throw new IllegalStateException("Das Journal ist nach einem Schreibfehler nicht mehr beschreibbar.", schreibfehler);
+            }
+
+            puffer = mitPlatz(puffer, BinaerFormat.MAX_ZAHL_BYTES + laenge + Integer.BYTES);
+            BinaerFormat.schreibeZahl(puffer, laenge);
+            puffer.put(nutzdaten);
+            puffer.putInt((int) pruefsumme.getValue());
+            ausstehend.get()[0] = ++angehaengt;
+        } finally {
+            sperre.unlock();
+        }
+    }
+
+    /**
+     * Wartet, bis alle Einträge bis einschließlich {@code sequenz} geschrieben sind. Ist gerade
+     * niemand am Schreiben, übernimmt der aufrufende Thread das Schreiben aller bis dahin
+     * angehängten Einträge und weckt anschließend alle Wartenden.
+     */
+    private void schreibeBis(long sequenz, boolean erzwingen) {
+        sperre.lock();
+
+        try {
+            while (geschrieben < sequenz) {
+                // Die Einträge des fehlgeschlagenen Puffers sind verloren; nichts mehr als geschrieben melden
+                if (schreibfehler != null) {
+                    throw new UncheckedIOException("Das Journal konnte nicht geschrieben werden.", schreibfehler);
+                }
+
+                if (schreibtGerade) {
+                    geschriebenBedingung.awaitUninterruptibly();
+                    continue;
+                }
+
+                schreibtGerade = true;
+                ByteBuffer voll = puffer;
+                puffer = reserve;
+                reserve = voll;
+                long bis = angehaengt;
+                IOException fehler = null;
+
+                sperre.unlock();
+
+                try {
+                    voll.flip();
+
+                    while (voll.hasRemaining()) {
+                        kanal.write(voll);
+                    }
+
+                    if (erzwingen) {
+                        kanal.force(false);
+                    }
+                } catch (IOException e) {
+                    fehler = e;
+                } finally {
+                    voll.clear();
+                    sperre.lock();
+                    schreibtGerade = false;
+                    geschriebenBedingung.signalAll();
+                }
+
+                if (fehler != null) {
+                    schreibfehler = fehler;
+                    throw new UncheckedIOException("Das Journal konnte nicht geschrieben werden.", fehler);
+                }
+
+                geschrieben = bis;
+            }
+        } finally {
+            sperre.unlock();
+        }
+    }
+
+    private void erzwinge() {
+        try {
+            kanal.force(false);
+        } catch (IOException e) {
+            sperre.lock();
+
+            try {
+                if (schreibfehler == null) {
+                    schreibfehler = e;
+                }
+            } finally {
+                sperre.unlock();
+            }
+
+            throw new UncheckedIOException("Das Journal konnte nicht erzwungen werden.", e);
+        }
+    }
+
+    /**
+     * Schreibt im Intervall, bis {@link #close()} das Journal schließt. Der Thread wartet auf
+     * {@code schliessenBedingung} statt zu schlafen und wird nie unterbrochen, da ein Interrupt
+     * während eines Schreibvorgangs den {@link FileChannel} schließen würde.
+     */
+    private void schreibeZyklisch(long intervallMillis) {
+        long intervall = TimeUnit.MILLISECONDS.toNanos(intervallMillis);
+
+        while (true) {
+            long bis;
+
+            sperre.lock();
+
+            try {
+                long rest = intervall;
+
+                while (!geschlossen && rest > 0) {
+                    rest = schliessenBedingung.awaitNanos(rest);
+                }
+
+                if (geschlossen) {
+                    return;
+                }
+
+                bis = angehaengt;
+            } catch (InterruptedException e) {
+                // Ohne Schreibvorgang beenden; close() schreibt den Rest
+                return;
+            } finally {
+                sperre.unlock();
+            }
+
+            try {
+                schreibeBis(bis, false);
+
+                if (strategie == FsyncStrategie.INTERVALL) {
+                    erzwinge();
+                }
+            } catch (UncheckedIOException e) {
+                // Fehler werden beim nächsten synchronen Schreiben bzw. beim Schließen gemeldet
+            }
+        }
+    }
+
+    private static ByteBuffer mitPlatz(ByteBuffer puffer, int bytes) {
+        if (puffer.remaining() >= bytes) {
+            return puffer;
+        }
+
+        ByteBuffer groesser = ByteBuffer.allocateDirect(Math.max(puffer.capacity() * 2, puffer.position() + bytes));
+        puffer.flip();
+        groesser.put(puffer);
+        return groesser;
+    }
+
+    /**
+     * Threadlokaler Puffer zum Kodieren eines Eintrags außerhalb der Sperre.
+     */
+    private static final class Kodierer {
+        private final CRC32C pruefsumme = new CRC32C();
+        private ByteBuffer puffer = ByteBuffer.allocate(256);
+
+        Kodierer beginne(byte typ) {
+            puffer.clear();
+            puffer.put(typ);
+            return this;
+        }
+
+        void zahl(int wert) {
+            puffer = mitPlatz(puffer, BinaerFormat.MAX_ZAHL_BYTES);
+            BinaerFormat.schreibeZahl(puffer, wert);
+        }
+
+        void text(String text) {
+            byte[] utf8 = BinaerFormat.utf8(text);
+            puffer = mitPlatz(puffer, BinaerFormat.textlaenge(utf8));
+            BinaerFormat.schreibeText(puffer, utf8);
+        }
+
+        /**
+         * Kodiert einen Text, der null sein darf, mit vorangestelltem Vorhandensein-Byte.
+         */
+        void optionalerText(String text) {
+            puffer = mitPlatz(puffer, 1);
+
+            if (text == null) {
+                puffer.put((byte) 0);
+                return;
+            }
+
+            puffer.put((byte) 1);
+            text(text);
+        }
+
+        ByteBuffer beende() {
+            return puffer.flip();
+        }
+    }
+
+    /**
+     * Liest die Einträge einer Journaldatei nacheinander und prüft deren Prüfsummen.
+     */
+    private static final class Leser {
+        private final FileChannel kanal;
+        private final CRC32C pruefsumme;
+        private ByteBuffer puffer;
+        private long gueltigesEnde;
+        private boolean dateiende;
+
+        Leser(FileChannel kanal) throws IOException {
+            this.kanal = kanal;
+            this.pruefsumme = new CRC32C();
+            this.puffer = ByteBuffer.allocate(PUFFERGROESSE);
+            this.puffer.limit(0);
+
+            kanal.position(0);
+
+            if (!fuelle(KOPFLAENGE) || puffer.getInt() != MAGIC) {
+                throw new IOException("Die Datei ist kein Fitnessstudio-Journal.");
+            }
+
+            int version = puffer.getInt();
+
+            if (version != VERSION) {
+                throw new IOException("Nicht unterstützte Journal-Version: " + version);
+            }
+
+            gueltigesEnde = KOPFLAENGE;
+        }
+
+        /**
+         * Liest den nächsten vollständigen Eintrag. Als abgeschnitten gilt nur ein letzter
+         * Eintrag, der über das Dateiende hinausreicht, mit ihm endet oder von dem nur Nullbytes
+         * geschrieben wurden; ein beschädigter Eintrag, hinter dem noch Daten folgen, wird gemeldet.
+         *
+         * @return Die Nutzdaten oder null am Ende bzw. bei einem abgeschnittenen letzten Eintrag
+         * @throws IOException bei Lesefehlern oder einem beschädigten Eintrag vor dem Dateiende
+         */
+        ByteBuffer naechsterEintrag() throws IOException {
+            fuelle(BinaerFormat.MAX_ZAHL_BYTES);
+
+            if (!puffer.hasRemaining()) {
+                return null;
+            }
+
+            int start = puffer.position();
+            int laenge = 0;
+            int verschiebung = 0;
+            int kopf = 0;
+            byte b;
+
+            do {
+                if (!puffer.hasRemaining()) {
+                    return null;
+                }
+
+                if (verschiebung > 28) {
+                    return beschaedigt();
+                }
+
+                b = puffer.get();
+                laenge |= (b & 0x7F) << verschiebung;
+                verschiebung += 7;
+                kopf++;
+            } while (b < 0);
+
+            if (laenge < 1) {
+                return beschaedigt();
+            }
+
+            // Reicht der Eintrag über das Dateiende hinaus, wurde er nicht fertig geschrieben;
+            // die Länge wird so auch nie größer als die Datei angefordert
+            long ende = gueltigesEnde + kopf + (long) laenge + Integer.BYTES;
+
+            if (ende > kanal.size()) {
+                return null;
+            }
+
+            puffer.position(start);
+
+            if (!fuelle(kopf + laenge + Integer.BYTES)) {
+                return null;
+            }
+
+            puffer.position(puffer.position() + kopf);
+            ByteBuffer nutzdaten = puffer.slice(puffer.position(), laenge);
+            puffer.position(puffer.position() + laenge);
+            int erwartet = puffer.getInt();
+
+            pruefsumme.reset();
+            pruefsumme.update(nutzdaten.duplicate());
+
+            if ((int) pruefsumme.getValue() != erwartet) {
+                if (ende == kanal.size()) {
+                    return null;
+                }
+
+                throw new IOException("Der Journaleintrag an Byte " + gueltigesEnde
+                        + " ist beschädigt (Prüfsumme stimmt nicht), dahinter folgen weitere Daten.");
+            }
+
+            gueltigesEnde = ende;
+            return nutzdaten;
+        }
+
+        /**
+         * Behandelt einen Eintrag mit ungültiger Länge: Folgen bis zum Dateiende nur Nullbytes,
+         * ist es ein nicht fertig geschriebener letzter Eintrag, sonst ist die Datei beschädigt.
+         */
+        private ByteBuffer beschaedigt() throws IOException {
+            long position = gueltigesEnde;
+            ByteBuffer rest = ByteBuffer.allocate(PUFFERGROESSE);
+
+            while (position < kanal.size()) {
+                rest.clear();
+                int gelesen = kanal.read(rest, position);
+
+                if (gelesen < 0) {
+                    break;
+                }
+
+                for (int i = 0; i < gelesen; i++) {
+                    if (rest.get(i) != 0) {
+                        throw new IOException("Der Journaleintrag an Byte " + gueltigesEnde
+                                + " hat eine ungültige Länge, dahinter folgen weitere Daten.");
+                    }
+                }
+
+                position += gelesen;
+            }
+
+            return null;
+        }
+
+        /**
+         * Gibt die Dateiposition hinter dem letzten gültigen Eintrag zurück.
+         *
+         * @return Die Position in Bytes
+         */
+        long getGueltigesEnde() {
+            return gueltigesEnde;
+        }
+
+        private boolean fuelle(int bytes) throws IOException {
+            if (puffer.remaining() >= bytes) {
+                return true;
+            }
+
+            if (puffer.capacity() < bytes) {
+                ByteBuffer groesser = ByteBuffer.allocate(Math.max(bytes, puffer.capacity() * 2));
+                groesser.put(puffer);
+                puffer = groesser;
+            } else {
+                puffer.compact();
+            }
+
+            while (puffer.position() < bytes && !dateiende) {
+                if (kanal.read(puffer) < 0) {
+                    dateiende = true;
+                }
+            }
+
+            puffer.flip();
+            return puffer.remaining() >= bytes;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package fitnessstudio;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Liest JSON-Anfragen des {@link StudioServer}s in einfache Java-Werte: Objekte als
+ * {@link Map} (in Reihenfolge der Namen), Listen als {@link List}, Zeichenketten, ganze Zahlen
+ * als {@link Long}, andere Zahlen als {@link Double}, Wahrheitswerte und null. Fehlerhafte
+ * Eingaben werden mit Position gemeldet.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+final class JsonLeser {
+    private static final int MAX_TIEFE = 64;
+
+    private final String text;
+    private int position;
+    private int tiefe;
+
+    private JsonLeser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Liest genau einen JSON-Wert.
+     *
+     * @param text Der JSON-Text
+     * @return Der gelesene Wert
+     * @throws IllegalArgumentException falls der Text kein gültiges JSON ist
+     */
+    static Object lies(String text) {
+        JsonLeser leser = new JsonLeser(text);
+        Object wert = leser.wert();
+        leser.leerraum();
+
+        if (leser.position < text.length()) {
+            throw leser.fehler("Unerwartete Zeichen nach dem Ende");
+        }
+
+        return wert;
+    }
+
+    /**
+     * Liest ein JSON-Objekt.
+     *
+     * @param text Der JSON-Text
+     * @return Das Objekt
+     * @throws IllegalArgumentException falls der Text kein gültiges JSON-Objekt ist
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> liesObjekt(String text) {
+        Object wert = lies(text);
+
+        if (!(wert instanceof Map)) {
+            throw new IllegalArgumentException("Ungültiges JSON: Es wird ein Objekt erwartet.");
+        }
+
+        return (Map<String, Object>) wert;
+    }
+
+    private Object wert() {
+        leerraum();
+
+        if (position >= text.length()) {
+            throw fehler("Unerwartetes Ende");
+        }
+
+        char c = text.charAt(position);
+
+        return switch (c) {
+            case '{' -> objekt();
+            case '[' -> liste();
+            case '"' -> zeichenkette();
+            case 't' -> wort("true", Boolean.TRUE);
+            case 'f' -> wort("false", Boolean.FALSE);
+            case 'n' -> wort("null", null);
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    yield zahl();
+                }
+
+                throw fehler("Unerwartetes Zeichen '" + c + "'");
+            }
+        };
+    }
+
+    private Map<String, Object> objekt() {
+        betrete();
+        position++;
+        Map<String, Object> objekt = new LinkedHashMap<>();
+        leerraum();
+
+        if (weiterBei('}')) {
+            tiefe--;
+            return objekt;
+        }
+
+        do {
+            leerraum();
+
+            if (position >= text.length() || text.charAt(position) != '"') {
+                throw fehler("Name erwartet");
+            }
+
+            String name = zeichenkette();
+            leerraum();
+            erwarte(':');
+            objekt.put(name, wert());
+            leerraum();
+        } while (weiterBei(','));
+
+        erwarte('}');
+        tiefe--;
+        return objekt;
+    }
+
+    private List<Object> liste() {
+        betrete();
+        position++;
+        List<Object> liste = new ArrayList<>();
+        leerraum();
+
+        if (weiterBei(']')) {
+            tiefe--;
+            return liste;
+        }
+
+        do {
+            liste.add(wert());
+            leerraum();
+        } while (weiterBei(','));
+
+        erwarte(']');
+        tiefe--;
+        return liste;
+    }
+
+    private String zeichenkette() {
+        position++;
+        int anfang = position;
+
+        // Ohne Escape-Sequenzen genügt ein Teilstring
+        while (position < text.length()) {
+            char c = text.charAt(position);
+
+            if (c == '"') {
+                return text.substring(anfang, position++);
+            }
+
+            if (c == '\\') {
+                break;
+            }
+
+            if (c < 0x20) {
+                throw fehler("Steuerzeichen in Zeichenkette");
+            }
+
+            position++;
+        }
+
+        StringBuilder sb = new StringBuilder(text.length() - anfang).append(text, anfang, position);
+
+        while (position < text.length()) {
+            char c = text.charAt(position++);
+
+            if (c == '"') {
+                return sb.toString();
+            }
+
+            if (c < 0x20) {
+                throw fehler("Steuerzeichen in Zeichenkette");
+            }
+
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+
+            if (position >= text.length()) {
+                break;
+            }
+
+            char e = text.charAt(position++);
+
+            switch (e) {
+                case '"', '\\', '/' -> sb.append(e);
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> sb.append(unicode());
+                default -> throw fehler("Ungültige Escape-Sequenz \\" + e);
+            }
+        }
+
+        throw fehler("Zeichenkette nicht abgeschlossen");
+    }
+
+    private char unicode() {
+        if (position + 4 > text.length()) {
+            throw fehler("Unvollständige Unicode-Escape-Sequenz");
+        }
+
+        int wert = 0;
+
+        for (int i = 0; i < 4; i++) {
+            int ziffer = Character.digit(text.charAt(position++), 16);
+
+            if (ziffer < 0) {
+                throw fehler("Ungültige Unicode-Escape-Sequenz");
+            }
+
+            wert = wert * 16 + ziffer;
+        }
+
+        return (char) wert;
+    }
+
+    private Object zahl() {
+        int anfang = position;
+        boolean ganz = true;
+
+        if (text.charAt(position) == '-') {
+            position++;
+        }
+
+        while (position < text.length()) {
+            char c = text.charAt(position);
+
+            if (c == '.' || c == 'e' || c == 'E' || c == '+' || (c == '-' && position > anfang)) {
+                ganz = false;
+            } else if (c < '0' || c > '9') {
+                break;
+            }
+
+            position++;
+        }
+
+        String zahl = text.substring(anfang, position);
+
+        try {
+            return ganz ? (Object) Long.parseLong(zahl) : (Object) Double.parseDouble(zahl);
+        } catch (NumberFormatException e) {
+            throw fehler("Ungültige Zahl " + zahl);
+        }
+    }
+
+    private Object wort(String wort, Object wert) {
+        if (!text.startsWith(wort, position)) {
+            throw fehler(wort + " erwartet");
+        }
+
+        position += wort.length();
+        return wert;
+    }
+
+    private void betrete() {
+        if (++tiefe > MAX_TIEFE) {
+            throw fehler("Zu tief verschachtelt");
+        }
+    }
+
+    private void leerraum() {
+        while (position < text.length()) {
+            char c = text.charAt(position);
+
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return;
+            }
+
+            position++;
+        }
+    }
+
+    private boolean weiterBei(char zeichen) {
+        if (position < text.length() && text.charAt(position) == zeichen) {
+            position++;
+            return true;
+        }
+
+        return false;
+    }
+
+    private void erwarte(char zeichen) {
+        if (!weiterBei(zeichen)) {
+            throw fehler("'" + zeichen + "' erwartet");
+        }
+    }
+
+    private IllegalArgumentException fehler(String grund) {
+        return new IllegalArgumentException("Ungültiges JSON an Position " + position + ": " + grund + ".");
+    }
+}
@@ -0,0 +1,138 @@
+package fitnessstudio;
+
+/**
+ * Schreibt JSON ohne Zwischenobjekte direkt in einen {@link StringBuilder} (siehe
+ * {@link StudioServer}). Kommas zwischen Elementen setzt der Schreiber selbst; Aufrufer
+ * beginnen und beenden nur Objekte und Listen und schreiben Namen und Werte. Bis zu
+ * {@value #MAX_TIEFE} Ebenen können verschachtelt werden.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+final class JsonSchreiber {
+    private static final int MAX_TIEFE = 64;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder ziel;
+    private long ersteElemente;
+    private int tiefe;
+    private boolean nachName;
+
+    JsonSchreiber(StringBuilder ziel) {
+        this.ziel = ziel;
+    }
+
+    JsonSchreiber beginneObjekt() {
+        trenne();
+        ziel.append('{');
+        return tiefer();
+    }
+
+    JsonSchreiber beendeObjekt() {
+        tiefe--;
+        ziel.append('}');
+        return this;
+    }
+
+    JsonSchreiber beginneListe() {
+        trenne();
+        ziel.append('[');
+        return tiefer();
+    }
+
+    JsonSchreiber beendeListe() {
+        tiefe--;
+        ziel.append(']');
+        return this;
+    }
+
+    JsonSchreiber name(String name) {
+        trenne();
+        zeichenkette(name);
+        ziel.append(':');
+        nachName = true;
+        return this;
+    }
+
+    JsonSchreiber wert(String wert) {
+        trenne();
+
+        if (wert == null) {
+            ziel.append("null");
+        } else {
+            zeichenkette(wert);
+        }
+
+        return this;
+    }
+
+    JsonSchreiber wert(long wert) {
+        trenne();
+        ziel.append(wert);
+        return this;
+    }
+
+    JsonSchreiber wert(boolean wert) {
+        trenne();
+        ziel.append(wert);
+        return this;
+    }
+
+    private JsonSchreiber tiefer() {
+        if (++tiefe >= MAX_TIEFE) {
+            throw new IllegalStateException("JSON ist tiefer als " + MAX_TIEFE + " Ebenen verschachtelt.");
+        }
+
+        ersteElemente |= 1L << tiefe;
+        return this;
+    }
+
+    /**
+     * Setzt ein Komma, außer vor dem ersten Element einer Ebene und nach einem Namen.
+     */
+    private void trenne() {
+        if (nachName) {
+            nachName = false;
+            return;
+        }
+
+        long bit = 1L << tiefe;
+
+        if ((ersteElemente & bit) != 0) {
+            ersteElemente &= ~bit;
+        } else if (tiefe > 0) {
+            ziel.append(',');
+        }
+    }
+
+    private void zeichenkette(String text) {
+        ziel.append('"');
+        int anfang = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+
+            ziel.append(text, anfang, i);
+            anfang = i + 1;
+
+            switch (c) {
+                case '"' -> ziel.append("\\\"");
+                case '\\' -> ziel.append("\\\\");
+                case '\n' -> ziel.append("\\n");
+                case '\r' -> ziel.append("\\r");
+                case '\t' -> ziel.append("\\t");
+                default -> ziel.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+
+        ziel.append(text, anfang, text.length()).append('"');
+    }
+}
@@ -0,0 +1,196 @@
+package fitnessstudio;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Threadsicheres Histogramm für Latenzen in Nanosekunden nach dem Vorbild von HdrHistogram.
+ * Jede Zweierpotenz ist in {@value #UNTERKLASSEN} gleich breite Klassen geteilt, der relative
+ * Fehler eines Perzentils liegt damit unter 3,2 %. Werte ab 2^{@value #MAX_EXPONENT} ns (etwa
+ * 18 Minuten) fallen in die oberste Klasse.
+ * <p>
+ * Eine Erfassung kostet einen atomaren Zähler in einem von mehreren Streifen; welcher Streifen
+ * verwendet wird, hängt vom Thread ab. Gleichzeitig erfassende Threads teilen sich daher
+ * selten eine Cache-Zeile. Streifen werden erst bei der ersten Erfassung angelegt. Auswertungen
+ * summieren alle Streifen und sind bei gleichzeitigen Erfassungen nur näherungsweise konsistent.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class Latenzhistogramm {
+    private static final int UNTERKLASSEN_BITS = 5;
+    private static final int UNTERKLASSEN = 1 << UNTERKLASSEN_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int KLASSEN = (MAX_EXPONENT - UNTERKLASSEN_BITS + 1) * UNTERKLASSEN;
+
+    private static final int STREIFEN = Integer.highestOneBit(Math.min(16, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+
+    private final AtomicReferenceArray<AtomicLongArray> streifen;
+    private final AtomicLong maximum;
+
+    /**
+     * Erzeugt ein leeres Histogramm.
+     */
+    public Latenzhistogramm() {
+        this.streifen = new AtomicReferenceArray<>(STREIFEN);
+        this.maximum = new AtomicLong();
+    }
+
+    /**
+     * Erfasst einen Wert.
+     *
+     * @param nanos Latenz in Nanosekunden (negative Werte zählen als 0)
+     */
+    public void erfasse(long nanos) {
+        long wert = Math.max(0, nanos);
+        AtomicLongArray zaehler = eigenerStreifen();
+
+        zaehler.getAndIncrement(klasse(wert));
+
+        if (wert > maximum.get()) {
+            maximum.accumulateAndGet(wert, Math::max);
+        }
+    }
+
+    private AtomicLongArray eigenerStreifen() {
+        int index = (int) Thread.currentThread().threadId() & (STREIFEN - 1);
+        AtomicLongArray zaehler = streifen.get(index);
+
+        if (zaehler == null) {
+            streifen.compareAndSet(index, null, new AtomicLongArray(KLASSEN));
+            zaehler = streifen.get(index);
+        }
+
+        return zaehler;
+    }
+
+    /**
+     * Gibt den Wert zurück, unter dem der angegebene Anteil aller Werte liegt.
+     *
+     * @param prozent Perzentil zwischen 0 und 100
+     * @return obere Grenze der Klasse, in die das Perzentil fällt (höchstens das Maximum);
+     *         0, wenn noch nichts erfasst wurde
+     */
+    public long perzentil(double prozent) {
+        long[] summiert = summiere();
+        long rang = Math.max(1, (long) Math.ceil(anzahl(summiert) * prozent / 100));
+        long kumuliert = 0;
+
+        for (int i = 0; i < KLASSEN; i++) {
+            kumuliert += summiert[i];
+
+            if (kumuliert >= rang) {
+                return Math.min(obereGrenze(i), maximum.get());
+            }
+        }
+
+        return maximum.get();
+    }
+
+    /**
+     * Gibt die Anzahl der erfassten Werte zurück.
+     *
+     * @return Anzahl der Werte
+     */
+    public long getAnzahl() {
+        return anzahl(summiere());
+    }
+
+    /**
+     * Gibt den größten erfassten Wert zurück.
+     *
+     * @return Maximum in Nanosekunden oder 0
+     */
+    public long getMaximum() {
+        return maximum.get();
+    }
+
+    /**
+     * Gibt den Mittelwert aller erfassten Werte zurück. Er wird aus den Klassenmitten
+     * geschätzt und hat daher denselben relativen Fehler wie die Perzentile.
+     *
+     * @return Mittelwert in Nanosekunden oder 0
+     */
+    public double getMittelwert() {
+        long[] summiert = summiere();
+        long anzahl = anzahl(summiert);
+        double summe = 0;
+
+        for (int i = 0; i < KLASSEN; i++) {
+            summe += summiert[i] * ((double) untereGrenze(i) + obereGrenze(i)) / 2;
+        }
+
+        return anzahl == 0 ? 0 : Math.min(summe / anzahl, maximum.get());
+    }
+
+    /**
+     * Verwirft alle erfassten Werte. Gleichzeitige Erfassungen können dabei verloren gehen.
+     */
+    public void setzeZurueck() {
+        for (int i = 0; i < STREIFEN; i++) {
+            streifen.set(i, null);
+        }
+
+        maximum.set(0);
+    }
+
+    private long[] summiere() {
+        long[] summiert = new long[KLASSEN];
+
+        for (int s = 0; s < STREIFEN; s++) {
+            AtomicLongArray zaehler = streifen.get(s);
+
+            if (zaehler != null) {
+                for (int i = 0; i < KLASSEN; i++) {
+                    summiert[i] += zaehler.get(i);
+                }
+            }
+        }
+
+        return summiert;
+    }
+
+    private static long anzahl(long[] summiert) {
+        long anzahl = 0;
+
+        for (int i = 0; i < KLASSEN; i++) {
+            anzahl += summiert[i];
+        }
+
+        return anzahl;
+    }
+
+    private static int klasse(long wert) {
+        if (wert < UNTERKLASSEN) {
+            return (int) wert;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(wert);
+
+        if (exponent >= MAX_EXPONENT) {
+            return KLASSEN - 1;
+        }
+
+        int unterklasse = (int) (wert >>> (exponent - UNTERKLASSEN_BITS)) & (UNTERKLASSEN - 1);
+        return (exponent - UNTERKLASSEN_BITS + 1) * UNTERKLASSEN + unterklasse;
+    }
+
+    private static long untereGrenze(int klasse) {
+        return klasse == 0 ? 0 : obereGrenze(klasse - 1) + 1;
+    }
+
+    private static long obereGrenze(int klasse) {
+        if (klasse < UNTERKLASSEN) {
+            return klasse;
+        }
+
+        int exponent = klasse / UNTERKLASSEN + UNTERKLASSEN_BITS - 1;
+        long unterklasse = klasse % UNTERKLASSEN;
+        return ((UNTERKLASSEN + unterklasse + 1) << (exponent - UNTERKLASSEN_BITS)) - 1;
+    }
+}
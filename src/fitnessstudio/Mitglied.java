@@ -1,14 +1,22 @@
 package fitnessstudio;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Klasse zur Repräsentation eines Fitnessstudio-Mitglieds.
  * Ein Mitglied kann maximal {@value #MAX_AKTIVE_PLAENE} aktive Fitnesspläne gleichzeitig besitzen.
  * Gesperrte Mitglieder dürfen keine neuen Pläne erhalten.
+ * <p>
+ * Sperrstatus und Anzahl der belegten Planplätze liegen gemeinsam in einem
+ * Zustandswort, das per Compare-and-Set geändert wird. Dadurch werden beide
+ * Regeln auch bei gleichzeitigen Zuweisungen eingehalten, ohne das Mitglied zu sperren.
+ * <p>
+ * Stammdaten, Sperrstatus und aktive Pläne werden als unveränderlicher {@link Mitgliedsstand}
+ * veröffentlicht; jede Änderung ersetzt ihn per Compare-and-Set. Ältere Stände bleiben für
+ * gehaltene {@link StudioStand}s erreichbar.
  *
  * @author Evelyn Bukaev
  * @author Marvin Röhrig
@@ -21,11 +29,22 @@ public class Mitglied {
     /** Maximale Anzahl aktiver Fitnesspläne pro Mitglied. */
     public static final int MAX_AKTIVE_PLAENE = 3;
 
+    /** Bit im Zustandswort, das den Sperrstatus trägt. */
+    private static final int GESPERRT = 1 << 16;
+
+    /** Maske für die Anzahl belegter Planplätze im Zustandswort. */
+    private static final int PLAETZE = GESPERRT - 1;
+
+    private static final AtomicReferenceFieldUpdater<Mitglied, Mitgliedsstand> STAND =
+            AtomicReferenceFieldUpdater.newUpdater(Mitglied.class, Mitgliedsstand.class, "stand");
+
     private String mitgliedsnummer;
-    private String name;
-    private String adresse;
-    private boolean gesperrt;
-    private final List<Fitnessplan> aktivePlaene;
+    private final AtomicInteger zustand;
+    private volatile Mitgliedsstand stand;
+    private volatile Fitnessstudio fitnessstudio;
+    private volatile long registriertIn = Versionsverwaltung.KEINE;
+    private long[] gezaehlteGeraete = Bitmaske.LEER;
+    private volatile Mitgliedersuche.Eintrag sucheintrag;
 
     /**
      * Konstruktor für ein Mitglied.
@@ -49,10 +68,8 @@ public class Mitglied {
         }
         
         this.mitgliedsnummer = mitgliedsnummer.trim();
-        this.name = name.trim();
-        this.adresse = adresse;
-        this.gesperrt = false;
-        this.aktivePlaene = new ArrayList<>();
+        this.zustand = new AtomicInteger();
+        this.stand = new Mitgliedsstand(this.mitgliedsnummer, name.trim(), adresse, false, List.of(), 0, null);
     }
 
     /**
@@ -66,11 +83,14 @@ public class Mitglied {
 
     /**
      * Setzt die Mitgliedsnummer.
+     * Hinweis: Das Fitnessstudio indiziert Mitglieder über ihre Nummer; die Nummer
+     * eines bereits angelegten Mitglieds sollte daher nicht mehr geändert werden.
      * 
      * @param mitgliedsnummer Die neue Mitgliedsnummer
      */
     public void setMitgliedsnummer(String mitgliedsnummer) {
         this.mitgliedsnummer = mitgliedsnummer;
+        aendereStand((alt, version) -> alt.mitNummer(mitgliedsnummer, version));
     }
 
     /**
@@ -79,7 +99,7 @@ public class Mitglied {
      * @return Der Name
      */
     public String getName() {
-        return name;
+        return stand.getName();
     }
 
     /**
@@ -88,7 +108,7 @@ public class Mitglied {
      * @param name Der neue Name
      */
     public void setName(String name) {
-        this.name = name;
+        aendereName(name);
     }
 
     /**
@@ -97,7 +117,7 @@ public class Mitglied {
      * @return Die Adresse
      */
     public String getAdresse() {
-        return adresse;
+        return stand.getAdresse();
     }
 
     /**
@@ -106,7 +126,49 @@ public class Mitglied {
      * @param adresse Die neue Adresse
      */
     public void setAdresse(String adresse) {
-        this.adresse = adresse;
+        aendereAdresse(adresse);
+    }
+
+    /**
+     * Ändert den Namen. Gehört das Mitglied zu einem Studio, werden dessen Beobachter vorher
+     * unter der Sperre des Mitglieds benachrichtigt, damit Protokolle gleichzeitige Änderungen
+     * in der Reihenfolge der Stände sehen.
+     */
+    private void aendereName(String name) {
+        Fitnessstudio studio = fitnessstudio;
+
+        if (studio == null) {
+            aendereStand((alt, version) -> alt.mitName(name, version));
+            return;
+        }
+
+        synchronized (zustand) {
+            studio.nameWirdGeaendert(this, name);
+            aendereStand((alt, version) -> alt.mitName(name, version));
+        }
+
+        studio.stammdatenGeaendert(this);
+        studio.aenderungAbgeschlossen();
+    }
+
+    /**
+     * Ändert die Adresse wie {@link #aendereName(String)} den Namen.
+     */
+    private void aendereAdresse(String adresse) {
+        Fitnessstudio studio = fitnessstudio;
+
+        if (studio == null) {
+            aendereStand((alt, version) -> alt.mitAdresse(adresse, version));
+            return;
+        }
+
+        synchronized (zustand) {
+            studio.adresseWirdGeaendert(this, adresse);
+            aendereStand((alt, version) -> alt.mitAdresse(adresse, version));
+        }
+
+        studio.stammdatenGeaendert(this);
+        studio.aenderungAbgeschlossen();
     }
 
     /**
@@ -115,7 +177,7 @@ public class Mitglied {
      * @return true, wenn gesperrt, sonst false
      */
     public boolean isGesperrt() {
-        return gesperrt;
+        return (zustand.get() & GESPERRT) != 0;
     }
 
     /**
@@ -124,48 +186,295 @@ public class Mitglied {
      * @param gesperrt Der neue Sperrstatus
      */
     public void setGesperrt(boolean gesperrt) {
-        this.gesperrt = gesperrt;
+        Fitnessstudio studio = fitnessstudio;
+
+        if (studio == null) {
+            aendereSperrstatus(gesperrt);
+            return;
+        }
+
+        Studiometriken metriken = studio.getMetriken();
+        long start = metriken.beginne();
+
+        try {
+            aendereSperrstatus(gesperrt);
+            // Außerhalb der Sperre, damit z. B. ein Journal nicht unter ihr auf den Datenträger wartet
+            studio.aenderungAbgeschlossen();
+        } finally {
+            metriken.beende(StudioOperation.MITGLIED_SPERRSTATUS, start);
+        }
+    }
+
+    private void aendereSperrstatus(boolean gesperrt) {
+        // Sperränderungen sind selten; die Sperre hält nur die Reihenfolge der Benachrichtigungen
+        // stabil, Planzuweisungen laufen weiterhin ohne Sperre
+        synchronized (zustand) {
+            int alt = zustand.getAndUpdate(z -> gesperrt ? z | GESPERRT : z & ~GESPERRT);
+
+            if (((alt & GESPERRT) != 0) == gesperrt) {
+                return;
+            }
+
+            aendereStand((vorher, version) -> vorher.mitSperre(gesperrt, version));
+            Fitnessstudio studio = fitnessstudio;
+
+            if (studio != null) {
+                studio.sperrstatusGeaendert(this, gesperrt);
+            }
+        }
     }
 
     /**
      * Gibt eine unveränderliche Liste der aktiven Fitnesspläne zurück.
+     * Die Liste ist eine Momentaufnahme: Jede Zuweisung ersetzt sie durch eine neue,
+     * sodass sie ohne Kopie herausgegeben werden kann.
      *
      * @return unveränderliche Liste der aktiven Pläne
      */
     public List<Fitnessplan> getAktivePlaene() {
-        return Collections.unmodifiableList(new ArrayList<>(aktivePlaene));
+        return stand.getAktivePlaene();
     }
 
     /**
      * Fügt einen Fitnessplan zu den aktiven Plänen hinzu.
      * Validiert dabei: Mitglied darf nicht gesperrt sein, maximal {@value #MAX_AKTIVE_PLAENE} aktive Pläne.
+     * Gehört das Mitglied zu einem Studio, läuft die Zuweisung wie
+     * {@link Fitnessstudio#weisePlanZu(Mitglied, Fitnessplan)}: Der Plan muss dort registriert sein,
+     * und die Beobachter (z. B. ein {@link Journal}) erfahren davon, bevor sie sichtbar wird.
      *
      * @param plan Der hinzuzufügende Fitnessplan (null wird ignoriert, Rückgabe false)
      * @return true, wenn erfolgreich hinzugefügt, sonst false bei null
      * @throws IllegalStateException wenn das Mitglied gesperrt ist oder bereits {@value #MAX_AKTIVE_PLAENE} aktive Pläne hat
+     * @throws IllegalArgumentException wenn das Mitglied zu einem Studio gehört, der Plan aber nicht
      */
     public boolean addFitnessplan(Fitnessplan plan) throws IllegalStateException {
         if (plan == null) {
             return false;
         }
 
-        // Prüfe, ob Mitglied gesperrt ist
-        if (gesperrt) {
-            throw new IllegalStateException("Fehler: Das Mitglied " + name + " (Nr. " + mitgliedsnummer + 
-                    ") ist gesperrt und kann keine neuen Fitnesspläne erhalten.");
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+
+        if (!versuchePlanHinzuzufuegen(plan, ergebnis)) {
+            throw ergebnis.alsAusnahme();
         }
 
-        // Prüfe, ob bereits die maximale Anzahl aktiver Pläne vorhanden ist
-        if (aktivePlaene.size() >= MAX_AKTIVE_PLAENE) {
-            throw new IllegalStateException("Fehler: Das Mitglied " + name + " (Nr. " + mitgliedsnummer +
-                    ") hat bereits " + MAX_AKTIVE_PLAENE + " aktive Fitnesspläne. Ein weiterer Plan kann nicht zugewiesen werden.");
+        return true;
+    }
+
+    /**
+     * Fügt einen Fitnessplan wie {@link #addFitnessplan(Fitnessplan)} hinzu, meldet eine
+     * Ablehnung aber über das Ergebnis statt über eine Ausnahme.
+     *
+     * @param plan     Der hinzuzufügende Fitnessplan
+     * @param ergebnis Nimmt bei einer Ablehnung Fehlercode und Mitgliedsnummer auf (darf nicht null sein)
+     * @return true, wenn der Plan hinzugefügt wurde
+     * @throws IllegalArgumentException falls ergebnis null ist
+     */
+    public boolean versuchePlanHinzuzufuegen(Fitnessplan plan, Validierungsergebnis ergebnis) {
+        if (ergebnis == null) {
+            throw new IllegalArgumentException("Das Ergebnisobjekt darf nicht null sein.");
         }
 
-        aktivePlaene.add(plan);
+        ergebnis.zuruecksetzen();
+        Fitnessstudio studio = fitnessstudio;
+
+        if (studio == null) {
+            return fuegePlanHinzu(plan, ergebnis);
+        }
+
+        Studiometriken metriken = studio.getMetriken();
+        long start = metriken.beginne();
+
+        try {
+            boolean hinzugefuegt = studio.pruefeUndWeisePlanZu(this, plan, ergebnis);
+
+            if (!hinzugefuegt) {
+                metriken.fehlgeschlagen(StudioOperation.MITGLIED_PLAN_HINZUFUEGEN, start, ergebnis.getFehlercode());
+            }
+
+            return hinzugefuegt;
+        } finally {
+            metriken.beende(StudioOperation.MITGLIED_PLAN_HINZUFUEGEN, start);
+        }
+    }
+
+    /**
+     * Fügt einem Mitglied ohne Studio einen Fitnessplan hinzu. Gehört es zu einem Studio,
+     * reserviert und belegt {@link Fitnessstudio#weisePlanZu(Mitglied, Fitnessplan)} den Platz
+     * in getrennten Schritten, um dazwischen die Beobachter zu benachrichtigen.
+     */
+    boolean fuegePlanHinzu(Fitnessplan plan, Validierungsergebnis ergebnis) {
+        if (plan == null) {
+            return ergebnis.fehler(Fehlercode.PLAN_NULL, null, null);
+        }
+
+        if (!reservierePlanplatz(ergebnis)) {
+            return false;
+        }
+
+        haengePlanAn(plan);
+
+        return true;
+    }
+
+    /**
+     * Reserviert einen Planplatz, ohne einen Plan anzuhängen. Der Platz zählt sofort gegen
+     * die Obergrenze und wird mit {@link #haengePlanAn(Fitnessplan)} belegt oder mit
+     * {@link #gibPlanplatzFrei()} zurückgegeben.
+     *
+     * @param ergebnis Nimmt bei einer Ablehnung Fehlercode und Mitgliedsnummer auf
+     * @return true, wenn ein Platz reserviert wurde
+     */
+    boolean reservierePlanplatz(Validierungsergebnis ergebnis) {
+        // Sperre und Obergrenze werden im selben CAS geprüft
+        int alt;
+
+        do {
+            alt = zustand.get();
+
+            // Prüfe, ob Mitglied gesperrt ist
+            if ((alt & GESPERRT) != 0) {
+                return ergebnis.fehler(Fehlercode.MITGLIED_GESPERRT, mitgliedsnummer, getName());
+            }
+
+            // Prüfe, ob bereits die maximale Anzahl aktiver Pläne vorhanden ist
+            if ((alt & PLAETZE) >= MAX_AKTIVE_PLAENE) {
+                return ergebnis.fehler(Fehlercode.PLANGRENZE_ERREICHT, mitgliedsnummer, getName());
+            }
+        } while (!zustand.compareAndSet(alt, alt + 1));
 
         return true;
     }
 
+    /**
+     * Gibt einen mit {@link #reservierePlanplatz(Validierungsergebnis)} reservierten, noch nicht
+     * belegten Planplatz zurück.
+     */
+    void gibPlanplatzFrei() {
+        zustand.decrementAndGet();
+    }
+
+    /**
+     * Stellt eine bereits protokollierte Planzuweisung wieder her (z. B. beim Abspielen
+     * eines {@link Journal}s). Der Sperrstatus wird dabei nicht geprüft, da die Zuweisung
+     * bereits vor einer späteren Sperre erfolgt sein kann.
+     *
+     * @param plan Der zuzuweisende Plan
+     * @throws IllegalStateException wenn bereits {@value #MAX_AKTIVE_PLAENE} aktive Pläne vorhanden sind
+     */
+    void stellePlanWiederHer(Fitnessplan plan) {
+        int alt;
+
+        do {
+            alt = zustand.get();
+
+            if ((alt & PLAETZE) >= MAX_AKTIVE_PLAENE) {
+                throw new IllegalStateException("Fehler: Das Mitglied " + getName() + " (Nr. " + mitgliedsnummer +
+                        ") hat bereits " + MAX_AKTIVE_PLAENE + " aktive Fitnesspläne.");
+            }
+        } while (!zustand.compareAndSet(alt, alt + 1));
+
+        haengePlanAn(plan);
+    }
+
+    /**
+     * Gibt die Geräte zurück, die die {@link Geraetenachfrage} für dieses Mitglied bereits zählt.
+     * Nur unter der Sperre des Mitglieds zu verwenden.
+     *
+     * @return Bitmaske über dem Geräteindex des Studios
+     */
+    long[] getGezaehlteGeraete() {
+        return gezaehlteGeraete;
+    }
+
+    void setGezaehlteGeraete(long[] gezaehlteGeraete) {
+        this.gezaehlteGeraete = gezaehlteGeraete;
+    }
+
+    /**
+     * Gibt zurück, unter welchen Begriffen die {@link Mitgliedersuche} das Mitglied zuletzt
+     * eingetragen hat. Geändert wird der Eintrag nur unter der Sperre des Mitglieds.
+     *
+     * @return Der Eintrag oder null, solange das Mitglied nicht eingetragen ist
+     */
+    Mitgliedersuche.Eintrag getSucheintrag() {
+        return sucheintrag;
+    }
+
+    void setSucheintrag(Mitgliedersuche.Eintrag sucheintrag) {
+        this.sucheintrag = sucheintrag;
+    }
+
+    /**
+     * Gibt den aktuellen Stand zurück.
+     *
+     * @return Der jüngste veröffentlichte Stand
+     */
+    Mitgliedsstand getStand() {
+        return stand;
+    }
+
+    /**
+     * Gibt die Version zurück, in der das Mitglied registriert wurde.
+     *
+     * @return Die Version oder {@link Versionsverwaltung#KEINE}, solange es keinem Studio gehört
+     */
+    long getRegistriertIn() {
+        return registriertIn;
+    }
+
+    void setRegistriertIn(long registriertIn) {
+        this.registriertIn = registriertIn;
+    }
+
+    /**
+     * Belegt einen reservierten Planplatz und veröffentlicht den Plan.
+     */
+    void haengePlanAn(Fitnessplan plan) {
+        aendereStand((alt, version) -> alt.mitPlan(plan, version));
+        Fitnessstudio studio = fitnessstudio;
+
+        if (studio != null) {
+            studio.planAngehaengt(this, plan);
+        }
+    }
+
+    /**
+     * Veröffentlicht einen neuen Stand. Gehört das Mitglied zu einem Studio, geschieht das
+     * unter dessen {@link Versionsverwaltung}, und nicht mehr gehaltene Stände werden gelöst.
+     */
+    private void aendereStand(Aenderung aenderung) {
+        Fitnessstudio studio = fitnessstudio;
+        Versionsverwaltung versionen = studio == null ? null : studio.getVersionen();
+        long stempel = versionen == null ? 0 : versionen.beginneAenderung();
+
+        try {
+            long version = versionen == null ? 0 : versionen.getSchreibversion();
+            Mitgliedsstand alt;
+            Mitgliedsstand neu;
+
+            do {
+                alt = stand;
+                neu = aenderung.wende(alt, version);
+            } while (!STAND.compareAndSet(this, alt, neu));
+
+            neu.kuerze(versionen == null ? Versionsverwaltung.KEINE_GEHALTEN : versionen.getGehaltene());
+        } finally {
+            if (versionen != null) {
+                versionen.beendeAenderung(stempel);
+            }
+        }
+    }
+
+    /**
+     * Ordnet das Mitglied dem Fitnessstudio zu, in dem es angelegt wurde.
+     *
+     * @param fitnessstudio Das Fitnessstudio
+     */
+    void setFitnessstudio(Fitnessstudio fitnessstudio) {
+        this.fitnessstudio = fitnessstudio;
+    }
+
     /**
      * Prüft Gleichheit anhand der Mitgliedsnummer.
      *
@@ -186,6 +495,16 @@ public class Mitglied {
         return Objects.equals(mitgliedsnummer, other.mitgliedsnummer);
     }
 
+    /**
+     * Berechnet den Hashcode passend zu {@link #equals(Object)} anhand der Mitgliedsnummer.
+     *
+     * @return Hashcode der Mitgliedsnummer
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(mitgliedsnummer);
+    }
+
     /**
      * Gibt eine String-Repräsentation des Mitglieds zurück.
      *
@@ -193,7 +512,16 @@ public class Mitglied {
      */
     @Override
     public String toString() {
-        return "Mitglied [Nr: " + mitgliedsnummer + ", Name: " + name + ", Adresse: " + adresse +
-                ", Gesperrt: " + gesperrt + ", Aktive Pläne: " + aktivePlaene.size() + "]";
+        Mitgliedsstand aktuell = stand;
+        return "Mitglied [Nr: " + mitgliedsnummer + ", Name: " + aktuell.getName() + ", Adresse: " + aktuell.getAdresse() +
+                ", Gesperrt: " + isGesperrt() + ", Aktive Pläne: " + aktuell.getAktivePlaene().size() + "]";
+    }
+
+    /**
+     * Leitet aus einem Stand den nächsten mit der übergebenen Version ab.
+     */
+    @FunctionalInterface
+    private interface Aenderung {
+        Mitgliedsstand wende(Mitgliedsstand alt, long version);
     }
 }
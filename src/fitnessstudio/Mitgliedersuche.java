@@ -0,0 +1,936 @@
+package fitnessstudio;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Suchindex über Namen und Adressen der Mitglieder eines {@link Fitnessstudio}s (siehe
+ * {@link Fitnessstudio#sucheMitglieder(String, int)}).
+ * <p>
+ * Namen und Adressen werden in Begriffe zerlegt und gefaltet: Groß- und Kleinschreibung
+ * spielt keine Rolle, ä/ae, ö/oe und ü/ue werden zu a, o und u, ß zu ss, andere
+ * diakritische Zeichen entfallen. "Muller", "Mueller" und "Müller" ergeben daher denselben
+ * Begriff. Je Feld liegen die Begriffe in einem Präfixbaum, dessen Knoten die Mitglieder mit
+ * genau diesem Begriff in Anlagereihenfolge führen und zählen, wie viele Einträge darunter
+ * liegen. Ein Präfix findet so seinen Knoten in wenigen Schritten, und die ersten Treffer
+ * darunter stehen fest, ohne die übrigen anzusehen. Suchwörter ab {@link #TIPPFEHLER_AB}
+ * Zeichen dürfen einen Tippfehler enthalten (ein Zeichen zu viel, zu wenig, falsch oder mit
+ * dem Nachbarn vertauscht); solche Treffer findet ein Lauf durch den Baum, der Zweige
+ * verlässt, sobald sie mehr als einen Fehler erfordern.
+ * <p>
+ * Jedes Mitglied verweist auf die Knoten seiner Begriffe. Weitere Wörter einer Anfrage
+ * werden daran geprüft, ohne Name und Adresse erneut zu zerlegen, und eine Änderung trägt
+ * das Mitglied nur unter hinzugekommenen Begriffen ein und unter weggefallenen aus.
+ * Schreibende sperren das Mitglied sowie die Knoten, die sie ändern, Suchende halten keine
+ * Sperre. Eine Suche, die gleichzeitig mit einer Änderung läuft, kann das Mitglied noch unter
+ * dem alten Namen finden.
+ * <p>
+ * Der Index entsteht erst mit der ersten Suche in einem Durchlauf über alle bis dahin
+ * registrierten Mitglieder. Bis dahin kostet eine Registrierung, etwa beim Laden einer
+ * {@link SnapshotDatei}, keine Arbeit am Index; danach trägt sie das Mitglied selbst ein.
+ * Der Aufbau sammelt zuerst die Plätze je Begriff und legt dann jeden Begriff nur einmal im
+ * Baum an, statt für jedes Mitglied alle seine Begriffe einzeln durch den Baum zu führen.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+final class Mitgliedersuche {
+    /** Suchwörter ab dieser Länge (nach dem Falten) dürfen einen Tippfehler enthalten. */
+    static final int TIPPFEHLER_AB = 4;
+
+    private final Knoten namen;
+    private final Knoten adressen;
+    private final Anhaengeliste<Mitglied> mitglieder;
+    private volatile boolean aufbauBegonnen;
+    private volatile boolean aufgebaut;
+
+    /**
+     * Erzeugt einen leeren Index über den Mitgliedern eines Studios.
+     *
+     * @param mitglieder Die Mitglieder in Anlagereihenfolge; ihre Position dient als Platz im Index
+     */
+    Mitgliedersuche(Anhaengeliste<Mitglied> mitglieder) {
+        this.namen = new Knoten('\0');
+        this.adressen = new Knoten('\0');
+        this.mitglieder = mitglieder;
+    }
+
+    /**
+     * Trägt ein neu registriertes Mitglied mit seinem aktuellen Namen und seiner aktuellen
+     * Adresse ein, sobald der Index aufgebaut wird oder ist. Muss nach dem Anhängen an die
+     * Anlagereihenfolge aufgerufen werden: Entweder sieht der Aufbau das Mitglied dort, oder
+     * das Mitglied sieht hier den begonnenen Aufbau.
+     *
+     * @param mitglied Das Mitglied
+     * @param platz    Seine Position in der Anlagereihenfolge
+     */
+    void indiziere(Mitglied mitglied, int platz) {
+        if (!aufbauBegonnen) {
+            return;
+        }
+
+        warteAufAufbau();
+
+        synchronized (mitglied) {
+            trageEin(mitglied, platz, mitglied.getSucheintrag());
+        }
+    }
+
+    /**
+     * Bringt die Einträge eines Mitglieds auf seinen aktuellen Namen und seine aktuelle
+     * Adresse. Läuft wie {@link #indiziere(Mitglied, int)} unter der Sperre des Mitglieds,
+     * damit gleichzeitige Änderungen am selben Mitglied in der Reihenfolge ihrer Stände
+     * ankommen. Ist das Mitglied noch nicht eingetragen, übernimmt das die Registrierung bzw.
+     * der Aufbau.
+     *
+     * @param mitglied Das Mitglied
+     */
+    void aktualisiere(Mitglied mitglied) {
+        if (!aufbauBegonnen) {
+            return;
+        }
+
+        warteAufAufbau();
+
+        synchronized (mitglied) {
+            Eintrag alt = mitglied.getSucheintrag();
+
+            if (alt != null) {
+                trageEin(mitglied, alt.platz, alt);
+            }
+        }
+    }
+
+    /**
+     * Wartet, bis ein begonnener Aufbau fertig ist. Der Aufbau liest die Stände ohne die
+     * Sperren der Mitglieder; eine Änderung, die er nicht mehr gesehen hat, wird danach
+     * nachgetragen.
+     */
+    private void warteAufAufbau() {
+        if (!aufgebaut) {
+            synchronized (this) {
+                // Der Aufbau hält die Sperre, bis er fertig ist
+            }
+        }
+    }
+
+    /**
+     * Baut den Index beim ersten Aufruf über alle registrierten Mitglieder auf. Gleichzeitig
+     * Suchende warten, bis er vollständig ist; später Registrierte trägt
+     * {@link #indiziere(Mitglied, int)} ein.
+     */
+    private void baueAuf() {
+        if (aufgebaut) {
+            return;
+        }
+
+        synchronized (this) {
+            if (aufgebaut) {
+                return;
+            }
+
+            aufbauBegonnen = true;
+            List<Mitglied> alle = mitglieder.ansicht();
+            Map<String, Gruppe> namensgruppen = new HashMap<>();
+            Map<String, Gruppe> adressgruppen = new HashMap<>();
+            int[] anfang = new int[alle.size() + 1];
+            int[] namensbegriffe = new int[alle.size()];
+            Gruppe[] folge = new Gruppe[Math.max(16, alle.size() * 8)];
+            int belegt = 0;
+
+            // Plätze je Begriff sammeln; sie entstehen dabei aufsteigend
+            for (int platz = 0; platz < alle.size(); platz++) {
+                Mitgliedsstand stand = alle.get(platz).getStand();
+                List<String> namen = begriffe(stand.getName());
+                List<String> adressen = begriffe(stand.getAdresse());
+
+                if (belegt + namen.size() + adressen.size() > folge.length) {
+                    folge = Arrays.copyOf(folge, Math.max(folge.length * 2, belegt + namen.size() + adressen.size()));
+                }
+
+                anfang[platz] = belegt;
+                namensbegriffe[platz] = namen.size();
+
+                for (String begriff : namen) {
+                    folge[belegt++] = namensgruppen.computeIfAbsent(begriff, b -> new Gruppe()).nimm(platz);
+                }
+
+                for (String begriff : adressen) {
+                    folge[belegt++] = adressgruppen.computeIfAbsent(begriff, b -> new Gruppe()).nimm(platz);
+                }
+            }
+
+            anfang[alle.size()] = belegt;
+            this.namen.uebernimm(namensgruppen);
+            this.adressen.uebernimm(adressgruppen);
+
+            for (int platz = 0; platz < alle.size(); platz++) {
+                Knoten[] knoten = new Knoten[anfang[platz + 1] - anfang[platz]];
+
+                for (int i = 0; i < knoten.length; i++) {
+                    knoten[i] = folge[anfang[platz] + i].knoten;
+                }
+
+                alle.get(platz).setSucheintrag(new Eintrag(platz, knoten, namensbegriffe[platz]));
+            }
+
+            aufgebaut = true;
+        }
+    }
+
+    private void trageEin(Mitglied mitglied, int platz, Eintrag alt) {
+        Mitgliedsstand stand = mitglied.getStand();
+        List<String> namensbegriffe = begriffe(stand.getName());
+        List<String> adressbegriffe = begriffe(stand.getAdresse());
+        Knoten[] knoten = new Knoten[namensbegriffe.size() + adressbegriffe.size()];
+
+        // Erst eintragen, dann austragen: Gleichzeitig Suchende finden das Mitglied durchgehend
+        for (int i = 0; i < namensbegriffe.size(); i++) {
+            knoten[i] = namen.fuegeHinzu(namensbegriffe.get(i), platz);
+        }
+
+        for (int i = 0; i < adressbegriffe.size(); i++) {
+            knoten[namensbegriffe.size() + i] = adressen.fuegeHinzu(adressbegriffe.get(i), platz);
+        }
+
+        if (alt != null) {
+            for (int i = 0; i < alt.begriffe.length; i++) {
+                if (!enthaelt(knoten, alt.begriffe[i])) {
+                    (i < alt.namensbegriffe ? namen : adressen).entferne(alt.begriffe[i].begriff, platz);
+                }
+            }
+        }
+
+        mitglied.setSucheintrag(new Eintrag(platz, knoten, namensbegriffe.size()));
+    }
+
+    /**
+     * Sucht Mitglieder, deren Name oder Adresse alle Wörter der Anfrage als Präfix eines
+     * Begriffs enthält, ab {@link #TIPPFEHLER_AB} Zeichen auch mit einem Tippfehler. Die erste
+     * Suche baut den Index auf.
+     * <p>
+     * Die Treffer folgen dem Leitwort, dem Wort der Anfrage mit den wenigsten möglichen
+     * Treffern: zuerst Mitglieder, deren Name es als ganzen Begriff enthält, dann als Präfix,
+     * danach ebenso für die Adresse und zuletzt Treffer mit Tippfehler. Innerhalb dieser
+     * Stufen entscheiden die Begriffe in alphabetischer Reihenfolge und dann die
+     * Anlagereihenfolge. Die übrigen Wörter werden nur an den Begriffen des Mitglieds geprüft.
+     *
+     * @param anfrage Die Anfrage (darf nicht null sein)
+     * @param anzahl  Die höchste Anzahl an Treffern (mindestens 0)
+     * @return unveränderliche Liste der Treffer, die beste zuerst
+     * @throws IllegalArgumentException falls anfrage null oder anzahl negativ ist
+     */
+    List<Mitglied> suche(String anfrage, int anzahl) {
+        if (anfrage == null) {
+            throw new IllegalArgumentException("Die Suchanfrage darf nicht null sein.");
+        }
+
+        if (anzahl < 0) {
+            throw new IllegalArgumentException("Die Anzahl darf nicht negativ sein.");
+        }
+
+        baueAuf();
+        List<Suchwort> woerter = new ArrayList<>();
+
+        for (String wort : begriffe(anfrage)) {
+            woerter.add(new Suchwort(wort));
+        }
+
+        if (woerter.isEmpty() || anzahl == 0) {
+            return List.of();
+        }
+
+        Suchwort leitwort = woerter.get(0);
+
+        if (woerter.size() > 1) {
+            for (Suchwort wort : woerter) {
+                // Ein Wort ohne mögliche Treffer schließt jedes Mitglied aus
+                if (wort.moeglicheTreffer() == 0) {
+                    return List.of();
+                }
+
+                if (wort.moeglicheTreffer() < leitwort.moeglicheTreffer()) {
+                    leitwort = wort;
+                }
+            }
+        }
+
+        List<Suchwort> weitere = new ArrayList<>(woerter);
+        weitere.remove(leitwort);
+        Sammlung sammlung = new Sammlung(anzahl, weitere);
+
+        if (sammleBegriff(leitwort.imNamen, sammlung) || sammleBegriff(leitwort.inAdresse, sammlung)
+                || !leitwort.erlaubtTippfehler()) {
+            return Collections.unmodifiableList(sammlung.treffer);
+        }
+
+        for (Knoten knoten : leitwort.aehnlicheImNamen()) {
+            if (sammleUnterbaum(knoten, leitwort.imNamen, sammlung)) {
+                return Collections.unmodifiableList(sammlung.treffer);
+            }
+        }
+
+        for (Knoten knoten : leitwort.aehnlicheInAdresse()) {
+            if (sammleUnterbaum(knoten, leitwort.inAdresse, sammlung)) {
+                break;
+            }
+        }
+
+        return Collections.unmodifiableList(sammlung.treffer);
+    }
+
+    /**
+     * Zerlegt einen Text in gefaltete Begriffe. Begriffe sind Folgen aus Buchstaben und
+     * Ziffern; jeder Begriff kommt höchstens einmal vor.
+     *
+     * @param text Der Text (null ergibt keine Begriffe)
+     * @return Die Begriffe in der Reihenfolge ihres ersten Auftretens
+     */
+    static List<String> begriffe(String text) {
+        List<String> begriffe = new ArrayList<>(4);
+
+        if (text == null) {
+            return begriffe;
+        }
+
+        StringBuilder begriff = new StringBuilder();
+
+        for (int i = 0; i <= text.length(); i++) {
+            char zeichen = i < text.length() ? grundzeichen(Character.toLowerCase(text.charAt(i))) : ' ';
+
+            if (Character.getType(zeichen) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+
+            if (!Character.isLetterOrDigit(zeichen)) {
+                String fertig = begriff.toString();
+
+                if (!fertig.isEmpty() && !begriffe.contains(fertig)) {
+                    begriffe.add(fertig);
+                }
+
+                begriff.setLength(0);
+                continue;
+            }
+
+            if (zeichen == 'ß') {
+                begriff.append("ss");
+            } else if (zeichen != 'e' || begriff.isEmpty() || "aou".indexOf(begriff.charAt(begriff.length() - 1)) < 0) {
+                begriff.append(zeichen);
+            }
+        }
+
+        return begriffe;
+    }
+
+    /**
+     * Gibt ein Zeichen ohne diakritische Zeichen zurück (é wird zu e). ß bleibt erhalten.
+     */
+    private static char grundzeichen(char zeichen) {
+        return switch (zeichen) {
+            case 'ä' -> 'a';
+            case 'ö' -> 'o';
+            case 'ü' -> 'u';
+            // Sonst in Grundbuchstabe und Akzent zerlegen; Zeichen ohne Zerlegung bleiben erhalten
+            default -> zeichen < 0x80 || zeichen == 'ß'
+                    ? zeichen
+                    : Normalizer.normalize(String.valueOf(zeichen), Normalizer.Form.NFD).charAt(0);
+        };
+    }
+
+    /**
+     * Prüft, ob ein Präfix des Begriffs höchstens einen Tippfehler vom Wort entfernt ist
+     * (eingeschränkte Damerau-Levenshtein-Distanz).
+     */
+    private static boolean aehnlicherPraefix(char[] wort, String begriff) {
+        int laenge = Math.min(begriff.length(), wort.length + 1);
+        int[] vorvorige = null;
+        int[] vorige = ersteZeile(wort);
+
+        for (int i = 1; i <= laenge; i++) {
+            int[] zeile = zeile(begriff.charAt(i - 1), i > 1 ? begriff.charAt(i - 2) : '\0', wort, vorvorige, vorige);
+
+            if (zeile[wort.length] <= 1) {
+                return true;
+            }
+
+            vorvorige = vorige;
+            vorige = zeile;
+        }
+
+        return false;
+    }
+
+    private static int[] ersteZeile(char[] wort) {
+        int[] zeile = new int[wort.length + 1];
+
+        for (int j = 0; j < zeile.length; j++) {
+            zeile[j] = j;
+        }
+
+        return zeile;
+    }
+
+    /**
+     * Berechnet die nächste Zeile der Distanzmatrix, wenn der Pfad um ein Zeichen wächst.
+     * Eintrag {@code j} ist die Distanz zwischen Pfad und den ersten {@code j} Zeichen des Worts.
+     */
+    private static int[] zeile(char zeichen, char vorher, char[] wort, int[] vorvorige, int[] vorige) {
+        int[] zeile = new int[wort.length + 1];
+        zeile[0] = vorige[0] + 1;
+
+        for (int j = 1; j <= wort.length; j++) {
+            int kosten = wort[j - 1] == zeichen ? 0 : 1;
+            int wert = Math.min(Math.min(vorige[j] + 1, zeile[j - 1] + 1), vorige[j - 1] + kosten);
+
+            if (vorvorige != null && j > 1 && wort[j - 1] == vorher && wort[j - 2] == zeichen) {
+                wert = Math.min(wert, vorvorige[j - 2] + 1);
+            }
+
+            zeile[j] = wert;
+        }
+
+        return zeile;
+    }
+
+    /**
+     * Sammelt die Knoten der Pfade, die höchstens einen Tippfehler vom Wort entfernt sind,
+     * in alphabetischer Reihenfolge. Unter einem gesammelten Knoten wird nicht weitergesucht;
+     * Zweige, deren Zeile nur Distanzen über eins enthält, können nicht mehr passen.
+     */
+    private static void sammleAehnliche(Knoten knoten, char vorher, char[] wort, int[] vorvorige, int[] vorige,
+                                        List<Knoten> aehnliche) {
+        for (Knoten kind : knoten.kinder) {
+            if (kind.unterbaum == 0) {
+                continue;
+            }
+
+            int[] zeile = zeile(kind.zeichen, vorher, wort, vorvorige, vorige);
+
+            if (zeile[wort.length] <= 1) {
+                aehnliche.add(kind);
+                continue;
+            }
+
+            int kleinste = Integer.MAX_VALUE;
+
+            for (int wert : zeile) {
+                kleinste = Math.min(kleinste, wert);
+            }
+
+            if (kleinste <= 1) {
+                sammleAehnliche(kind, kind.zeichen, wort, vorige, zeile, aehnliche);
+            }
+        }
+    }
+
+    private static int eintraege(Knoten knoten) {
+        return knoten == null ? 0 : knoten.unterbaum;
+    }
+
+    private static boolean enthaelt(Knoten[] alle, Knoten gesucht) {
+        for (Knoten knoten : alle) {
+            if (knoten == gesucht) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Sammelt die Mitglieder mit genau diesem Begriff und danach die mit längeren Begriffen
+     * darunter.
+     *
+     * @return true, sobald die Sammlung voll ist
+     */
+    private boolean sammleBegriff(Knoten knoten, Sammlung sammlung) {
+        if (knoten == null) {
+            return false;
+        }
+
+        if (sammlung.nimm(knoten.treffer)) {
+            return true;
+        }
+
+        for (Knoten kind : knoten.kinder) {
+            if (sammleUnterbaum(kind, null, sammlung)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Sammelt alle Mitglieder eines Teilbaums in alphabetischer Reihenfolge der Begriffe.
+     *
+     * @param ausgenommen Ein Knoten, dessen Teilbaum bereits gesammelt wurde, oder null
+     * @return true, sobald die Sammlung voll ist
+     */
+    private boolean sammleUnterbaum(Knoten knoten, Knoten ausgenommen, Sammlung sammlung) {
+        if (knoten == ausgenommen || knoten.unterbaum == 0) {
+            return false;
+        }
+
+        if (sammlung.nimm(knoten.treffer)) {
+            return true;
+        }
+
+        for (Knoten kind : knoten.kinder) {
+            if (sammleUnterbaum(kind, ausgenommen, sammlung)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Die beim Aufbau gesammelten Plätze eines Begriffs und danach sein Knoten.
+     */
+    private static final class Gruppe {
+        private int[] plaetze = new int[4];
+        private int anzahl;
+        private Knoten knoten;
+
+        Gruppe nimm(int platz) {
+            if (anzahl == plaetze.length) {
+                plaetze = Arrays.copyOf(plaetze, anzahl * 2);
+            }
+
+            plaetze[anzahl++] = platz;
+            return this;
+        }
+    }
+
+    /**
+     * Was der Index für ein Mitglied eingetragen hat: sein Platz in der Anlagereihenfolge und
+     * die Knoten seiner Begriffe, zuerst die des Namens.
+     */
+    static final class Eintrag {
+        private final int platz;
+        private final Knoten[] begriffe;
+        private final int namensbegriffe;
+
+        Eintrag(int platz, Knoten[] begriffe, int namensbegriffe) {
+            this.platz = platz;
+            this.begriffe = begriffe;
+            this.namensbegriffe = namensbegriffe;
+        }
+    }
+
+    /**
+     * Ein Wort der Anfrage mit seinen Knoten in beiden Bäumen. Die Knoten der ähnlichen Pfade
+     * werden erst bei Bedarf gesucht.
+     */
+    private final class Suchwort {
+        private final String text;
+        private final char[] zeichen;
+        private final Knoten imNamen;
+        private final Knoten inAdresse;
+        private List<Knoten> aehnlicheImNamen;
+        private List<Knoten> aehnlicheInAdresse;
+        private int moeglicheTreffer = -1;
+
+        Suchwort(String text) {
+            this.text = text;
+            this.zeichen = text.toCharArray();
+            this.imNamen = namen.finde(text);
+            this.inAdresse = adressen.finde(text);
+        }
+
+        boolean erlaubtTippfehler() {
+            return zeichen.length >= TIPPFEHLER_AB;
+        }
+
+        List<Knoten> aehnlicheImNamen() {
+            if (aehnlicheImNamen == null) {
+                aehnlicheImNamen = new ArrayList<>();
+                sammleAehnliche(namen, '\0', zeichen, null, ersteZeile(zeichen), aehnlicheImNamen);
+            }
+
+            return aehnlicheImNamen;
+        }
+
+        List<Knoten> aehnlicheInAdresse() {
+            if (aehnlicheInAdresse == null) {
+                aehnlicheInAdresse = new ArrayList<>();
+                sammleAehnliche(adressen, '\0', zeichen, null, ersteZeile(zeichen), aehnlicheInAdresse);
+            }
+
+            return aehnlicheInAdresse;
+        }
+
+        /**
+         * Zählt die Einträge, unter denen ein Treffer liegen kann. Mit Tippfehlern sind das die
+         * Teilbäume der ähnlichen Pfade; der Knoten des Worts selbst liegt unter dem seines
+         * Präfixes ohne das letzte Zeichen, der immer dazugehört.
+         */
+        int moeglicheTreffer() {
+            if (moeglicheTreffer < 0) {
+                int summe = 0;
+
+                if (erlaubtTippfehler()) {
+                    for (Knoten knoten : aehnlicheImNamen()) {
+                        summe += knoten.unterbaum;
+                    }
+
+                    for (Knoten knoten : aehnlicheInAdresse()) {
+                        summe += knoten.unterbaum;
+                    }
+                } else {
+                    summe = eintraege(imNamen) + eintraege(inAdresse);
+                }
+
+                moeglicheTreffer = summe;
+            }
+
+            return moeglicheTreffer;
+        }
+
+        /**
+         * Prüft, ob einer der Begriffe mit dem Wort beginnt oder, falls erlaubt, mit einem
+         * Tippfehler.
+         */
+        boolean passt(Knoten[] begriffe) {
+            for (Knoten knoten : begriffe) {
+                if (knoten.begriff.startsWith(text)) {
+                    return true;
+                }
+            }
+
+            if (erlaubtTippfehler()) {
+                for (Knoten knoten : begriffe) {
+                    if (aehnlicherPraefix(zeichen, knoten.begriff)) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Sammelt Treffer, bis die gewünschte Anzahl erreicht ist. Jedes Mitglied wird nur beim
+     * ersten Auftreten geprüft.
+     */
+    private final class Sammlung {
+        private final int anzahl;
+        private final List<Suchwort> weitere;
+        private final List<Mitglied> treffer;
+        private final Set<Mitglied> geprueft;
+        private List<Mitglied> nachPlatz;
+
+        Sammlung(int anzahl, List<Suchwort> weitere) {
+            this.anzahl = anzahl;
+            this.weitere = weitere;
+            this.treffer = new ArrayList<>(Math.min(anzahl, 64));
+            this.geprueft = Collections.newSetFromMap(new IdentityHashMap<>());
+            this.nachPlatz = mitglieder.ansicht();
+        }
+
+        /**
+         * @return true, sobald die Sammlung voll ist
+         */
+        boolean nimm(Treffer eintraege) {
+            for (int i = 0; i < eintraege.anzahl; i++) {
+                int platz = eintraege.plaetze[i];
+
+                // Einträge entstehen erst, nachdem das Mitglied angehängt ist
+                if (platz >= nachPlatz.size()) {
+                    nachPlatz = mitglieder.ansicht();
+                }
+
+                Mitglied mitglied = nachPlatz.get(platz);
+
+                if (geprueft.add(mitglied) && passt(mitglied)) {
+                    treffer.add(mitglied);
+
+                    if (treffer.size() == anzahl) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        private boolean passt(Mitglied mitglied) {
+            if (weitere.isEmpty()) {
+                return true;
+            }
+
+            Eintrag eintrag = mitglied.getSucheintrag();
+
+            // Das Mitglied wird gerade zum ersten Mal eingetragen
+            if (eintrag == null) {
+                return false;
+            }
+
+            for (Suchwort wort : weitere) {
+                if (!wort.passt(eintrag.begriffe)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Unveränderliche Sicht auf die Plätze der Mitglieder eines Begriffs, aufsteigend sortiert.
+     * Wie bei der {@link Anhaengeliste} teilen sich aufeinanderfolgende Sichten ihr Array,
+     * solange nur angehängt wird.
+     */
+    private static final class Treffer {
+        private static final Treffer KEINE = new Treffer(new int[0], 0);
+
+        private final int[] plaetze;
+        private final int anzahl;
+
+        Treffer(int[] plaetze, int anzahl) {
+            this.plaetze = plaetze;
+            this.anzahl = anzahl;
+        }
+    }
+
+    /**
+     * Knoten des Präfixbaums. Kinder sind nach Zeichen sortiert und werden wie die Einträge
+     * unter der Sperre des Knotens durch neue Arrays ersetzt. Den Begriff selbst kennt ein
+     * Knoten erst, sobald ein Mitglied darunter eingetragen wurde.
+     */
+    private static final class Knoten {
+        private static final Knoten[] KEINE_KINDER = new Knoten[0];
+        private static final AtomicIntegerFieldUpdater<Knoten> UNTERBAUM =
+                AtomicIntegerFieldUpdater.newUpdater(Knoten.class, "unterbaum");
+
+        private final char zeichen;
+        private volatile Knoten[] kinder;
+        private volatile Treffer treffer;
+        private volatile int unterbaum;
+        private volatile String begriff;
+        private int[] daten;
+
+        Knoten(char zeichen) {
+            this.zeichen = zeichen;
+            this.kinder = KEINE_KINDER;
+            this.treffer = Treffer.KEINE;
+        }
+
+        /**
+         * Gibt den Knoten eines Begriffs zurück.
+         *
+         * @return Der Knoten oder null, falls kein eingetragener Begriff so beginnt
+         */
+        Knoten finde(String gesucht) {
+            Knoten knoten = this;
+
+            for (int i = 0; i < gesucht.length() && knoten != null; i++) {
+                knoten = knoten.kind(gesucht.charAt(i));
+            }
+
+            return knoten;
+        }
+
+        /**
+         * Trägt einen Platz unter einem Begriff ein, falls er dort noch fehlt.
+         *
+         * @return Der Knoten des Begriffs
+         */
+        Knoten fuegeHinzu(String neu, int platz) {
+            Knoten[] pfad = new Knoten[neu.length() + 1];
+            pfad[0] = this;
+
+            for (int i = 0; i < neu.length(); i++) {
+                pfad[i + 1] = pfad[i].kindOderNeu(neu.charAt(i));
+            }
+
+            Knoten ziel = pfad[neu.length()];
+
+            if (ziel.nimmAuf(neu, platz)) {
+                for (Knoten knoten : pfad) {
+                    UNTERBAUM.incrementAndGet(knoten);
+                }
+            }
+
+            return ziel;
+        }
+
+        /**
+         * Legt die beim Aufbau gesammelten Begriffe in alphabetischer Reihenfolge an, jeden
+         * mit allen seinen Plätzen auf einmal. Nur für einen leeren Baum, den währenddessen
+         * niemand sonst ändert.
+         *
+         * @param gruppen Die Plätze je Begriff; nimmt den Knoten jedes Begriffs auf
+         */
+        void uebernimm(Map<String, Gruppe> gruppen) {
+            String[] begriffe = gruppen.keySet().toArray(new String[0]);
+            Arrays.sort(begriffe);
+
+            for (String neu : begriffe) {
+                Gruppe gruppe = gruppen.get(neu);
+                Knoten knoten = this;
+                UNTERBAUM.addAndGet(knoten, gruppe.anzahl);
+
+                for (int i = 0; i < neu.length(); i++) {
+                    knoten = knoten.kindOderNeu(neu.charAt(i));
+                    UNTERBAUM.addAndGet(knoten, gruppe.anzahl);
+                }
+
+                knoten.setzeTreffer(neu, gruppe.plaetze, gruppe.anzahl);
+                gruppe.knoten = knoten;
+            }
+        }
+
+        void entferne(String alt, int platz) {
+            Knoten[] pfad = new Knoten[alt.length() + 1];
+            pfad[0] = this;
+
+            for (int i = 0; i < alt.length(); i++) {
+                pfad[i + 1] = pfad[i].kind(alt.charAt(i));
+
+                if (pfad[i + 1] == null) {
+                    return;
+                }
+            }
+
+            if (pfad[alt.length()].gibAb(platz)) {
+                for (Knoten knoten : pfad) {
+                    UNTERBAUM.decrementAndGet(knoten);
+                }
+            }
+        }
+
+        private Knoten kind(char gesucht) {
+            Knoten[] alle = kinder;
+            int index = suche(alle, gesucht);
+            return index >= 0 ? alle[index] : null;
+        }
+
+        private Knoten kindOderNeu(char gesucht) {
+            Knoten vorhanden = kind(gesucht);
+
+            if (vorhanden != null) {
+                return vorhanden;
+            }
+
+            synchronized (this) {
+                Knoten[] alt = kinder;
+                int index = suche(alt, gesucht);
+
+                if (index >= 0) {
+                    return alt[index];
+                }
+
+                index = -index - 1;
+                Knoten neu = new Knoten(gesucht);
+                Knoten[] erweitert = new Knoten[alt.length + 1];
+                System.arraycopy(alt, 0, erweitert, 0, index);
+                erweitert[index] = neu;
+                System.arraycopy(alt, index, erweitert, index + 1, alt.length - index);
+                kinder = erweitert;
+                return neu;
+            }
+        }
+
+        private static int suche(Knoten[] alle, char gesucht) {
+            int unten = 0;
+            int oben = alle.length - 1;
+
+            while (unten <= oben) {
+                int mitte = (unten + oben) >>> 1;
+                char zeichen = alle[mitte].zeichen;
+
+                if (zeichen < gesucht) {
+                    unten = mitte + 1;
+                } else if (zeichen > gesucht) {
+                    oben = mitte - 1;
+                } else {
+                    return mitte;
+                }
+            }
+
+            return -(unten + 1);
+        }
+
+        /**
+         * Trägt einen Platz ein. Plätze werden in Anlagereihenfolge vergeben, daher genügt
+         * fast immer ein Anhängen; nur nach einer Umbenennung wird in ein neues Array einsortiert.
+         *
+         * @return true, wenn der Platz noch nicht eingetragen war
+         */
+        private synchronized boolean nimmAuf(String neu, int platz) {
+            int anzahl = treffer.anzahl;
+
+            if (begriff == null) {
+                begriff = neu;
+            }
+
+            if (anzahl == 0 || daten[anzahl - 1] < platz) {
+                if (daten == null || anzahl == daten.length) {
+                    daten = Arrays.copyOf(daten == null ? new int[0] : daten, Math.max(4, anzahl * 2));
+                }
+
+                daten[anzahl] = platz;
+                treffer = new Treffer(daten, anzahl + 1);
+                return true;
+            }
+
+            int index = Arrays.binarySearch(daten, 0, anzahl, platz);
+
+            if (index >= 0) {
+                return false;
+            }
+
+            index = -index - 1;
+            int[] erweitert = new int[Math.max(daten.length, anzahl + 1)];
+            System.arraycopy(daten, 0, erweitert, 0, index);
+            erweitert[index] = platz;
+            System.arraycopy(daten, index, erweitert, index + 1, anzahl - index);
+            daten = erweitert;
+            treffer = new Treffer(daten, anzahl + 1);
+            return true;
+        }
+
+        private synchronized void setzeTreffer(String neu, int[] plaetze, int anzahl) {
+            begriff = neu;
+            daten = plaetze;
+            treffer = new Treffer(plaetze, anzahl);
+        }
+
+        /**
+         * Trägt einen Platz aus. Bereits herausgegebene Sichten bleiben unverändert.
+         *
+         * @return true, wenn der Platz eingetragen war
+         */
+        private synchronized boolean gibAb(int platz) {
+            int anzahl = treffer.anzahl;
+            int index = anzahl == 0 ? -1 : Arrays.binarySearch(daten, 0, anzahl, platz);
+
+            if (index < 0) {
+                return false;
+            }
+
+            int[] verkleinert = new int[daten.length];
+            System.arraycopy(daten, 0, verkleinert, 0, index);
+            System.arraycopy(daten, index + 1, verkleinert, index, anzahl - index - 1);
+            daten = verkleinert;
+            treffer = new Treffer(daten, anzahl - 1);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package fitnessstudio;
+
+import java.util.List;
+
+/**
+ * Unveränderlicher Stand eines {@link Mitglied}s: Name, Adresse, Sperrstatus und aktive Pläne
+ * zu einer Version des Studios (siehe {@link StudioStand}). Jede Änderung am Mitglied
+ * veröffentlicht einen neuen Stand, der auf den vorherigen verweist, solange ein
+ * {@link StudioStand} diesen noch benötigt. Unveränderte Teile, etwa die Liste der aktiven
+ * Pläne bei einer Adressänderung, teilen sich aufeinanderfolgende Stände.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class Mitgliedsstand {
+    private final String mitgliedsnummer;
+    private final String name;
+    private final String adresse;
+    private final boolean gesperrt;
+    private final List<Fitnessplan> aktivePlaene;
+    private final long version;
+    private volatile Mitgliedsstand vorige;
+
+    Mitgliedsstand(String mitgliedsnummer, String name, String adresse, boolean gesperrt,
+                   List<Fitnessplan> aktivePlaene, long version, Mitgliedsstand vorige) {
+        this.mitgliedsnummer = mitgliedsnummer;
+        this.name = name;
+        this.adresse = adresse;
+        this.gesperrt = gesperrt;
+        this.aktivePlaene = aktivePlaene;
+        this.version = version;
+        this.vorige = vorige;
+    }
+
+    /**
+     * Gibt die Mitgliedsnummer zurück.
+     *
+     * @return Die Mitgliedsnummer
+     */
+    public String getMitgliedsnummer() {
+        return mitgliedsnummer;
+    }
+
+    /**
+     * Gibt den Namen zurück.
+     *
+     * @return Der Name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gibt die Adresse zurück.
+     *
+     * @return Die Adresse
+     */
+    public String getAdresse() {
+        return adresse;
+    }
+
+    /**
+     * Gibt zurück, ob das Mitglied gesperrt war.
+     *
+     * @return true, wenn gesperrt
+     */
+    public boolean isGesperrt() {
+        return gesperrt;
+    }
+
+    /**
+     * Gibt die aktiven Pläne zurück. Ihre Übungen zum selben Stand liefert
+     * {@link StudioStand#getPlanstand(Fitnessplan)}.
+     *
+     * @return unveränderliche Liste der aktiven Pläne
+     */
+    public List<Fitnessplan> getAktivePlaene() {
+        return aktivePlaene;
+    }
+
+    Mitgliedsstand mitNummer(String mitgliedsnummer, long version) {
+        return new Mitgliedsstand(mitgliedsnummer, name, adresse, gesperrt, aktivePlaene, version, this);
+    }
+
+    Mitgliedsstand mitName(String name, long version) {
+        return new Mitgliedsstand(mitgliedsnummer, name, adresse, gesperrt, aktivePlaene, version, this);
+    }
+
+    Mitgliedsstand mitAdresse(String adresse, long version) {
+        return new Mitgliedsstand(mitgliedsnummer, name, adresse, gesperrt, aktivePlaene, version, this);
+    }
+
+    Mitgliedsstand mitSperre(boolean gesperrt, long version) {
+        return new Mitgliedsstand(mitgliedsnummer, name, adresse, gesperrt, aktivePlaene, version, this);
+    }
+
+    Mitgliedsstand mitPlan(Fitnessplan plan, long version) {
+        Fitnessplan[] plaene = aktivePlaene.toArray(new Fitnessplan[aktivePlaene.size() + 1]);
+        plaene[aktivePlaene.size()] = plan;
+        return new Mitgliedsstand(mitgliedsnummer, name, adresse, gesperrt, List.of(plaene), version, this);
+    }
+
+    /**
+     * Gibt den jüngsten Stand zurück, der höchstens die übergebene Version trägt.
+     *
+     * @param version Eine gehaltene Version
+     * @return Der Stand zu dieser Version
+     */
+    Mitgliedsstand bei(long version) {
+        Mitgliedsstand stand = this;
+
+        while (stand.version > version) {
+            stand = stand.vorige;
+        }
+
+        return stand;
+    }
+
+    /**
+     * Löst die Stände, die keine gehaltene Version mehr benötigt: Auf diesen Stand folgt
+     * für jede gehaltene Version nur noch der jüngste Stand, der höchstens sie trägt.
+     * Übersprungene Stände verweisen weiterhin auf ältere, sodass gleichzeitig Lesende, die
+     * gerade auf einem von ihnen stehen, ihren Stand dennoch erreichen.
+     *
+     * @param gehalten Die gehaltenen Versionen absteigend sortiert
+     *                 (siehe {@link Versionsverwaltung#getGehaltene()})
+     */
+    void kuerze(long[] gehalten) {
+        Mitgliedsstand behalten = this;
+        Mitgliedsstand stand = this;
+
+        for (long version : gehalten) {
+            while (stand != null && stand.version > version) {
+                stand = stand.vorige;
+            }
+
+            if (stand == null) {
+                break;
+            }
+
+            if (stand != behalten) {
+                behalten.vorige = stand;
+                behalten = stand;
+            }
+        }
+
+        behalten.vorige = null;
+    }
+}
@@ -0,0 +1,137 @@
+package fitnessstudio;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrik einer {@link StudioOperation}: Latenzen aller Aufrufe in einem {@link Latenzhistogramm}
+ * und Fehler nach Ausnahmetyp in gestreiften Zählern ({@link LongAdder}).
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class Operationsmetrik implements OperationsmetrikMBean {
+    private final StudioOperation operation;
+    private final Latenzhistogramm latenzen;
+    private final LongAdder ungueltigeArgumente;
+    private final LongAdder ungueltigeZustaende;
+    private final LongAdder sonstigeFehler;
+
+    Operationsmetrik(StudioOperation operation) {
+        this.operation = operation;
+        this.latenzen = new Latenzhistogramm();
+        this.ungueltigeArgumente = new LongAdder();
+        this.ungueltigeZustaende = new LongAdder();
+        this.sonstigeFehler = new LongAdder();
+    }
+
+    void erfasse(long nanos) {
+        latenzen.erfasse(nanos);
+    }
+
+    void zaehleFehler(RuntimeException fehler) {
+        if (fehler instanceof IllegalArgumentException) {
+            ungueltigeArgumente.increment();
+        } else if (fehler instanceof IllegalStateException) {
+            ungueltigeZustaende.increment();
+        } else {
+            sonstigeFehler.increment();
+        }
+    }
+
+    void zaehleFehler(Fehlercode fehlercode) {
+        if (fehlercode.istZustandsfehler()) {
+            ungueltigeZustaende.increment();
+        } else {
+            ungueltigeArgumente.increment();
+        }
+    }
+
+    /**
+     * Gibt das Histogramm der Latenzen zurück.
+     *
+     * @return Das Histogramm (live)
+     */
+    public Latenzhistogramm getLatenzen() {
+        return latenzen;
+    }
+
+    @Override
+    public String getOperation() {
+        return operation.name();
+    }
+
+    @Override
+    public long getAufrufe() {
+        return latenzen.getAnzahl();
+    }
+
+    @Override
+    public long getUngueltigeArgumente() {
+        return ungueltigeArgumente.sum();
+    }
+
+    @Override
+    public long getUngueltigeZustaende() {
+        return ungueltigeZustaende.sum();
+    }
+
+    @Override
+    public long getSonstigeFehler() {
+        return sonstigeFehler.sum();
+    }
+
+    @Override
+    public double getMittelwertMikros() {
+        return latenzen.getMittelwert() / 1e3;
+    }
+
+    @Override
+    public double getMedianMikros() {
+        return latenzen.perzentil(50) / 1e3;
+    }
+
+    @Override
+    public double getP90Mikros() {
+        return latenzen.perzentil(90) / 1e3;
+    }
+
+    @Override
+    public double getP99Mikros() {
+        return latenzen.perzentil(99) / 1e3;
+    }
+
+    @Override
+    public double getP999Mikros() {
+        return latenzen.perzentil(99.9) / 1e3;
+    }
+
+    @Override
+    public double getMaximumMikros() {
+        return latenzen.getMaximum() / 1e3;
+    }
+
+    @Override
+    public void setzeZurueck() {
+        latenzen.setzeZurueck();
+        ungueltigeArgumente.reset();
+        ungueltigeZustaende.reset();
+        sonstigeFehler.reset();
+    }
+
+    /**
+     * Gibt eine String-Repräsentation der Metrik zurück.
+     *
+     * @return String mit Aufrufen, Fehlern und Perzentilen
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: %d Aufrufe, %d/%d/%d Fehler (Argument/Zustand/sonstige), "
+                + "p50 %.1f µs, p99 %.1f µs, max %.1f µs", operation, getAufrufe(), getUngueltigeArgumente(),
+                getUngueltigeZustaende(), getSonstigeFehler(), getMedianMikros(), getP99Mikros(), getMaximumMikros());
+    }
+}
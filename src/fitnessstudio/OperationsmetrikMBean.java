@@ -0,0 +1,74 @@
+package fitnessstudio;
+
+/**
+ * Verwaltungsschnittstelle einer {@link Operationsmetrik} für JMX. Latenzen werden in
+ * Mikrosekunden angegeben.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public interface OperationsmetrikMBean {
+    /**
+     * Gibt den Namen der Operation zurück.
+     *
+     * @return Name der {@link StudioOperation}
+     */
+    String getOperation();
+
+    /**
+     * Gibt die Anzahl aller Aufrufe zurück, einschließlich fehlgeschlagener.
+     *
+     * @return Anzahl der Aufrufe
+     */
+    long getAufrufe();
+
+    /**
+     * Gibt zurück, wie oft die Operation mit einer {@link IllegalArgumentException} endete oder
+     * mit einem entsprechenden {@link Fehlercode} abgelehnt wurde.
+     *
+     * @return Anzahl der Fehler
+     */
+    long getUngueltigeArgumente();
+
+    /**
+     * Gibt zurück, wie oft die Operation mit einer {@link IllegalStateException} endete oder
+     * mit einem entsprechenden {@link Fehlercode} abgelehnt wurde.
+     *
+     * @return Anzahl der Fehler
+     */
+    long getUngueltigeZustaende();
+
+    /**
+     * Gibt zurück, wie oft die Operation mit einer anderen Ausnahme endete.
+     *
+     * @return Anzahl der Fehler
+     */
+    long getSonstigeFehler();
+
+    /** @return mittlere Latenz in Mikrosekunden */
+    double getMittelwertMikros();
+
+    /** @return Median der Latenz in Mikrosekunden */
+    double getMedianMikros();
+
+    /** @return 90. Perzentil der Latenz in Mikrosekunden */
+    double getP90Mikros();
+
+    /** @return 99. Perzentil der Latenz in Mikrosekunden */
+    double getP99Mikros();
+
+    /** @return 99,9. Perzentil der Latenz in Mikrosekunden */
+    double getP999Mikros();
+
+    /** @return größte Latenz in Mikrosekunden */
+    double getMaximumMikros();
+
+    /**
+     * Setzt Zähler und Latenzen zurück.
+     */
+    void setzeZurueck();
+}
@@ -0,0 +1,102 @@
+package fitnessstudio;
+
+import java.util.List;
+
+/**
+ * Ergebnis der Anlage eines einzelnen Plans aus {@link Fitnessstudio#erstelleFitnessplaene(List)}.
+ * Enthält entweder den angelegten Fitnessplan oder den Grund der Ablehnung als
+ * {@link Validierungsergebnis}, mit denselben Fehlercodes und Meldungen wie
+ * {@link Fitnessstudio#versucheFitnessplanZuErstellen(String, List, Validierungsergebnis)}.
+ * Die Fehlermeldung wird erst beim Abruf zusammengesetzt.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class PlanAnlageErgebnis {
+    private final PlanEntwurf entwurf;
+    private final Fitnessplan plan;
+    private final Validierungsergebnis ablehnung;
+
+    private PlanAnlageErgebnis(PlanEntwurf entwurf, Fitnessplan plan, Validierungsergebnis ablehnung) {
+        this.entwurf = entwurf;
+        this.plan = plan;
+        this.ablehnung = ablehnung;
+    }
+
+    static PlanAnlageErgebnis erfolg(PlanEntwurf entwurf, Fitnessplan plan) {
+        return new PlanAnlageErgebnis(entwurf, plan, null);
+    }
+
+    static PlanAnlageErgebnis fehler(PlanEntwurf entwurf, Validierungsergebnis ablehnung) {
+        return new PlanAnlageErgebnis(entwurf, null, ablehnung);
+    }
+
+    /**
+     * Gibt den zugrunde liegenden Entwurf zurück.
+     *
+     * @return Der Planentwurf (kann null sein, wenn null übergeben wurde)
+     */
+    public PlanEntwurf getEntwurf() {
+        return entwurf;
+    }
+
+    /**
+     * Gibt zurück, ob der Plan angelegt wurde.
+     *
+     * @return true, wenn der Plan angelegt wurde, sonst false
+     */
+    public boolean istErfolgreich() {
+        return plan != null;
+    }
+
+    /**
+     * Gibt den angelegten Fitnessplan zurück.
+     *
+     * @return Der Fitnessplan oder null, falls der Entwurf abgelehnt wurde
+     */
+    public Fitnessplan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Gibt den Grund der Ablehnung zurück.
+     *
+     * @return Der Fehlercode oder null, falls der Plan angelegt wurde
+     */
+    public Fehlercode getFehlercode() {
+        return ablehnung == null ? null : ablehnung.getFehlercode();
+    }
+
+    /**
+     * Gibt die Geräte zurück, die im System fehlen oder außer Betrieb sind.
+     *
+     * @return unveränderliche Liste der fehlenden Geräte (leer, wenn keine fehlen)
+     */
+    public List<Geraet> getFehlendeGeraete() {
+        return ablehnung == null ? List.of() : ablehnung.getFehlendeGeraete();
+    }
+
+    /**
+     * Gibt die Fehlermeldung zurück.
+     *
+     * @return Die Fehlermeldung oder null, falls der Plan angelegt wurde
+     */
+    public String getFehlermeldung() {
+        return ablehnung == null ? null : ablehnung.getFehlermeldung();
+    }
+
+    /**
+     * Gibt eine String-Repräsentation des Ergebnisses zurück.
+     *
+     * @return String mit Ergebnisinformationen
+     */
+    @Override
+    public String toString() {
+        String name = entwurf == null ? null : entwurf.getName();
+        return istErfolgreich() ? "Angelegt: " + name : "Abgelehnt: " + name + " - " + getFehlermeldung();
+    }
+}
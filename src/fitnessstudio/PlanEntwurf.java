@@ -0,0 +1,51 @@
+package fitnessstudio;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Entwurf eines Fitnessplans für die Massenanlage über
+ * {@link Fitnessstudio#erstelleFitnessplaene(List)}.
+ * Ein Entwurf wird erst bei der Anlage validiert.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public class PlanEntwurf {
+    private final String name;
+    private final List<Uebung> uebungen;
+
+    /**
+     * Konstruktor für einen Planentwurf.
+     *
+     * @param name     Name des geplanten Fitnessplans
+     * @param uebungen Übungen des geplanten Fitnessplans
+     */
+    public PlanEntwurf(String name, List<Uebung> uebungen) {
+        this.name = name;
+        this.uebungen = uebungen == null ? null : Collections.unmodifiableList(new ArrayList<>(uebungen));
+    }
+
+    /**
+     * Gibt den Namen des Entwurfs zurück.
+     *
+     * @return Der Planname (ungeprüft, kann null sein)
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gibt die Übungen des Entwurfs zurück.
+     *
+     * @return unveränderliche Liste der Übungen (ungeprüft, kann null sein)
+     */
+    public List<Uebung> getUebungen() {
+        return uebungen;
+    }
+}
@@ -0,0 +1,94 @@
+package fitnessstudio;
+
+import java.util.List;
+
+/**
+ * Unveränderlicher Stand eines {@link Fitnessplan}s: Name und Übungen zu einer Version des
+ * Studios (siehe {@link StudioStand}). Wie beim {@link Mitgliedsstand} veröffentlicht jede
+ * Änderung einen neuen Stand, der auf den vorherigen verweist, solange dieser noch
+ * benötigt wird. Die Übungslisten aufeinanderfolgender Stände teilen sich ihr Array
+ * (siehe {@link Anhaengeliste}). Die Plannummer entspricht der Position in
+ * {@link StudioStand#getPlaene()}.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class Planstand {
+    private final String name;
+    private final List<Uebung> uebungen;
+    private final long version;
+    private volatile Planstand vorige;
+
+    Planstand(String name, List<Uebung> uebungen, long version, Planstand vorige) {
+        this.name = name;
+        this.uebungen = uebungen;
+        this.version = version;
+        this.vorige = vorige;
+    }
+
+    /**
+     * Gibt den Namen zurück.
+     *
+     * @return Der Name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gibt die Übungen zurück.
+     *
+     * @return unveränderliche Liste der Übungen
+     */
+    public List<Uebung> getUebungen() {
+        return uebungen;
+    }
+
+    /**
+     * Gibt den jüngsten Stand zurück, der höchstens die übergebene Version trägt.
+     *
+     * @param version Eine gehaltene Version
+     * @return Der Stand zu dieser Version
+     */
+    Planstand bei(long version) {
+        Planstand stand = this;
+
+        while (stand.version > version) {
+            stand = stand.vorige;
+        }
+
+        return stand;
+    }
+
+    /**
+     * Löst die Stände, die keine gehaltene Version mehr benötigt
+     * (siehe {@link Mitgliedsstand#kuerze(long[])}).
+     *
+     * @param gehalten Die gehaltenen Versionen absteigend sortiert
+     */
+    void kuerze(long[] gehalten) {
+        Planstand behalten = this;
+        Planstand stand = this;
+
+        for (long version : gehalten) {
+            while (stand != null && stand.version > version) {
+                stand = stand.vorige;
+            }
+
+            if (stand == null) {
+                break;
+            }
+
+            if (stand != behalten) {
+                behalten.vorige = stand;
+                behalten = stand;
+            }
+        }
+
+        behalten.vorige = null;
+    }
+}
@@ -0,0 +1,116 @@
+package fitnessstudio;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reservierung eines {@link Geraet}s durch ein {@link Mitglied} für die Übungen eines seiner
+ * aktiven {@link Fitnessplan}s an diesem Gerät (siehe {@link Reservierungen}). Eine Reservierung
+ * belegt das halboffene Zeitfenster von {@link #getBeginn()} bis {@link #getEnde()}, dessen
+ * Grenzen auf dem Zeitraster von {@value Reservierungen#ZEITRASTER_MIN} Minuten liegen.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class Reservierung {
+    private final long nummer;
+    private final Mitglied mitglied;
+    private final Fitnessplan plan;
+    private final Geraet geraet;
+    private final long beginnMin;
+    private final long endeMin;
+
+    Reservierung(long nummer, Mitglied mitglied, Fitnessplan plan, Geraet geraet, long beginnMin, long endeMin) {
+        this.nummer = nummer;
+        this.mitglied = mitglied;
+        this.plan = plan;
+        this.geraet = geraet;
+        this.beginnMin = beginnMin;
+        this.endeMin = endeMin;
+    }
+
+    /**
+     * Gibt die Reservierungsnummer zurück, unter der die Reservierung storniert werden kann.
+     *
+     * @return Die fortlaufende Nummer
+     */
+    public long getNummer() {
+        return nummer;
+    }
+
+    /**
+     * Gibt das Mitglied zurück, das reserviert hat.
+     *
+     * @return Das Mitglied
+     */
+    public Mitglied getMitglied() {
+        return mitglied;
+    }
+
+    /**
+     * Gibt den Plan zurück, aus dem die Dauer der Reservierung bemessen wurde.
+     *
+     * @return Der Plan
+     */
+    public Fitnessplan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Gibt das reservierte Gerät zurück.
+     *
+     * @return Das Gerät
+     */
+    public Geraet getGeraet() {
+        return geraet;
+    }
+
+    /**
+     * Gibt den Beginn der Reservierung zurück.
+     *
+     * @return Der Beginn (einschließlich)
+     */
+    public LocalDateTime getBeginn() {
+        return Reservierungen.alsZeitpunkt(beginnMin);
+    }
+
+    /**
+     * Gibt das Ende der Reservierung zurück.
+     *
+     * @return Das Ende (ausschließlich)
+     */
+    public LocalDateTime getEnde() {
+        return Reservierungen.alsZeitpunkt(endeMin);
+    }
+
+    /**
+     * Gibt die Dauer der Reservierung zurück.
+     *
+     * @return Die Dauer in Minuten (ein Vielfaches des Zeitrasters)
+     */
+    public int getDauerMin() {
+        return (int) (endeMin - beginnMin);
+    }
+
+    long getBeginnMin() {
+        return beginnMin;
+    }
+
+    long getEndeMin() {
+        return endeMin;
+    }
+
+    /**
+     * Gibt eine String-Repräsentation der Reservierung zurück.
+     *
+     * @return String mit Nummer, Gerät, Zeitfenster und Mitgliedsnummer
+     */
+    @Override
+    public String toString() {
+        return "Reservierung " + nummer + ": " + geraet.getGeraeteId() + " " + getBeginn() + " bis " + getEnde()
+                + " (" + mitglied.getMitgliedsnummer() + ")";
+    }
+}
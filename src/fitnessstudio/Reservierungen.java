@@ -0,0 +1,590 @@
+package fitnessstudio;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerätereservierungen eines {@link Fitnessstudio}s. Ein Mitglied reserviert ein Gerät für
+ * die Übungen eines seiner aktiven Pläne an diesem Gerät; die Dauer ergibt sich aus dem Plan:
+ * Sätze × {@link DauerUebung#getTrainingsdauerMin()} für Dauerübungen und
+ * {@value #MINUTEN_PRO_SATZ} Minuten je Satz für Wiederholungsübungen, aufgerundet auf das
+ * Zeitraster von {@value #ZEITRASTER_MIN} Minuten. {@link #reserviereTraining(Mitglied,
+ * Fitnessplan, LocalDateTime)} bucht alle Geräte eines Plans nacheinander oder keines.
+ * <p>
+ * Weder ein Gerät noch ein Mitglied kann zwei sich überschneidende Reservierungen haben. Jedes
+ * Gerät und jedes Mitglied hat dafür eine eigene {@link Belegung} mit eigener Sperre, sodass
+ * Buchungen an verschiedenen Geräten nicht aufeinander warten. Eine Buchung sperrt zuerst die
+ * Belegung des Mitglieds, dann die der Geräte aufsteigend nach Rang. Prüfen, Buchen und
+ * Stornieren kosten O(log n) in der Anzahl der Reservierungen des Geräts bzw. Mitglieds.
+ * <p>
+ * Zeitpunkte werden ohne Zeitzone als {@link LocalDateTime} angegeben. Reservierungen werden
+ * weder im {@link Journal} noch in Snapshots gesichert. Wird ein Gerät ausgemustert, verfallen
+ * seine Reservierungen; außer Betrieb genommene Geräte behalten sie, nehmen aber keine neuen an.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class Reservierungen {
+    /** Zeitraster in Minuten, auf dem Beginn und Ende jeder Reservierung liegen. */
+    public static final int ZEITRASTER_MIN = 5;
+
+    /** Angesetzte Minuten je Satz einer {@link WiederholungsUebung}. */
+    public static final int MINUTEN_PRO_SATZ = 2;
+
+    private final Map<String, Geraet> geraete;
+    private final Map<String, Mitglied> mitglieder;
+    private final Set<String> geraeteAusserBetrieb;
+    private final Studiometriken metriken;
+    private final ConcurrentHashMap<String, Belegung> nachGeraet;
+    private final ConcurrentHashMap<Mitglied, Belegung> nachMitglied;
+    private final ConcurrentHashMap<Long, Reservierung> nachNummer;
+    private final AtomicLong naechsteNummer;
+    private final AtomicLong naechsterRang;
+
+    /**
+     * Erzeugt die Reservierungen über den Verzeichnissen eines Studios.
+     *
+     * @param geraete              Geräte nach ID
+     * @param mitglieder           Mitglieder nach Mitgliedsnummer
+     * @param geraeteAusserBetrieb IDs der Geräte außer Betrieb
+     * @param metriken             Die Metriken des Studios
+     */
+    Reservierungen(Map<String, Geraet> geraete, Map<String, Mitglied> mitglieder, Set<String> geraeteAusserBetrieb,
+                   Studiometriken metriken) {
+        this.geraete = geraete;
+        this.mitglieder = mitglieder;
+        this.geraeteAusserBetrieb = geraeteAusserBetrieb;
+        this.metriken = metriken;
+        this.nachGeraet = new ConcurrentHashMap<>();
+        this.nachMitglied = new ConcurrentHashMap<>();
+        this.nachNummer = new ConcurrentHashMap<>();
+        this.naechsteNummer = new AtomicLong(1);
+        this.naechsterRang = new AtomicLong();
+    }
+
+    /**
+     * Reserviert ein Gerät für die Übungen eines aktiven Plans an diesem Gerät.
+     *
+     * @param mitglied  Das Mitglied (muss im Studio registriert und darf nicht gesperrt sein)
+     * @param plan      Einer der aktiven Pläne des Mitglieds
+     * @param geraeteId Die ID eines vorhandenen Geräts in Betrieb
+     * @param beginn    Der Beginn (auf dem Zeitraster)
+     * @return Die Reservierung
+     * @throws IllegalArgumentException falls ein Argument null oder ungültig ist
+     * @throws IllegalStateException   falls das Mitglied gesperrt ist, der Plan nicht aktiv ist,
+     *                                 das Gerät außer Betrieb ist oder Gerät bzw. Mitglied im
+     *                                 Zeitfenster bereits reserviert sind
+     */
+    public Reservierung reserviere(Mitglied mitglied, Fitnessplan plan, String geraeteId, LocalDateTime beginn) {
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+        Reservierung reservierung = versucheZuReservieren(mitglied, plan, geraeteId, beginn, ergebnis);
+
+        if (reservierung == null) {
+            throw ergebnis.alsAusnahme();
+        }
+
+        return reservierung;
+    }
+
+    /**
+     * Reserviert ein Gerät wie {@link #reserviere(Mitglied, Fitnessplan, String, LocalDateTime)},
+     * meldet eine Ablehnung aber über das Ergebnis statt über eine Ausnahme.
+     *
+     * @param mitglied  Das Mitglied
+     * @param plan      Einer der aktiven Pläne des Mitglieds
+     * @param geraeteId Die Geräte-ID
+     * @param beginn    Der Beginn
+     * @param ergebnis  Nimmt bei einer Ablehnung Fehlercode, ID und ggf. die überschneidende
+     *                  Reservierung auf (darf nicht null sein)
+     * @return Die Reservierung oder null bei einer Ablehnung
+     * @throws IllegalArgumentException falls ergebnis null ist
+     */
+    public Reservierung versucheZuReservieren(Mitglied mitglied, Fitnessplan plan, String geraeteId,
+                                              LocalDateTime beginn, Validierungsergebnis ergebnis) {
+        List<Reservierung> gebucht = versucheZuBuchen(mitglied, plan, geraeteId, false, beginn, ergebnis);
+        return gebucht == null ? null : gebucht.get(0);
+    }
+
+    /**
+     * Reserviert alle Geräte eines aktiven Plans lückenlos nacheinander, beginnend mit dem Gerät
+     * der ersten Übung, in der Reihenfolge, in der die Geräte im Plan zuerst vorkommen. Ist
+     * eines davon nicht verfügbar, wird keines reserviert.
+     *
+     * @param mitglied Das Mitglied (muss im Studio registriert und darf nicht gesperrt sein)
+     * @param plan     Einer der aktiven Pläne des Mitglieds
+     * @param beginn   Der Beginn der ersten Reservierung (auf dem Zeitraster)
+     * @return unveränderliche Liste der Reservierungen in zeitlicher Reihenfolge
+     * @throws IllegalArgumentException falls ein Argument null oder ungültig ist
+     * @throws IllegalStateException   wie bei {@link #reserviere(Mitglied, Fitnessplan, String, LocalDateTime)}
+     */
+    public List<Reservierung> reserviereTraining(Mitglied mitglied, Fitnessplan plan, LocalDateTime beginn) {
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+        List<Reservierung> gebucht = versucheZuBuchen(mitglied, plan, null, true, beginn, ergebnis);
+
+        if (gebucht == null) {
+            throw ergebnis.alsAusnahme();
+        }
+
+        return gebucht;
+    }
+
+    private List<Reservierung> versucheZuBuchen(Mitglied mitglied, Fitnessplan plan, String geraeteId, boolean ganzerPlan,
+                                                LocalDateTime beginn, Validierungsergebnis ergebnis) {
+        Fitnessstudio.pruefeErgebnis(ergebnis);
+        long start = metriken.beginne();
+
+        try {
+            List<Reservierung> gebucht = buche(mitglied, plan, geraeteId, ganzerPlan, beginn, ergebnis);
+
+            if (gebucht == null) {
+                metriken.fehlgeschlagen(StudioOperation.RESERVIEREN, start, ergebnis.getFehlercode());
+            }
+
+            return gebucht;
+        } catch (RuntimeException e) {
+            metriken.fehlgeschlagen(StudioOperation.RESERVIEREN, start, e);
+            throw e;
+        } finally {
+            metriken.beende(StudioOperation.RESERVIEREN, start);
+        }
+    }
+
+    /**
+     * Bucht ein Gerät oder alle Geräte des Plans.
+     */
+    private List<Reservierung> buche(Mitglied mitglied, Fitnessplan plan, String geraeteId, boolean ganzerPlan,
+                                     LocalDateTime beginn, Validierungsergebnis ergebnis) {
+        if (!pruefeMitgliedUndPlan(mitglied, plan, ergebnis)) {
+            return null;
+        }
+
+        long beginnMin = alsMinuten(beginn);
+
+        if (beginnMin < 0) {
+            ergebnis.fehler(Fehlercode.BEGINN_UNGUELTIG, null, null);
+            return null;
+        }
+
+        Map<Geraet, Long> dauern = ganzerPlan ? dauernJeGeraet(plan) : dauerAnGeraet(plan, geraeteId, ergebnis);
+
+        if (dauern == null) {
+            return null;
+        }
+
+        List<Geraet> auswahl = new ArrayList<>(dauern.keySet());
+        List<Belegung> belegungen = new ArrayList<>(auswahl.size());
+
+        for (Geraet geraet : auswahl) {
+            belegungen.add(nachGeraet.computeIfAbsent(geraet.getGeraeteId(), id -> neueBelegung()));
+        }
+
+        Belegung kalender = nachMitglied.computeIfAbsent(mitglied, m -> neueBelegung());
+        List<Belegung> gesperrt = new ArrayList<>(belegungen);
+        gesperrt.sort((a, b) -> Long.compare(a.getRang(), b.getRang()));
+        kalender.sperre();
+
+        try {
+            for (Belegung belegung : gesperrt) {
+                belegung.sperre();
+            }
+
+            try {
+                return trageEin(mitglied, plan, auswahl, dauern, belegungen, kalender, beginnMin, ergebnis);
+            } finally {
+                for (Belegung belegung : gesperrt) {
+                    belegung.entsperre();
+                }
+            }
+        } finally {
+            kalender.entsperre();
+        }
+    }
+
+    /**
+     * Prüft alle Zeitfenster und trägt die Reservierungen ein, wenn keines belegt ist.
+     * Läuft unter den Sperren aller beteiligten Belegungen.
+     */
+    private List<Reservierung> trageEin(Mitglied mitglied, Fitnessplan plan, List<Geraet> auswahl, Map<Geraet, Long> dauern,
+                                        List<Belegung> belegungen, Belegung kalender, long beginnMin,
+                                        Validierungsergebnis ergebnis) {
+        long ende = beginnMin;
+
+        for (int i = 0; i < auswahl.size(); i++) {
+            Geraet geraet = auswahl.get(i);
+            Belegung belegung = belegungen.get(i);
+            long von = ende;
+            ende += dauern.get(geraet);
+
+            // Erst unter der Sperre prüfen, ob das Gerät noch dasselbe ist: Ausmustern schließt die Belegung
+            if (belegung.istGeschlossen() || geraete.get(geraet.getGeraeteId()) != geraet) {
+                ergebnis.fehler(Fehlercode.GERAET_UNBEKANNT, geraet.getGeraeteId(), null);
+                return null;
+            }
+
+            if (geraeteAusserBetrieb.contains(geraet.getGeraeteId())) {
+                ergebnis.fehler(Fehlercode.GERAET_AUSSER_BETRIEB, geraet.getGeraeteId(), geraet.getGeraeteName());
+                return null;
+            }
+
+            Reservierung konflikt = belegung.konflikt(von, ende);
+
+            if (konflikt != null) {
+                ergebnis.belegt(Fehlercode.GERAET_BELEGT, geraet.getGeraeteId(), null, konflikt);
+                return null;
+            }
+        }
+
+        Reservierung konflikt = kalender.konflikt(beginnMin, ende);
+
+        if (konflikt != null) {
+            ergebnis.belegt(Fehlercode.MITGLIED_BELEGT, mitglied.getMitgliedsnummer(), mitglied.getName(), konflikt);
+            return null;
+        }
+
+        List<Reservierung> gebucht = new ArrayList<>(auswahl.size());
+        long von = beginnMin;
+
+        for (int i = 0; i < auswahl.size(); i++) {
+            Geraet geraet = auswahl.get(i);
+            long bis = von + dauern.get(geraet);
+            Reservierung reservierung = new Reservierung(naechsteNummer.getAndIncrement(), mitglied, plan, geraet, von, bis);
+            belegungen.get(i).trageEin(reservierung);
+            kalender.trageEin(reservierung);
+            nachNummer.put(reservierung.getNummer(), reservierung);
+            gebucht.add(reservierung);
+            von = bis;
+        }
+
+        return Collections.unmodifiableList(gebucht);
+    }
+
+    private boolean pruefeMitgliedUndPlan(Mitglied mitglied, Fitnessplan plan, Validierungsergebnis ergebnis) {
+        if (mitglied == null) {
+            return ergebnis.fehler(Fehlercode.MITGLIED_NULL, null, null);
+        }
+
+        if (plan == null) {
+            return ergebnis.fehler(Fehlercode.PLAN_NULL, null, null);
+        }
+
+        if (!mitglied.equals(mitglieder.get(mitglied.getMitgliedsnummer()))) {
+            return ergebnis.fehler(Fehlercode.MITGLIED_NICHT_REGISTRIERT, mitglied.getMitgliedsnummer(), mitglied.getName());
+        }
+
+        if (mitglied.isGesperrt()) {
+            return ergebnis.fehler(Fehlercode.MITGLIED_GESPERRT, mitglied.getMitgliedsnummer(), mitglied.getName());
+        }
+
+        if (!mitglied.getAktivePlaene().contains(plan)) {
+            return ergebnis.fehler(Fehlercode.PLAN_NICHT_AKTIV, plan.getName(), plan.getName());
+        }
+
+        return true;
+    }
+
+    /**
+     * Bemisst die Dauer am angegebenen Gerät aus allen Übungen des Plans an Geräten mit
+     * derselben normalisierten ID.
+     */
+    private Map<Geraet, Long> dauerAnGeraet(Fitnessplan plan, String geraeteId, Validierungsergebnis ergebnis) {
+        Geraet geraet = geraeteId == null ? null : geraete.get(geraeteId);
+
+        if (geraet == null) {
+            ergebnis.fehler(Fehlercode.GERAET_UNBEKANNT, geraeteId, null);
+            return null;
+        }
+
+        String gesucht = Fitnessstudio.normalisiereId(geraeteId);
+        long minuten = 0;
+
+        for (Uebung uebung : plan.getUebungen()) {
+            if (Fitnessstudio.normalisiereId(uebung.getGeraet().getGeraeteId()).equals(gesucht)) {
+                minuten += minuten(uebung);
+            }
+        }
+
+        if (minuten == 0) {
+            ergebnis.fehler(Fehlercode.KEINE_UEBUNG_AM_GERAET, geraeteId, plan.getName());
+            return null;
+        }
+
+        return Map.of(geraet, aufgerundet(minuten));
+    }
+
+    /**
+     * Bemisst die Dauer je Gerät des Plans in der Reihenfolge des ersten Vorkommens, jeweils am
+     * registrierten Gerät mit der ID der Übung. Übungen an nicht (mehr) vorhandenen Geräten
+     * fallen beim Eintragen als {@link Fehlercode#GERAET_UNBEKANNT} auf.
+     */
+    private Map<Geraet, Long> dauernJeGeraet(Fitnessplan plan) {
+        Map<Geraet, Long> dauern = new LinkedHashMap<>();
+
+        for (Uebung uebung : plan.getUebungen()) {
+            Geraet geraet = geraete.get(uebung.getGeraet().getGeraeteId());
+            dauern.merge(geraet == null ? uebung.getGeraet() : geraet, minuten(uebung), Long::sum);
+        }
+
+        dauern.replaceAll((geraet, minuten) -> aufgerundet(minuten));
+        return dauern;
+    }
+
+    private static long minuten(Uebung uebung) {
+        return uebung instanceof DauerUebung ? uebung.getGesamtMinuten() : (long) uebung.getSaetze() * MINUTEN_PRO_SATZ;
+    }
+
+    private static long aufgerundet(long minuten) {
+        return (minuten + ZEITRASTER_MIN - 1) / ZEITRASTER_MIN * ZEITRASTER_MIN;
+    }
+
+    private Belegung neueBelegung() {
+        return new Belegung(naechsterRang.getAndIncrement());
+    }
+
+    /**
+     * Storniert eine Reservierung. Ist sie bereits storniert oder verfallen, geschieht nichts.
+     *
+     * @param nummer Die Reservierungsnummer
+     * @return true, wenn die Reservierung storniert wurde
+     */
+    public boolean storniere(long nummer) {
+        long start = metriken.beginne();
+
+        try {
+            Reservierung reservierung = nachNummer.remove(nummer);
+
+            if (reservierung == null) {
+                return false;
+            }
+
+            trageAus(reservierung);
+            return true;
+        } finally {
+            metriken.beende(StudioOperation.STORNIEREN, start);
+        }
+    }
+
+    /**
+     * Trägt eine aus {@code nachNummer} entfernte Reservierung aus Mitglied und Gerät aus.
+     * Die Sperren werden in derselben Reihenfolge wie beim Buchen genommen.
+     */
+    private void trageAus(Reservierung reservierung) {
+        Belegung kalender = nachMitglied.get(reservierung.getMitglied());
+        Belegung belegung = nachGeraet.get(reservierung.getGeraet().getGeraeteId());
+        kalender.sperre();
+
+        try {
+            kalender.trageAus(reservierung);
+
+            if (belegung != null) {
+                belegung.sperre();
+
+                try {
+                    belegung.trageAus(reservierung);
+                } finally {
+                    belegung.entsperre();
+                }
+            }
+        } finally {
+            kalender.entsperre();
+        }
+    }
+
+    /**
+     * Lässt alle Reservierungen eines ausgemusterten Geräts verfallen. Die Belegung wird
+     * zuerst geschlossen, damit keine Buchung mehr hinzukommt; die Kalender der Mitglieder
+     * werden danach einzeln bereinigt.
+     *
+     * @param geraet Das ausgemusterte Gerät
+     */
+    void geraetAusgemustert(Geraet geraet) {
+        Belegung belegung = nachGeraet.get(geraet.getGeraeteId());
+
+        if (belegung == null) {
+            return;
+        }
+
+        List<Reservierung> verfallen;
+        belegung.sperre();
+
+        try {
+            verfallen = belegung.schliesse();
+        } finally {
+            belegung.entsperre();
+        }
+
+        nachGeraet.remove(geraet.getGeraeteId(), belegung);
+
+        for (Reservierung reservierung : verfallen) {
+            if (nachNummer.remove(reservierung.getNummer(), reservierung)) {
+                Belegung kalender = nachMitglied.get(reservierung.getMitglied());
+                kalender.sperre();
+
+                try {
+                    kalender.trageAus(reservierung);
+                } finally {
+                    kalender.entsperre();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gibt den frühesten Beginn ab {@code ab} zurück, zu dem das Gerät und das Mitglied für die
+     * Übungen des Plans an diesem Gerät frei sind. Das Ergebnis ist eine Momentaufnahme; eine
+     * anschließende Reservierung kann dennoch an einer gleichzeitigen Buchung scheitern.
+     *
+     * @param mitglied  Das Mitglied
+     * @param plan      Einer der aktiven Pläne des Mitglieds
+     * @param geraeteId Die Geräte-ID
+     * @param ab        Der früheste Beginn; wird auf das Zeitraster aufgerundet
+     * @return Der früheste freie Beginn
+     * @throws IllegalArgumentException falls ein Argument null oder ungültig ist
+     * @throws IllegalStateException   falls das Mitglied gesperrt oder der Plan nicht aktiv ist
+     */
+    public LocalDateTime findeFreienBeginn(Mitglied mitglied, Fitnessplan plan, String geraeteId, LocalDateTime ab) {
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+
+        if (ab == null) {
+            ergebnis.fehler(Fehlercode.BEGINN_UNGUELTIG, null, null);
+            throw ergebnis.alsAusnahme();
+        }
+
+        if (!pruefeMitgliedUndPlan(mitglied, plan, ergebnis)) {
+            throw ergebnis.alsAusnahme();
+        }
+
+        Map<Geraet, Long> dauer = dauerAnGeraet(plan, geraeteId, ergebnis);
+
+        if (dauer == null) {
+            throw ergebnis.alsAusnahme();
+        }
+
+        long minuten = dauer.values().iterator().next();
+        long sekunden = ab.toEpochSecond(ZoneOffset.UTC);
+        long beginn = aufgerundet(Math.max(0, Math.floorDiv(sekunden + 59, 60)));
+        Belegung belegung = nachGeraet.computeIfAbsent(dauer.keySet().iterator().next().getGeraeteId(), id -> neueBelegung());
+        Belegung kalender = nachMitglied.computeIfAbsent(mitglied, m -> neueBelegung());
+        long bisher;
+
+        // Abwechselnd die nächste Lücke im Gerät und im Kalender suchen, bis beide übereinstimmen
+        do {
+            bisher = beginn;
+            beginn = naechsteLuecke(belegung, beginn, minuten);
+            beginn = naechsteLuecke(kalender, beginn, minuten);
+        } while (beginn != bisher);
+
+        return alsZeitpunkt(beginn);
+    }
+
+    private static long naechsteLuecke(Belegung belegung, long ab, long dauer) {
+        belegung.sperre();
+
+        try {
+            return belegung.naechsteLuecke(ab, dauer);
+        } finally {
+            belegung.entsperre();
+        }
+    }
+
+    /**
+     * Sucht eine Reservierung anhand ihrer Nummer.
+     *
+     * @param nummer Die Reservierungsnummer
+     * @return Die Reservierung oder null, falls sie nie bestand, storniert wurde oder verfallen ist
+     */
+    public Reservierung getReservierung(long nummer) {
+        return nachNummer.get(nummer);
+    }
+
+    /**
+     * Gibt die Reservierungen eines Geräts zurück, die das Zeitfenster überschneiden.
+     *
+     * @param geraeteId Die Geräte-ID
+     * @param von       Beginn des Zeitfensters (einschließlich)
+     * @param bis       Ende des Zeitfensters (ausschließlich)
+     * @return unveränderliche Liste, sortiert nach Beginn (leer für unbekannte Geräte)
+     * @throws IllegalArgumentException falls von oder bis null ist
+     */
+    public List<Reservierung> getReservierungen(String geraeteId, LocalDateTime von, LocalDateTime bis) {
+        if (von == null || bis == null) {
+            throw new IllegalArgumentException("Das Zeitfenster muss angegeben sein.");
+        }
+
+        Belegung belegung = geraeteId == null ? null : nachGeraet.get(geraeteId);
+
+        if (belegung == null) {
+            return List.of();
+        }
+
+        long vonMin = Math.floorDiv(von.toEpochSecond(ZoneOffset.UTC), 60);
+        long bisMin = Math.floorDiv(bis.toEpochSecond(ZoneOffset.UTC) + 59, 60);
+        belegung.sperre();
+
+        try {
+            return belegung.zwischen(vonMin, bisMin);
+        } finally {
+            belegung.entsperre();
+        }
+    }
+
+    /**
+     * Gibt alle Reservierungen eines Mitglieds zurück.
+     *
+     * @param mitglied Das Mitglied
+     * @return unveränderliche Liste, sortiert nach Beginn (leer für null)
+     */
+    public List<Reservierung> getReservierungen(Mitglied mitglied) {
+        Belegung kalender = mitglied == null ? null : nachMitglied.get(mitglied);
+
+        if (kalender == null) {
+            return List.of();
+        }
+
+        kalender.sperre();
+
+        try {
+            return kalender.alle();
+        } finally {
+            kalender.entsperre();
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der bestehenden Reservierungen zurück.
+     *
+     * @return Anzahl der Reservierungen
+     */
+    public int getAnzahl() {
+        return nachNummer.size();
+    }
+
+    /**
+     * Wandelt einen Beginn in Minuten seit 1970 um.
+     *
+     * @return Die Minuten oder -1, falls der Beginn null ist oder nicht auf dem Zeitraster liegt
+     */
+    private static long alsMinuten(LocalDateTime zeitpunkt) {
+        if (zeitpunkt == null || zeitpunkt.getSecond() != 0 || zeitpunkt.getNano() != 0) {
+            return -1;
+        }
+
+        long minuten = zeitpunkt.toEpochSecond(ZoneOffset.UTC) / 60;
+        return minuten >= 0 && minuten % ZEITRASTER_MIN == 0 ? minuten : -1;
+    }
+
+    static LocalDateTime alsZeitpunkt(long minuten) {
+        return LocalDateTime.ofEpochSecond(minuten * 60, 0, ZoneOffset.UTC);
+    }
+}
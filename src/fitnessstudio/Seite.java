@@ -0,0 +1,70 @@
+package fitnessstudio;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Eine Seite aus {@link Fitnessstudio#getMitgliederSeite(String, int, java.util.function.Predicate)}
+ * oder {@link Fitnessstudio#getPlaeneSeite(String, int, java.util.function.Predicate)}: höchstens
+ * die angeforderte Anzahl an Einträgen und ein Cursor, mit dem die nächste Seite angefordert wird.
+ * <p>
+ * Der Cursor ist der Schlüssel des letzten Eintrags der Seite (Mitgliedsnummer bzw. Plannummer).
+ * Die nächste Seite beginnt unmittelbar hinter diesem Schlüssel. Einträge, die zwischen zwei
+ * Anfragen angelegt werden, verschieben daher keine Seite: Sie erscheinen, sobald das Blättern
+ * ihren Schlüssel erreicht, und kein Eintrag wird doppelt geliefert.
+ *
+ * @param <T> Typ der Einträge
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class Seite<T> {
+    private final List<T> eintraege;
+    private final String cursor;
+
+    Seite(List<T> eintraege, String cursor) {
+        this.eintraege = Collections.unmodifiableList(eintraege);
+        this.cursor = cursor;
+    }
+
+    /**
+     * Gibt die Einträge der Seite zurück.
+     *
+     * @return unveränderliche Liste der Einträge in Schlüsselreihenfolge
+     */
+    public List<T> getEintraege() {
+        return eintraege;
+    }
+
+    /**
+     * Gibt den Cursor für die nächste Seite zurück.
+     *
+     * @return Der Schlüssel des letzten Eintrags oder null, falls dahinter zum Zeitpunkt der
+     *         Anfrage kein passender Eintrag mehr lag
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Gibt zurück, ob hinter dieser Seite weitere passende Einträge lagen.
+     *
+     * @return true, wenn eine weitere Seite angefordert werden kann
+     */
+    public boolean hatWeitere() {
+        return cursor != null;
+    }
+
+    /**
+     * Gibt eine String-Repräsentation der Seite zurück.
+     *
+     * @return String mit Anzahl der Einträge und Cursor
+     */
+    @Override
+    public String toString() {
+        return "Seite mit " + eintraege.size() + " Einträgen" + (cursor == null ? "" : ", weiter nach " + cursor);
+    }
+}
@@ -0,0 +1,412 @@
+package fitnessstudio;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kompaktes binäres Abbild eines {@link Fitnessstudio}s für einen schnellen Neustart.
+ * Gespeichert werden Geräte, Übungen, Fitnesspläne, Mitglieder und die Zuordnung der aktiven
+ * Pläne. Geteilte {@link Geraet}- und {@link Uebung}-Instanzen werden nur einmal abgelegt und
+ * über ihren Index referenziert, sodass die Objektidentität beim Laden erhalten bleibt.
+ * Ab Version 2 wird für jedes registrierte Gerät zusätzlich festgehalten, ob es außer Betrieb
+ * ist; Abbilder der Version 1 lassen sich weiterhin laden.
+ * <p>
+ * Geschrieben wird gepuffert über einen {@link FileChannel} in eine temporäre Datei im selben
+ * Verzeichnis, die erst nach dem Erzwingen atomar an die Stelle des Ziels tritt; ein Absturz
+ * oder Fehler beim Schreiben lässt das letzte vollständige Abbild daher unberührt. Gelesen wird
+ * über eine in den Speicher abgebildete Datei. Die Kodierung von Zahlen und Texten beschreibt {@link BinaerFormat}.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class SnapshotDatei {
+    private static final int MAGIC = 0x46534E50; // "FSNP"
+    private static final int VERSION = 2;
+    private static final int PUFFERGROESSE = 1 << 20;
+
+    private static final byte TYP_WIEDERHOLUNG = 1;
+    private static final byte TYP_DAUER = 2;
+
+    private SnapshotDatei() {
+    }
+
+    /**
+     * Schreibt ein Abbild des Fitnessstudios in eine Datei.
+     * Während des Schreibens sollten keine Änderungen am Studio erfolgen.
+     *
+     * @param fitnessstudio Das zu speichernde Fitnessstudio (darf nicht null sein)
+     * @param datei         Zieldatei (wird erst nach vollständigem Schreiben atomar ersetzt)
+     * @throws IOException bei Schreibfehlern; die Datei bleibt dann unverändert
+     * @throws IllegalArgumentException falls fitnessstudio null ist, ein Plan eine Übung enthält,
+     *                                  die weder {@link DauerUebung} noch {@link WiederholungsUebung}
+     *                                  ist, oder ein zu speichernder Text null ist; die Datei bleibt
+     *                                  dann unverändert
+     */
+    public static void schreibe(Fitnessstudio fitnessstudio, Path datei) throws IOException {
+        if (fitnessstudio == null) {
+            throw new IllegalArgumentException("Das Fitnessstudio darf nicht null sein.");
+        }
+
+        List<Geraet> registrierteGeraete = fitnessstudio.getGeraete();
+        List<Mitglied> mitglieder = fitnessstudio.getMitglieder();
+        List<Fitnessplan> registriertePlaene = fitnessstudio.getPlaene();
+
+        // Tabellen aufbauen: zuerst die registrierten Einträge, dahinter nur referenzierte
+        Map<Fitnessplan, Integer> planIndex = new IdentityHashMap<>();
+        List<Fitnessplan> plaene = new ArrayList<>(registriertePlaene);
+
+        for (Fitnessplan plan : plaene) {
+            planIndex.put(plan, planIndex.size());
+        }
+
+        for (Mitglied mitglied : mitglieder) {
+            for (Fitnessplan plan : mitglied.getAktivePlaene()) {
+                if (planIndex.putIfAbsent(plan, planIndex.size()) == null) {
+                    plaene.add(plan);
+                }
+            }
+        }
+
+        Map<Uebung, Integer> uebungIndex = new IdentityHashMap<>();
+        List<Uebung> uebungen = new ArrayList<>();
+
+        for (Fitnessplan plan : plaene) {
+            for (Uebung uebung : plan.getUebungen()) {
+                if (uebungIndex.putIfAbsent(uebung, uebungIndex.size()) == null) {
+                    // Vor dem Schreiben prüfen, damit kein angefangenes Abbild entsteht
+                    if (!(uebung instanceof DauerUebung) && !(uebung instanceof WiederholungsUebung)) {
+                        throw new IllegalArgumentException("Der Übungstyp " + uebung.getClass().getName()
+                                + " kann nicht im Abbild gespeichert werden.");
+                    }
+
+                    pruefeText(uebung.getName(), "Der Name einer Übung");
+                    pruefeText(uebung.getBeschreibung(), "Die Beschreibung der Übung " + uebung.getName());
+                    uebungen.add(uebung);
+                }
+            }
+
+            pruefeText(plan.getName(), "Der Name eines Fitnessplans");
+        }
+
+        for (Mitglied mitglied : mitglieder) {
+            pruefeText(mitglied.getMitgliedsnummer(), "Die Mitgliedsnummer eines Mitglieds");
+            pruefeText(mitglied.getName(), "Der Name des Mitglieds " + mitglied.getMitgliedsnummer());
+            pruefeText(mitglied.getAdresse(), "Die Adresse des Mitglieds " + mitglied.getMitgliedsnummer());
+        }
+
+        Map<Geraet, Integer> geraetIndex = new IdentityHashMap<>();
+        List<Geraet> geraete = new ArrayList<>(registrierteGeraete);
+
+        for (Geraet geraet : geraete) {
+            geraetIndex.put(geraet, geraetIndex.size());
+        }
+
+        for (Uebung uebung : uebungen) {
+            if (geraetIndex.putIfAbsent(uebung.getGeraet(), geraetIndex.size()) == null) {
+                geraete.add(uebung.getGeraet());
+            }
+        }
+
+        for (Geraet geraet : geraete) {
+            pruefeText(geraet.getGeraeteId(), "Die ID eines Geräts");
+            pruefeText(geraet.getGeraeteName(), "Der Name des Geräts " + geraet.getGeraeteId());
+        }
+
+        Path ziel = datei.toAbsolutePath();
+        Path temporaer = Files.createTempFile(ziel.getParent(), ziel.getFileName() + ".", ".tmp");
+
+        try {
+            try (FileChannel kanal = FileChannel.open(temporaer, StandardOpenOption.WRITE)) {
+                Ausgabe aus = new Ausgabe(kanal);
+
+                aus.schreibeInt(MAGIC);
+                aus.schreibeInt(VERSION);
+
+                aus.schreibeZahl(geraete.size());
+                aus.schreibeZahl(registrierteGeraete.size());
+
+                for (int i = 0; i < geraete.size(); i++) {
+                    Geraet geraet = geraete.get(i);
+
+                    aus.schreibeText(geraet.getGeraeteId());
+                    aus.schreibeText(geraet.getGeraeteName());
+                    aus.schreibeZahl(geraet.getKategorie().ordinal());
+
+                    if (i < registrierteGeraete.size()) {
+                        aus.schreibeZahl(fitnessstudio.istAusserBetrieb(geraet.getGeraeteId()) ? 1 : 0);
+                    }
+                }
+
+                aus.schreibeZahl(uebungen.size());
+
+                for (Uebung uebung : uebungen) {
+                    if (uebung instanceof DauerUebung) {
+                        aus.schreibeZahl(TYP_DAUER);
+                        aus.schreibeZahl(((DauerUebung) uebung).getTrainingsdauerMin());
+                    } else {
+                        // Andere Typen wurden beim Aufbau der Tabellen abgelehnt
+                        aus.schreibeZahl(TYP_WIEDERHOLUNG);
+                        aus.schreibeZahl(((WiederholungsUebung) uebung).getWiederholungen());
+                    }
+
+                    aus.schreibeText(uebung.getName());
+                    aus.schreibeText(uebung.getBeschreibung());
+                    aus.schreibeZahl(uebung.getSaetze());
+                    aus.schreibeZahl(geraetIndex.get(uebung.getGeraet()));
+                }
+
+                aus.schreibeZahl(plaene.size());
+                aus.schreibeZahl(registriertePlaene.size());
+
+                for (Fitnessplan plan : plaene) {
+                    List<Uebung> planUebungen = plan.getUebungen();
+
+                    aus.schreibeText(plan.getName());
+                    aus.schreibeZahl(planUebungen.size());
+
+                    for (Uebung uebung : planUebungen) {
+                        aus.schreibeZahl(uebungIndex.get(uebung));
+                    }
+                }
+
+                aus.schreibeZahl(mitglieder.size());
+
+                for (Mitglied mitglied : mitglieder) {
+                    List<Fitnessplan> aktivePlaene = mitglied.getAktivePlaene();
+
+                    aus.schreibeText(mitglied.getMitgliedsnummer());
+                    aus.schreibeText(mitglied.getName());
+                    aus.schreibeText(mitglied.getAdresse());
+                    aus.schreibeZahl(mitglied.isGesperrt() ? 1 : 0);
+                    aus.schreibeZahl(aktivePlaene.size());
+
+                    for (Fitnessplan plan : aktivePlaene) {
+                        aus.schreibeZahl(planIndex.get(plan));
+                    }
+                }
+
+                aus.leere();
+                kanal.force(true);
+            }
+
+            Files.move(temporaer, ziel, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaer);
+            throw e;
+        }
+    }
+
+    /**
+     * Lehnt einen Text ab, der sich nicht kodieren lässt, bevor ein Byte geschrieben wird.
+     */
+    private static void pruefeText(String text, String beschreibung) {
+        if (text == null) {
+            throw new IllegalArgumentException(beschreibung + " ist null und kann nicht im Abbild gespeichert werden.");
+        }
+    }
+
+    /**
+     * Lädt ein Fitnessstudio aus einer Abbild-Datei.
+     *
+     * @param datei Die Abbild-Datei
+     * @return das wiederhergestellte Fitnessstudio
+     * @throws IOException bei Lesefehlern oder falls die Datei kein gültiges Abbild ist
+     */
+    public static Fitnessstudio lade(Path datei) throws IOException {
+        try (FileChannel kanal = FileChannel.open(datei, StandardOpenOption.READ)) {
+            if (kanal.size() > Integer.MAX_VALUE) {
+                throw new IOException("Die Abbild-Datei ist zu groß: " + kanal.size() + " Bytes.");
+            }
+
+            MappedByteBuffer puffer = kanal.map(FileChannel.MapMode.READ_ONLY, 0, kanal.size());
+
+            try {
+                return lese(puffer);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | IllegalStateException e) {
+                throw new IOException("Die Abbild-Datei " + datei + " ist beschädigt.", e);
+            }
+        }
+    }
+
+    private static Fitnessstudio lese(ByteBuffer ein) throws IOException {
+        if (ein.getInt() != MAGIC) {
+            throw new IOException("Die Datei ist kein Fitnessstudio-Abbild.");
+        }
+
+        int version = ein.getInt();
+
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Nicht unterstützte Abbild-Version: " + version);
+        }
+
+        Fitnessstudio fitnessstudio = new Fitnessstudio();
+        byte[] textpuffer = new byte[256];
+        GeraeteKategorie[] kategorien = GeraeteKategorie.values();
+
+        Geraet[] geraete = new Geraet[leseAnzahl(ein, 3, "Geräte")];
+        int registrierteGeraete = leseRegistrierte(ein, geraete.length, "Geräte");
+
+        for (int i = 0; i < geraete.length; i++) {
+            String id = BinaerFormat.leseText(ein, textpuffer);
+            String name = BinaerFormat.leseText(ein, textpuffer);
+            geraete[i] = new Geraet(id, name, kategorien[BinaerFormat.leseZahl(ein)]);
+
+            if (i < registrierteGeraete) {
+                fitnessstudio.legeGeraetAn(geraete[i]);
+
+                if (version >= 2 && BinaerFormat.leseZahl(ein) != 0) {
+                    fitnessstudio.nehmeAusserBetrieb(id);
+                }
+            }
+        }
+
+        Uebung[] uebungen = new Uebung[leseAnzahl(ein, 6, "Übungen")];
+
+        for (int i = 0; i < uebungen.length; i++) {
+            int typ = BinaerFormat.leseZahl(ein);
+            int wert = BinaerFormat.leseZahl(ein);
+            String name = BinaerFormat.leseText(ein, textpuffer);
+            String beschreibung = BinaerFormat.leseText(ein, textpuffer);
+            int saetze = BinaerFormat.leseZahl(ein);
+            Geraet geraet = geraete[BinaerFormat.leseZahl(ein)];
+
+            if (typ == TYP_DAUER) {
+                uebungen[i] = fitnessstudio.getUebungsKatalog().dauerUebung(name, beschreibung, saetze, geraet, wert);
+            } else if (typ == TYP_WIEDERHOLUNG) {
+                uebungen[i] = fitnessstudio.getUebungsKatalog().wiederholungsUebung(name, beschreibung, saetze, geraet, wert);
+            } else {
+                throw new IOException("Unbekannter Übungstyp im Abbild: " + typ);
+            }
+        }
+
+        Fitnessplan[] plaene = new Fitnessplan[leseAnzahl(ein, 2, "Pläne")];
+        int registriertePlaene = leseRegistrierte(ein, plaene.length, "Pläne");
+
+        for (int i = 0; i < plaene.length; i++) {
+            plaene[i] = new Fitnessplan(BinaerFormat.leseText(ein, textpuffer));
+            int anzahl = leseAnzahl(ein, 1, "Übungen eines Plans");
+
+            for (int j = 0; j < anzahl; j++) {
+                plaene[i].addUebung(uebungen[BinaerFormat.leseZahl(ein)]);
+            }
+
+            if (i < registriertePlaene) {
+                fitnessstudio.registrierePlan(plaene[i]);
+            }
+        }
+
+        int anzahlMitglieder = leseAnzahl(ein, 5, "Mitglieder");
+        List<Mitglied> mitglieder = new ArrayList<>(anzahlMitglieder);
+
+        for (int i = 0; i < anzahlMitglieder; i++) {
+            Mitglied mitglied = new Mitglied(BinaerFormat.leseText(ein, textpuffer), BinaerFormat.leseText(ein, textpuffer), BinaerFormat.leseText(ein, textpuffer));
+            boolean gesperrt = BinaerFormat.leseZahl(ein) != 0;
+            int anzahl = leseAnzahl(ein, 1, "Pläne eines Mitglieds");
+
+            // Pläne vor der Sperre zuordnen, da gesperrte Mitglieder keine Pläne erhalten dürfen
+            for (int j = 0; j < anzahl; j++) {
+                mitglied.addFitnessplan(plaene[BinaerFormat.leseZahl(ein)]);
+            }
+
+            mitglied.setGesperrt(gesperrt);
+            mitglieder.add(mitglied);
+        }
+
+        fitnessstudio.legeGeladeneMitgliederAn(mitglieder);
+        fitnessstudio.aenderungAbgeschlossen();
+
+        return fitnessstudio;
+    }
+
+    /**
+     * Liest eine Anzahl und prüft sie gegen die verbleibenden Bytes, bevor danach Speicher
+     * angelegt wird: Jeder Eintrag belegt im Abbild mindestens {@code bytesJeEintrag} Bytes.
+     */
+    private static int leseAnzahl(ByteBuffer ein, int bytesJeEintrag, String eintraege) throws IOException {
+        int anzahl = BinaerFormat.leseZahl(ein);
+
+        if (anzahl < 0 || anzahl > ein.remaining() / bytesJeEintrag) {
+            throw new IOException("Ungültige Anzahl der " + eintraege + " im Abbild: " + anzahl);
+        }
+
+        return anzahl;
+    }
+
+    private static int leseRegistrierte(ByteBuffer ein, int gesamt, String eintraege) throws IOException {
+        int registriert = BinaerFormat.leseZahl(ein);
+
+        if (registriert < 0 || registriert > gesamt) {
+            throw new IOException("Ungültige Anzahl registrierter " + eintraege + " im Abbild: " + registriert);
+        }
+
+        return registriert;
+    }
+
+    /**
+     * Gepufferte Ausgabe in einen {@link FileChannel}.
+     */
+    private static final class Ausgabe {
+        private final FileChannel kanal;
+        private final ByteBuffer puffer;
+
+        Ausgabe(FileChannel kanal) {
+            this.kanal = kanal;
+            this.puffer = ByteBuffer.allocateDirect(PUFFERGROESSE);
+        }
+
+        void schreibeInt(int wert) throws IOException {
+            platz(Integer.BYTES);
+            puffer.putInt(wert);
+        }
+
+        void schreibeZahl(int wert) throws IOException {
+            platz(BinaerFormat.MAX_ZAHL_BYTES);
+            BinaerFormat.schreibeZahl(puffer, wert);
+        }
+
+        void schreibeText(String text) throws IOException {
+            byte[] bytes = BinaerFormat.utf8(text);
+
+            if (BinaerFormat.textlaenge(bytes) > puffer.capacity()) {
+                schreibeZahl(bytes.length);
+                leere();
+                kanal.write(ByteBuffer.wrap(bytes));
+                return;
+            }
+
+            platz(BinaerFormat.textlaenge(bytes));
+            BinaerFormat.schreibeText(puffer, bytes);
+        }
+
+        void leere() throws IOException {
+            puffer.flip();
+
+            while (puffer.hasRemaining()) {
+                kanal.write(puffer);
+            }
+
+            puffer.clear();
+        }
+
+        private void platz(int bytes) throws IOException {
+            if (puffer.remaining() < bytes) {
+                leere();
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package fitnessstudio;
+
+/**
+ * Beobachter für Änderungen an einem {@link Fitnessstudio}.
+ * Alle Methoden haben eine leere Standardimplementierung, sodass nur die
+ * benötigten Ereignisse überschrieben werden müssen.
+ * <p>
+ * Die Methoden werden synchron im Thread der Änderung aufgerufen, teilweise während
+ * interne Sperren gehalten werden. Implementierungen müssen threadsicher sein und
+ * sollten schnell zurückkehren. Wer auf etwas warten muss, etwa bis ein Eintrag auf dem
+ * Datenträger liegt, tut das in {@link #aenderungAbgeschlossen()}, nachdem die Sperren
+ * freigegeben sind.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public interface StudioBeobachter {
+    /**
+     * Wird aufgerufen, wenn ein Gerät angelegt wird.
+     *
+     * @param geraet Das neue Gerät
+     */
+    default void geraetAngelegt(Geraet geraet) {
+    }
+
+    /**
+     * Wird aufgerufen, wenn ein Gerät außer Betrieb oder wieder in Betrieb genommen wird.
+     *
+     * @param geraet        Das Gerät
+     * @param ausserBetrieb true, wenn das Gerät nun außer Betrieb ist
+     */
+    default void betriebsstatusGeaendert(Geraet geraet, boolean ausserBetrieb) {
+    }
+
+    /**
+     * Wird aufgerufen, wenn ein Gerät ausgemustert und aus dem Studio entfernt wird.
+     *
+     * @param geraet Das ausgemusterte Gerät
+     */
+    default void geraetAusgemustert(Geraet geraet) {
+    }
+
+    /**
+     * Wird aufgerufen, wenn ein registrierter Plan durch eine Änderung an den Geräten
+     * gültig oder ungültig wird. Folgt stets auf das auslösende Geräte-Ereignis.
+     *
+     * @param plan    Der betroffene Plan
+     * @param gueltig Die neue Gültigkeit
+     */
+    default void planstatusGeaendert(Fitnessplan plan, boolean gueltig) {
+    }
+
+    /**
+     * Wird aufgerufen, wenn ein Mitglied angelegt wird.
+     *
+     * @param mitglied Das neue Mitglied
+     */
+    default void mitgliedAngelegt(Mitglied mitglied) {
+    }
+
+    /**
+     * Wird aufgerufen, bevor der Name eines registrierten Mitglieds geändert wird. Wirft ein
+     * Beobachter, behält das Mitglied seinen Namen.
+     *
+     * @param mitglied Das Mitglied (noch mit altem Namen)
+     * @param name     Der neue Name
+     */
+    default void nameWirdGeaendert(Mitglied mitglied, String name) {
+    }
+
+    /**
+     * Wird aufgerufen, bevor die Adresse eines registrierten Mitglieds geändert wird. Wirft ein
+     * Beobachter, behält das Mitglied seine Adresse.
+     *
+     * @param mitglied Das Mitglied (noch mit alter Adresse)
+     * @param adresse  Die neue Adresse
+     */
+    default void adresseWirdGeaendert(Mitglied mitglied, String adresse) {
+    }
+
+    /**
+     * Wird aufgerufen, wenn ein Fitnessplan erstellt wurde.
+     *
+     * @param plan Der neue Fitnessplan
+     */
+    default void planErstellt(Fitnessplan plan) {
+    }
+
+    /**
+     * Wird aufgerufen, bevor ein registrierter Plan umbenannt wird. Wirft ein Beobachter,
+     * behält der Plan seinen Namen.
+     *
+     * @param plan Der Plan (noch mit altem Namen)
+     * @param name Der neue Name
+     */
+    default void planWirdUmbenannt(Fitnessplan plan, String name) {
+    }
+
+    /**
+     * Wird aufgerufen, bevor einem registrierten Plan eine Übung hinzugefügt wird. Wirft ein
+     * Beobachter, wird die Übung nicht hinzugefügt.
+     *
+     * @param plan   Der Plan (noch ohne die Übung)
+     * @param uebung Die neue Übung
+     */
+    default void uebungWirdHinzugefuegt(Fitnessplan plan, Uebung uebung) {
+    }
+
+    /**
+     * Wird aufgerufen, wenn einem Mitglied ein Plan zugewiesen wird. Bei
+     * {@link Fitnessstudio#weisePlanZu(Mitglied, Fitnessplan)} geschieht das samt
+     * {@link #aenderungAbgeschlossen()}, bevor die Zuweisung sichtbar wird; wirft ein
+     * Beobachter, wird sie verworfen.
+     *
+     * @param mitglied Das Mitglied
+     * @param plan     Der zugewiesene Plan
+     */
+    default void planZugewiesen(Mitglied mitglied, Fitnessplan plan) {
+    }
+
+    /**
+     * Wird aufgerufen, wenn sich der Sperrstatus eines Mitglieds ändert.
+     *
+     * @param mitglied Das Mitglied
+     * @param gesperrt Der neue Sperrstatus
+     */
+    default void sperrstatusGeaendert(Mitglied mitglied, boolean gesperrt) {
+    }
+
+    /**
+     * Wird aufgerufen, nachdem eine Änderung alle internen Sperren freigegeben hat, und zwar
+     * im selben Thread, der zuvor ihre Ereignisse gemeldet hat. Eine Änderung kehrt erst
+     * zurück, wenn alle Beobachter diese Methode beendet haben. Schlägt eine Änderung nach
+     * einem gemeldeten Ereignis fehl, kann der Aufruf entfallen.
+     * <p>
+     * Meist ist die Änderung zu diesem Zeitpunkt bereits sichtbar. Eine hier geworfene Ausnahme
+     * nimmt sie nicht zurück und wird nicht an den Aufrufer der Änderung weitergegeben; wer etwa
+     * dauerhaft speichert, muss einen Fehler selbst festhalten und melden. Nur bei
+     * {@link #planZugewiesen(Mitglied, Fitnessplan)} wird die Zuweisung dann verworfen.
+     */
+    default void aenderungAbgeschlossen() {
+    }
+}
@@ -0,0 +1,68 @@
+package fitnessstudio;
+
+/**
+ * Operationen, für die {@link Studiometriken} Aufrufe, Fehler und Latenzen erfassen.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public enum StudioOperation {
+    /** {@link Fitnessstudio#legeGeraetAn(Geraet)} */
+    GERAET_ANLEGEN,
+
+    /** {@link Fitnessstudio#getGeraetById(String)} */
+    GERAET_SUCHEN,
+
+    /** {@link Fitnessstudio#nehmeAusserBetrieb(String)} und {@link Fitnessstudio#nehmeInBetrieb(String)} */
+    BETRIEBSSTATUS_AENDERN,
+
+    /** {@link Fitnessstudio#musterGeraetAus(String)} */
+    GERAET_AUSMUSTERN,
+
+    /** {@link Fitnessstudio#legeMitgliedAn(Mitglied)} */
+    MITGLIED_ANLEGEN,
+
+    /** {@link Fitnessstudio#getMitgliedByNummer(String)} */
+    MITGLIED_SUCHEN,
+
+    /** {@link Fitnessstudio#sucheMitglieder(String, int)} */
+    MITGLIEDER_DURCHSUCHEN,
+
+    /** {@link Fitnessstudio#getMitgliederSeite(String, int, java.util.function.Predicate)} */
+    MITGLIEDER_BLAETTERN,
+
+    /** {@link Fitnessstudio#erstelleFitnessplan(String, java.util.List)} */
+    PLAN_ERSTELLEN,
+
+    /** {@link Fitnessstudio#erstelleFitnessplaene(java.util.List)}, ein Aufruf je Stapel */
+    PLAENE_ERSTELLEN,
+
+    /** {@link Fitnessstudio#getPlaeneSeite(String, int, java.util.function.Predicate)} */
+    PLAENE_BLAETTERN,
+
+    /** {@link Fitnessstudio#istGueltig(Fitnessplan)} */
+    PLAN_PRUEFEN,
+
+    /** {@link Fitnessstudio#weisePlanZu(Mitglied, Fitnessplan)} */
+    PLAN_ZUWEISEN,
+
+    /** {@link Fitnessstudio#findeBetroffeneMitglieder(String)} */
+    BETROFFENE_FINDEN,
+
+    /** Direkter Aufruf von {@link Mitglied#addFitnessplan(Fitnessplan)} an einem registrierten Mitglied */
+    MITGLIED_PLAN_HINZUFUEGEN,
+
+    /** {@link Mitglied#setGesperrt(boolean)} an einem registrierten Mitglied */
+    MITGLIED_SPERRSTATUS,
+
+    /** {@link Reservierungen#reserviere(Mitglied, Fitnessplan, String, java.time.LocalDateTime)} und
+     * {@link Reservierungen#reserviereTraining(Mitglied, Fitnessplan, java.time.LocalDateTime)} */
+    RESERVIEREN,
+
+    /** {@link Reservierungen#storniere(long)} */
+    STORNIEREN
+}
@@ -0,0 +1,688 @@
+package fitnessstudio;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP-Schnittstelle eines {@link Fitnessstudio}s auf dem im JDK enthaltenen
+ * {@link HttpServer}. Jede Anfrage läuft in einem eigenen virtuellen Thread; Anfragen und
+ * Antworten werden mit {@link JsonLeser} und {@link JsonSchreiber} ohne externe Bibliothek
+ * gelesen und geschrieben. Abgelehnte Anlagen und Zuweisungen laufen über die
+ * {@code versuche...}-Methoden des Studios und kosten daher keine Ausnahme.
+ * <p>
+ * Endpunkte (alle Antworten als JSON):
+ * <ul>
+ *   <li>{@code GET /geraete}, {@code POST /geraete} mit {@code geraeteId}, {@code name} und {@code kategorie}</li>
+ *   <li>{@code GET /geraete/{id}} und {@code GET /geraete/{id}/betroffene} (Mitgliedsnummern)</li>
+ *   <li>{@code GET /mitglieder} blättert seitenweise nach Mitgliedsnummer (siehe unten),
+ *       {@code POST /mitglieder} mit {@code mitgliedsnummer}, {@code name} und {@code adresse}</li>
+ *   <li>{@code GET /mitglieder/{nummer}}</li>
+ *   <li>{@code POST /mitglieder/{nummer}/plaene} mit {@code plan} (Plannummer) weist einen Plan zu</li>
+ *   <li>{@code POST /plaene} mit {@code name} und {@code uebungen} (je {@code typ} {@code wiederholung}
+ *       oder {@code dauer}, {@code name}, {@code beschreibung}, {@code saetze}, {@code geraeteId} und
+ *       {@code wiederholungen} bzw. {@code trainingsdauerMin})</li>
+ *   <li>{@code GET /plaene} blättert seitenweise nach Plannummer, {@code GET /plaene/{nummer}}</li>
+ * </ul>
+ * Die Listen {@code GET /mitglieder} und {@code GET /plaene} nehmen die Parameter {@code nach}
+ * (Cursor der vorherigen Seite), {@code anzahl} (1 bis {@value #MAX_SEITE}, sonst
+ * {@value #STANDARD_SEITE}) und {@code gesperrt} bzw. {@code gueltig} ({@code true} oder
+ * {@code false}) als Filter. Sie antworten mit {@code eintraege} und {@code cursor}, der für
+ * die letzte Seite null ist (siehe {@link Seite}).
+ * Anlagen antworten mit 201, ungültige Argumente mit 400, Zustandsfehler (z. B. ein gesperrtes
+ * Mitglied) mit 409 und unbekannte Objekte mit 404. Fehlerantworten enthalten
+ * {@code fehlercode}, {@code meldung} und {@code betroffen}.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class StudioServer implements Closeable {
+    /** Port, wenn beim Start über {@link #main(String[])} keiner angegeben wird. */
+    public static final int STANDARD_PORT = 8080;
+
+    private static final int MAX_KOERPER = 1 << 20;
+    private static final int STANDARD_SEITE = 50;
+    private static final int MAX_SEITE = 1000;
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final System.Logger LOG = System.getLogger(StudioServer.class.getName());
+
+    private final Fitnessstudio fitnessstudio;
+    private final HttpServer server;
+    private final ExecutorService ausfuehrer;
+
+    /**
+     * Bindet den Server an eine Adresse, ohne ihn zu starten.
+     *
+     * @param fitnessstudio Das bereitgestellte Studio (darf nicht null sein)
+     * @param adresse       Adresse und Port (Port 0 wählt einen freien Port)
+     * @param backlog       Länge der Warteschlange für noch nicht angenommene Verbindungen
+     *                      (0 für den Standard des Systems)
+     * @throws IOException falls die Adresse nicht gebunden werden kann
+     * @throws IllegalArgumentException falls fitnessstudio oder adresse null ist
+     */
+    public StudioServer(Fitnessstudio fitnessstudio, InetSocketAddress adresse, int backlog) throws IOException {
+        if (fitnessstudio == null) {
+            throw new IllegalArgumentException("Das Fitnessstudio darf nicht null sein.");
+        }
+
+        if (adresse == null) {
+            throw new IllegalArgumentException("Die Adresse darf nicht null sein.");
+        }
+
+        this.fitnessstudio = fitnessstudio;
+        this.server = HttpServer.create(adresse, backlog);
+        this.ausfuehrer = Executors.newVirtualThreadPerTaskExecutor();
+        server.createContext("/", this::bearbeite);
+        server.setExecutor(ausfuehrer);
+    }
+
+    /**
+     * Startet den Server; Anfragen werden ab jetzt angenommen.
+     */
+    public void starte() {
+        server.start();
+    }
+
+    /**
+     * Gibt den tatsächlich gebundenen Port zurück.
+     *
+     * @return Der Port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Beendet den Server sofort; laufende Anfragen werden abgebrochen.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        ausfuehrer.shutdownNow();
+    }
+
+    /**
+     * Startet ein leeres Studio hinter der Schnittstelle auf localhost.
+     *
+     * @param args optional der Port (Standard {@value #STANDARD_PORT})
+     * @throws IOException falls der Port nicht gebunden werden kann
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : STANDARD_PORT;
+        StudioServer server = new StudioServer(new Fitnessstudio(),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.starte();
+        System.out.println("Fitnessstudio-API auf http://localhost:" + server.getPort());
+    }
+
+    private void bearbeite(HttpExchange austausch) throws IOException {
+        try (austausch) {
+            try {
+                leite(austausch);
+            } catch (IllegalArgumentException e) {
+                sendeFehler(austausch, 400, null, e.getMessage());
+            } catch (IllegalStateException e) {
+                sendeFehler(austausch, 409, null, e.getMessage());
+            } catch (RuntimeException e) {
+                // Details nur ins Log, nicht an den Client
+                LOG.log(System.Logger.Level.ERROR, "Fehler bei " + austausch.getRequestMethod() + " "
+                        + austausch.getRequestURI().getRawPath(), e);
+                sendeFehler(austausch, 500, null, "Interner Fehler.");
+            }
+        }
+    }
+
+    private void leite(HttpExchange austausch) throws IOException {
+        List<String> pfad = zerlege(austausch.getRequestURI().getRawPath());
+        String methode = austausch.getRequestMethod();
+        String route = pfad.isEmpty() ? "" : pfad.get(0);
+
+        // Platzhalter wie {id} für die Wahl des Endpunkts auf "*" abbilden
+        if (pfad.size() >= 2) {
+            route += pfad.size() == 2 ? "/*" : "/*/" + String.join("/", pfad.subList(2, pfad.size()));
+        }
+
+        switch (route) {
+            case "geraete" -> {
+                if (erlaubt(austausch, methode, "GET", "POST")) {
+                    if (methode.equals("GET")) {
+                        sendeGeraete(austausch);
+                    } else {
+                        legeGeraetAn(austausch);
+                    }
+                }
+            }
+            case "geraete/*" -> {
+                if (erlaubt(austausch, methode, "GET")) {
+                    sendeGeraet(austausch, pfad.get(1));
+                }
+            }
+            case "geraete/*/betroffene" -> {
+                if (erlaubt(austausch, methode, "GET")) {
+                    sendeBetroffene(austausch, pfad.get(1));
+                }
+            }
+            case "mitglieder" -> {
+                if (erlaubt(austausch, methode, "GET", "POST")) {
+                    if (methode.equals("GET")) {
+                        sendeMitglieder(austausch);
+                    } else {
+                        legeMitgliedAn(austausch);
+                    }
+                }
+            }
+            case "mitglieder/*" -> {
+                if (erlaubt(austausch, methode, "GET")) {
+                    sendeMitglied(austausch, pfad.get(1));
+                }
+            }
+            case "mitglieder/*/plaene" -> {
+                if (erlaubt(austausch, methode, "POST")) {
+                    weisePlanZu(austausch, pfad.get(1));
+                }
+            }
+            case "plaene" -> {
+                if (erlaubt(austausch, methode, "GET", "POST")) {
+                    if (methode.equals("GET")) {
+                        sendePlaene(austausch);
+                    } else {
+                        erstellePlan(austausch);
+                    }
+                }
+            }
+            case "plaene/*" -> {
+                if (erlaubt(austausch, methode, "GET")) {
+                    sendePlan(austausch, pfad.get(1));
+                }
+            }
+            default -> sendeUnbekannt(austausch);
+        }
+    }
+
+    // ---------------------------------------------------------------- Geräte
+
+    private void sendeGeraete(HttpExchange austausch) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        JsonSchreiber json = new JsonSchreiber(sb).beginneListe();
+
+        for (Geraet geraet : fitnessstudio.getGeraete()) {
+            schreibe(json, geraet);
+        }
+
+        json.beendeListe();
+        sende(austausch, 200, sb);
+    }
+
+    private void legeGeraetAn(HttpExchange austausch) throws IOException {
+        Map<String, Object> anfrage = liesObjekt(austausch);
+        String kategorie = text(anfrage, "kategorie");
+        Geraet geraet = new Geraet(text(anfrage, "geraeteId"), text(anfrage, "name"), kategorie(kategorie));
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+
+        if (!fitnessstudio.versucheGeraetAnzulegen(geraet, ergebnis)) {
+            sendeFehler(austausch, ergebnis);
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        schreibe(new JsonSchreiber(sb), geraet);
+        sende(austausch, 201, sb);
+    }
+
+    private void sendeGeraet(HttpExchange austausch, String id) throws IOException {
+        Geraet geraet = fitnessstudio.getGeraetById(id);
+
+        if (geraet == null) {
+            sendeFehler(austausch, 404, Fehlercode.GERAET_UNBEKANNT, "Ein Gerät mit der ID " + id + " existiert nicht.");
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        schreibe(new JsonSchreiber(sb), geraet);
+        sende(austausch, 200, sb);
+    }
+
+    private void sendeBetroffene(HttpExchange austausch, String id) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        JsonSchreiber json = new JsonSchreiber(sb).beginneListe();
+
+        for (Mitglied mitglied : fitnessstudio.findeBetroffeneMitglieder(id)) {
+            json.wert(mitglied.getMitgliedsnummer());
+        }
+
+        json.beendeListe();
+        sende(austausch, 200, sb);
+    }
+
+    private void schreibe(JsonSchreiber json, Geraet geraet) {
+        json.beginneObjekt()
+                .name("geraeteId").wert(geraet.getGeraeteId())
+                .name("name").wert(geraet.getGeraeteName())
+                .name("kategorie").wert(geraet.getKategorie().name())
+                .name("ausserBetrieb").wert(fitnessstudio.istAusserBetrieb(geraet.getGeraeteId()))
+                .beendeObjekt();
+    }
+
+    private static GeraeteKategorie kategorie(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        for (GeraeteKategorie kategorie : GeraeteKategorie.values()) {
+            if (kategorie.name().equalsIgnoreCase(name)) {
+                return kategorie;
+            }
+        }
+
+        throw new IllegalArgumentException("Unbekannte Kategorie: " + name);
+    }
+
+    // ---------------------------------------------------------------- Mitglieder
+
+    private void sendeMitglieder(HttpExchange austausch) throws IOException {
+        Map<String, String> parameter = parameter(austausch);
+        Boolean gesperrt = wahrheitswert(parameter, "gesperrt");
+        Seite<Mitglied> seite = fitnessstudio.getMitgliederSeite(parameter.get("nach"), seitengroesse(parameter),
+                gesperrt == null ? null : mitglied -> mitglied.isGesperrt() == gesperrt);
+
+        StringBuilder sb = new StringBuilder();
+        JsonSchreiber json = new JsonSchreiber(sb).beginneObjekt().name("eintraege").beginneListe();
+
+        for (Mitglied mitglied : seite.getEintraege()) {
+            schreibe(json, mitglied);
+        }
+
+        json.beendeListe().name("cursor").wert(seite.getCursor()).beendeObjekt();
+        sende(austausch, 200, sb);
+    }
+
+    private void legeMitgliedAn(HttpExchange austausch) throws IOException {
+        Map<String, Object> anfrage = liesObjekt(austausch);
+        Mitglied mitglied = new Mitglied(text(anfrage, "mitgliedsnummer"), text(anfrage, "name"), text(anfrage, "adresse"));
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+
+        if (!fitnessstudio.versucheMitgliedAnzulegen(mitglied, ergebnis)) {
+            sendeFehler(austausch, ergebnis);
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        schreibe(new JsonSchreiber(sb), mitglied);
+        sende(austausch, 201, sb);
+    }
+
+    private void sendeMitglied(HttpExchange austausch, String nummer) throws IOException {
+        Mitglied mitglied = fitnessstudio.getMitgliedByNummer(nummer);
+
+        if (mitglied == null) {
+            sendeMitgliedUnbekannt(austausch, nummer);
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        schreibe(new JsonSchreiber(sb), mitglied);
+        sende(austausch, 200, sb);
+    }
+
+    private void weisePlanZu(HttpExchange austausch, String nummer) throws IOException {
+        Map<String, Object> anfrage = liesObjekt(austausch);
+        Mitglied mitglied = fitnessstudio.getMitgliedByNummer(nummer);
+
+        if (mitglied == null) {
+            sendeMitgliedUnbekannt(austausch, nummer);
+            return;
+        }
+
+        Fitnessplan plan = plan(ganzzahl(anfrage, "plan"));
+
+        if (plan == null) {
+            sendePlanUnbekannt(austausch, String.valueOf(anfrage.get("plan")));
+            return;
+        }
+
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+
+        if (!fitnessstudio.versuchePlanZuzuweisen(mitglied, plan, ergebnis)) {
+            sendeFehler(austausch, ergebnis);
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        schreibe(new JsonSchreiber(sb), mitglied);
+        sende(austausch, 200, sb);
+    }
+
+    private static void schreibe(JsonSchreiber json, Mitglied mitglied) {
+        json.beginneObjekt()
+                .name("mitgliedsnummer").wert(mitglied.getMitgliedsnummer())
+                .name("name").wert(mitglied.getName())
+                .name("adresse").wert(mitglied.getAdresse())
+                .name("gesperrt").wert(mitglied.isGesperrt())
+                .name("aktivePlaene").beginneListe();
+
+        for (Fitnessplan plan : mitglied.getAktivePlaene()) {
+            json.wert(plan.getNummer());
+        }
+
+        json.beendeListe().beendeObjekt();
+    }
+
+    private static void sendeMitgliedUnbekannt(HttpExchange austausch, String nummer) throws IOException {
+        sendeFehler(austausch, 404, Fehlercode.MITGLIED_NICHT_REGISTRIERT,
+                "Ein Mitglied mit der Nr. " + nummer + " existiert nicht.");
+    }
+
+    // ---------------------------------------------------------------- Pläne
+
+    private void erstellePlan(HttpExchange austausch) throws IOException {
+        Map<String, Object> anfrage = liesObjekt(austausch);
+        Object liste = anfrage.get("uebungen");
+
+        if (liste != null && !(liste instanceof List)) {
+            throw new IllegalArgumentException("Das Feld uebungen muss eine Liste sein.");
+        }
+
+        List<Uebung> uebungen = new ArrayList<>();
+        UebungsKatalog katalog = fitnessstudio.getUebungsKatalog();
+        Validierungsergebnis ergebnis = new Validierungsergebnis();
+
+        for (Object eintrag : liste == null ? List.of() : (List<?>) liste) {
+            Map<String, Object> uebung = objekt(eintrag);
+            String geraeteId = text(uebung, "geraeteId");
+            Geraet geraet = geraeteId == null ? null : fitnessstudio.getGeraetById(geraeteId);
+
+            if (geraet == null) {
+                ergebnis.fehler(Fehlercode.GERAET_UNBEKANNT, geraeteId, null);
+                sendeFehler(austausch, ergebnis);
+                return;
+            }
+
+            String typ = text(uebung, "typ");
+
+            if ("wiederholung".equals(typ)) {
+                uebungen.add(katalog.wiederholungsUebung(text(uebung, "name"), text(uebung, "beschreibung"),
+                        ganzzahl(uebung, "saetze"), geraet, ganzzahl(uebung, "wiederholungen")));
+            } else if ("dauer".equals(typ)) {
+                uebungen.add(katalog.dauerUebung(text(uebung, "name"), text(uebung, "beschreibung"),
+                        ganzzahl(uebung, "saetze"), geraet, ganzzahl(uebung, "trainingsdauerMin")));
+            } else {
+                throw new IllegalArgumentException("Der Übungstyp muss \"wiederholung\" oder \"dauer\" sein.");
+            }
+        }
+
+        Fitnessplan plan = fitnessstudio.versucheFitnessplanZuErstellen(text(anfrage, "name"), uebungen, ergebnis);
+
+        if (plan == null) {
+            sendeFehler(austausch, ergebnis);
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        schreibe(new JsonSchreiber(sb), plan);
+        sende(austausch, 201, sb);
+    }
+
+    private void sendePlaene(HttpExchange austausch) throws IOException {
+        Map<String, String> parameter = parameter(austausch);
+        Boolean gueltig = wahrheitswert(parameter, "gueltig");
+        Seite<Fitnessplan> seite = fitnessstudio.getPlaeneSeite(parameter.get("nach"), seitengroesse(parameter),
+                gueltig == null ? null : plan -> fitnessstudio.istGueltig(plan) == gueltig);
+
+        StringBuilder sb = new StringBuilder();
+        JsonSchreiber json = new JsonSchreiber(sb).beginneObjekt().name("eintraege").beginneListe();
+
+        for (Fitnessplan plan : seite.getEintraege()) {
+            schreibe(json, plan);
+        }
+
+        json.beendeListe().name("cursor").wert(seite.getCursor()).beendeObjekt();
+        sende(austausch, 200, sb);
+    }
+
+    private void sendePlan(HttpExchange austausch, String nummer) throws IOException {
+        Fitnessplan plan = null;
+
+        try {
+            plan = plan(Integer.parseInt(nummer));
+        } catch (NumberFormatException e) {
+            // Keine Zahl: wie ein unbekannter Plan behandeln
+        }
+
+        if (plan == null) {
+            sendePlanUnbekannt(austausch, nummer);
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        schreibe(new JsonSchreiber(sb), plan);
+        sende(austausch, 200, sb);
+    }
+
+    private Fitnessplan plan(int nummer) {
+        List<Fitnessplan> plaene = fitnessstudio.getPlaene();
+        return nummer >= 0 && nummer < plaene.size() ? plaene.get(nummer) : null;
+    }
+
+    private void schreibe(JsonSchreiber json, Fitnessplan plan) {
+        json.beginneObjekt()
+                .name("nummer").wert(plan.getNummer())
+                .name("name").wert(plan.getName())
+                .name("gueltig").wert(fitnessstudio.istGueltig(plan))
+                .name("uebungen").beginneListe();
+
+        for (Uebung uebung : plan.getUebungen()) {
+            json.beginneObjekt()
+                    .name("typ").wert(uebung instanceof DauerUebung ? "dauer" : "wiederholung")
+                    .name("name").wert(uebung.getName())
+                    .name("beschreibung").wert(uebung.getBeschreibung())
+                    .name("saetze").wert(uebung.getSaetze())
+                    .name("geraeteId").wert(uebung.getGeraet().getGeraeteId());
+
+            if (uebung instanceof DauerUebung) {
+                json.name("trainingsdauerMin").wert(((DauerUebung) uebung).getTrainingsdauerMin());
+            } else if (uebung instanceof WiederholungsUebung) {
+                json.name("wiederholungen").wert(((WiederholungsUebung) uebung).getWiederholungen());
+            }
+
+            json.beendeObjekt();
+        }
+
+        json.beendeListe().beendeObjekt();
+    }
+
+    private static void sendePlanUnbekannt(HttpExchange austausch, String nummer) throws IOException {
+        sendeFehler(austausch, 404, Fehlercode.PLAN_NICHT_REGISTRIERT, "Ein Fitnessplan mit der Nr. " + nummer + " existiert nicht.");
+    }
+
+    // ---------------------------------------------------------------- Anfragen und Antworten
+
+    /**
+     * Zerlegt einen rohen Pfad in dekodierte Segmente; leere Segmente entfallen.
+     */
+    private static List<String> zerlege(String pfad) {
+        List<String> segmente = new ArrayList<>(4);
+        int anfang = 0;
+
+        for (int i = 0; i <= pfad.length(); i++) {
+            if (i == pfad.length() || pfad.charAt(i) == '/') {
+                if (i > anfang) {
+                    String segment = pfad.substring(anfang, i);
+                    segmente.add(segment.indexOf('%') < 0 ? segment
+                            : URLDecoder.decode(segment.replace("+", "%2B"), StandardCharsets.UTF_8));
+                }
+
+                anfang = i + 1;
+            }
+        }
+
+        return segmente;
+    }
+
+    /**
+     * Zerlegt die rohe Abfrage in dekodierte Parameter; bei doppelten Namen gilt der erste.
+     */
+    private static Map<String, String> parameter(HttpExchange austausch) {
+        String abfrage = austausch.getRequestURI().getRawQuery();
+        Map<String, String> parameter = new HashMap<>();
+
+        if (abfrage == null) {
+            return parameter;
+        }
+
+        for (String paar : abfrage.split("&")) {
+            int gleich = paar.indexOf('=');
+
+            if (!paar.isEmpty()) {
+                String name = URLDecoder.decode(gleich < 0 ? paar : paar.substring(0, gleich), StandardCharsets.UTF_8);
+                String wert = gleich < 0 ? "" : URLDecoder.decode(paar.substring(gleich + 1), StandardCharsets.UTF_8);
+                parameter.putIfAbsent(name, wert);
+            }
+        }
+
+        return parameter;
+    }
+
+    private static int seitengroesse(Map<String, String> parameter) {
+        String wert = parameter.get("anzahl");
+
+        if (wert == null) {
+            return STANDARD_SEITE;
+        }
+
+        try {
+            int anzahl = Integer.parseInt(wert);
+
+            if (anzahl >= 1 && anzahl <= MAX_SEITE) {
+                return anzahl;
+            }
+        } catch (NumberFormatException e) {
+            // Wie eine Zahl außerhalb des Bereichs behandeln
+        }
+
+        throw new IllegalArgumentException("Der Parameter anzahl muss zwischen 1 und " + MAX_SEITE + " liegen.");
+    }
+
+    private static Boolean wahrheitswert(Map<String, String> parameter, String name) {
+        String wert = parameter.get(name);
+
+        if (wert == null) {
+            return null;
+        }
+
+        return switch (wert) {
+            case "true" -> Boolean.TRUE;
+            case "false" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException("Der Parameter " + name + " muss true oder false sein.");
+        };
+    }
+
+    private static boolean erlaubt(HttpExchange austausch, String methode, String... erlaubt) throws IOException {
+        for (String m : erlaubt) {
+            if (m.equals(methode)) {
+                return true;
+            }
+        }
+
+        austausch.getResponseHeaders().set("Allow", String.join(", ", erlaubt));
+        sendeFehler(austausch, 405, null, "Die Methode " + methode + " ist hier nicht erlaubt.");
+        return false;
+    }
+
+    private static Map<String, Object> liesObjekt(HttpExchange austausch) throws IOException {
+        InputStream ein = austausch.getRequestBody();
+        byte[] koerper = ein.readNBytes(MAX_KOERPER + 1);
+
+        if (koerper.length > MAX_KOERPER) {
+            throw new IllegalArgumentException("Der Anfragekörper ist größer als " + MAX_KOERPER + " Bytes.");
+        }
+
+        return JsonLeser.liesObjekt(new String(koerper, StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> objekt(Object wert) {
+        if (!(wert instanceof Map)) {
+            throw new IllegalArgumentException("Jede Übung muss ein JSON-Objekt sein.");
+        }
+
+        return (Map<String, Object>) wert;
+    }
+
+    private static String text(Map<String, Object> objekt, String name) {
+        Object wert = objekt.get(name);
+
+        if (wert != null && !(wert instanceof String)) {
+            throw new IllegalArgumentException("Das Feld " + name + " muss eine Zeichenkette sein.");
+        }
+
+        return (String) wert;
+    }
+
+    private static int ganzzahl(Map<String, Object> objekt, String name) {
+        Object wert = objekt.get(name);
+
+        if (!(wert instanceof Long) || (Long) wert != ((Long) wert).intValue()) {
+            throw new IllegalArgumentException("Das Feld " + name + " muss eine ganze Zahl sein.");
+        }
+
+        return ((Long) wert).intValue();
+    }
+
+    private static void sendeUnbekannt(HttpExchange austausch) throws IOException {
+        sendeFehler(austausch, 404, null, "Unbekannter Pfad " + austausch.getRequestURI().getPath());
+    }
+
+    private static void sendeFehler(HttpExchange austausch, Validierungsergebnis ergebnis) throws IOException {
+        int status = ergebnis.getFehlercode().istZustandsfehler() ? 409 : 400;
+        sendeFehler(austausch, status, ergebnis.getFehlercode(), ergebnis.getFehlermeldung(), ergebnis.getBetroffeneIds());
+    }
+
+    private static void sendeFehler(HttpExchange austausch, int status, Fehlercode fehlercode, String meldung) throws IOException {
+        sendeFehler(austausch, status, fehlercode, meldung, List.of());
+    }
+
+    private static void sendeFehler(HttpExchange austausch, int status, Fehlercode fehlercode, String meldung,
+                                    List<String> betroffen) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        JsonSchreiber json = new JsonSchreiber(sb).beginneObjekt()
+                .name("fehlercode").wert(fehlercode == null ? null : fehlercode.name())
+                .name("meldung").wert(meldung)
+                .name("betroffen").beginneListe();
+
+        for (String id : betroffen) {
+            json.wert(id);
+        }
+
+        json.beendeListe().beendeObjekt();
+        sende(austausch, status, sb);
+    }
+
+    private static void sende(HttpExchange austausch, int status, CharSequence json) throws IOException {
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        austausch.getResponseHeaders().set("Content-Type", JSON);
+        austausch.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream aus = austausch.getResponseBody()) {
+            aus.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package fitnessstudio;
+
+import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Unveränderlicher Stand eines {@link Fitnessstudio}s zu einer Version (siehe
+ * {@link Fitnessstudio#snapshot()}). Alle Listen und Abfragen zeigen Geräte, Mitglieder und
+ * Pläne so, wie sie beim Festhalten gemeinsam bestanden, auch wenn das Studio währenddessen
+ * weiter geändert wird. Lesende halten dafür keine Sperre und kopieren nichts: Die Listen sind
+ * Sichten, die jeden {@link Mitgliedsstand} und {@link Planstand} erst beim Zugriff aus der
+ * Kette der Stände des Mitglieds bzw. Plans wählen.
+ * <p>
+ * Gerätedaten (Name, Kategorie) sind nicht versioniert; die Geräte werden als Objekte
+ * herausgegeben.
+ * <p>
+ * Nach {@link #close()} dürfen ältere Stände gelöst werden, die nur dieser Stand noch
+ * benötigte; Zugriffe auf Mitglieder und Pläne sind danach nicht mehr erlaubt. Ein nicht
+ * geschlossener Stand wird freigegeben, sobald er nicht mehr erreichbar ist. Ein Stand kann
+ * von mehreren Threads gleichzeitig gelesen werden.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class StudioStand implements AutoCloseable {
+    private final long version;
+    private final List<Geraet> geraete;
+    private final List<Mitglied> mitglieder;
+    private final List<Fitnessplan> plaene;
+    private final Set<String> geraeteAusserBetrieb;
+    private final Map<String, Mitglied> mitgliederNachNummer;
+    private final Cleaner.Cleanable freigabe;
+    private final List<Mitgliedsstand> mitgliedsstaende;
+    private final List<Planstand> planstaende;
+    private volatile boolean geschlossen;
+
+    StudioStand(Versionsverwaltung versionen, long version, List<Geraet> geraete, List<Mitglied> mitglieder,
+                List<Fitnessplan> plaene, Set<String> geraeteAusserBetrieb, Map<String, Mitglied> mitgliederNachNummer) {
+        this.version = version;
+        this.geraete = geraete;
+        this.mitglieder = mitglieder;
+        this.plaene = plaene;
+        this.geraeteAusserBetrieb = geraeteAusserBetrieb;
+        this.mitgliederNachNummer = mitgliederNachNummer;
+        this.freigabe = versionen.beobachte(this, version);
+        this.mitgliedsstaende = new Mitgliedsstaende();
+        this.planstaende = new Planstaende();
+    }
+
+    /**
+     * Gibt die Version des Stands zurück. Spätere Stände desselben Studios tragen größere
+     * Versionen.
+     *
+     * @return Die Version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gibt alle Geräte in Anlagereihenfolge zurück.
+     *
+     * @return unveränderliche Liste der Geräte
+     */
+    public List<Geraet> getGeraete() {
+        return geraete;
+    }
+
+    /**
+     * Prüft, ob ein Gerät außer Betrieb war.
+     *
+     * @param geraeteId Die Geräte-ID
+     * @return true, wenn das Gerät existierte und außer Betrieb war
+     */
+    public boolean istAusserBetrieb(String geraeteId) {
+        return geraeteId != null && geraeteAusserBetrieb.contains(geraeteId);
+    }
+
+    /**
+     * Gibt die Stände aller Mitglieder in Anlagereihenfolge zurück.
+     *
+     * @return unveränderliche Sicht; der Zugriff auf ein Element kostet so viele Schritte,
+     *         wie das Mitglied seitdem geändert wurde
+     * @throws IllegalStateException beim Zugriff nach {@link #close()}
+     */
+    public List<Mitgliedsstand> getMitglieder() {
+        return mitgliedsstaende;
+    }
+
+    /**
+     * Gibt den Stand eines Mitglieds zurück.
+     *
+     * @param mitglied Das Mitglied
+     * @return Der Stand oder null, falls das Mitglied nicht in diesem Studio registriert war
+     * @throws IllegalStateException nach {@link #close()}
+     */
+    public Mitgliedsstand getMitgliedsstand(Mitglied mitglied) {
+        pruefeOffen();
+
+        // Der Stand muss bis nach bei(version) erreichbar bleiben, sonst könnte der Cleaner
+        // die Version mitten in der Suche freigeben
+        try {
+            if (mitglied == null || mitglied.getRegistriertIn() > version
+                    || mitgliederNachNummer.get(mitglied.getMitgliedsnummer()) != mitglied) {
+                return null;
+            }
+
+            return mitglied.getStand().bei(version);
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+    }
+
+    /**
+     * Sucht den Stand eines Mitglieds anhand seiner Mitgliedsnummer.
+     *
+     * @param nummer Die Mitgliedsnummer
+     * @return Der Stand oder null, falls kein solches Mitglied registriert war
+     * @throws IllegalStateException nach {@link #close()}
+     */
+    public Mitgliedsstand getMitglied(String nummer) {
+        return nummer == null ? null : getMitgliedsstand(mitgliederNachNummer.get(nummer));
+    }
+
+    /**
+     * Gibt die Stände aller Pläne in Nummernreihenfolge zurück.
+     *
+     * @return unveränderliche Sicht, deren Position der Plannummer entspricht
+     * @throws IllegalStateException beim Zugriff nach {@link #close()}
+     */
+    public List<Planstand> getPlaene() {
+        return planstaende;
+    }
+
+    /**
+     * Gibt den Stand eines Plans zurück.
+     *
+     * @param plan Der Plan
+     * @return Der Stand oder null, falls der Plan noch nicht zum Studio gehörte
+     * @throws IllegalStateException nach {@link #close()}
+     */
+    public Planstand getPlanstand(Fitnessplan plan) {
+        pruefeOffen();
+
+        if (plan == null) {
+            return null;
+        }
+
+        int nummer = plan.getNummer();
+
+        try {
+            if (nummer < 0 || nummer >= plaene.size() || plaene.get(nummer) != plan) {
+                return null;
+            }
+
+            return plan.getStand().bei(version);
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+    }
+
+    /**
+     * Gibt zurück, ob der Stand geschlossen ist.
+     *
+     * @return true nach {@link #close()}
+     */
+    public boolean isGeschlossen() {
+        return geschlossen;
+    }
+
+    /**
+     * Gibt den Stand frei. Weitere Aufrufe haben keine Wirkung.
+     */
+    @Override
+    public void close() {
+        geschlossen = true;
+        freigabe.clean();
+    }
+
+    private void pruefeOffen() {
+        if (geschlossen) {
+            throw new IllegalStateException("Der Studiostand ist bereits geschlossen.");
+        }
+    }
+
+    /**
+     * Sicht auf die Stände der Mitglieder.
+     */
+    private final class Mitgliedsstaende extends AbstractList<Mitgliedsstand> implements RandomAccess {
+        @Override
+        public Mitgliedsstand get(int index) {
+            pruefeOffen();
+
+            try {
+                return mitglieder.get(index).getStand().bei(version);
+            } finally {
+                Reference.reachabilityFence(StudioStand.this);
+            }
+        }
+
+        @Override
+        public int size() {
+            return mitglieder.size();
+        }
+    }
+
+    /**
+     * Sicht auf die Stände der Pläne.
+     */
+    private final class Planstaende extends AbstractList<Planstand> implements RandomAccess {
+        @Override
+        public Planstand get(int index) {
+            pruefeOffen();
+
+            try {
+                return plaene.get(index).getStand().bei(version);
+            } finally {
+                Reference.reachabilityFence(StudioStand.this);
+            }
+        }
+
+        @Override
+        public int size() {
+            return plaene.size();
+        }
+    }
+}
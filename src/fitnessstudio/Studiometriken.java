@@ -0,0 +1,175 @@
+package fitnessstudio;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+/**
+ * Betriebsmetriken eines {@link Fitnessstudio}s: je {@link StudioOperation} eine
+ * {@link Operationsmetrik} mit Latenzhistogramm und Fehlerzählern.
+ * <p>
+ * Die Erfassung ist standardmäßig eingeschaltet und kostet je Aufruf zwei Zeitstempel
+ * ({@link System#nanoTime()}, je nach Taktquelle 15 bis 50 ns) und einen atomaren Zähler in
+ * einem threadeigenen Streifen (etwa 15 ns, siehe {@code MetrikBenchmark}). Mit {@link #registriere(String)} werden die Metriken als MBeans
+ * unter {@code fitnessstudio:type=Operation,studio=<Name>,name=<Operation>} veröffentlicht und
+ * sind damit z. B. in JConsole sichtbar.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class Studiometriken {
+    private final Operationsmetrik[] metriken;
+    private final List<ObjectName> registriert;
+    private volatile boolean aktiv;
+
+    Studiometriken() {
+        StudioOperation[] operationen = StudioOperation.values();
+        this.metriken = new Operationsmetrik[operationen.length];
+
+        for (StudioOperation operation : operationen) {
+            metriken[operation.ordinal()] = new Operationsmetrik(operation);
+        }
+
+        this.registriert = new ArrayList<>();
+        this.aktiv = true;
+    }
+
+    /**
+     * Gibt die Metrik einer Operation zurück.
+     *
+     * @param operation Die Operation (darf nicht null sein)
+     * @return Die Metrik
+     * @throws IllegalArgumentException falls operation null ist
+     */
+    public Operationsmetrik getMetrik(StudioOperation operation) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Die Operation darf nicht null sein.");
+        }
+
+        return metriken[operation.ordinal()];
+    }
+
+    /**
+     * Gibt zurück, ob Aufrufe erfasst werden.
+     *
+     * @return true, wenn die Erfassung eingeschaltet ist
+     */
+    public boolean isAktiv() {
+        return aktiv;
+    }
+
+    /**
+     * Schaltet die Erfassung ein oder aus. Bereits erfasste Werte bleiben erhalten.
+     *
+     * @param aktiv Der neue Zustand
+     */
+    public void setAktiv(boolean aktiv) {
+        this.aktiv = aktiv;
+    }
+
+    /**
+     * Setzt die Metriken aller Operationen zurück.
+     */
+    public void setzeZurueck() {
+        for (Operationsmetrik metrik : metriken) {
+            metrik.setzeZurueck();
+        }
+    }
+
+    /**
+     * Veröffentlicht die Metriken aller Operationen beim Plattform-MBean-Server.
+     *
+     * @param studioname Name des Studios im Objektnamen (darf nicht null oder leer sein)
+     * @throws IllegalArgumentException falls der Name ungültig ist
+     * @throws IllegalStateException    falls bereits Metriken unter diesem Namen registriert sind
+     */
+    public synchronized void registriere(String studioname) {
+        if (studioname == null || studioname.trim().isEmpty()) {
+            throw new IllegalArgumentException("Der Studioname darf nicht null oder leer sein.");
+        }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            for (Operationsmetrik metrik : metriken) {
+                ObjectName name = new ObjectName("fitnessstudio:type=Operation,studio="
+                        + ObjectName.quote(studioname.trim()) + ",name=" + metrik.getOperation());
+                server.registerMBean(metrik, name);
+                registriert.add(name);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            abmelden();
+            throw new IllegalStateException("Unter dem Namen " + studioname + " sind bereits Metriken registriert.", e);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Ungültiger Studioname: " + studioname, e);
+        } catch (JMException e) {
+            abmelden();
+            throw new IllegalStateException("Die Metriken konnten nicht registriert werden.", e);
+        }
+    }
+
+    /**
+     * Entfernt alle mit {@link #registriere(String)} veröffentlichten MBeans wieder.
+     */
+    public synchronized void abmelden() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        for (ObjectName name : registriert) {
+            try {
+                server.unregisterMBean(name);
+            } catch (InstanceNotFoundException e) {
+                // Bereits von außen entfernt
+            } catch (JMException e) {
+                throw new IllegalStateException("Die Metrik " + name + " konnte nicht abgemeldet werden.", e);
+            }
+        }
+
+        registriert.clear();
+    }
+
+    /**
+     * Gibt den Startzeitpunkt für eine Messung zurück.
+     *
+     * @return Zeitstempel in Nanosekunden; 0, wenn die Erfassung ausgeschaltet ist
+     */
+    long beginne() {
+        return aktiv ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Erfasst die Latenz eines Aufrufs, der mit {@link #beginne()} begonnen wurde.
+     */
+    void beende(StudioOperation operation, long start) {
+        if (start != 0) {
+            metriken[operation.ordinal()].erfasse(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Zählt einen fehlgeschlagenen Aufruf. Die Latenz wird zusätzlich mit {@link #beende} erfasst.
+     */
+    void fehlgeschlagen(StudioOperation operation, long start, RuntimeException fehler) {
+        if (start != 0) {
+            metriken[operation.ordinal()].zaehleFehler(fehler);
+        }
+    }
+
+    /**
+     * Zählt einen Aufruf, der mit einem {@link Fehlercode} abgelehnt wurde.
+     */
+    void fehlgeschlagen(StudioOperation operation, long start, Fehlercode fehlercode) {
+        if (start != 0) {
+            metriken[operation.ordinal()].zaehleFehler(fehlercode);
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package fitnessstudio;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Trainingsvolumen eines Studios je Plan, je Mitglied und je {@link GeraeteKategorie}.
+ * <p>
+ * {@link #berechne(Fitnessstudio)} arbeitet in zwei Phasen auf einem {@link ForkJoinPool}.
+ * Zuerst wird das Volumen jedes Plans einmal berechnet (aufgeteilt nach Planbereichen) und in
+ * einem flachen Array abgelegt, das über die dichte Plannummer adressiert wird. Danach summiert
+ * jede Teilaufgabe für einen Bereich von Mitgliedern die Volumen ihrer aktiven Pläne und
+ * liefert ihre Summe je Kategorie zurück, die beim Zusammenführen addiert wird. Die Übungen
+ * liefern ihr Volumen über {@link Uebung#getGesamtWiederholungen()} und
+ * {@link Uebung#getGesamtMinuten()}, verdichtete Pläne direkt aus ihren {@link UebungsSpalten};
+ * es werden weder Typprüfungen noch Listenkopien benötigt.
+ * <p>
+ * Die Auswertung bezieht sich auf Momentaufnahmen von Mitgliedern und Plänen zu Beginn der
+ * Berechnung und ist danach unveränderlich. Übungen, deren Gerät keine Kategorie hat, zählen
+ * zu den Summen je Plan und Mitglied, aber zu keiner Kategorie.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class Trainingsauswertung {
+    /** Position der Sätze innerhalb eines Werteblocks. */
+    static final int SAETZE = 0;
+
+    /** Position der Wiederholungen innerhalb eines Werteblocks. */
+    static final int WIEDERHOLUNGEN = 1;
+
+    /** Position der Minuten innerhalb eines Werteblocks. */
+    static final int MINUTEN = 2;
+
+    /** Anzahl der Werte je Block. */
+    static final int WERTE = 3;
+
+    private static final GeraeteKategorie[] KATEGORIEN = GeraeteKategorie.values();
+
+    /**
+     * Länge der Werte eines Plans: ein Block für die Summe, danach ein Block je Kategorie
+     * in der Reihenfolge von {@link GeraeteKategorie#ordinal()}.
+     */
+    static final int SCHRITT = (KATEGORIEN.length + 1) * WERTE;
+
+    /** Kleinster Bereich, der noch weiter aufgeteilt wird. */
+    private static final int MIN_BEREICH = 1024;
+
+    private final List<Fitnessplan> plaene;
+    private final long[] planWerte;
+    private final List<Mitglied> mitglieder;
+    private final long[] mitgliedWerte;
+    private final long[] summe;
+    private volatile Map<Mitglied, Integer> mitgliedIndex;
+
+    private Trainingsauswertung(List<Fitnessplan> plaene, long[] planWerte, List<Mitglied> mitglieder,
+                                long[] mitgliedWerte, long[] summe) {
+        this.plaene = plaene;
+        this.planWerte = planWerte;
+        this.mitglieder = mitglieder;
+        this.mitgliedWerte = mitgliedWerte;
+        this.summe = summe;
+    }
+
+    /**
+     * Berechnet die Auswertung auf dem gemeinsamen {@link ForkJoinPool#commonPool()}.
+     *
+     * @param fitnessstudio Das Studio (darf nicht null sein)
+     * @return Die Auswertung
+     * @throws IllegalArgumentException falls fitnessstudio null ist
+     */
+    public static Trainingsauswertung berechne(Fitnessstudio fitnessstudio) {
+        return berechne(fitnessstudio, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Berechnet die Auswertung auf dem angegebenen Pool.
+     *
+     * @param fitnessstudio Das Studio (darf nicht null sein)
+     * @param pool          Der Pool (darf nicht null sein)
+     * @return Die Auswertung
+     * @throws IllegalArgumentException falls ein Parameter null ist
+     */
+    public static Trainingsauswertung berechne(Fitnessstudio fitnessstudio, ForkJoinPool pool) {
+        if (fitnessstudio == null) {
+            throw new IllegalArgumentException("Das Fitnessstudio darf nicht null sein.");
+        }
+
+        if (pool == null) {
+            throw new IllegalArgumentException("Der Pool darf nicht null sein.");
+        }
+
+        // Mitglieder vor den Plänen lesen; erst danach registrierte Pläne werden beim Summieren einzeln berechnet
+        List<Mitglied> mitglieder = fitnessstudio.getMitglieder();
+        List<Fitnessplan> plaene = fitnessstudio.getPlaene();
+        long[] planWerte = new long[plaene.size() * SCHRITT];
+        long[] mitgliedWerte = new long[mitglieder.size() * WERTE];
+
+        pool.invoke(new Planbereich(plaene, planWerte, 0, plaene.size(), teilungsgrenze(plaene.size(), pool)));
+        long[] summe = pool.invoke(new Mitgliederbereich(mitglieder, mitgliedWerte, plaene, planWerte,
+                0, mitglieder.size(), teilungsgrenze(mitglieder.size(), pool)));
+
+        return new Trainingsauswertung(plaene, planWerte, mitglieder, mitgliedWerte, summe);
+    }
+
+    private static int teilungsgrenze(int anzahl, ForkJoinPool pool) {
+        // Etwa acht Teilaufgaben je Thread gleichen ungleich große Bereiche aus
+        return Math.max(MIN_BEREICH, anzahl / (pool.getParallelism() * 8));
+    }
+
+    /**
+     * Addiert das Volumen einer Übung zu einem Plan-Werteblock (siehe {@link #SCHRITT}).
+     *
+     * @param ziel           Das Zielarray
+     * @param versatz        Beginn der Werte des Plans
+     * @param kategorie      Die Kategorie des Geräts oder null
+     * @param saetze         Die Sätze
+     * @param wiederholungen Die Wiederholungen insgesamt
+     * @param minuten        Die Minuten insgesamt
+     */
+    static void addiere(long[] ziel, int versatz, GeraeteKategorie kategorie, long saetze, long wiederholungen, long minuten) {
+        ziel[versatz + SAETZE] += saetze;
+        ziel[versatz + WIEDERHOLUNGEN] += wiederholungen;
+        ziel[versatz + MINUTEN] += minuten;
+
+        if (kategorie != null) {
+            int block = versatz + (kategorie.ordinal() + 1) * WERTE;
+            ziel[block + SAETZE] += saetze;
+            ziel[block + WIEDERHOLUNGEN] += wiederholungen;
+            ziel[block + MINUTEN] += minuten;
+        }
+    }
+
+    /**
+     * Gibt das Gesamtvolumen aller Mitglieder zurück (jeder aktive Plan einmal je Mitglied).
+     *
+     * @return Das Gesamtvolumen
+     */
+    public Trainingsvolumen getGesamt() {
+        return volumen(summe, 0);
+    }
+
+    /**
+     * Gibt das Volumen aller Mitglieder an Geräten einer Kategorie zurück.
+     *
+     * @param kategorie Die Kategorie (darf nicht null sein)
+     * @return Das Volumen der Kategorie
+     * @throws IllegalArgumentException falls kategorie null ist
+     */
+    public Trainingsvolumen getVolumen(GeraeteKategorie kategorie) {
+        if (kategorie == null) {
+            throw new IllegalArgumentException("Die Kategorie darf nicht null sein.");
+        }
+
+        return volumen(summe, (kategorie.ordinal() + 1) * WERTE);
+    }
+
+    /**
+     * Gibt das Volumen eines einmaligen Durchgangs durch einen Plan zurück.
+     *
+     * @param plan Der Plan (darf nicht null sein)
+     * @return Das Volumen des Plans; für Pläne, die nicht in der Auswertung enthalten
+     *         sind, wird es beim Aufruf berechnet
+     * @throws IllegalArgumentException falls plan null ist
+     */
+    public Trainingsvolumen getVolumen(Fitnessplan plan) {
+        if (plan == null) {
+            throw new IllegalArgumentException("Der Plan darf nicht null sein.");
+        }
+
+        int nummer = plan.getNummer();
+
+        if (istErfasst(plaene, plan)) {
+            return volumen(planWerte, nummer * SCHRITT);
+        }
+
+        long[] werte = new long[SCHRITT];
+        plan.summiereVolumen(werte, 0);
+        return volumen(werte, 0);
+    }
+
+    /**
+     * Gibt das Volumen eines Mitglieds über alle seine aktiven Pläne zurück.
+     *
+     * @param mitglied Das Mitglied (darf nicht null sein)
+     * @return Das Volumen; {@link Trainingsvolumen#LEER} für Mitglieder, die nicht in der
+     *         Auswertung enthalten sind
+     * @throws IllegalArgumentException falls mitglied null ist
+     */
+    public Trainingsvolumen getVolumen(Mitglied mitglied) {
+        if (mitglied == null) {
+            throw new IllegalArgumentException("Das Mitglied darf nicht null sein.");
+        }
+
+        Integer index = getMitgliedIndex().get(mitglied);
+        return index == null ? Trainingsvolumen.LEER : volumen(mitgliedWerte, index * WERTE);
+    }
+
+    /**
+     * Gibt die Anzahl der ausgewerteten Pläne zurück.
+     *
+     * @return Anzahl der Pläne
+     */
+    public int getAnzahlPlaene() {
+        return plaene.size();
+    }
+
+    /**
+     * Gibt die Anzahl der ausgewerteten Mitglieder zurück.
+     *
+     * @return Anzahl der Mitglieder
+     */
+    public int getAnzahlMitglieder() {
+        return mitglieder.size();
+    }
+
+    private Map<Mitglied, Integer> getMitgliedIndex() {
+        Map<Mitglied, Integer> index = mitgliedIndex;
+
+        if (index == null) {
+            // Erst beim ersten Nachschlagen aufgebaut; eine doppelte Berechnung ist harmlos
+            index = new IdentityHashMap<>(mitglieder.size());
+
+            for (int i = 0; i < mitglieder.size(); i++) {
+                index.put(mitglieder.get(i), i);
+            }
+
+            mitgliedIndex = index;
+        }
+
+        return index;
+    }
+
+    private static boolean istErfasst(List<Fitnessplan> plaene, Fitnessplan plan) {
+        int nummer = plan.getNummer();
+        return nummer >= 0 && nummer < plaene.size() && plaene.get(nummer) == plan;
+    }
+
+    private static Trainingsvolumen volumen(long[] werte, int versatz) {
+        return new Trainingsvolumen(werte[versatz + SAETZE], werte[versatz + WIEDERHOLUNGEN], werte[versatz + MINUTEN]);
+    }
+
+    /**
+     * Berechnet die Werte eines Bereichs von Plänen. Jeder Plan schreibt nur in seinen eigenen Block.
+     */
+    private static final class Planbereich extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Fitnessplan> plaene;
+        private final long[] planWerte;
+        private final int von;
+        private final int bis;
+        private final int grenze;
+
+        Planbereich(List<Fitnessplan> plaene, long[] planWerte, int von, int bis, int grenze) {
+            this.plaene = plaene;
+            this.planWerte = planWerte;
+            this.von = von;
+            this.bis = bis;
+            this.grenze = grenze;
+        }
+
+        @Override
+        protected void compute() {
+            if (bis - von > grenze) {
+                int mitte = (von + bis) >>> 1;
+                invokeAll(new Planbereich(plaene, planWerte, von, mitte, grenze),
+                        new Planbereich(plaene, planWerte, mitte, bis, grenze));
+                return;
+            }
+
+            for (int i = von; i < bis; i++) {
+                plaene.get(i).summiereVolumen(planWerte, i * SCHRITT);
+            }
+        }
+    }
+
+    /**
+     * Summiert für einen Bereich von Mitgliedern die Werte ihrer aktiven Pläne und gibt die
+     * Summe des Bereichs als Plan-Werteblock zurück.
+     */
+    private static final class Mitgliederbereich extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Mitglied> mitglieder;
+        private final long[] mitgliedWerte;
+        private final transient List<Fitnessplan> plaene;
+        private final long[] planWerte;
+        private final int von;
+        private final int bis;
+        private final int grenze;
+
+        Mitgliederbereich(List<Mitglied> mitglieder, long[] mitgliedWerte, List<Fitnessplan> plaene,
+                          long[] planWerte, int von, int bis, int grenze) {
+            this.mitglieder = mitglieder;
+            this.mitgliedWerte = mitgliedWerte;
+            this.plaene = plaene;
+            this.planWerte = planWerte;
+            this.von = von;
+            this.bis = bis;
+            this.grenze = grenze;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (bis - von > grenze) {
+                int mitte = (von + bis) >>> 1;
+                Mitgliederbereich rechts = new Mitgliederbereich(mitglieder, mitgliedWerte, plaene, planWerte, mitte, bis, grenze);
+                rechts.fork();
+                long[] summe = new Mitgliederbereich(mitglieder, mitgliedWerte, plaene, planWerte, von, mitte, grenze).compute();
+                long[] rest = rechts.join();
+
+                for (int i = 0; i < SCHRITT; i++) {
+                    summe[i] += rest[i];
+                }
+
+                return summe;
+            }
+
+            long[] summe = new long[SCHRITT];
+            long[] fremd = null;
+
+            for (int m = von; m < bis; m++) {
+                int ziel = m * WERTE;
+
+                for (Fitnessplan plan : mitglieder.get(m).getAktivePlaene()) {
+                    long[] werte = planWerte;
+                    int versatz = plan.getNummer() * SCHRITT;
+
+                    if (!istErfasst(plaene, plan)) {
+                        // Erst nach der Momentaufnahme registriert oder nie registriert
+                        fremd = fremd == null ? new long[SCHRITT] : fremd;
+                        Arrays.fill(fremd, 0);
+                        plan.summiereVolumen(fremd, 0);
+                        werte = fremd;
+                        versatz = 0;
+                    }
+
+                    mitgliedWerte[ziel + SAETZE] += werte[versatz + SAETZE];
+                    mitgliedWerte[ziel + WIEDERHOLUNGEN] += werte[versatz + WIEDERHOLUNGEN];
+                    mitgliedWerte[ziel + MINUTEN] += werte[versatz + MINUTEN];
+
+                    for (int i = 0; i < SCHRITT; i++) {
+                        summe[i] += werte[versatz + i];
+                    }
+                }
+            }
+
+            return summe;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package fitnessstudio;
+
+/**
+ * Unveränderliches Trainingsvolumen aus einer {@link Trainingsauswertung}: Sätze insgesamt,
+ * Wiederholungen insgesamt (Sätze × Wiederholungen aller {@link WiederholungsUebung}en) und
+ * Minuten insgesamt (Sätze × Trainingsdauer aller {@link DauerUebung}en).
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class Trainingsvolumen {
+    /** Volumen ohne Übungen. */
+    public static final Trainingsvolumen LEER = new Trainingsvolumen(0, 0, 0);
+
+    private final long saetze;
+    private final long wiederholungen;
+    private final long minuten;
+
+    Trainingsvolumen(long saetze, long wiederholungen, long minuten) {
+        this.saetze = saetze;
+        this.wiederholungen = wiederholungen;
+        this.minuten = minuten;
+    }
+
+    /**
+     * Gibt die Sätze insgesamt zurück.
+     *
+     * @return Die Anzahl der Sätze
+     */
+    public long getSaetze() {
+        return saetze;
+    }
+
+    /**
+     * Gibt die Wiederholungen insgesamt zurück.
+     *
+     * @return Die Anzahl der Wiederholungen
+     */
+    public long getWiederholungen() {
+        return wiederholungen;
+    }
+
+    /**
+     * Gibt die Trainingsminuten insgesamt zurück.
+     *
+     * @return Die Minuten
+     */
+    public long getMinuten() {
+        return minuten;
+    }
+
+    /**
+     * Prüft Gleichheit anhand aller drei Werte.
+     *
+     * @param obj das zu vergleichende Objekt
+     * @return true, wenn Sätze, Wiederholungen und Minuten übereinstimmen
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof Trainingsvolumen)) {
+            return false;
+        }
+
+        Trainingsvolumen andere = (Trainingsvolumen) obj;
+        return saetze == andere.saetze && wiederholungen == andere.wiederholungen && minuten == andere.minuten;
+    }
+
+    /**
+     * Berechnet den Hashcode aus allen drei Werten.
+     *
+     * @return Hashcode
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(31 * (31 * saetze + wiederholungen) + minuten);
+    }
+
+    /**
+     * Gibt eine String-Repräsentation des Volumens zurück.
+     *
+     * @return String mit Sätzen, Wiederholungen und Minuten
+     */
+    @Override
+    public String toString() {
+        return saetze + " Sätze, " + wiederholungen + " Wiederholungen, " + minuten + " Minuten";
+    }
+}
@@ -1,8 +1,13 @@
 package fitnessstudio;
 
+import java.util.function.UnaryOperator;
+
 /**
  * Abstrakte Basisklasse für Übungen im Fitnessstudio.
  * Jede Übung benötigt genau ein Gerät.
+ * <p>
+ * Übungen aus einem {@link UebungsKatalog} werden von mehreren Fitnessplänen gemeinsam
+ * genutzt und sind deshalb eingefroren; ihre Setter werfen eine {@link IllegalStateException}.
  * 
  * @author Evelyn Bukaev
  * @author Marvin Röhrig
@@ -16,6 +21,7 @@ public abstract class Uebung {
     private String beschreibung;
     private int saetze;
     private Geraet geraet;
+    private boolean eingefroren;
 
     /**
      * Konstruktor für eine Uebung.
@@ -62,8 +68,10 @@ public abstract class Uebung {
      * Setzt den Namen der Übung.
      * 
      * @param name Der neue Name
+     * @throws IllegalStateException falls die Übung eingefroren ist
      */
     public void setName(String name) {
+        pruefeVeraenderbar();
         this.name = name;
     }
 
@@ -80,8 +88,10 @@ public abstract class Uebung {
      * Setzt die Beschreibung der Übung.
      * 
      * @param beschreibung Die neue Beschreibung
+     * @throws IllegalStateException falls die Übung eingefroren ist
      */
     public void setBeschreibung(String beschreibung) {
+        pruefeVeraenderbar();
         this.beschreibung = beschreibung;
     }
 
@@ -98,8 +108,10 @@ public abstract class Uebung {
      * Setzt die Anzahl der Sätze.
      * 
      * @param saetze Die neue Anzahl der Sätze
+     * @throws IllegalStateException falls die Übung eingefroren ist
      */
     public void setSaetze(int saetze) {
+        pruefeVeraenderbar();
         this.saetze = saetze;
     }
 
@@ -116,11 +128,66 @@ public abstract class Uebung {
      * Setzt das benötigte Gerät.
      * 
      * @param geraet Das neue Gerät
+     * @throws IllegalStateException falls die Übung eingefroren ist
      */
     public void setGeraet(Geraet geraet) {
+        pruefeVeraenderbar();
         this.geraet = geraet;
     }
 
+    /**
+     * Prüft, ob die Übung eingefroren ist und daher nicht mehr verändert werden kann.
+     *
+     * @return true, wenn die Übung aus einem {@link UebungsKatalog} stammt
+     */
+    public boolean istEingefroren() {
+        return eingefroren;
+    }
+
+    /**
+     * Friert die Übung ein. Danach werfen alle Setter eine {@link IllegalStateException}.
+     * Darf nur aufgerufen werden, bevor die Übung anderen Threads bekannt wird.
+     *
+     * @param texte Ersetzt Name und Beschreibung durch gleiche, geteilte Zeichenketten
+     */
+    void friereEin(UnaryOperator<String> texte) {
+        this.name = texte.apply(name);
+        this.beschreibung = texte.apply(beschreibung);
+        this.eingefroren = true;
+    }
+
+    /**
+     * Wird von Settern vor jeder Änderung aufgerufen.
+     *
+     * @throws IllegalStateException falls die Übung eingefroren ist
+     */
+    protected final void pruefeVeraenderbar() {
+        if (eingefroren) {
+            throw new IllegalStateException("Die Übung " + name + " wird von mehreren Plänen geteilt und kann nicht verändert werden.");
+        }
+    }
+
+    /**
+     * Gibt die Wiederholungen über alle Sätze zurück (Sätze × Wiederholungen).
+     * Auswertungen rufen diese Methode statt einer Typprüfung auf. Unterklassen mit
+     * Wiederholungen überschreiben sie.
+     *
+     * @return Die Wiederholungen insgesamt; 0 für Übungen ohne Wiederholungen
+     */
+    public long getGesamtWiederholungen() {
+        return 0;
+    }
+
+    /**
+     * Gibt die Trainingsminuten über alle Sätze zurück (Sätze × Trainingsdauer).
+     * Unterklassen mit Trainingsdauer überschreiben sie.
+     *
+     * @return Die Minuten insgesamt; 0 für Übungen ohne Trainingsdauer
+     */
+    public long getGesamtMinuten() {
+        return 0;
+    }
+
     /**
      * Abstrakte Methode zur Ausgabe der spezifischen Übungsdetails.
      * Wird von den Unterklassen implementiert.
@@ -0,0 +1,190 @@
+package fitnessstudio;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Katalog, der gleiche Übungsdefinitionen nur einmal im Speicher hält (Fliegengewicht).
+ * Zwei Übungen gelten als gleich, wenn Typ, Name, Beschreibung (jeweils ohne umgebende
+ * Leerzeichen), Sätze, Wiederholungen bzw. Trainingsdauer übereinstimmen und sie dasselbe
+ * Gerätobjekt verwenden. Für jede solche Definition gibt der Katalog immer dieselbe
+ * eingefrorene Instanz zurück, die sich beliebig viele Fitnesspläne teilen können.
+ * Namen und Beschreibungen werden zusätzlich über alle Übungen hinweg geteilt.
+ * <p>
+ * Der Katalog ist threadsicher. Ein Treffer kommt ohne Sperre und ohne neue Übung aus.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class UebungsKatalog {
+    private final ConcurrentHashMap<Schluessel, Uebung> uebungen;
+    private final ConcurrentHashMap<String, String> texte;
+
+    /**
+     * Erzeugt einen leeren Katalog.
+     */
+    public UebungsKatalog() {
+        this.uebungen = new ConcurrentHashMap<>();
+        this.texte = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gibt die geteilte Wiederholungsübung mit den angegebenen Werten zurück und legt sie
+     * beim ersten Aufruf an.
+     *
+     * @param name           Name der Übung
+     * @param beschreibung   Kurze Beschreibung der Übung
+     * @param saetze         Anzahl der Sätze
+     * @param geraet         Das benötigte Gerät
+     * @param wiederholungen Anzahl der Wiederholungen pro Satz
+     * @return Die eingefrorene Übung
+     * @throws IllegalArgumentException falls ein Parameter ungültig ist
+     */
+    public WiederholungsUebung wiederholungsUebung(String name, String beschreibung, int saetze, Geraet geraet, int wiederholungen) {
+        Schluessel schluessel = new Schluessel(false, name, beschreibung, saetze, geraet, wiederholungen);
+        Uebung vorhanden = uebungen.get(schluessel);
+
+        if (vorhanden == null) {
+            vorhanden = trageEin(false, new WiederholungsUebung(name, beschreibung, saetze, geraet, wiederholungen), wiederholungen);
+        }
+
+        return (WiederholungsUebung) vorhanden;
+    }
+
+    /**
+     * Gibt die geteilte Dauerübung mit den angegebenen Werten zurück und legt sie beim
+     * ersten Aufruf an.
+     *
+     * @param name              Name der Übung
+     * @param beschreibung      Kurze Beschreibung der Übung
+     * @param saetze            Anzahl der Sätze
+     * @param geraet            Das benötigte Gerät
+     * @param trainingsdauerMin Trainingsdauer in Minuten
+     * @return Die eingefrorene Übung
+     * @throws IllegalArgumentException falls ein Parameter ungültig ist
+     */
+    public DauerUebung dauerUebung(String name, String beschreibung, int saetze, Geraet geraet, int trainingsdauerMin) {
+        Schluessel schluessel = new Schluessel(true, name, beschreibung, saetze, geraet, trainingsdauerMin);
+        Uebung vorhanden = uebungen.get(schluessel);
+
+        if (vorhanden == null) {
+            vorhanden = trageEin(true, new DauerUebung(name, beschreibung, saetze, geraet, trainingsdauerMin), trainingsdauerMin);
+        }
+
+        return (DauerUebung) vorhanden;
+    }
+
+    /**
+     * Gibt die geteilte Instanz zu einer beliebigen Übung zurück. Die übergebene Übung selbst
+     * bleibt veränderbar; übernommen wird eine eingefrorene Kopie ihrer aktuellen Werte.
+     * Bereits eingefrorene Übungen und Übungen anderer Unterklassen, deren zusätzlichen
+     * Zustand der Katalog nicht kennt, werden unverändert zurückgegeben.
+     *
+     * @param uebung Die Übung (null wird unverändert zurückgegeben)
+     * @return Die geteilte Übung
+     */
+    public Uebung uebernimm(Uebung uebung) {
+        if (uebung == null || uebung.istEingefroren()) {
+            return uebung;
+        }
+
+        if (uebung.getClass() == WiederholungsUebung.class) {
+            return wiederholungsUebung(uebung.getName(), uebung.getBeschreibung(), uebung.getSaetze(),
+                    uebung.getGeraet(), ((WiederholungsUebung) uebung).getWiederholungen());
+        }
+
+        if (uebung.getClass() == DauerUebung.class) {
+            return dauerUebung(uebung.getName(), uebung.getBeschreibung(), uebung.getSaetze(),
+                    uebung.getGeraet(), ((DauerUebung) uebung).getTrainingsdauerMin());
+        }
+
+        return uebung;
+    }
+
+    /**
+     * Gibt die Anzahl der verschiedenen Übungen im Katalog zurück.
+     *
+     * @return Anzahl der Übungen
+     */
+    public int size() {
+        return uebungen.size();
+    }
+
+    /**
+     * Entfernt alle Übungen, die das angegebene Gerät verwenden. Pläne, die diese Übungen
+     * bereits enthalten, behalten sie.
+     *
+     * @param geraet Das ausgemusterte Gerät
+     */
+    void vergiss(Geraet geraet) {
+        uebungen.keySet().removeIf(schluessel -> schluessel.geraet == geraet);
+    }
+
+    private Uebung trageEin(boolean dauer, Uebung neu, int wert) {
+        // Erst die gültig angelegte Übung teilt ihre Texte, ungültige Eingaben landen nie im Katalog
+        neu.friereEin(this::teile);
+        Schluessel schluessel = new Schluessel(dauer, neu.getName(), neu.getBeschreibung(), neu.getSaetze(), neu.getGeraet(), wert);
+        Uebung vorhanden = uebungen.putIfAbsent(schluessel, neu);
+        return vorhanden != null ? vorhanden : neu;
+    }
+
+    private String teile(String text) {
+        String vorhanden = texte.putIfAbsent(text, text);
+        return vorhanden != null ? vorhanden : text;
+    }
+
+    /**
+     * Werte einer Übungsdefinition. Das Gerät wird über seine Identität verglichen, damit
+     * eine geteilte Übung nie auf ein anderes Gerätobjekt mit gleicher ID verweist.
+     */
+    private static final class Schluessel {
+        private final boolean dauer;
+        private final String name;
+        private final String beschreibung;
+        private final int saetze;
+        private final Geraet geraet;
+        private final int wert;
+        private final int hash;
+
+        Schluessel(boolean dauer, String name, String beschreibung, int saetze, Geraet geraet, int wert) {
+            this.dauer = dauer;
+            this.name = name == null ? null : name.trim();
+            this.beschreibung = beschreibung == null ? null : beschreibung.trim();
+            this.saetze = saetze;
+            this.geraet = geraet;
+            this.wert = wert;
+
+            int h = Boolean.hashCode(dauer);
+            h = 31 * h + Objects.hashCode(this.name);
+            h = 31 * h + Objects.hashCode(this.beschreibung);
+            h = 31 * h + saetze;
+            h = 31 * h + System.identityHashCode(geraet);
+            this.hash = 31 * h + wert;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Schluessel)) {
+                return false;
+            }
+
+            Schluessel andere = (Schluessel) o;
+            return dauer == andere.dauer && saetze == andere.saetze && wert == andere.wert
+                    && geraet == andere.geraet && Objects.equals(name, andere.name)
+                    && Objects.equals(beschreibung, andere.beschreibung);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package fitnessstudio;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Spaltenweise Ablage der Übungen vieler Fitnesspläne. Statt eines Objekts je Übung hält der
+ * Block je Eigenschaft ein primitives Array über alle Übungen (Typ, Sätze, Wiederholungen bzw.
+ * Trainingsdauer, Geräteindex, Textcode); Name und Beschreibung werden als Paar in einem
+ * Wörterbuch kodiert, Geräte in einer Gerätetabelle. Die Übungen von Plan {@code p} liegen in
+ * den Zeilen {@link #getAnfang(int) getAnfang(p)} bis ausschließlich {@link #getEnde(int) getEnde(p)}.
+ * <p>
+ * Ein Block wird von {@link Fitnessstudio#verdichtePlaene()} erzeugt und ist unveränderlich.
+ * Verdichtete Pläne lesen ihre Übungen weiterhin über {@link Fitnessplan#getUebungen()}; die
+ * Übungen werden dabei erst beim Zugriff aus dem {@link UebungsKatalog} des Studios geholt.
+ * Auswertungen über viele Pläne sollten stattdessen direkt die Spalten durchlaufen.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class UebungsSpalten {
+    private static final byte TYP_WIEDERHOLUNG = 0;
+    private static final byte TYP_DAUER = 1;
+
+    private final Fitnessplan[] plaene;
+    private final int[] anfang;
+    private final byte[] typ;
+    private final int[] saetze;
+    private final int[] wert;
+    private final int[] geraet;
+    private final int[] text;
+    private final Geraet[] geraete;
+    private final String[] namen;
+    private final String[] beschreibungen;
+    private final UebungsKatalog katalog;
+
+    /**
+     * Legt einen Block für die übergebenen Pläne an. Jede Liste darf nur
+     * {@link WiederholungsUebung}en und {@link DauerUebung}en (ohne Unterklassen) enthalten.
+     *
+     * @param plaene   Die Pläne
+     * @param uebungen Die Übungen je Plan, in derselben Reihenfolge
+     * @param katalog  Liefert die Übungen beim Lesen über {@link Fitnessplan#getUebungen()}
+     */
+    UebungsSpalten(List<Fitnessplan> plaene, List<List<Uebung>> uebungen, UebungsKatalog katalog) {
+        int zeilen = 0;
+
+        for (List<Uebung> liste : uebungen) {
+            zeilen += liste.size();
+        }
+
+        this.plaene = plaene.toArray(new Fitnessplan[0]);
+        this.anfang = new int[this.plaene.length + 1];
+        this.typ = new byte[zeilen];
+        this.saetze = new int[zeilen];
+        this.wert = new int[zeilen];
+        this.geraet = new int[zeilen];
+        this.text = new int[zeilen];
+        this.katalog = katalog;
+
+        Map<Geraet, Integer> geraeteIndex = new IdentityHashMap<>();
+        Map<String, Map<String, Integer>> texte = new HashMap<>();
+        int anzahlTexte = 0;
+        int zeile = 0;
+
+        for (int p = 0; p < this.plaene.length; p++) {
+            anfang[p] = zeile;
+
+            for (Uebung uebung : uebungen.get(p)) {
+                if (uebung.getClass() == DauerUebung.class) {
+                    typ[zeile] = TYP_DAUER;
+                    wert[zeile] = ((DauerUebung) uebung).getTrainingsdauerMin();
+                } else {
+                    typ[zeile] = TYP_WIEDERHOLUNG;
+                    wert[zeile] = ((WiederholungsUebung) uebung).getWiederholungen();
+                }
+
+                saetze[zeile] = uebung.getSaetze();
+                geraet[zeile] = geraeteIndex.computeIfAbsent(uebung.getGeraet(), g -> geraeteIndex.size());
+
+                Map<String, Integer> nachBeschreibung = texte.computeIfAbsent(uebung.getName(), n -> new HashMap<>());
+                Integer code = nachBeschreibung.get(uebung.getBeschreibung());
+
+                if (code == null) {
+                    code = anzahlTexte++;
+                    nachBeschreibung.put(uebung.getBeschreibung(), code);
+                }
+
+                text[zeile] = code;
+                zeile++;
+            }
+        }
+
+        anfang[this.plaene.length] = zeile;
+
+        this.geraete = new Geraet[geraeteIndex.size()];
+        geraeteIndex.forEach((g, index) -> geraete[index] = g);
+
+        this.namen = new String[anzahlTexte];
+        this.beschreibungen = new String[anzahlTexte];
+        texte.forEach((name, nachBeschreibung) -> nachBeschreibung.forEach((beschreibung, code) -> {
+            namen[code] = name;
+            beschreibungen[code] = beschreibung;
+        }));
+    }
+
+    /**
+     * Prüft, ob eine Übung spaltenweise abgelegt werden kann. Über Setter ungültig gemachte
+     * Übungen ließen sich beim Lesen nicht wieder anlegen und bleiben daher Objekte.
+     *
+     * @param uebung Die Übung
+     * @return true für gültige {@link WiederholungsUebung}en und {@link DauerUebung}en ohne Unterklassen
+     */
+    static boolean istAblegbar(Uebung uebung) {
+        int wert;
+
+        if (uebung.getClass() == DauerUebung.class) {
+            wert = ((DauerUebung) uebung).getTrainingsdauerMin();
+        } else if (uebung.getClass() == WiederholungsUebung.class) {
+            wert = ((WiederholungsUebung) uebung).getWiederholungen();
+        } else {
+            return false;
+        }
+
+        return wert >= 1 && uebung.getSaetze() >= 1 && uebung.getGeraet() != null
+                && uebung.getName() != null && !uebung.getName().trim().isEmpty()
+                && uebung.getBeschreibung() != null && !uebung.getBeschreibung().trim().isEmpty();
+    }
+
+    /**
+     * Gibt die Anzahl der Pläne im Block zurück.
+     *
+     * @return Anzahl der Pläne
+     */
+    public int getAnzahlPlaene() {
+        return plaene.length;
+    }
+
+    /**
+     * Gibt die Anzahl aller Übungen (Zeilen) im Block zurück.
+     *
+     * @return Anzahl der Übungen
+     */
+    public int getAnzahlUebungen() {
+        return typ.length;
+    }
+
+    /**
+     * Gibt den Plan mit dem angegebenen Index zurück.
+     *
+     * @param plan Index des Plans im Block
+     * @return Der Plan
+     */
+    public Fitnessplan getPlan(int plan) {
+        return plaene[plan];
+    }
+
+    /**
+     * Gibt die erste Zeile eines Plans zurück.
+     *
+     * @param plan Index des Plans im Block
+     * @return Die erste Zeile
+     */
+    public int getAnfang(int plan) {
+        return anfang[plan];
+    }
+
+    /**
+     * Gibt die Zeile hinter der letzten Übung eines Plans zurück.
+     *
+     * @param plan Index des Plans im Block
+     * @return Die Zeile hinter der letzten Übung
+     */
+    public int getEnde(int plan) {
+        return anfang[plan + 1];
+    }
+
+    /**
+     * Prüft, ob die Übung in einer Zeile eine {@link DauerUebung} ist.
+     *
+     * @param zeile Die Zeile
+     * @return true für eine Dauerübung, false für eine Wiederholungsübung
+     */
+    public boolean istDauerUebung(int zeile) {
+        return typ[zeile] == TYP_DAUER;
+    }
+
+    /**
+     * Gibt die Anzahl der Sätze in einer Zeile zurück.
+     *
+     * @param zeile Die Zeile
+     * @return Die Anzahl der Sätze
+     */
+    public int getSaetze(int zeile) {
+        return saetze[zeile];
+    }
+
+    /**
+     * Gibt die Wiederholungen pro Satz in einer Zeile zurück.
+     *
+     * @param zeile Die Zeile
+     * @return Die Wiederholungen oder 0 für eine Dauerübung
+     */
+    public int getWiederholungen(int zeile) {
+        return typ[zeile] == TYP_WIEDERHOLUNG ? wert[zeile] : 0;
+    }
+
+    /**
+     * Gibt die Trainingsdauer in Minuten in einer Zeile zurück.
+     *
+     * @param zeile Die Zeile
+     * @return Die Trainingsdauer oder 0 für eine Wiederholungsübung
+     */
+    public int getTrainingsdauerMin(int zeile) {
+        return typ[zeile] == TYP_DAUER ? wert[zeile] : 0;
+    }
+
+    /**
+     * Gibt den Index des Geräts in einer Zeile zurück (siehe {@link #getGeraet(int)}).
+     *
+     * @param zeile Die Zeile
+     * @return Der Geräteindex im Block
+     */
+    public int getGeraeteIndex(int zeile) {
+        return geraet[zeile];
+    }
+
+    /**
+     * Gibt die Anzahl verschiedener Geräte im Block zurück.
+     *
+     * @return Anzahl der Geräte
+     */
+    public int getAnzahlGeraete() {
+        return geraete.length;
+    }
+
+    /**
+     * Gibt das Gerät zu einem Geräteindex zurück.
+     *
+     * @param geraeteIndex Der Geräteindex im Block
+     * @return Das Gerät
+     */
+    public Geraet getGeraet(int geraeteIndex) {
+        return geraete[geraeteIndex];
+    }
+
+    /**
+     * Gibt den Übungsnamen in einer Zeile zurück.
+     *
+     * @param zeile Die Zeile
+     * @return Der Name
+     */
+    public String getName(int zeile) {
+        return namen[text[zeile]];
+    }
+
+    /**
+     * Gibt die Beschreibung in einer Zeile zurück.
+     *
+     * @param zeile Die Zeile
+     * @return Die Beschreibung
+     */
+    public String getBeschreibung(int zeile) {
+        return beschreibungen[text[zeile]];
+    }
+
+    /**
+     * Gibt die Übung in einer Zeile als (geteiltes, eingefrorenes) Objekt zurück.
+     *
+     * @param zeile Die Zeile
+     * @return Die Übung aus dem Übungskatalog
+     */
+    public Uebung getUebung(int zeile) {
+        int code = text[zeile];
+        Geraet g = geraete[geraet[zeile]];
+
+        if (typ[zeile] == TYP_DAUER) {
+            return katalog.dauerUebung(namen[code], beschreibungen[code], saetze[zeile], g, wert[zeile]);
+        }
+
+        return katalog.wiederholungsUebung(namen[code], beschreibungen[code], saetze[zeile], g, wert[zeile]);
+    }
+
+    /**
+     * Addiert das Volumen der Zeilen eines Plans direkt aus den Spalten in einen
+     * Plan-Werteblock der {@link Trainingsauswertung}.
+     *
+     * @param ansicht Eine mit {@link #ansicht(int)} erzeugte Sicht
+     * @param ziel    Das Zielarray
+     * @param versatz Beginn des Werteblocks
+     */
+    static void summiereVolumen(List<Uebung> ansicht, long[] ziel, int versatz) {
+        Planansicht plan = (Planansicht) ansicht;
+        UebungsSpalten spalten = plan.spalten;
+
+        for (int zeile = spalten.anfang[plan.plan]; zeile < spalten.anfang[plan.plan + 1]; zeile++) {
+            long saetze = spalten.saetze[zeile];
+            long volumen = saetze * spalten.wert[zeile];
+            boolean dauer = spalten.typ[zeile] == TYP_DAUER;
+            Trainingsauswertung.addiere(ziel, versatz, spalten.geraete[spalten.geraet[zeile]].getKategorie(),
+                    saetze, dauer ? 0 : volumen, dauer ? volumen : 0);
+        }
+    }
+
+    /**
+     * Gibt die unveränderliche Sicht auf die Übungen eines Plans zurück.
+     *
+     * @param plan Index des Plans im Block
+     * @return Die Sicht
+     */
+    List<Uebung> ansicht(int plan) {
+        return new Planansicht(this, plan);
+    }
+
+    /**
+     * Unveränderliche Sicht auf die Zeilen eines Plans, die die Übungen erst beim Zugriff erzeugt.
+     */
+    private static final class Planansicht extends AbstractList<Uebung> implements RandomAccess {
+        private final UebungsSpalten spalten;
+        private final int plan;
+
+        Planansicht(UebungsSpalten spalten, int plan) {
+            this.spalten = spalten;
+            this.plan = plan;
+        }
+
+        @Override
+        public Uebung get(int index) {
+            Objects.checkIndex(index, size());
+            return spalten.getUebung(spalten.anfang[plan] + index);
+        }
+
+        @Override
+        public int size() {
+            return spalten.anfang[plan + 1] - spalten.anfang[plan];
+        }
+    }
+}
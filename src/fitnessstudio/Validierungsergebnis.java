@@ -0,0 +1,244 @@
+package fitnessstudio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ergebnis einer Anlage oder Zuweisung, die statt einer Ausnahme einen {@link Fehlercode}
+ * meldet (z. B. {@link Fitnessstudio#versucheFitnessplanZuErstellen(String, List, Validierungsergebnis)}).
+ * Bei einer Ablehnung werden nur der Code und Verweise auf die betroffenen Objekte bzw. IDs
+ * festgehalten; die Fehlermeldung wird erst beim Abruf zusammengesetzt.
+ * <p>
+ * Ein Ergebnisobjekt kann für beliebig viele Aufrufe wiederverwendet werden (z. B. für alle
+ * Zeilen eines Imports); jeder Aufruf setzt es zuerst zurück. Es ist nicht threadsicher.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+public final class Validierungsergebnis {
+    private Fehlercode fehlercode;
+    private String id;
+    private String name;
+    private final List<Geraet> fehlendeGeraete;
+    private boolean[] ausserBetrieb;
+    private Reservierung konflikt;
+
+    /**
+     * Erzeugt ein gültiges (leeres) Ergebnis.
+     */
+    public Validierungsergebnis() {
+        this.fehlendeGeraete = new ArrayList<>();
+        this.ausserBetrieb = new boolean[0];
+    }
+
+    /**
+     * Gibt zurück, ob der letzte Aufruf erfolgreich war.
+     *
+     * @return true, wenn kein Fehler vorliegt
+     */
+    public boolean istGueltig() {
+        return fehlercode == null;
+    }
+
+    /**
+     * Gibt den Grund der Ablehnung zurück.
+     *
+     * @return Der Fehlercode oder null, wenn kein Fehler vorliegt
+     */
+    public Fehlercode getFehlercode() {
+        return fehlercode;
+    }
+
+    /**
+     * Gibt die IDs der Objekte zurück, an denen die Ablehnung lag: die Geräte-IDs bei
+     * {@link Fehlercode#GERAETE_FEHLEN} und {@link Fehlercode#GERAETE_ID_VERGEBEN}, die
+     * Mitgliedsnummer bei Fehlern eines Mitglieds, den Plannamen bei
+     * {@link Fehlercode#PLAN_NICHT_REGISTRIERT} und {@link Fehlercode#PLAN_NICHT_AKTIV} und die
+     * Geräte-ID bei Fehlern einer Reservierung am Gerät.
+     *
+     * @return unveränderliche Liste der IDs (leer, wenn kein Fehler vorliegt oder das Objekt null war)
+     */
+    public List<String> getBetroffeneIds() {
+        if (fehlercode == Fehlercode.GERAETE_FEHLEN) {
+            List<String> ids = new ArrayList<>(fehlendeGeraete.size());
+
+            for (Geraet geraet : fehlendeGeraete) {
+                ids.add(geraet.getGeraeteId());
+            }
+
+            return Collections.unmodifiableList(ids);
+        }
+
+        return id == null ? List.of() : List.of(id);
+    }
+
+    /**
+     * Gibt die fehlenden Geräte bei {@link Fehlercode#GERAETE_FEHLEN} zurück, ein Eintrag je
+     * betroffener Übung.
+     *
+     * @return unveränderliche Sicht auf die fehlenden Geräte (sonst leer)
+     */
+    public List<Geraet> getFehlendeGeraete() {
+        return Collections.unmodifiableList(fehlendeGeraete);
+    }
+
+    /**
+     * Gibt die überschneidende Reservierung bei {@link Fehlercode#GERAET_BELEGT} und
+     * {@link Fehlercode#MITGLIED_BELEGT} zurück.
+     *
+     * @return Die Reservierung, an der die Buchung scheiterte (sonst null)
+     */
+    public Reservierung getKonflikt() {
+        return konflikt;
+    }
+
+    /**
+     * Setzt die Fehlermeldung zusammen, die die werfende Variante der Methode verwendet.
+     *
+     * @return Die Fehlermeldung oder null, wenn kein Fehler vorliegt
+     */
+    public String getFehlermeldung() {
+        if (fehlercode == null) {
+            return null;
+        }
+
+        return switch (fehlercode) {
+            case GERAET_NULL -> "Das Gerät darf nicht null sein.";
+            case GERAETE_ID_VERGEBEN -> "Ein Gerät mit der ID " + id + " existiert bereits.";
+            case MITGLIED_NULL -> "Das Mitglied darf nicht null sein.";
+            case MITGLIEDSNUMMER_VERGEBEN -> "Ein Mitglied mit der Nr. " + id + " existiert bereits.";
+            case MITGLIED_NICHT_REGISTRIERT -> "Das Mitglied " + name + " (Nr. " + id
+                    + ") ist nicht in diesem Fitnessstudio registriert.";
+            case MITGLIED_GESPERRT -> "Fehler: Das Mitglied " + name + " (Nr. " + id
+                    + ") ist gesperrt und kann keine neuen Fitnesspläne erhalten.";
+            case PLANGRENZE_ERREICHT -> "Fehler: Das Mitglied " + name + " (Nr. " + id + ") hat bereits "
+                    + Mitglied.MAX_AKTIVE_PLAENE + " aktive Fitnesspläne. Ein weiterer Plan kann nicht zugewiesen werden.";
+            case PLAN_NULL -> "Der Fitnessplan darf nicht null sein.";
+            case PLANENTWURF_NULL -> "Der Planentwurf darf nicht null sein.";
+            case PLAN_NICHT_REGISTRIERT -> "Der Fitnessplan \"" + id + "\" gehört nicht zu diesem Fitnessstudio.";
+            case PLANNAME_LEER -> "Fehler: Der Planname darf nicht leer sein.";
+            case KEINE_UEBUNGEN -> "Fehler: Ein Fitnessplan muss mindestens eine Übung enthalten.";
+            case GERAETE_FEHLEN -> "Fehler: Der Fitnessplan kann nicht angelegt werden, "
+                    + "da folgende Geräte nicht im System vorhanden sind: " + beschreibeFehlendeGeraete();
+            case GERAET_UNBEKANNT -> "Ein Gerät mit der ID " + id + " existiert nicht.";
+            case GERAET_AUSSER_BETRIEB -> "Das Gerät " + id + " ist außer Betrieb.";
+            case PLAN_NICHT_AKTIV -> "Der Fitnessplan \"" + id + "\" gehört nicht zu den aktiven Plänen des Mitglieds.";
+            case KEINE_UEBUNG_AM_GERAET -> "Der Fitnessplan \"" + name + "\" enthält keine Übung am Gerät " + id + ".";
+            case BEGINN_UNGUELTIG -> "Der Beginn muss angegeben sein und auf einem Vielfachen von "
+                    + Reservierungen.ZEITRASTER_MIN + " Minuten liegen.";
+            case GERAET_BELEGT -> "Das Gerät " + id + " ist von " + konflikt.getBeginn() + " bis "
+                    + konflikt.getEnde() + " bereits reserviert.";
+            case MITGLIED_BELEGT -> "Das Mitglied " + name + " (Nr. " + id + ") hat von " + konflikt.getBeginn()
+                    + " bis " + konflikt.getEnde() + " bereits eine Reservierung.";
+        };
+    }
+
+    private String beschreibeFehlendeGeraete() {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < fehlendeGeraete.size(); i++) {
+            Geraet geraet = fehlendeGeraete.get(i);
+
+            if (i > 0) {
+                sb.append(", ");
+            }
+
+            sb.append(geraet.getGeraeteName()).append(" (ID: ").append(geraet.getGeraeteId()).append(")");
+
+            if (ausserBetrieb[i]) {
+                sb.append(" [außer Betrieb]");
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Erzeugt die Ausnahme, die die werfende Variante der Methode auslöst.
+     *
+     * @return {@link IllegalStateException} für Zustandsfehler, sonst {@link IllegalArgumentException}
+     * @throws IllegalStateException falls kein Fehler vorliegt
+     */
+    public RuntimeException alsAusnahme() {
+        if (fehlercode == null) {
+            throw new IllegalStateException("Das Ergebnis enthält keinen Fehler.");
+        }
+
+        String meldung = getFehlermeldung();
+        return fehlercode.istZustandsfehler() ? new IllegalStateException(meldung) : new IllegalArgumentException(meldung);
+    }
+
+    /**
+     * Setzt das Ergebnis vor einem neuen Aufruf zurück.
+     */
+    void zuruecksetzen() {
+        fehlercode = null;
+        id = null;
+        name = null;
+        konflikt = null;
+        fehlendeGeraete.clear();
+    }
+
+    /**
+     * Hält einen Fehler fest.
+     *
+     * @param fehlercode Der Fehlercode
+     * @param id         Die betroffene ID oder null
+     * @param name       Der Name des betroffenen Objekts oder null
+     * @return immer false, damit Aufrufer direkt {@code return ergebnis.fehler(...)} schreiben können
+     */
+    boolean fehler(Fehlercode fehlercode, String id, String name) {
+        this.fehlercode = fehlercode;
+        this.id = id;
+        this.name = name;
+        return false;
+    }
+
+    /**
+     * Hält eine abgelehnte Reservierung mit der Reservierung fest, die sie überschneidet.
+     *
+     * @param fehlercode {@link Fehlercode#GERAET_BELEGT} oder {@link Fehlercode#MITGLIED_BELEGT}
+     * @param id         Die Geräte-ID bzw. Mitgliedsnummer
+     * @param name       Der Name des Mitglieds oder null
+     * @param konflikt   Die überschneidende Reservierung
+     * @return immer false
+     */
+    boolean belegt(Fehlercode fehlercode, String id, String name, Reservierung konflikt) {
+        this.konflikt = konflikt;
+        return fehler(fehlercode, id, name);
+    }
+
+    /**
+     * Hält ein fehlendes Gerät für {@link Fehlercode#GERAETE_FEHLEN} fest. Der Fehlercode
+     * wird erst mit {@link #fehler(Fehlercode, String, String)} gesetzt.
+     *
+     * @param geraet        Das fehlende Gerät
+     * @param ausserBetrieb true, wenn das Gerät vorhanden, aber außer Betrieb ist
+     */
+    void fehlendesGeraet(Geraet geraet, boolean ausserBetrieb) {
+        int index = fehlendeGeraete.size();
+
+        if (index == this.ausserBetrieb.length) {
+            this.ausserBetrieb = Arrays.copyOf(this.ausserBetrieb, Math.max(4, index * 2));
+        }
+
+        fehlendeGeraete.add(geraet);
+        this.ausserBetrieb[index] = ausserBetrieb;
+    }
+
+    /**
+     * Gibt eine String-Repräsentation des Ergebnisses zurück.
+     *
+     * @return "OK" oder Fehlercode mit Meldung
+     */
+    @Override
+    public String toString() {
+        return fehlercode == null ? "OK" : fehlercode + ": " + getFehlermeldung();
+    }
+}
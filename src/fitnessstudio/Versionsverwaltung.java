@@ -0,0 +1,146 @@
+package fitnessstudio;
+
+import java.lang.ref.Cleaner;
+import java.util.TreeSet;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+
+/**
+ * Vergibt die Versionen, mit denen {@link Mitglied}er und {@link Fitnessplan}e ihre Stände
+ * kennzeichnen, und merkt sich, welche Versionen noch von einem {@link StudioStand} gehalten
+ * werden.
+ * <p>
+ * Schreibende halten die Sperre geteilt, solange sie einen neuen Stand mit der aktuellen
+ * Schreibversion veröffentlichen; ein Stand des Studios wird unter der exklusiven Sperre
+ * erfasst und erhöht die Schreibversion. Jeder Stand, der vor dem Erfassen veröffentlicht
+ * wurde, trägt daher höchstens dessen Version, jeder spätere eine größere. Lesende halten
+ * keine Sperre.
+ * <p>
+ * Beim Veröffentlichen lösen Schreibende aus der Kette älterer Stände alle, die keine gehaltene
+ * Version benötigt: Übrig bleiben der neue Stand und je gehaltener Version der jüngste Stand,
+ * der höchstens diese Version trägt. Lesende erreichen ihren Stand daher in so vielen
+ * Schritten, wie jüngere Versionen gehalten werden, unabhängig davon, wie oft seitdem
+ * geschrieben wurde. Wird ein {@link StudioStand} nicht geschlossen, gibt ein {@link Cleaner}
+ * seine Version frei, sobald er nicht mehr erreichbar ist.
+ *
+ * @author Evelyn Bukaev
+ * @author Marvin Röhrig
+ * @author Marvin Oberthür
+ * @author Sören Hirschfeld
+ * @author Simon Hanke
+ * @version 1.0
+ */
+final class Versionsverwaltung {
+    /** Version, die größer als jede vergebene ist. */
+    static final long KEINE = Long.MAX_VALUE;
+
+    /** Gehaltene Versionen, solange kein Stand gehalten wird. */
+    static final long[] KEINE_GEHALTEN = new long[0];
+
+    private static final Cleaner FREIGABE = Cleaner.create();
+
+    private final StampedLock sperre;
+    private final TreeSet<Long> gehalten;
+    private long schreibversion;
+    private volatile long[] gehalteneVersionen;
+
+    Versionsverwaltung() {
+        this.sperre = new StampedLock();
+        this.gehalten = new TreeSet<>();
+        this.schreibversion = 1;
+        this.gehalteneVersionen = KEINE_GEHALTEN;
+    }
+
+    /**
+     * Beginnt eine Änderung. Bis zu {@link #beendeAenderung(long)} wird kein Stand erfasst.
+     *
+     * @return Der an {@link #beendeAenderung(long)} zu übergebende Stempel
+     */
+    long beginneAenderung() {
+        return sperre.readLock();
+    }
+
+    void beendeAenderung(long stempel) {
+        sperre.unlockRead(stempel);
+    }
+
+    /**
+     * Gibt die Version zurück, mit der neue Stände gekennzeichnet werden.
+     * Nur zwischen {@link #beginneAenderung()} und {@link #beendeAenderung(long)} gültig.
+     *
+     * @return Die Schreibversion
+     */
+    long getSchreibversion() {
+        return schreibversion;
+    }
+
+    /**
+     * Gibt die Versionen zurück, die noch ein {@link StudioStand} hält.
+     *
+     * @return Die Versionen absteigend sortiert; nicht zu verändern
+     */
+    long[] getGehaltene() {
+        return gehalteneVersionen;
+    }
+
+    /**
+     * Erfasst einen neuen Stand unter der exklusiven Sperre und hält dessen Version,
+     * bis {@link #gibFrei(long)} aufgerufen wird.
+     *
+     * @param erfassung Erzeugt den Stand aus seiner Version; läuft unter der Sperre und
+     *                  darf daher keine Änderung beginnen
+     * @param <T>       Typ des Stands
+     * @return Der erfasste Stand
+     */
+    <T> T halte(LongFunction<T> erfassung) {
+        long stempel = sperre.writeLock();
+
+        try {
+            long version = schreibversion++;
+
+            synchronized (gehalten) {
+                gehalten.add(version);
+                veroeffentlicheGehaltene();
+            }
+
+            return erfassung.apply(version);
+        } finally {
+            sperre.unlockWrite(stempel);
+        }
+    }
+
+    /**
+     * Gibt eine mit {@link #halte(LongFunction)} gehaltene Version wieder frei.
+     *
+     * @param version Die Version
+     */
+    void gibFrei(long version) {
+        synchronized (gehalten) {
+            gehalten.remove(version);
+            veroeffentlicheGehaltene();
+        }
+    }
+
+    private void veroeffentlicheGehaltene() {
+        long[] versionen = new long[gehalten.size()];
+        int i = 0;
+
+        for (long version : gehalten.descendingSet()) {
+            versionen[i++] = version;
+        }
+
+        gehalteneVersionen = versionen;
+    }
+
+    /**
+     * Gibt die Version frei, sobald der Stand nicht mehr erreichbar ist, sofern das nicht
+     * vorher über die zurückgegebene Freigabe geschieht.
+     *
+     * @param stand   Der Stand
+     * @param version Seine Version
+     * @return Die Freigabe, die höchstens einmal ausgeführt wird
+     */
+    Cleaner.Cleanable beobachte(StudioStand stand, long version) {
+        return FREIGABE.register(stand, () -> gibFrei(version));
+    }
+}
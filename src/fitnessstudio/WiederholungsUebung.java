@@ -45,11 +45,23 @@ public class WiederholungsUebung extends Uebung {
      * Setzt die Anzahl der Wiederholungen.
      * 
      * @param wiederholungen Die neue Anzahl der Wiederholungen
+     * @throws IllegalStateException falls die Übung eingefroren ist
      */
     public void setWiederholungen(int wiederholungen) {
+        pruefeVeraenderbar();
         this.wiederholungen = wiederholungen;
     }
 
+    /**
+     * Gibt die Wiederholungen über alle Sätze zurück.
+     *
+     * @return Sätze × Wiederholungen
+     */
+    @Override
+    public long getGesamtWiederholungen() {
+        return (long) getSaetze() * wiederholungen;
+    }
+
     /**
      * Gibt die spezifischen Details der Wiederholungsübung zurück.
      * 